@@ -45,6 +45,17 @@ public class JMLCProxy
 			_outputs.remove();
 	}
 
+	static HashSet<String> getActive() {
+		return _outputs.get();
+	}
+	
+	static void restoreActive(HashSet<String> output) {
+		if( output != null )
+			_outputs.set(output);
+		else
+			_outputs.remove();
+	}
+
 	public static boolean isActive() {
 		return (_outputs.get() != null);
 	}
@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Micro-batching front end for online scoring of single rows with a
+ * prepared script. Concurrent {@link #score(double[])} requests are queued
+ * and coalesced by a number of dispatcher threads: each dispatcher takes the
+ * oldest request, collects further requests until the batch is full or the
+ * latency budget (measured from the arrival of the oldest request) is
+ * exhausted, binds the rbind of all rows to the input variable, executes its
+ * clone of the prepared script once, and hands row i of the output back to
+ * the i-th request of the batch. Requests with different row lengths are
+ * executed as separate batches, i.e., a malformed request only fails itself
+ * and requests of the same malformed row length.
+ *
+ * The script is required to be row-wise, i.e., to produce an output with one
+ * row per input row. All other inputs (e.g., models) have to be bound with
+ * reuse to the given prepared script before scoring.
+ */
+public class MicroBatchScorer implements Closeable
+{
+	private final String _invar;
+	private final String _outvar;
+	private final int _maxBatchSize;
+	private final long _maxDelay; //in ns
+
+	private final LinkedBlockingQueue<ScoringRequest> _queue;
+	private final ScoringRequest _poison; //dispatcher shutdown marker
+	private final Thread[] _dispatchers;
+	private volatile boolean _closed = false;
+
+	//batching statistics
+	private final LongAdder _numRequests = new LongAdder();
+	private final LongAdder _numBatches = new LongAdder();
+	private final LongAdder _queueTime = new LongAdder();
+	private final AtomicLong _maxQueueTime = new AtomicLong();
+	private final AtomicLong _maxBatch = new AtomicLong();
+
+	/**
+	 * Creates a micro-batch scorer with a single dispatcher.
+	 *
+	 * @param pstmt prepared script, with all other inputs bound with reuse
+	 * @param invar input variable name of the batch of rows
+	 * @param outvar output variable name of the batch of results
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxDelayMs maximum queueing delay in milliseconds
+	 */
+	public MicroBatchScorer(PreparedScript pstmt, String invar, String outvar, int maxBatchSize, long maxDelayMs) {
+		this(pstmt, invar, outvar, maxBatchSize, maxDelayMs, 1);
+	}
+
+	/**
+	 * Creates a micro-batch scorer.
+	 *
+	 * @param pstmt prepared script, with all other inputs bound with reuse
+	 * @param invar input variable name of the batch of rows
+	 * @param outvar output variable name of the batch of results
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxDelayMs maximum queueing delay in milliseconds
+	 * @param numDispatchers number of concurrently executed batches
+	 */
+	public MicroBatchScorer(PreparedScript pstmt, String invar, String outvar, int maxBatchSize, long maxDelayMs, int numDispatchers) {
+		if( maxBatchSize < 1 || maxDelayMs < 0 || numDispatchers < 1 )
+			throw new IllegalArgumentException("Invalid micro-batch configuration: batch size="
+				+ maxBatchSize + ", delay=" + maxDelayMs + "ms, dispatchers=" + numDispatchers);
+		_invar = invar;
+		_outvar = outvar;
+		_maxBatchSize = maxBatchSize;
+		_maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+		_queue = new LinkedBlockingQueue<ScoringRequest>();
+		_poison = new ScoringRequest(null);
+
+		//start dispatchers w/ independent script clones
+		_dispatchers = new Thread[numDispatchers];
+		for( int i=0; i<numDispatchers; i++ ) {
+			_dispatchers[i] = new Thread(new Dispatcher(pstmt.clone()), "jmlc-microbatch-"+i);
+			_dispatchers[i].setDaemon(true);
+			_dispatchers[i].start();
+		}
+	}
+
+	/**
+	 * Scores a single row, blocking until the batch containing this
+	 * row has been executed.
+	 *
+	 * @param row input row
+	 * @return output row
+	 * @throws DMLException if the batch execution failed or the scorer is closed
+	 */
+	public double[] score(double[] row) throws DMLException {
+		try {
+			return scoreAsync(row).get();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLException("Interrupted while waiting for micro-batch.", ex);
+		}
+		catch(ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			throw (cause instanceof DMLException) ? (DMLException) cause :
+				new DMLException("Failed to score micro-batch.", cause);
+		}
+	}
+
+	/**
+	 * Enqueues a single row for scoring without blocking the caller.
+	 *
+	 * @param row input row
+	 * @return future of the output row
+	 */
+	public CompletableFuture<double[]> scoreAsync(double[] row) {
+		ScoringRequest req = new ScoringRequest(row);
+		if( row == null ) {
+			req.completeExceptionally(new DMLException("Invalid null row for micro-batch scoring."));
+			return req;
+		}
+		_queue.add(req);
+		//fail requests that raced with close (remove is a no-op if already drained)
+		if( _closed && _queue.remove(req) )
+			req.completeExceptionally(new DMLException("Micro-batch scorer already closed."));
+		return req;
+	}
+
+	/**
+	 * Closes the scorer, where pending requests that have not yet been
+	 * collected into a batch are failed, while running batches are completed.
+	 * Dispatchers are stopped via shutdown markers in the queue (instead of
+	 * interrupts) in order not to interrupt a running script execution.
+	 */
+	@Override
+	public void close() {
+		_closed = true;
+		failAll(drain(), new DMLException("Micro-batch scorer closed."));
+		for( int i=0; i<_dispatchers.length; i++ )
+			_queue.add(_poison);
+		for( Thread t : _dispatchers ) {
+			try {
+				t.join();
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		failAll(drain(), new DMLException("Micro-batch scorer closed."));
+	}
+
+	public long getNumRequests() {
+		return _numRequests.sum();
+	}
+
+	public long getNumBatches() {
+		return _numBatches.sum();
+	}
+
+	public double getAvgBatchSize() {
+		long nb = _numBatches.sum();
+		return (nb > 0) ? (double)_numRequests.sum() / nb : 0;
+	}
+
+	public long getMaxBatchSize() {
+		return _maxBatch.get();
+	}
+
+	/**
+	 * Gets the average time between enqueue and batch execution.
+	 *
+	 * @return average queueing delay in milliseconds
+	 */
+	public double getAvgQueueTime() {
+		long nr = _numRequests.sum();
+		return (nr > 0) ? (double)_queueTime.sum() / nr / 1e6 : 0;
+	}
+
+	/**
+	 * Gets the maximum time between enqueue and batch execution.
+	 *
+	 * @return maximum queueing delay in milliseconds
+	 */
+	public double getMaxQueueTime() {
+		return _maxQueueTime.get() / 1e6;
+	}
+
+	public String getStatistics() {
+		return String.format("Micro-batches (batches/requests):\t%d/%d.\n"
+			+ "Micro-batch size (avg/max):\t%.2f/%d.\n"
+			+ "Micro-batch queue time (avg/max):\t%.3f/%.3f ms.\n",
+			getNumBatches(), getNumRequests(), getAvgBatchSize(),
+			getMaxBatchSize(), getAvgQueueTime(), getMaxQueueTime());
+	}
+
+	private List<ScoringRequest> drain() {
+		List<ScoringRequest> ret = new ArrayList<ScoringRequest>();
+		_queue.drainTo(ret);
+		while( ret.remove(_poison) ); //remove shutdown markers
+		return ret;
+	}
+
+	private static void failAll(List<ScoringRequest> batch, Throwable ex) {
+		for( ScoringRequest req : batch )
+			req.completeExceptionally(ex);
+	}
+
+	private static void updateMax(AtomicLong max, long val) {
+		long cur = max.get();
+		while( val > cur && !max.compareAndSet(cur, val) )
+			cur = max.get();
+	}
+
+	private static class ScoringRequest extends CompletableFuture<double[]>
+	{
+		private final double[] _row;
+		private final long _arrival;
+
+		protected ScoringRequest(double[] row) {
+			_row = row;
+			_arrival = System.nanoTime();
+		}
+	}
+
+	private class Dispatcher implements Runnable
+	{
+		private final PreparedScript _lpstmt;
+
+		protected Dispatcher(PreparedScript lpstmt) {
+			_lpstmt = lpstmt;
+		}
+
+		@Override
+		public void run() {
+			List<ScoringRequest> batch = new ArrayList<ScoringRequest>();
+			boolean stop = false;
+			while( !stop && !_closed ) {
+				try {
+					//wait for the oldest request, and collect further requests
+					//until the batch is full or its latency budget is exhausted
+					ScoringRequest first = _queue.take();
+					if( first == _poison )
+						return;
+					batch.add(first);
+					long deadline = first._arrival + _maxDelay;
+					while( !stop && batch.size() < _maxBatchSize ) {
+						int len = batch.size();
+						if( _queue.drainTo(batch, _maxBatchSize - len) > 0 ) {
+							stop = removePoison(batch.subList(len, batch.size()));
+							continue;
+						}
+						long remaining = deadline - System.nanoTime();
+						ScoringRequest req = (remaining > 0) ?
+							_queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+						if( req == null )
+							break;
+						if( req == _poison )
+							stop = true;
+						else
+							batch.add(req);
+					}
+				}
+				catch(InterruptedException ex) {
+					failAll(batch, new DMLException("Micro-batch scorer interrupted."));
+					return;
+				}
+				executeBatch(batch);
+				batch.clear();
+			}
+		}
+
+		private boolean removePoison(List<ScoringRequest> reqs) {
+			//consume a single shutdown marker, and return the others
+			//to the queue in order to stop all other dispatchers as well
+			int count = 0;
+			while( reqs.remove(_poison) )
+				count++;
+			for( int i=1; i<count; i++ )
+				_queue.add(_poison);
+			return (count > 0);
+		}
+
+		private void executeBatch(List<ScoringRequest> batch) {
+			//group requests by row length, in order to isolate malformed requests
+			int n = batch.get(0)._row.length;
+			LinkedHashMap<Integer, List<ScoringRequest>> groups = null;
+			for( ScoringRequest req : batch )
+				if( req._row.length != n ) {
+					groups = new LinkedHashMap<Integer, List<ScoringRequest>>();
+					break;
+				}
+			if( groups == null ) {
+				executeGroup(batch);
+				return;
+			}
+			for( ScoringRequest req : batch ) {
+				List<ScoringRequest> group = groups.get(req._row.length);
+				if( group == null )
+					groups.put(req._row.length, group = new ArrayList<ScoringRequest>());
+				group.add(req);
+			}
+			for( List<ScoringRequest> group : groups.values() )
+				executeGroup(group);
+		}
+
+		private void executeGroup(List<ScoringRequest> batch) {
+			//maintain batching statistics
+			long t0 = System.nanoTime();
+			for( ScoringRequest req : batch ) {
+				_queueTime.add(t0 - req._arrival);
+				updateMax(_maxQueueTime, t0 - req._arrival);
+			}
+			_numRequests.add(batch.size());
+			_numBatches.increment();
+			updateMax(_maxBatch, batch.size());
+
+			try {
+				//rbind input rows into a single matrix block
+				int n = batch.get(0)._row.length;
+				MatrixBlock in = new MatrixBlock(batch.size(), n, false);
+				in.allocateDenseBlock();
+				double[] a = in.getDenseBlock();
+				for( int i=0; i<batch.size(); i++ )
+					System.arraycopy(batch.get(i)._row, 0, a, i*n, n);
+				in.recomputeNonZeros();
+				in.examSparsity();
+
+				//execute script once for the entire batch
+				_lpstmt.setMatrix(_invar, in, false);
+				MatrixBlock out = _lpstmt.executeScript().getMatrixBlock(_outvar);
+				if( out.getNumRows() != batch.size() )
+					throw new DMLException("Micro-batch script is not row-wise: "
+						+ out.getNumRows() + " output rows for " + batch.size() + " input rows.");
+
+				//split result rows back to the individual requests
+				int m = out.getNumColumns();
+				for( int i=0; i<batch.size(); i++ ) {
+					double[] row = new double[m];
+					for( int j=0; j<m; j++ )
+						row[j] = out.quickGetValue(i, j);
+					batch.get(i).complete(row);
+				}
+			}
+			catch(Exception ex) {
+				failAll(batch, ex);
+			}
+		}
+	}
+}
@@ -20,15 +20,18 @@
 package org.apache.sysml.api.jmlc;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLException;
 import org.apache.sysml.conf.CompilerConfig;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.ipa.FunctionCallGraph;
@@ -36,11 +39,14 @@ import org.apache.sysml.parser.DMLProgram;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
@@ -58,19 +64,31 @@ import org.apache.sysml.utils.Explain;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
+ * 
+ * A prepared script is not thread-safe because it holds the bound inputs 
+ * and outputs of an execution. For concurrent scoring, the script is prepared
+ * once and cloned per request or thread (see {@link #clone()}); clones are
+ * cheap as they share the compiled program (except functions enabled for
+ * recompilation and, with dynamic recompilation, program blocks that require
+ * recompilation), the reused inputs, and the configurations of the preparing
+ * connection.
  */
 public class PreparedScript 
 {
 	private static final Log LOG = LogFactory.getLog(PreparedScript.class.getName());
 	
 	//input/output specification
-	private HashSet<String> _inVarnames = null;
-	private HashSet<String> _outVarnames = null;
-	private HashMap<String,Data> _inVarReuse = null;
+	private final HashSet<String> _inVarnames;
+	private final HashSet<String> _outVarnames;
+	private final Map<String,Data> _inVarReuse;
 	
 	//internal state (reused)
-	private Program _prog = null;
-	private LocalVariableMap _vars = null; 
+	private final Program _prog;
+	private final LocalVariableMap _vars; 
+	
+	//configurations of the preparing connection (thread-local)
+	private final DMLConfig _dmlconf;
+	private final CompilerConfig _cconf;
 	
 	/**
 	 * Meant to be invoked only from Connection.
@@ -89,7 +107,97 @@ public class PreparedScript
 		Collections.addAll(_inVarnames, inputs);
 		_outVarnames = new HashSet<String>();
 		Collections.addAll(_outVarnames, outputs);
-		_inVarReuse = new HashMap<String, Data>();
+		_inVarReuse = new ConcurrentHashMap<String, Data>();
+		
+		//keep configurations for execution in other threads
+		_dmlconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+	}
+	
+	/**
+	 * Shallow copy, which shares the compiled program, input/output
+	 * specification, reused inputs and dml configuration. Functions that
+	 * are recompiled in place (see {@link #enableFunctionRecompile}) are
+	 * deep copied in order to allow for concurrent execution. If dynamic
+	 * recompilation is enabled, all program blocks whose hop dags require
+	 * recompilation are deep copied as well, and the copy obtains its own
+	 * compiler configuration.
+	 * 
+	 * @param that prepared script to copy
+	 * @throws DMLRuntimeException if the deep copy of program blocks fails
+	 */
+	private PreparedScript( PreparedScript that ) 
+		throws DMLRuntimeException
+	{
+		_vars = new LocalVariableMap();
+		_inVarnames = that._inVarnames;
+		_outVarnames = that._outVarnames;
+		_inVarReuse = that._inVarReuse;
+		_dmlconf = that._dmlconf;
+		_cconf = that._cconf.clone();
+		
+		//deep copy of recompiled statement blocks only if parallel dynamic
+		//recompilation is enabled in the config of the copying thread
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		boolean dynRecompile = _cconf.getBool(ConfigType.ALLOW_DYN_RECOMPILATION);
+		if( dynRecompile ) {
+			_cconf.set(ConfigType.ALLOW_PARALLEL_DYN_RECOMPILATION, true);
+			ConfigurationManager.setLocalConfig(_cconf);
+		}
+		try {
+			_prog = copyProgram(that._prog, dynRecompile);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(cconf);
+		}
+	}
+	
+	/**
+	 * Creates a lightweight copy of this prepared script for concurrent
+	 * execution, without recompilation. The copy shares the compiled program
+	 * and all inputs bound with reuse (including inputs bound with reuse 
+	 * later on), but has its own non-reused inputs and outputs, and its own
+	 * copies of functions enabled for recompilation. Hence, multiple clones
+	 * can execute concurrently in different threads.
+	 * 
+	 * @return prepared script with independent bound inputs and outputs
+	 */
+	@Override
+	public PreparedScript clone() {
+		try {
+			return new PreparedScript(this);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException("Failed to clone prepared script.", ex);
+		}
+	}
+	
+	private static Program copyProgram( Program prog, boolean dynRecompile ) 
+		throws DMLRuntimeException
+	{
+		//shallow copy of program blocks, but copy of function map
+		//(w/ deep copies of functions that are recompiled in place); with dynamic 
+		//recompilation, all blocks are copied w/ private copies of the statement
+		//blocks and hop dags that require recompilation (plain function names)
+		Program ret = new Program();
+		if( dynRecompile ) {
+			for( ProgramBlock pb : ProgramConverter.rcreateDeepCopyProgramBlocks(prog.getProgramBlocks(),
+				0, -1, new HashSet<String>(), new HashSet<String>(), true, false) )
+				ret.addProgramBlock(pb);
+		}
+		else {
+			for( ProgramBlock pb : prog.getProgramBlocks() )
+				ret.addProgramBlock(pb);
+		}
+		for( Entry<String, FunctionProgramBlock> e : prog.getFunctionProgramBlocks().entrySet() ) {
+			String[] fkey = DMLProgram.splitFunctionKey(e.getKey());
+			FunctionProgramBlock fpb = e.getValue();
+			if( fpb.isRecompileOnce() || dynRecompile )
+				fpb = ProgramConverter.createDeepCopyFunctionProgramBlock(
+					fpb, new HashSet<String>(), new HashSet<String>(), fpb.isRecompileOnce());
+			ret.addFunctionProgramBlock(fkey[0], fkey[1], fpb);
+		}
+		return ret;
 	}
 	
 	/**
@@ -383,14 +491,27 @@ public class PreparedScript
 	public ResultVariables executeScript() 
 		throws DMLException
 	{
+		//set configurations of preparing connection (if executed by other thread)
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
+		
 		//add reused variables
 		_vars.putAll(_inVarReuse);
 		
 		//create and populate execution context
 		ExecutionContext ec = ExecutionContextFactory.createContext(_vars, _prog);	
 		
-		//core execute runtime program	
-		_prog.execute(ec);  
+		//core execute runtime program (w/ outputs of this script for the
+		//cleanup of recompiled instructions in the executing thread)
+		HashSet<String> proxy = JMLCProxy.getActive();
+		if( ConfigurationManager.isDynamicRecompilation() )
+			JMLCProxy.setActive(_outVarnames.toArray(new String[0]));
+		try {
+			_prog.execute(ec);
+		}
+		finally {
+			JMLCProxy.restoreActive(proxy);
+		}
 		
 		//cleanup unnecessary outputs
 		_vars.removeAllNotIn(_outVarnames);
@@ -424,6 +545,10 @@ public class PreparedScript
 	 * functions in small-data scenarios where dynamic recompilation overheads 
 	 * might not be amortized.  
 	 * 
+	 * Since recompilation modifies the function in place, the function is
+	 * replaced by a private deep copy, i.e., this only affects this prepared
+	 * script and its subsequently created clones, but not existing clones.
+	 * 
 	 * @param fnamespace function namespace, null for default namespace
 	 * @param fnames function name
 	 * @throws DMLException if any compilation error occurs
@@ -450,9 +575,14 @@ public class PreparedScript
 			String fkey = DMLProgram.constructFunctionKey(fnamespace, fname);
 			if( !fgraph.isRecursiveFunction(fkey) ) {
 				FunctionProgramBlock fpb = _prog.getFunctionProgramBlock(fnamespace, fname);
-				if( fpb != null )
-					fpb.setRecompileOnce(true);
-				else
+				if( fpb != null && !fpb.isRecompileOnce() ) {
+					//private deep copy (not shared with other clones)
+					FunctionProgramBlock copy = ProgramConverter.createDeepCopyFunctionProgramBlock(
+						fpb, new HashSet<String>(), new HashSet<String>(), true);
+					copy.setRecompileOnce(true);
+					_prog.addFunctionProgramBlock(fnamespace, fname, copy);
+				}
+				else if( fpb == null )
 					LOG.warn("Failed to enable function recompile for non-existing '"+fkey+"'.");		
 			}
 			else {
@@ -71,11 +71,17 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_OPS      = "cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "cp.parallel.io";
+	public static final String CP_THREADPOOL_SIZE   = "cp.threadpool.size"; //int, -1..local parallelism, 0..disabled
+	public static final String CP_EVICTION_MMAP     = "cp.eviction.mmap";
+	public static final String CP_EVICTION_POLICY   = "cp.eviction.policy"; //FIFO, LRU, LFU, COST, LOOP
+	public static final String CP_PAGECACHE_SIZE    = "cp.pagecache.size"; //int, in MB, 0..disabled
+	public static final String CP_PREFETCH_DEPTH    = "cp.prefetch.depth"; //int, 0..disabled
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
 	public static final String NATIVE_BLAS          = "native.blas";
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //local dir, empty..disabled
 	public static final String EXTRA_FINEGRAINED_STATS = "systemml.stats.finegrained"; //boolean
 	public static final String STATS_MAX_WRAP_LEN = "systemml.stats.maxWrapLength"; //int
 	public static final String EXTRA_GPU_STATS      = "systemml.stats.extraGPU"; //boolean
@@ -117,10 +123,16 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_THREADPOOL_SIZE,     "-1" );
+		_defaultVals.put(CP_EVICTION_MMAP,       "false" );
+		_defaultVals.put(CP_EVICTION_POLICY,     "FIFO" );
+		_defaultVals.put(CP_PAGECACHE_SIZE,      "0" );
+		_defaultVals.put(CP_PREFETCH_DEPTH,      "0" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "" );
 		_defaultVals.put(NATIVE_BLAS,            "none" );
 		_defaultVals.put(EXTRA_FINEGRAINED_STATS,"false" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,"30" );
@@ -407,8 +419,8 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS,
-				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
+				CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_THREADPOOL_SIZE, CP_EVICTION_MMAP, CP_EVICTION_POLICY, CP_PAGECACHE_SIZE, CP_PREFETCH_DEPTH, NATIVE_BLAS,
+				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE, CODEGEN_CLASSCACHE,
 				EXTRA_GPU_STATS, EXTRA_DNN_STATS, EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN,
 				AVAILABLE_GPUS
 		}; 
@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.Append;
@@ -64,7 +65,7 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -72,6 +73,7 @@ public class BinaryOp extends Hop
 	
 	private Hop.OpOp2 op;
 	private boolean outer = false;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	
@@ -124,6 +126,16 @@ public class BinaryOp extends Hop
 		 op = iop;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void setOuterVectorOperation(boolean flag) {
 		outer = flag;
 	}
@@ -626,8 +638,9 @@ public class BinaryOp extends Hop
 			else //general case
 				ot = HopsOpOp2LopsU.get(op);
 
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -655,9 +668,11 @@ public class BinaryOp extends Hop
 									getInput().get(1).constructLops(),
 									ConvolutionTransform.OperationTypes.RELU_BACKWARD, getDataType(), getValueType(), et, -1);
 				}
-				else
+				else {
+					int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
+				}
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -1563,6 +1578,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1593,6 +1609,22 @@ public class BinaryOp extends Hop
 		         ||op==OpOp2.LOG     ||op==OpOp2.POW );
 	}
 	
+	/**
+	 * Indicates if this binary operation is a cellwise matrix operation
+	 * (arithmetic, relational) with multi-threaded runtime support.
+	 * 
+	 * @return true if multi-threaded cellwise matrix operation
+	 */
+	public boolean isMultiThreadedOpType()
+	{
+		return getDataType() == DataType.MATRIX && !outer
+			&& (op==OpOp2.PLUS    ||op==OpOp2.MINUS 
+			  ||op==OpOp2.MULT    ||op==OpOp2.DIV
+			  ||op==OpOp2.MODULUS ||op==OpOp2.INTDIV
+			  ||op==OpOp2.POW     ||op==OpOp2.MINUS1_MULT
+			  ||op==OpOp2.MINUS_NZ|| isPPredOperation());
+	}
+	
 	public boolean isPPredOperation()
 	{
 		return (   op==OpOp2.LESS    ||op==OpOp2.LESSEQUAL
@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.CentralMoment;
@@ -59,7 +60,7 @@ import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
  *
  * CTABLE op takes 2 extra inputs with target dimensions for padding and pruning.
  */
-public class TernaryOp extends Hop 
+public class TernaryOp extends Hop implements MultiThreadedHop
 {
 	
 	public static boolean ALLOW_CTABLE_SEQUENCE_REWRITES = true;
@@ -71,6 +72,8 @@ public class TernaryOp extends Hop
 	private boolean _dimInputsPresent = false;
 	private boolean _disjointInputs = false;
 	
+	private int _maxNumThreads = -1; //-1 for unlimited
+	
 	
 	private TernaryOp() {
 		//default constructor for clone
@@ -106,6 +109,26 @@ public class TernaryOp extends Hop
 		inp5.getParent().add(this);
 		_dimInputsPresent = true;
 	}
+	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
+	/**
+	 * Indicates if this ternary operation is a ctable, which has 
+	 * multi-threaded runtime support (except for ctable expand).
+	 * 
+	 * @return true if multi-threaded ctable operation
+	 */
+	public boolean isMultiThreadedOpType() {
+		return _op == OpOp3.CTABLE;
+	}
 
 	@Override
 	public void checkArity() throws HopsException {
@@ -438,7 +461,8 @@ public class TernaryOp extends Hop
 				inputLops[1] = ((ParameterizedBuiltinOp)getInput().get(1)).getTargetHop().getInput().get(0).constructLops();
 			}
 			
-			Ternary ternary = new Ternary(inputLops, ternaryOp, getDataType(), getValueType(), ignoreZeros, et);
+			int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
+			Ternary ternary = new Ternary(inputLops, ternaryOp, getDataType(), getValueType(), ignoreZeros, et, k);
 			
 			ternary.getOutputParameters().setDimensions(_dim1, _dim2, getRowsInBlock(), getColsInBlock(), -1);
 			setLineNumbers(ternary);
@@ -933,6 +957,7 @@ public class TernaryOp extends Hop
 		ret._op = _op;
 		ret._dimInputsPresent  = _dimInputsPresent;
 		ret._disjointInputs    = _disjointInputs;
+		ret._maxNumThreads     = _maxNumThreads;
 		
 		return ret;
 	}
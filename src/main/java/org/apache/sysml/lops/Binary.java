@@ -176,6 +176,23 @@ public class Binary extends Lop
 	}
 	
 	
+	/**
+	 * Indicates if the given cellwise operation (arithmetic, relational) 
+	 * supports multi-threaded execution in CP.
+	 * 
+	 * @param op operation type
+	 * @return true if multi-threaded cellwise operation
+	 */
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return op==OperationTypes.ADD || op==OperationTypes.SUBTRACT
+			|| op==OperationTypes.MULTIPLY || op==OperationTypes.DIVIDE
+			|| op==OperationTypes.MINUS1_MULTIPLY || op==OperationTypes.MODULUS
+			|| op==OperationTypes.INTDIV || op==OperationTypes.POW
+			|| op==OperationTypes.LESS_THAN || op==OperationTypes.LESS_THAN_OR_EQUALS
+			|| op==OperationTypes.GREATER_THAN || op==OperationTypes.GREATER_THAN_OR_EQUALS
+			|| op==OperationTypes.EQUALS || op==OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(int input_index1, int input_index2, int output_index) throws LopsException {
 		return getInstructions(
@@ -202,8 +219,9 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications and cellwise operations
+		if( (operation == OperationTypes.MATMULT || isMultiThreadedOp(operation)) 
+			&& getExecType()==ExecType.CP ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
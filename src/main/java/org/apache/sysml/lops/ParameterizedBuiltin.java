@@ -233,7 +233,8 @@ public class ParameterizedBuiltin extends Lop
 			sb.append(OPERAND_DELIMITOR);
 		}
 		
-		if( getExecType()==ExecType.CP && _operation == OperationTypes.REXPAND ) {
+		if( getExecType()==ExecType.CP && (_operation == OperationTypes.REXPAND
+			|| _operation == OperationTypes.RMEMPTY) ) {
 			sb.append( "k" );
 			sb.append( Lop.NAME_VALUE_SEPARATOR );
 			sb.append( _numThreads );	
@@ -65,8 +65,24 @@ public class Unary extends Lop
 	 * @param et execution type
 	 */
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
+		this(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to perform a unary operation with 2 inputs
+	 * 
+	 * @param input1 low-level operator 1
+	 * @param input2 low-level operator 2
+	 * @param op operation type
+	 * @param dt data type
+	 * @param vt value type
+	 * @param et execution type
+	 * @param numThreads number of threads
+	 */
+	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
 	}
 
 	private void init(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
@@ -328,6 +344,18 @@ public class Unary extends Lop
 			|| op==OperationTypes.CUMMAX;
 	}
 	
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return op==OperationTypes.ADD || op==OperationTypes.SUBTRACT
+			|| op==OperationTypes.SUBTRACT_NZ || op==OperationTypes.MULTIPLY
+			|| op==OperationTypes.MULTIPLY2 || op==OperationTypes.MINUS1_MULTIPLY
+			|| op==OperationTypes.DIVIDE || op==OperationTypes.MODULUS
+			|| op==OperationTypes.INTDIV || op==OperationTypes.POW
+			|| op==OperationTypes.POW2 || op==OperationTypes.LESS_THAN
+			|| op==OperationTypes.LESS_THAN_OR_EQUALS || op==OperationTypes.GREATER_THAN
+			|| op==OperationTypes.GREATER_THAN_OR_EQUALS || op==OperationTypes.EQUALS
+			|| op==OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String output) 
 		throws LopsException 
@@ -387,6 +415,12 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for cellwise matrix-scalar cp ops
+		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
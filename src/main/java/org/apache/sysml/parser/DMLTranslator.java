@@ -77,6 +77,7 @@ import org.apache.sysml.parser.Expression.ParameterizedBuiltinFunctionOp;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.parser.PrintStatement.PRINTTYPE;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
 import org.apache.sysml.runtime.controlprogram.ExternalFunctionProgramBlock;
 import org.apache.sysml.runtime.controlprogram.ExternalFunctionProgramBlockCP;
 import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
@@ -298,6 +299,8 @@ public class DMLTranslator
 			SpoofCompiler.PLAN_CACHE_POLICY = PlanCachePolicy.get(
 				dmlconf.getBooleanValue(DMLConfig.CODEGEN_PLANCACHE),
 				dmlconf.getIntValue(DMLConfig.CODEGEN_LITERALS)==2);
+			CodegenUtils.setPersistentClassCache(
+				dmlconf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE));
 			SpoofCompiler.setExecTypeSpecificJavaCompiler();
 			if( SpoofCompiler.INTEGRATION==IntegrationType.HOPS )
 				codgenHopsDAG(dmlp);
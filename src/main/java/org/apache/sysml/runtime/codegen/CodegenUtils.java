@@ -22,13 +22,21 @@ package org.apache.sysml.runtime.codegen;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.tools.Diagnostic;
 import javax.tools.Diagnostic.Kind;
@@ -40,6 +48,8 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
@@ -47,10 +57,24 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.utils.Statistics;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java.CompilationUnit;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 public class CodegenUtils 
 {
+	private static final Log LOG = LogFactory.getLog(CodegenUtils.class.getName());
+	
+	//prefix of content-derived class names of persistently cached classes
+	public static final String PERSISTENT_CLASS_PREFIX = "TMPH";
+	private static final String CLASS_PLACEHOLDER = "%CLASS%";
+	private static final Pattern VARNAME_PATTERN = Pattern.compile("\\bTMP\\d+\\b");
+	
+
 	//cache to reuse compiled and loaded classes 
 	private static ConcurrentHashMap<String, Class<?>> _cache = new ConcurrentHashMap<String,Class<?>>();
 	
@@ -60,6 +84,11 @@ public class CodegenUtils
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
+	//optional local directory of compiled classes that are reused across JVMs, 
+	//and class bytes of persistently cached classes (for javac class shipping)
+	private static String _persistentDir = null;
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<String,byte[]>();
+	
 	public static Class<?> compileClass(String name, String src) 
 			throws DMLRuntimeException
 	{
@@ -68,6 +97,10 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
+		//compile or load class via persistent class cache
+		if( _persistentDir != null )
+			return compileClassPersistent(name, src);
+		
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
 		//compile java source w/ specific compiler
@@ -116,6 +149,8 @@ public class CodegenUtils
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
+		else if( _bytes.containsKey(name) )
+			return _bytes.get(name);
 		else
 			return getClassAsByteArray(name);
 	}
@@ -123,6 +158,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -148,6 +184,193 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	////////////////////////////
+	//Persistent class cache (reuse of compiled classes across JVMs)
+	
+	/**
+	 * Enables or disables the persistent class cache. If enabled, compiled
+	 * classes are stored in the given local directory, keyed by a hash of
+	 * the normalized source code, the SystemML version and the java compiler,
+	 * and loaded from there by subsequent JVMs instead of recompiling them.
+	 * 
+	 * @param dir local directory, or null/empty to disable the cache
+	 */
+	public static synchronized void setPersistentClassCache(String dir) {
+		if( dir == null || dir.trim().isEmpty() ) {
+			_persistentDir = null;
+			return;
+		}
+		File fdir = new File(dir.trim());
+		if( !fdir.exists() && !fdir.mkdirs() && !fdir.exists() ) {
+			LOG.warn("Failed to create codegen class cache directory "+dir+".");
+			_persistentDir = null;
+			return;
+		}
+		_persistentDir = fdir.getAbsolutePath();
+	}
+	
+	public static String getPersistentClassCache() {
+		return _persistentDir;
+	}
+	
+	private static Class<?> compileClassPersistent(String name, String src) 
+		throws DMLRuntimeException
+	{
+		//normalize source code and derive class name from hashed content 
+		//(independent of the generated class and variable names of this JVM)
+		int pos = name.lastIndexOf('.');
+		String nsrc = normalizeSource(src, name.substring(pos+1));
+		String key = getPersistentKey(nsrc);
+		String cname = PERSISTENT_CLASS_PREFIX + key;
+		String pname = name.substring(0, pos+1) + cname;
+		String psrc = nsrc.replace(CLASS_PLACEHOLDER, cname);
+		
+		//reuse class already compiled or loaded by this JVM
+		Class<?> ret = _cache.get(pname);
+		if( ret != null )
+			return ret;
+		
+		//probe persistent class cache
+		File file = new File(_persistentDir, key+".class");
+		byte[] classBytes = readPersistentClass(file);
+		if( classBytes != null ) {
+			try {
+				ret = loadFromClassFile(pname, classBytes);
+			}
+			catch(DMLRuntimeException | LinkageError ex) {
+				//invalid or incompatible class file (recompile)
+				LOG.warn("Failed to load cached codegen class "+file+".", ex);
+				file.delete();
+				classBytes = null;
+			}
+		}
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				Statistics.incrementCodegenClassCacheHits();
+			else
+				Statistics.incrementCodegenClassCacheMisses();
+		}
+		
+		//compile and store class on cache miss
+		if( ret == null ) {
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO ) {
+				classBytes = compileClassBytesJanino(pname, psrc);
+				ret = (classBytes != null) ? 
+					loadFromClassFile(pname, classBytes) : compileClassJanino(pname, psrc);
+			}
+			else {
+				ret = compileClassJavac(pname, psrc);
+				classBytes = getSingleClassBytesJavac(pname);
+			}
+			if( classBytes != null )
+				writePersistentClass(file, classBytes);
+			if( DMLScript.STATISTICS ) {
+				Statistics.incrementCodegenClassCompile();
+				Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
+			}
+		}
+		
+		//keep source code or class bytes for class shipping
+		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+			_src.put(pname, psrc);
+		else if( classBytes != null )
+			_bytes.put(pname, classBytes);
+		
+		//keep compiled class for reuse
+		_cache.put(pname, ret);
+		return ret;
+	}
+	
+	/**
+	 * Normalizes generated source code by replacing the class name with a 
+	 * placeholder and renumbering all generated variable names in order of 
+	 * their first occurrence.
+	 * 
+	 * @param src generated source code
+	 * @param cname simple class name
+	 * @return normalized source code
+	 */
+	protected static String normalizeSource(String src, String cname) {
+		HashMap<String, String> names = new HashMap<String, String>();
+		names.put(cname, CLASS_PLACEHOLDER);
+		Matcher m = VARNAME_PATTERN.matcher(src);
+		StringBuffer sb = new StringBuffer(src.length());
+		while( m.find() ) {
+			String var = names.get(m.group());
+			if( var == null ) {
+				var = "TMP" + (names.size()-1);
+				names.put(m.group(), var);
+			}
+			m.appendReplacement(sb, Matcher.quoteReplacement(var));
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+	
+	private static String getPersistentKey(String nsrc) 
+		throws DMLRuntimeException
+	{
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(getVersion().getBytes(StandardCharsets.UTF_8));
+			md.update((byte)0);
+			md.update(SpoofCompiler.JAVA_COMPILER.name().getBytes(StandardCharsets.UTF_8));
+			md.update((byte)0);
+			byte[] digest = md.digest(nsrc.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for( int i=0; i<16; i++ ) //128 bit
+				sb.append(String.format("%02x", digest[i]));
+			return sb.toString();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String getVersion() {
+		//release version, or modification time of the runtime classes for 
+		//development builds (to avoid reusing classes of stale builds)
+		String version = SpoofOperator.class.getPackage().getImplementationVersion();
+		if( version != null )
+			return version;
+		try {
+			URL url = SpoofOperator.class.getResource("SpoofOperator.class");
+			return "dev-" + url.openConnection().getLastModified();
+		}
+		catch(IOException ex) {
+			return "dev";
+		}
+	}
+	
+	private static byte[] readPersistentClass(File file) {
+		if( !file.exists() )
+			return null;
+		try {
+			return Files.readAllBytes(file.toPath());
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read cached codegen class "+file+".", ex);
+			return null;
+		}
+	}
+	
+	private static void writePersistentClass(File file, byte[] classBytes) {
+		//write to temporary file and atomically rename, in order to 
+		//avoid partial reads by concurrent JVMs sharing the directory
+		File tmp = null;
+		try {
+			tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+			LocalFileUtils.writeByteArrayToLocal(tmp.getAbsolutePath(), classBytes);
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write cached codegen class "+file+".", ex);
+			if( tmp != null )
+				tmp.delete();
+		}
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
@@ -171,6 +394,24 @@ public class CodegenUtils
 		}
 	}	
 	
+	private static byte[] compileClassBytesJanino(String name, String src) 
+		throws DMLRuntimeException
+	{
+		try {
+			//compile source code into class files (w/o loading)
+			CompilationUnit cu = new Parser(new Scanner(null, new StringReader(src))).parseCompilationUnit();
+			ClassFile[] cfs = new UnitCompiler(cu, new ClassLoaderIClassLoader(
+				CodegenUtils.class.getClassLoader())).compileUnit(true, true, false);
+			
+			//classes w/ nested classes are not cached
+			return (cfs.length == 1 && cfs[0].getThisClassName().equals(name)) ?
+				cfs[0].toByteArray() : null;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to compile class "+name+".", ex);
+		}
+	}
+	
 	////////////////////////////
 	//JAVAC-specific methods (used for hadoop environments)
 
@@ -264,6 +505,17 @@ public class CodegenUtils
 		}	
 	}
 	
+	private static byte[] getSingleClassBytesJavac(String name) 
+		throws DMLRuntimeException
+	{
+		//classes w/ nested classes are not cached
+		int pos = name.lastIndexOf('.');
+		File dir = new File(_workingDir+"/"+name.substring(0, pos).replace(".", "/"));
+		String[] nested = dir.list((d, fname) -> fname.startsWith(name.substring(pos+1)+"$"));
+		return (nested == null || nested.length == 0) ?
+			getClassAsByteArray(name) : null;
+	}
+	
 	private static byte[] getClassAsByteArray(String name) 
 		throws DMLRuntimeException
 	{
@@ -23,6 +23,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -30,7 +31,9 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -130,6 +133,38 @@ public abstract class ColGroup implements Serializable
 			_colIndexes[i] += offset;
 	}
 	
+	/**
+	 * Obtain the local positions of all columns of this group that fall
+	 * into the given column range.
+	 * 
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, inclusive
+	 * @return local column positions, empty if no overlap
+	 */
+	protected int[] getColumnPositions(int cl, int cu) {
+		int len = 0;
+		int[] tmp = new int[_colIndexes.length];
+		for( int j=0; j<_colIndexes.length; j++ )
+			if( _colIndexes[j] >= cl && _colIndexes[j] <= cu )
+				tmp[len++] = j;
+		return (len < tmp.length) ? Arrays.copyOf(tmp, len) : tmp;
+	}
+	
+	/**
+	 * Obtain the column indexes for the given local column positions,
+	 * shifted by the given offset.
+	 * 
+	 * @param cix local column positions
+	 * @param offset column offset to subtract
+	 * @return new column indexes
+	 */
+	protected int[] getShiftedColIndices(int[] cix, int offset) {
+		int[] ret = new int[cix.length];
+		for( int j=0; j<cix.length; j++ )
+			ret[j] = _colIndexes[cix[j]] - offset;
+		return ret;
+	}
+	
 	/**
 	 * Note: Must be overridden by child classes to account for additional data
 	 * and metadata
@@ -258,6 +293,61 @@ public abstract class ColGroup implements Serializable
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
 
+	/**
+	 * Perform the specified cell-wise unary operation directly on the compressed
+	 * column group, without decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified cell-wise binary operation with a row vector on 
+	 * the right directly on the compressed column group, without decompressing
+	 * individual cells if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @param v
+	 *            dense row vector of the full number of columns
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Obtain a row range of this column group, without decompressing it.
+	 * The returned column group covers ru-rl rows and has the same column
+	 * indexes, but might share unmodified data structures with this group.
+	 * 
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return column group of the given row range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup sliceRows(int rl, int ru)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Obtain the columns of this column group within the given column range, 
+	 * without decompressing it. The column indexes of the returned column group
+	 * are shifted by cl, and it might share unmodified data structures with 
+	 * this group.
+	 * 
+	 * @param cl column lower bound, inclusive
+	 * @param cu column upper bound, inclusive
+	 * @return column group of the given column range, or null if no
+	 *         column of this group falls into this range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup sliceColumns(int cl, int cu)
+			throws DMLRuntimeException;
+	
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
 		throws DMLRuntimeException;
 	
@@ -30,7 +30,9 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -84,6 +86,21 @@ public class ColGroupDDC2 extends ColGroupDDC
 		return CompressionType.DDC2;
 	}
 	
+	@Override
+	public ColGroup sliceRows(int rl, int ru) {
+		//slice of the mapping array, shared dictionary
+		return new ColGroupDDC2(_colIndexes.clone(), ru-rl, 
+			_values, Arrays.copyOfRange(_data, rl, ru));
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		//projected dictionary, shared mapping array
+		int[] cix = getColumnPositions(cl, cu);
+		return (cix.length > 0) ? new ColGroupDDC2(getShiftedColIndices(cix, cl),
+			_numRows, projectValues(cix), _data) : null;
+	}
+	
 	@Override
 	protected double getData(int r, int colIx) {
 		return _values[_data[r]*getNumCols()+colIx];
@@ -351,4 +368,18 @@ public class ColGroupDDC2 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) throws DMLRuntimeException {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to simply apply the unary op
+		return new ColGroupDDC2(_colIndexes, _numRows, applyUnaryOp(op, false), _data);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v) throws DMLRuntimeException {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to simply apply the binary op
+		return new ColGroupDDC2(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v, false), _data);
+	}
 }
@@ -32,7 +32,9 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -113,6 +115,17 @@ public class ColGroupOLE extends ColGroupOffset
 		return CompressionType.OLE_BITMAP;
 	}
 	
+	@Override
+	protected char[] genBitmap(int[] offsets, int len) {
+		return BitmapEncoder.genOffsetBitmap(offsets, len);
+	}
+	
+	@Override
+	protected ColGroupOffset createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupOLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
 	@Override
 	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
 	{
@@ -261,14 +274,56 @@ public class ColGroupOLE extends ColGroupOffset
 		
 		//slow path: sparse-unsafe operations (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
+		return appendZeroValues(applyScalarOp(op, val0, getNumCols()));
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( op.sparseSafe || op.fn.execute(0)==0 ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
+					applyUnaryOp(op, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroValues(applyUnaryOp(op, true));
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( isSparseSafeBinaryRowOp(op.fn, v) ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroValues(applyBinaryRowOp(op.fn, v, true));
+	}
+	
+	/**
+	 * Creates a new column group with the given values, where the last value 
+	 * tuple is assigned to all rows that are zero in this column group. 
+	 * 
+	 * @param rvalues new values, including the appended value tuple for zeros
+	 * @return new column group that shares the existing bitmaps
+	 */
+	private ColGroup appendZeroValues(double[] rvalues)
+		throws DMLRuntimeException 
+	{
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
 			return new ColGroupOLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+					Arrays.copyOf(rvalues, _values.length), _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
 		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
@@ -723,12 +778,13 @@ public class ColGroupOLE extends ColGroupOffset
 		
 		if( rl > 0 ) { //rl aligned with blksz		
 			int rskip = (getNumRows()/2/blksz)*blksz;
+			boolean skip = (_skiplist != null && rl >= rskip);
 			
 			for( int k = 0; k < numVals; k++ ) {
 				int boff = _ptr[k];
 				int blen = len(k);
-				int start = (rl>=rskip)?rskip:0;
-				int bix = (rl>=rskip)?_skiplist[k]:0;
+				int start = skip?rskip:0;
+				int bix = skip?_skiplist[k]:0;
 				for( int i=start; i<rl && bix<blen; i+=blksz ) {
 					bix += _data[boff+bix] + 1;
 				}
@@ -746,8 +802,9 @@ public class ColGroupOLE extends ColGroupOffset
 			int rskip = (getNumRows()/2/blksz)*blksz;
 			int boff = _ptr[k];
 			int blen = len(k);
-			int start = (rl>=rskip)?rskip:0;
-			int bix = (rl>=rskip)?_skiplist[k]:0;
+			boolean skip = (_skiplist != null && rl >= rskip);
+			int start = skip?rskip:0;
+			int bix = skip?_skiplist[k]:0;
 			for( int i=start; i<rl && bix<blen; i+=blksz ) {
 				bix += _data[boff+bix] + 1;
 			}
@@ -789,16 +846,11 @@ public class ColGroupOLE extends ColGroupOffset
 			_start = lrl; 
 			
 			//move position to actual rl boundary
-			if( _bix < _blen ) {
-				_slen = _data[_boff + _bix];
-				_spos = 0;
-				_rpos = _data[_boff + _bix + 1];
-				while( _rpos < rl )
-					nextRowOffset();
-			}
-			else {
-				_rpos = _ru;
-			}
+			_slen = (_bix < _blen) ? _data[_boff + _bix] : 0;
+			_spos = -1;
+			nextRowOffset();
+			while( _rpos < rl && hasNext() )
+				nextRowOffset();
 		}
 
 		@Override
@@ -821,8 +873,13 @@ public class ColGroupOLE extends ColGroupOffset
 				_rpos = _start + _data[_boff + _bix + _spos + 1];
 			}
 			else {
+				//advance to next non-empty segment
 				_start += BitmapEncoder.BITMAP_BLOCK_SZ;
 				_bix += _slen+1;
+				while( _bix < _blen && _data[_boff + _bix] == 0 ) {
+					_start += BitmapEncoder.BITMAP_BLOCK_SZ;
+					_bix++;
+				}
 				if( _bix < _blen ) {
 					_slen = _data[_boff + _bix];
 					_spos = 0;
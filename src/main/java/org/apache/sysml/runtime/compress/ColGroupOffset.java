@@ -413,6 +413,123 @@ public abstract class ColGroupOffset extends ColGroupValue
 
 	protected abstract boolean[] computeZeroIndicatorVector();
 	
+	/**
+	 * Encodes the given sorted row offsets into a bitmap of the
+	 * specific format of this column group.
+	 * 
+	 * @param offsets row offsets
+	 * @param len number of valid row offsets
+	 * @return encoded bitmap
+	 */
+	protected abstract char[] genBitmap(int[] offsets, int len);
+	
+	/**
+	 * Creates a new column group of the same type as this column group,
+	 * which is used for shallow copies with modified meta data.
+	 * 
+	 * @param colIndices column indexes
+	 * @param numRows number of rows
+	 * @param zeros indicator if column group contains zero values
+	 * @param values distinct value tuples
+	 * @param bitmaps linearized bitmaps
+	 * @param bitmapOffs bitmap offsets per value tuple
+	 * @return new column group
+	 */
+	protected abstract ColGroupOffset createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs);
+	
+	@Override
+	public ColGroup sliceRows(int rl, int ru) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		
+		//re-encode the row offsets of all values within the row range,
+		//where the iterators seek to rl via the segment/run structure
+		int[] buff = new int[ru-rl];
+		char[][] lbitmaps = new char[numVals][];
+		int numNewVals = 0, totalLen = 0, totalOffs = 0;
+		for( int k=0; k<numVals; k++ ) {
+			Iterator<Integer> iter = getIterator(k, rl, ru);
+			int len = 0;
+			while( iter.hasNext() )
+				buff[len++] = iter.next() - rl;
+			if( len > 0 ) {
+				lbitmaps[k] = genBitmap(buff, len);
+				totalLen += lbitmaps[k].length;
+				totalOffs += len;
+				numNewVals++;
+			}
+		}
+		
+		//compact value tuples and bitmaps (drop values w/o offsets)
+		double[] rvalues = (numNewVals < numVals) ? 
+			new double[numNewVals*numCols] : _values;
+		char[][] rbitmaps = new char[numNewVals][];
+		for( int k=0, pos=0; k<numVals; k++ ) {
+			if( lbitmaps[k] == null )
+				continue;
+			if( rvalues != _values )
+				System.arraycopy(_values, k*numCols, rvalues, pos*numCols, numCols);
+			rbitmaps[pos++] = lbitmaps[k];
+		}
+		
+		ColGroupOffset ret = createGroup(_colIndexes.clone(), 
+			ru-rl, totalOffs < ru-rl, rvalues, null, null);
+		ret.createCompressedBitmaps(numNewVals, totalLen, rbitmaps);
+		return ret;
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		int[] cix = getColumnPositions(cl, cu);
+		if( cix.length == 0 )
+			return null;
+		int[] colIndices = getShiftedColIndices(cix, cl);
+		
+		//shallow copy with shared bitmaps if all columns selected
+		if( cix.length == getNumCols() ) {
+			ColGroupOffset ret = createGroup(colIndices,
+				_numRows, _zeros, _values, _data, _ptr);
+			ret._skiplist = _skiplist;
+			return ret;
+		}
+		
+		//project value tuples and drop values that became all zeros
+		final int numVals = getNumValues();
+		final int numCols = cix.length;
+		double[] pvalues = projectValues(cix);
+		boolean[] keep = new boolean[numVals];
+		int numNewVals = 0, totalLen = 0;
+		for( int k=0, off=0; k<numVals; k++, off+=numCols ) {
+			for( int j=0; j<numCols && !keep[k]; j++ )
+				keep[k] = (pvalues[off+j] != 0);
+			if( keep[k] ) {
+				numNewVals++;
+				totalLen += len(k);
+			}
+		}
+		if( numNewVals == numVals ) {
+			ColGroupOffset ret = createGroup(colIndices,
+				_numRows, _zeros, pvalues, _data, _ptr);
+			ret._skiplist = _skiplist;
+			return ret;
+		}
+		
+		double[] rvalues = new double[numNewVals*numCols];
+		char[] rbitmaps = new char[totalLen];
+		int[] rbitmapOffs = new int[numNewVals+1];
+		for( int k=0, pos=0, off=0; k<numVals; k++ ) {
+			if( !keep[k] )
+				continue;
+			System.arraycopy(pvalues, k*numCols, rvalues, pos*numCols, numCols);
+			System.arraycopy(_data, _ptr[k], rbitmaps, off, len(k));
+			rbitmapOffs[pos++] = off;
+			off += len(k);
+		}
+		rbitmapOffs[numNewVals] = totalLen;
+		return createGroup(colIndices, _numRows, true, rvalues, rbitmaps, rbitmapOffs);
+	}
+	
 	@Override
 	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros, boolean rowMajor) {
 		if( rowMajor )
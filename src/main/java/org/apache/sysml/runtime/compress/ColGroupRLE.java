@@ -33,7 +33,9 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
@@ -92,6 +94,17 @@ public class ColGroupRLE extends ColGroupOffset
 		return CompressionType.RLE_BITMAP;
 	}
 	
+	@Override
+	protected char[] genBitmap(int[] offsets, int len) {
+		return BitmapEncoder.genRLEBitmap(offsets, len);
+	}
+	
+	@Override
+	protected ColGroupOffset createGroup(int[] colIndices, int numRows, 
+			boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupRLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
 	@Override
 	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
 	{
@@ -464,14 +477,56 @@ public class ColGroupRLE extends ColGroupOffset
 		
 		//slow path: sparse-unsafe operations (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
+		return appendZeroValues(applyScalarOp(op, val0, getNumCols()));
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( op.sparseSafe || op.fn.execute(0)==0 ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, 
+					applyUnaryOp(op, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroValues(applyUnaryOp(op, true));
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( isSparseSafeBinaryRowOp(op.fn, v) ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros, 
+					applyBinaryRowOp(op.fn, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroValues(applyBinaryRowOp(op.fn, v, true));
+	}
+	
+	/**
+	 * Creates a new column group with the given values, where the last value 
+	 * tuple is assigned to all rows that are zero in this column group. 
+	 * 
+	 * @param rvalues new values, including the appended value tuple for zeros
+	 * @return new column group that shares the existing bitmaps
+	 */
+	private ColGroup appendZeroValues(double[] rvalues)
+		throws DMLRuntimeException 
+	{
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
 			return new ColGroupRLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+					Arrays.copyOf(rvalues, _values.length), _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
 		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
@@ -790,8 +845,8 @@ public class ColGroupRLE extends ColGroupOffset
 			_blen = len(k);
 			_bix = 0; 
 			_start = 0; //init first run
-			_rpos = _data[_boff+_bix]; 
-			while( _rpos < rl )
+			_rpos = (_blen > 0) ? _data[_boff+_bix] : _ru; 
+			while( _rpos < rl && hasNext() )
 				nextRowOffset();
 		}
 
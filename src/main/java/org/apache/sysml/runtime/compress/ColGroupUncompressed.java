@@ -36,7 +36,9 @@ import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -167,6 +169,29 @@ public class ColGroupUncompressed extends ColGroup
 	public CompressionType getCompType() {
 		return CompressionType.UNCOMPRESSED;
 	}
+	
+	@Override
+	public ColGroup sliceRows(int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = _data.sliceOperations(rl, ru-1, 
+			0, _data.getNumColumns()-1, new MatrixBlock());
+		return new ColGroupUncompressed(_colIndexes.clone(), ru-rl, ret);
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) 
+		throws DMLRuntimeException 
+	{
+		//column indexes are sorted, i.e., the selected
+		//columns form a contiguous range in the local block
+		int[] cix = getColumnPositions(cl, cu);
+		if( cix.length == 0 )
+			return null;
+		MatrixBlock ret = (cix.length < getNumCols()) ? _data.sliceOperations(0, 
+			_numRows-1, cix[0], cix[cix.length-1], new MatrixBlock()) : _data;
+		return new ColGroupUncompressed(getShiftedColIndices(cix, cl), _numRows, ret);
+	}
 
 	/**
 	 * Access for superclass
@@ -347,6 +372,35 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		//extract the relevant entries of the row vector
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		for( int j=0; j<_colIndexes.length; j++ )
+			vect.quickSetValue(0, j, v[_colIndexes[j]]);
+		
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.binaryOperations(op, vect, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
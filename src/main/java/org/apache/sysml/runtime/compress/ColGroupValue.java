@@ -26,11 +26,13 @@ import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -180,6 +182,25 @@ public abstract class ColGroupValue extends ColGroup
 		return -1;
 	}
 	
+	/**
+	 * Projects the value tuples to the given local column positions, 
+	 * which is used for slicing columns without modifying the bitmaps.
+	 * 
+	 * @param cix local column positions
+	 * @return value tuples of the given columns
+	 */
+	protected double[] projectValues(int[] cix) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		if( cix.length == numCols )
+			return _values;
+		double[] ret = new double[numVals*cix.length];
+		for( int k=0, off=0; k<numVals; k++, off+=numCols )
+			for( int j=0; j<cix.length; j++ )
+				ret[k*cix.length+j] = _values[off+cix[j]];
+		return ret;
+	}
+	
 	protected final double sumValues(int valIx) {
 		final int numCols = getNumCols();
 		final int valOff = valIx * numCols;
@@ -342,6 +363,78 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Method for use by subclasses. Applies a cell-wise unary operation to 
+	 * the value metadata stored in the superclass.
+	 * 
+	 * @param op unary operation to perform
+	 * @param appendZeros if true, appends a value tuple for op(0)
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op, boolean appendZeros)
+		throws DMLRuntimeException 
+	{
+		final int numCols = getNumCols();
+		double[] ret = new double[_values.length + (appendZeros ? numCols : 0)];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = op.fn.execute(_values[i]);
+		
+		//add new value tuple to the end
+		if( appendZeros )
+			Arrays.fill(ret, _values.length, ret.length, op.fn.execute(0));
+		
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a cell-wise binary operation 
+	 * with a row vector on the right to the value metadata stored in the 
+	 * superclass, i.e., each value tuple is combined with the vector entries
+	 * of the columns covered by this column group.
+	 * 
+	 * @param fn binary function to apply
+	 * @param v dense row vector of the full number of columns
+	 * @param appendZeros if true, appends a value tuple for fn(0, v)
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyBinaryRowOp(ValueFunction fn, double[] v, boolean appendZeros)
+		throws DMLRuntimeException 
+	{
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		double[] ret = new double[_values.length + (appendZeros ? numCols : 0)];
+		for( int k = 0, off = 0; k < numVals; k++, off += numCols )
+			for( int j = 0; j < numCols; j++ )
+				ret[off+j] = fn.execute(_values[off+j], v[_colIndexes[j]]);
+		
+		//add new value tuple to the end
+		if( appendZeros )
+			for( int j = 0; j < numCols; j++ )
+				ret[_values.length+j] = fn.execute(0, v[_colIndexes[j]]);
+		
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the given binary operation with a row vector on the right
+	 * maps zeros to zeros for all columns covered by this column group.
+	 * 
+	 * @param fn binary function to apply
+	 * @param v dense row vector of the full number of columns
+	 * @return true if fn(0, v[j])==0 for all columns j of this group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected boolean isSparseSafeBinaryRowOp(ValueFunction fn, double[] v) 
+		throws DMLRuntimeException 
+	{
+		boolean ret = true;
+		for( int j = 0; j < _colIndexes.length && ret; j++ )
+			ret &= (fn.execute(0, v[_colIndexes[j]]) == 0);
+		return ret;
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) 
 		throws DMLRuntimeException 
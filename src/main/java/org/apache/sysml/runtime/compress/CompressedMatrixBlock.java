@@ -34,7 +34,6 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -43,6 +42,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.MMTSJ.MMTSJType;
 import org.apache.sysml.lops.MapMultChain.ChainType;
@@ -70,7 +70,9 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell.BinaryAccessType;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -92,8 +94,10 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.SortUtils;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Experimental version of MatrixBlock that allows a compressed internal
@@ -296,8 +300,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			}
 		}
 		
+		_stats.timePhase1 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase1 = time.stop();
 			LOG.debug("Compression statistics:");
 			LOG.debug("--compression phase 1: "+_stats.timePhase1);
 		}
@@ -307,8 +311,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		List<int[]> bitmapColGrps = PlanningCoCoder.findCocodesByPartitioning(
 				bitmapSizeEstimator, colsC, sizeInfos, numRows, k);
 
+		_stats.timePhase2 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase2 = time.stop();
 			LOG.debug("--compression phase 2: "+_stats.timePhase2);
 		}
 			
@@ -335,8 +339,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			}
 		}
 		
+		_stats.timePhase3 = time.stop();
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase3 = time.stop();
 			LOG.debug("--compression phase 3: "+_stats.timePhase3);
 		}
 			
@@ -355,8 +359,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		rawblock.cleanupBlock(true, true);
 		this.cleanupBlock(true, true);
 		
+		_stats.timePhase4 = time.stop();
+		if( DMLScript.STATISTICS ) {
+			Statistics.incrementCompression(_stats.timePhase1, 
+				_stats.timePhase2, _stats.timePhase3, _stats.timePhase4);
+		}
 		if( LOG.isDebugEnabled() ) {
-			_stats.timePhase4 = time.stop();
 			int[] counts = getColGroupCounts(_colGroups);
 			LOG.debug("--compression phase 4: "+_stats.timePhase4);
 			LOG.debug("--num col groups: "+_colGroups.size());
@@ -400,7 +408,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException 
 	{	
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<SizeEstimTask> tasks = new ArrayList<SizeEstimTask>();
 			for( int col=0; col<clen; col++ )
 				tasks.add(new SizeEstimTask(estim, col));
@@ -429,16 +437,24 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException
 	{
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			//submit groups with most columns first (largest bitmap extraction 
+			//and encoding costs) to reduce load imbalance at the end of this phase
+			Integer[] order = new Integer[groups.size()];
+			for( int i=0; i<order.length; i++ )
+				order[i] = i;
+			Arrays.sort(order, (a, b) -> Integer.compare(
+				groups.get(b).length, groups.get(a).length));
+			
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
-			for( int[] colIndexes : groups )
-				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst));
+			for( Integer ix : order )
+				tasks.add(new CompressTask(in, estim, compRatios, rlen, groups.get(ix), denseEst));
 			List<Future<ColGroup>> rtask = pool.invokeAll(tasks);	
-			ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
-			for( Future<ColGroup> lrtask : rtask )
-				ret.add(lrtask.get());
+			ColGroup[] ret = new ColGroup[groups.size()];
+			for( int i=0; i<order.length; i++ )
+				ret[order[i]] = rtask.get(i).get();
 			pool.shutdown();
-			return ret.toArray(new ColGroup[0]);
+			return ret;
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -594,7 +610,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//multi-threaded decompression
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int blklen = BitmapEncoder.getAlignedBlocksize(
 				(int)(Math.ceil((double)rlen/k)));
@@ -698,8 +714,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
+		//compression flag and uncompressed block
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
 		//header information
-		long ret = 12;
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -709,6 +729,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 	
+	@Override
+	public long getInMemorySize() {
+		return isCompressed() ? 
+			estimateCompressedSizeInMemory() : super.getInMemorySize();
+	}
+	
+	@Override
+	public boolean isShallowSerialize() {
+		//keep compressed blocks by reference, which are written
+		//to local files in compressed form on eviction
+		return isCompressed() || super.isShallowSerialize();
+	}
+	
 	@Override
 	public void readFields(DataInput in) 
 		throws IOException 
@@ -842,13 +875,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 		
 		//allocate the output matrix block
-		CompressedMatrixBlock ret = null;
-		if( result==null || !(result instanceof CompressedMatrixBlock) )
-			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
-		else {
-			ret = (CompressedMatrixBlock) result;
-			ret.reset(rlen, clen);
-		}
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
 		
 		// Apply the operation recursively to each of the column groups.
 		// Most implementations will only modify metadata.
@@ -861,6 +888,250 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		return ret;
 	}
+	
+	@Override
+	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed unary operations if necessary
+		if( !isCompressed() ) {
+			return super.unaryOperations(op, result);
+		}
+		
+		//fallback to uncompressed operations for cumulative aggregates, 
+		//which cannot be computed over the distinct values only
+		if( !isSupportedUnaryOperation(op) ) {
+			printDecompressWarning("unaryOperations");
+			return decompress().unaryOperations(op, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
+		
+		// Apply the operation to each of the column groups, where offset 
+		// lists, bitmaps, and data mappings are shallow-copied.
+		ret._colGroups = unaryOperationsColGroups(op);
+		ret.setNonZeros(op.sparseSafe ? getNonZeros() : (long)rlen*clen);
+		
+		return ret;
+	}
+
+	@Override
+	public void unaryOperationsInPlace(UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed unary operations if necessary
+		if( !isCompressed() ) {
+			super.unaryOperationsInPlace(op);
+			return;
+		}
+		
+		//fallback to uncompressed in-place operations (output uncompressed)
+		if( !isSupportedUnaryOperation(op) ) {
+			printDecompressWarning("unaryOperationsInPlace");
+			MatrixBlock tmp = decompress();
+			tmp.unaryOperationsInPlace(op);
+			replaceWithUncompressed(tmp);
+			return;
+		}
+		
+		//replace column groups by transformed column groups
+		_colGroups = unaryOperationsColGroups(op);
+		if( !op.sparseSafe )
+			setNonZeros((long)rlen*clen);
+	}
+
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock that = (MatrixBlock) thatValue;
+		
+		//call uncompressed binary operations if necessary
+		if( !isCompressed() && !isCompressed(that) ) {
+			return super.binaryOperations(op, that, result);
+		}
+		
+		//fallback to uncompressed operations for matrix-matrix, 
+		//matrix-column vector, and outer vector operations
+		if( !isSupportedBinaryOperation(that) ) {
+			printDecompressWarning("binaryOperations", that);
+			MatrixBlock left = isCompressed() ? decompress() : this;
+			MatrixBlock right = getUncompressed(that);
+			return (left != this) ? left.binaryOperations(op, right, result) :
+				super.binaryOperations(op, right, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
+		
+		// Apply the matrix-row vector operation to each of the column groups, 
+		// where offset lists, bitmaps, and data mappings are shallow-copied.
+		ret._colGroups = binaryOperationsColGroups(op, that);
+		ret.setNonZeros((long)rlen*clen);
+		
+		return ret;
+	}
+
+	@Override
+	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock that = (MatrixBlock) thatValue;
+		
+		//call uncompressed binary operations if necessary
+		if( !isCompressed() && !isCompressed(that) ) {
+			super.binaryOperationsInPlace(op, that);
+			return;
+		}
+		
+		//fallback to uncompressed in-place operations (output uncompressed)
+		if( !isSupportedBinaryOperation(that) ) {
+			printDecompressWarning("binaryOperationsInPlace", that);
+			MatrixBlock right = getUncompressed(that);
+			if( isCompressed() ) {
+				MatrixBlock tmp = decompress();
+				tmp.binaryOperationsInPlace(op, right);
+				replaceWithUncompressed(tmp);
+			}
+			else
+				super.binaryOperationsInPlace(op, right);
+			return;
+		}
+		
+		//replace column groups by transformed column groups
+		_colGroups = binaryOperationsColGroups(op, that);
+		setNonZeros((long)rlen*clen);
+	}
+	
+	private CompressedMatrixBlock allocateCompressedOutput(MatrixValue result) {
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		return ret;
+	}
+	
+	private static boolean isSupportedUnaryOperation(UnaryOperator op) {
+		//all cell-wise unary operations except cumulative aggregates
+		return !LibMatrixAgg.isSupportedUnaryOperator(op);
+	}
+	
+	private boolean isSupportedBinaryOperation(MatrixBlock that) {
+		//matrix-row vector operations with compressed lhs only
+		return isCompressed() && !isCompressed(that)
+			&& LibMatrixBincell.getBinaryAccessType(this, that) 
+				== BinaryAccessType.MATRIX_ROW_VECTOR;
+	}
+	
+	private ArrayList<ColGroup> unaryOperationsColGroups(UnaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : _colGroups)
+			ret.add(grp.unaryOperation(op));
+		return ret;
+	}
+	
+	private ArrayList<ColGroup> binaryOperationsColGroups(BinaryOperator op, MatrixBlock that) 
+		throws DMLRuntimeException 
+	{
+		double[] v = ConverterUtils.getDenseVector(that);
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : _colGroups)
+			ret.add(grp.binaryRowVectorOperation(op, v));
+		return ret;
+	}
+	
+	private void replaceWithUncompressed(MatrixBlock mb) {
+		_colGroups = null;
+		_stats = null;
+		copy(mb);
+	}
+
+	@Override
+	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed slice if necessary
+		if( !isCompressed() ) {
+			return super.sliceOperations(rl, ru, cl, cu, ret);
+		}
+		
+		//check the validity of bounds
+		if ( rl < 0 || rl >= getNumRows() || ru < rl || ru >= getNumRows()
+			|| cl < 0 || cu >= getNumColumns() || cu < cl ) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: ["+(rl+1)+":"+(ru+1)+"," + (cl+1)+":"+(cu+1)+"] " +
+				"must be within matrix dimensions ["+getNumRows()+","+getNumColumns()+"]");
+		}
+		
+		//slice column groups w/o decompression
+		CompressedMatrixBlock ret2 = (ret instanceof CompressedMatrixBlock) ? 
+			(CompressedMatrixBlock) ret : null;
+		ret2 = sliceColGroups(rl, ru, cl, cu, ret2);
+		
+		//decompress single-row slices, which are not worth compressing
+		return (ret2.getNumRows() == 1) ? ret2.decompress() : ret2;
+	}
+
+	@Override
+	public void sliceOperations(ArrayList<IndexedMatrixValue> outlist, IndexRange range, 
+			int rowCut, int colCut, int normalBlockRowFactor,
+			int normalBlockColFactor, int boundaryRlen, int boundaryClen) 
+	{
+		//call uncompressed slice if necessary
+		if( !isCompressed() ) {
+			super.sliceOperations(outlist, range, rowCut, colCut, normalBlockRowFactor,
+				normalBlockColFactor, boundaryRlen, boundaryClen);
+			return;
+		}
+		
+		try {
+			//slice column groups of the requested range w/o decompression 
+			//and decompress only this range into the output blocks
+			int rl = (int)range.rowStart, ru = (int)range.rowEnd;
+			int cl = (int)range.colStart, cu = (int)range.colEnd;
+			MatrixBlock tmp = sliceColGroups(rl, ru, cl, cu, null).decompress();
+			tmp.sliceOperations(outlist, new IndexRange(0, ru-rl, 0, cu-cl), rowCut-rl, 
+				colCut-cl, normalBlockRowFactor, normalBlockColFactor, boundaryRlen, boundaryClen);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private CompressedMatrixBlock sliceColGroups(int rl, int ru, int cl, int cu, CompressedMatrixBlock ret) 
+		throws DMLRuntimeException
+	{
+		final int m = ru-rl+1;
+		final int n = cu-cl+1;
+		
+		//allocate the output matrix block
+		if( ret == null )
+			ret = new CompressedMatrixBlock(m, n, sparse);
+		else
+			ret.reset(m, n);
+		ret.allocateColGroupList();
+		
+		//select column groups of the column range and slice their rows,
+		//which only copies compressed data structures of the given range
+		boolean allRows = (rl == 0 && ru == rlen-1);
+		for( ColGroup grp : _colGroups ) {
+			ColGroup tmp = grp.sliceColumns(cl, cu);
+			if( tmp != null )
+				ret._colGroups.add(allRows ? tmp : tmp.sliceRows(rl, ru+1));
+		}
+		
+		//meta data maintenance
+		long nnz = 0;
+		for( int rnnz : ret.countNonZerosPerRow(0, m) )
+			nnz += rnnz;
+		ret.setNonZeros(nnz);
+		return ret;
+	}
 
 	@Override
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret) 
@@ -1109,7 +1380,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				if( uc != null )
 					 ret = (MatrixBlock)uc.getData().aggregateUnaryOperations(op, ret, blockingFactorRow, blockingFactorCol, indexesIn, false);					
 				//compute all compressed column groups
-				ExecutorService pool = Executors.newFixedThreadPool( op.getNumThreads() );
+				ExecutorService pool = CommonThreadPool.get( op.getNumThreads() );
 				ArrayList<UnaryAggregateTask> tasks = new ArrayList<UnaryAggregateTask>();
 				if( op.indexFn instanceof ReduceCol && grpParts.length > 0 ) {
 					int blklen = BitmapEncoder.getAlignedBlocksize(
@@ -1292,7 +1563,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( !isEmptyBlock(false) ) {
 			//compute matrix mult
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 				int numgrp = _colGroups.size();
 				int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
@@ -1364,7 +1635,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.rightMultByVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int blklen = BitmapEncoder.getAlignedBlocksize(
 				(int)(Math.ceil((double)rlen/k)));
@@ -1511,7 +1782,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.leftMultByRowVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
+			ExecutorService pool = CommonThreadPool.get( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
 			ArrayList<ColGroup>[] grpParts = createStaticTaskPartitioning(4*k, false);
 			ArrayList<LeftMatrixMultTask> tasks = new ArrayList<LeftMatrixMultTask>();
 			for( ArrayList<ColGroup> groups : grpParts )
@@ -1818,40 +2089,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	//////////////////////////////////////////
 	// Graceful fallback to uncompressed linear algebra
 	
-	@Override
-	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
-	}
-
-	@Override
-	public void unaryOperationsInPlace(UnaryOperator op) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperationsInPlace");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		tmp.unaryOperationsInPlace(op);
-	}
-
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
-	@Override
-	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
-	}
-
 	@Override
 	public void incrementalAggregate(AggregateOperator aggOp, MatrixValue correction, MatrixValue newWithCorrection)
 			throws DMLRuntimeException {
@@ -1926,29 +2163,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return tmp.leftIndexingOperations(scalar, rl, cl, ret, update);
 	}
 
-	@Override
-	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
-			throws DMLRuntimeException {
-		printDecompressWarning("sliceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.sliceOperations(rl, ru, cl, cu, ret);
-	}
-
-	@Override
-	public void sliceOperations(ArrayList<IndexedMatrixValue> outlist, IndexRange range, 
-			int rowCut, int colCut, int normalBlockRowFactor,
-			int normalBlockColFactor, int boundaryRlen, int boundaryClen) {
-		printDecompressWarning("sliceOperations");
-		try {
-			MatrixBlock tmp = isCompressed() ? decompress() : this;
-			tmp.sliceOperations(outlist, range, rowCut, colCut, normalBlockRowFactor,
-					normalBlockColFactor, boundaryRlen, boundaryClen);
-		}
-		catch(DMLRuntimeException ex) {
-			throw new RuntimeException(ex);
-		}
-	}
-
 	@Override
 	public MatrixValue zeroOutOperations(MatrixValue result, IndexRange range, boolean complementary) 
 			throws DMLRuntimeException {
@@ -2082,6 +2296,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return tmp.removeEmptyOperations(ret, rows, select);
 	}
 
+	@Override
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+			throws DMLRuntimeException {
+		printDecompressWarning("removeEmptyOperations");
+		MatrixBlock tmp = isCompressed() ? decompress(k) : this;
+		return tmp.removeEmptyOperations(ret, rows, select, k);
+	}
+
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows)
 			throws DMLRuntimeException {
@@ -2216,7 +2438,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throw new RuntimeException("CompressedMatrixBlock: seqOperationsInPlace not supported.");
 	}
 
-	private static boolean isCompressed(MatrixBlock mb) {
+	public static boolean isCompressed(MatrixBlock mb) {
 		return (mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed());
 	}
 
@@ -25,7 +25,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
@@ -33,6 +32,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 public class PlanningCoCoder 
 {
@@ -74,6 +74,7 @@ public class PlanningCoCoder
 	}
 
 	private static List<int[]> getCocodingGroupsBruteForce(List<List<Integer>> bins, HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estim, int rlen) 
+		throws DMLRuntimeException 
 	{
 		List<int[]> retGroups = new ArrayList<int[]>();		
 		for (List<Integer> bin : bins) {
@@ -83,7 +84,7 @@ public class PlanningCoCoder
 				sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
 			// brute force co-coding	
 			PlanningCoCodingGroup[] outputGroups = findCocodesBruteForce(
-					estim, rlen, sgroups.toArray(new PlanningCoCodingGroup[0]));
+					estim, rlen, sgroups.toArray(new PlanningCoCodingGroup[0]), 1);
 			for (PlanningCoCodingGroup grp : outputGroups)
 				retGroups.add(grp.getColIndices());
 		}
@@ -96,14 +97,17 @@ public class PlanningCoCoder
 	{
 		List<int[]> retGroups = new ArrayList<int[]>();		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			//distribute remaining parallelism to the merge candidates of each bin,
+			//which avoids serial co-coding if there are only few (but large) bins
+			int kbin = Math.max(1, k / Math.max(1, bins.size()));
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<CocodeTask> tasks = new ArrayList<CocodeTask>();
 			for (List<Integer> bin : bins) {
 				// building an array of singleton CoCodingGroup
 				ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<PlanningCoCodingGroup>();
 				for (Integer col : bin)
 					sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-				tasks.add(new CocodeTask(estim, sgroups, rlen));
+				tasks.add(new CocodeTask(estim, sgroups, rlen, kbin));
 			}
 			List<Future<PlanningCoCodingGroup[]>> rtask = pool.invokeAll(tasks);	
 			for( Future<PlanningCoCodingGroup[]> lrtask : rtask )
@@ -121,16 +125,20 @@ public class PlanningCoCoder
 	/**
 	 * Identify columns to code together. Uses a greedy approach that merges
 	 * pairs of column groups into larger groups. Each phase of the greedy
-	 * algorithm considers all combinations of pairs to merge.
+	 * algorithm considers all combinations of pairs to merge, where new
+	 * merge candidates are created in parallel if k &gt; 1.
 	 * 
 	 * @param sizeEstimator compressed size estimator
 	 * @param numRowsWeight number of rows weight
 	 * @param singltonGroups planning co-coding groups
+	 * @param k degree of parallelism
 	 * @return
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
 	private static PlanningCoCodingGroup[] findCocodesBruteForce(
 			CompressedSizeEstimator estim, int numRows,
-			PlanningCoCodingGroup[] singletonGroups) 
+			PlanningCoCodingGroup[] singletonGroups, int k) 
+		throws DMLRuntimeException
 	{
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Cocoding: process "+singletonGroups.length);
@@ -144,6 +152,10 @@ public class PlanningCoCoder
 		//process merging iterations until no more change
 		boolean changed = true;
 		while( changed && workset.size()>1 ) {
+			//create new merge candidates in parallel (incl bitmap extraction)
+			if( k > 1 )
+				createMergeCandidates(memo, workset, estim, numRows, k);
+			
 			//find best merge, incl memoization
 			PlanningCoCodingGroup tmp = null;
 			for( int i=0; i<workset.size(); i++ ) {
@@ -190,6 +202,52 @@ public class PlanningCoCoder
 		return workset.toArray(new PlanningCoCodingGroup[0]);
 	}
 
+	/**
+	 * Creates all non-memoized and non-dominated merge candidates of the
+	 * current working set in parallel, and adds them to the memo table. 
+	 * Since the pruning threshold is only tightened by the subsequent
+	 * sequential selection, the selected merge is the same as with lazy
+	 * creation of candidates.
+	 * 
+	 * @param memo memo table of merge candidates
+	 * @param workset current working set of column groups
+	 * @param estim compressed size estimator
+	 * @param numRows number of rows
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void createMergeCandidates(PlanningMemoTable memo, List<PlanningCoCodingGroup> workset, 
+			CompressedSizeEstimator estim, int numRows, int k) 
+		throws DMLRuntimeException 
+	{
+		//collect missing candidates, w/ pruning of dominated candidates
+		ArrayList<MergeTask> tasks = new ArrayList<MergeTask>();
+		for( int i=0; i<workset.size(); i++ )
+			for( int j=i+1; j<workset.size(); j++ ) {
+				PlanningCoCodingGroup c1 = workset.get(i);
+				PlanningCoCodingGroup c2 = workset.get(j);
+				if( -Math.min(c1.getEstSize(), c2.getEstSize()) > memo.getOptChangeInSize() 
+					|| memo.contains(c1, c2) )
+					continue;
+				tasks.add(new MergeTask(c1, c2, estim, numRows));
+			}
+		
+		//single candidates are created on demand
+		if( tasks.size() <= 1 )
+			return;
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			List<Future<PlanningCoCodingGroup>> rtask = pool.invokeAll(tasks);
+			for( Future<PlanningCoCodingGroup> lrtask : rtask )
+				memo.put(lrtask.get());
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	private static ColumnGroupPartitioner createColumnGroupPartitioner(PartitionerType type) {
 		switch( type ) {
 			case BIN_PACKING: 
@@ -219,18 +277,40 @@ public class PlanningCoCoder
 		private CompressedSizeEstimator _estim = null;
 		private ArrayList<PlanningCoCodingGroup> _sgroups = null;
 		private int _rlen = -1;
+		private int _k = -1;
 		
-		protected CocodeTask( CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, int rlen )  {
+		protected CocodeTask( CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, int rlen, int k )  {
 			_estim = estim;
 			_sgroups = sgroups;
 			_rlen = rlen;
+			_k = k;
 		}
 		
 		@Override
 		public PlanningCoCodingGroup[] call() throws DMLRuntimeException {
 			// brute force co-coding	
 			return findCocodesBruteForce(_estim, _rlen, 
-					_sgroups.toArray(new PlanningCoCodingGroup[0]));
+					_sgroups.toArray(new PlanningCoCodingGroup[0]), _k);
+		}
+	}
+	
+	private static class MergeTask implements Callable<PlanningCoCodingGroup> 
+	{
+		private final PlanningCoCodingGroup _c1;
+		private final PlanningCoCodingGroup _c2;
+		private final CompressedSizeEstimator _estim;
+		private final int _rlen;
+		
+		protected MergeTask( PlanningCoCodingGroup c1, PlanningCoCodingGroup c2, CompressedSizeEstimator estim, int rlen )  {
+			_c1 = c1;
+			_c2 = c2;
+			_estim = estim;
+			_rlen = rlen;
+		}
+		
+		@Override
+		public PlanningCoCodingGroup call() {
+			return new PlanningCoCodingGroup(_c1, _c2, _estim, _rlen);
 		}
 	}
 }
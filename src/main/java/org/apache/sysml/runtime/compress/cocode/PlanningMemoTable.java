@@ -53,6 +53,18 @@ public class PlanningMemoTable
 		return c1c2;
 	}
 	
+	public boolean contains(PlanningCoCodingGroup c1, PlanningCoCodingGroup c2) {
+		return _memo.containsKey(new ColIndexes(PlanningCoCodingGroup
+				.getMergedIndexes(c1.getColIndices(), c2.getColIndices())));
+	}
+	
+	public void put(PlanningCoCodingGroup c1c2) {
+		//add externally created group and maintain global stats
+		_memo.put(new ColIndexes(c1c2.getColIndices()), c1c2);
+		_optChangeInSize = Math.min(_optChangeInSize, c1c2.getChangeInSize());
+		incrStats(0, 0, 1); //created plans
+	}
+	
 	public void remove(PlanningCoCodingGroup grp) {
 		//remove atomic groups
 		_memo.remove(new ColIndexes(grp.getColIndices()));
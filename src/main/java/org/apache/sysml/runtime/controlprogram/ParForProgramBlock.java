@@ -81,6 +81,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysml.runtime.controlprogram.parfor.WrittenRanges;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator.TestMeasure;
@@ -746,6 +747,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
+			//(mark result variables as not written, for range-aware result merge)
+			markResultVariables(ec, true);
 			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
@@ -813,6 +816,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks,
 				numExecutedIterations, numExecutedTasks, localVariables );
+			markResultVariables(ec, false);
 			
 			// Step 5) cleanup local parworkers (e.g., remove created functions)
 			for( int i=0; i<_numThreads; i++ )
@@ -1774,6 +1778,23 @@ public class ParForProgramBlock extends ForProgramBlock
 			Statistics.incrementParForMergeTime((long) time.stop());
 	}
 	
+	/**
+	 * Sets the written ranges of all matrix result variables, where
+	 * a new root per variable marks the start of a local parfor and 
+	 * null resets the ranges after result merge.
+	 * 
+	 * @param ec execution context
+	 * @param init true to assign new roots, false to reset the ranges
+	 */
+	private void markResultVariables(ExecutionContext ec, boolean init) {
+		for( String var : _resultVars ) {
+			Data dat = ec.getVariable(var);
+			if( dat instanceof MatrixObject )
+				((MatrixObject)dat).setWrittenRanges(init ? 
+					WrittenRanges.createRoot() : null);
+		}
+	}
+	
 	/**
 	 * NOTE: Currently we use a fixed rule (multiple results AND REMOTE_MR -> only selected by the optimizer
 	 * if mode was REMOTE_MR as well). 
@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -33,6 +34,9 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -207,14 +211,40 @@ public class ProgramBlock
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec)
 		throws DMLRuntimeException
 	{
-		for (int i = 0; i < inst.size(); i++)
-		{
-			//indexed access required due to dynamic add
-			Instruction currInst = inst.get(i);
+		//prefetch of evicted inputs of upcoming instructions (if enabled)
+		CachePrefetcher prefetcher = CachePrefetcher.create();
+		Throwable failure = null;
+		try {
+			for (int i = 0; i < inst.size(); i++)
+			{
+				//indexed access required due to dynamic add
+				Instruction currInst = inst.get(i);
+				if( prefetcher != null ) {
+					prefetcher.prefetch(inst, i, ec);
+					prefetcher.waitForInputs(currInst, ec);
+				}
 
-			//execute instruction
-			ec.updateDebugState(i);
-			executeSingleInstruction(currInst, ec);
+				//execute instruction
+				ec.updateDebugState(i);
+				executeSingleInstruction(currInst, ec);
+			}
+		}
+		catch(Throwable ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			//release prefetches w/o masking the original exception
+			if( prefetcher != null ) {
+				try {
+					prefetcher.close();
+				}
+				catch(DMLRuntimeException ex) {
+					if( failure == null )
+						throw ex;
+					failure.addSuppressed(ex);
+				}
+			}
 		}
 	}
 
@@ -290,8 +320,9 @@ public class ProgramBlock
 
 			// maintain aggregate statistics
 			if( DMLScript.STATISTICS) {
-				Statistics.maintainCPHeavyHitters(
-					tmp.getExtendedOpcode(), System.nanoTime()-t0);
+				//processed bytes only w/ fine-grained stats (variable lookups per instruction)
+				Statistics.maintainCPHeavyHitters(tmp.getExtendedOpcode(), System.nanoTime()-t0,
+					DMLScript.FINEGRAINED_STATISTICS ? Statistics.getProcessedBytes(tmp, ec) : 0);
 			}
 
 			// optional trace information (instruction and runtime)
@@ -352,6 +383,32 @@ public class ProgramBlock
 		return flags;
 	}
 
+	/**
+	 * Registers reuse hints of the buffer pool eviction policy for all cacheable
+	 * variables read by this loop block, which are likely reused in the next iteration.
+	 * 
+	 * @param ec execution context
+	 * @return list of cacheable data objects with registered hints, or null
+	 */
+	protected List<CacheableData<?>> prepareEvictionReuseHints(ExecutionContext ec) {
+		if( _sb == null || !CacheableData.isCachingActive()
+			|| !LazyWriteBuffer.requiresReuseHints() )
+			return null;
+		
+		List<CacheableData<?>> ret = new ArrayList<CacheableData<?>>();
+		for( String varname : _sb.variablesRead().getVariableNames() ) {
+			Data dat = ec.getVariable(varname);
+			if( dat instanceof CacheableData )
+				ret.add((CacheableData<?>) dat);
+		}
+		LazyWriteBuffer.addReuseHints(ret);
+		return ret;
+	}
+	
+	protected void resetEvictionReuseHints(List<CacheableData<?>> hints) {
+		LazyWriteBuffer.removeReuseHints(hints);
+	}
+	
 	protected void resetUpdateInPlaceVariableFlags(ExecutionContext ec, UpdateType[] flags)
 		throws DMLRuntimeException
 	{
@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.Hop;
@@ -27,6 +28,7 @@ import org.apache.sysml.parser.WhileStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -151,10 +153,12 @@ public class WhileProgramBlock extends ProgramBlock
 	public void execute(ExecutionContext ec) throws DMLRuntimeException 
 	{
 		//execute while loop
+		List<CacheableData<?>> hints = null;
 		try 
 		{
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			hints = prepareEvictionReuseHints(ec);
 			
 			//run loop body until predicate becomes false
 			while( executePredicate(ec).getBooleanValue() )
@@ -176,6 +180,10 @@ public class WhileProgramBlock extends ProgramBlock
 		catch (Exception e) {
 			throw new DMLRuntimeException(printBlockErrorLocation() + "Error evaluating while program block", e);
 		}
+		finally {
+			//unregister reuse hints (incl exceptions)
+			resetEvictionReuseHints(hints);
+		}
 		
 		//execute exit instructions
 		try {
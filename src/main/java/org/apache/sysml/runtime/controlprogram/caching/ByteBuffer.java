@@ -25,9 +25,11 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils.LocalFileFormat;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
@@ -39,13 +41,34 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
-	private final long _size;
+	private volatile boolean _compressed;
+	private final long _size;     //serialized size
+	private final long _capacity; //memory size (incl pooled page)
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
+	//access statistics for eviction policies (guarded by buffer lock)
+	protected int    _numAccesses = 0;
+	protected double _clock = 0;
+	
 	public ByteBuffer( long size ) {
+		this(size, null);
+	}
+	
+	/**
+	 * Creates a byte buffer handle for the given serialized size, backed by
+	 * an optional pooled page. Since pooled pages might be larger than the
+	 * serialized size, the page is obtained upfront in order to account for
+	 * its actual memory size in the write buffer.
+	 * 
+	 * @param size serialized size in bytes
+	 * @param page pooled page of length &gt;= size, or null
+	 */
+	public ByteBuffer( long size, byte[] page ) {
 		_size = size;
+		_capacity = (page != null) ? page.length : size;
+		_bdata = page;
 		_serialized = false;
 	}
 
@@ -54,14 +77,14 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize();
 		_matrix = (cb instanceof MatrixBlock);
+		_compressed = (cb instanceof CompressedMatrixBlock);
 		
 		try
 		{
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
-				if( CacheableData.CACHING_BUFFER_PAGECACHE )
-					_bdata = PageCache.getPage((int)_size);
+				//(pooled pages might be larger than the serialized size)
 				if( _bdata==null )
 					_bdata = new byte[(int)_size];
 				DataOutput dout = new CacheDataOutput(_bdata);
@@ -80,7 +103,7 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
-	public CacheBlock deserializeBlock() 
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
@@ -88,7 +111,8 @@ public class ByteBuffer
 		if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
+			ret = _compressed ? new CompressedMatrixBlock() :
+				_matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
 		}
 		else { //dense matrix/frame
@@ -98,38 +122,42 @@ public class ByteBuffer
 		return ret;
 	}
 
-	public void evictBuffer( String fname ) 
+	public LocalFileFormat evictBuffer( String fname ) 
 		throws IOException
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeByteArrayToLocal(fname, _bdata, (int)_size);
+			return _compressed ? LocalFileFormat.COMPRESSED : LocalFileFormat.SERIALIZED;
 		}
 		else {
 			//serialize cache block to output stream
-			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			return LocalFileUtils.writeCacheBlockToLocal(fname, _cdata,
+				CacheableData.CACHING_EVICTION_MMAP);
 		}
 	}
 	
 	/**
-	 * Returns the buffer size in bytes.
+	 * Returns the buffer size in bytes, i.e., the memory size accounted in
+	 * the write buffer, which might exceed the serialized size if the buffer
+	 * is backed by a larger pooled page.
 	 * 
 	 * @return buffer size in bytes
 	 */
 	public long getSize() {
-		return _size;
+		return _capacity;
 	}
 
 	public boolean isShallow() {
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
-				PageCache.putPage(_bdata);
+			//return page after potentially concurrent deserialization
+			PageCache.putPage(_bdata);
 			_bdata = null;
 		}
 		else {
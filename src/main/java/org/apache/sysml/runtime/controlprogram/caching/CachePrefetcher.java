@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+
+/**
+ * Prefetcher for the instruction stream of a program block, which looks ahead
+ * a few instructions and restores evicted inputs in the background. Restored
+ * data is pinned with a read lock (see {@link CacheableData#prefetch()}), which
+ * is handed over to the acquireRead of the consuming instruction. Before an
+ * instruction is executed, the prefetcher waits for pending prefetches of its
+ * inputs (accounted as restore stall time), and on close, it releases the
+ * pins of all unclaimed prefetches.
+ *
+ * The lookahead depth is configured via cp.prefetch.depth (0 disables
+ * prefetching). Prefetches are executed by a dedicated, fixed-size I/O thread
+ * pool (sized by the configured binary read parallelism) in order to not block
+ * workers of the shared compute thread pool.
+ */
+public class CachePrefetcher
+{
+	//thread pool for asynchronous restores
+	private static ExecutorService _pool = null;
+	private static int _depth = 0;
+
+	//scheduled and consumed prefetches of this instruction stream
+	private final HashMap<CacheableData<?>, Future<Boolean>> _pending =
+		new HashMap<CacheableData<?>, Future<Boolean>>();
+	private final List<CacheableData<?>> _consumed = new ArrayList<CacheableData<?>>();
+
+	public static synchronized void init(int depth) {
+		_depth = Math.max(depth, 0);
+		if( _depth > 0 && _pool == null )
+			_pool = Executors.newFixedThreadPool(
+				OptimizerUtils.getParallelBinaryReadParallelism());
+	}
+
+	public static synchronized void cleanup() {
+		if( _pool != null )
+			_pool.shutdown();
+		_pool = null;
+		_depth = 0;
+	}
+
+	/**
+	 * Creates a prefetcher for an instruction stream if prefetching
+	 * is enabled and caching is active.
+	 *
+	 * @return prefetcher, or null if disabled
+	 */
+	public static CachePrefetcher create() {
+		return (_depth > 0 && CacheableData.isCachingActive()) ?
+			new CachePrefetcher() : null;
+	}
+
+	/**
+	 * Schedules prefetches for the inputs of the instructions following the
+	 * given position, up to the configured lookahead depth.
+	 *
+	 * @param inst instruction stream
+	 * @param pos position of the current instruction
+	 * @param ec execution context
+	 */
+	public void prefetch(ArrayList<Instruction> inst, int pos, ExecutionContext ec) {
+		ExecutorService pool = _pool;
+		if( pool == null )
+			return;
+		for( int i=pos+1; i<Math.min(pos+1+_depth, inst.size()); i++ )
+			for( CacheableData<?> cd : getInputs(inst.get(i), ec) )
+				if( !_pending.containsKey(cd) && cd.isEvicted() )
+					_pending.put(cd, pool.submit(new PrefetchTask(cd)));
+	}
+
+	/**
+	 * Waits for pending prefetches of the inputs of the given instruction.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 * @throws DMLRuntimeException if a prefetch failed
+	 */
+	public void waitForInputs(Instruction inst, ExecutionContext ec)
+		throws DMLRuntimeException
+	{
+		if( _pending.isEmpty() )
+			return;
+		for( CacheableData<?> cd : getInputs(inst, ec) ) {
+			Future<Boolean> f = _pending.remove(cd);
+			if( f != null ) {
+				waitForPrefetch(f, true);
+				_consumed.add(cd);
+			}
+		}
+	}
+
+	/**
+	 * Waits for all pending prefetches and releases the pins of
+	 * unclaimed prefetches.
+	 *
+	 * @throws DMLRuntimeException if a prefetch failed
+	 */
+	public void close()
+		throws DMLRuntimeException
+	{
+		for( Entry<CacheableData<?>, Future<Boolean>> e : _pending.entrySet() ) {
+			waitForPrefetch(e.getValue(), false);
+			_consumed.add(e.getKey());
+		}
+		_pending.clear();
+		for( CacheableData<?> cd : _consumed )
+			cd.releasePrefetch();
+		_consumed.clear();
+	}
+
+	private static void waitForPrefetch(Future<Boolean> f, boolean stall)
+		throws DMLRuntimeException
+	{
+		long t0 = (stall && DMLScript.STATISTICS && !f.isDone()) ? System.nanoTime() : 0;
+		try {
+			f.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to prefetch evicted data.", ex);
+		}
+		if( t0 > 0 )
+			CacheStatistics.incrementRestoreStallTime(System.nanoTime()-t0);
+	}
+
+	private static List<CacheableData<?>> getInputs(Instruction inst, ExecutionContext ec) {
+		List<CacheableData<?>> ret = new ArrayList<CacheableData<?>>();
+		if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			for( CPOperand in : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3} ) {
+				Data dat = (in != null) ? ec.getVariable(in.getName()) : null;
+				if( dat instanceof CacheableData && !ret.contains(dat) )
+					ret.add((CacheableData<?>) dat);
+			}
+		}
+		return ret;
+	}
+
+	private static class PrefetchTask implements Callable<Boolean>
+	{
+		private final CacheableData<?> _cd;
+
+		protected PrefetchTask(CacheableData<?> cd) {
+			_cd = cd;
+		}
+
+		@Override
+		public Boolean call() throws CacheException {
+			return _cd.prefetch();
+		}
+	}
+}
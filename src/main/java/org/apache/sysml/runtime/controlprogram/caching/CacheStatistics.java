@@ -65,6 +65,11 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//prefetch and restore stall statistics
+	private static final LongAdder _numPrefetches    = new LongAdder();
+	private static final LongAdder _numPrefetchHits  = new LongAdder();
+	private static final LongAdder _ctimeRestoreStall = new LongAdder(); //in nano sec
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -80,6 +85,10 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numPrefetches.reset();
+		_numPrefetchHits.reset();
+		_ctimeRestoreStall.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -198,6 +207,41 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	/**
+	 * Increments the time an acquire read was blocked by a synchronous
+	 * restore of evicted data or by waiting for a pending prefetch.
+	 * 
+	 * @param delta time in nano seconds
+	 */
+	public static void incrementRestoreStallTime(long delta) {
+		_ctimeRestoreStall.add(delta);
+	}
+	
+	public static long getRestoreStallTime() {
+		return _ctimeRestoreStall.longValue();
+	}
+	
+	public static String displayPrefetch() {
+		return _numPrefetches.longValue() + "/" + _numPrefetchHits.longValue() + "/"
+			+ String.format("%.3f", ((double)_ctimeRestoreStall.longValue())/1000000000); //in sec
+	}
+	
 	public static String displayHits() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -222,6 +266,23 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	/**
+	 * Returns the hit ratio of the write buffer for restores of evicted
+	 * blocks, i.e., write buffer hits over write buffer and local FS hits.
+	 * 
+	 * @return write buffer hit ratio
+	 */
+	public static double getFSBuffHitRatio() {
+		long buffHits = _numHitsFSBuff.longValue();
+		long total = buffHits + _numHitsFS.longValue();
+		return (total > 0) ? (double)buffHits / total : 1;
+	}
+	
+	public static String displayPolicyHitRatio() {
+		return LazyWriteBuffer.getPolicy().name() + ", "
+			+ String.format("%.3f", getFSBuffHitRatio());
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
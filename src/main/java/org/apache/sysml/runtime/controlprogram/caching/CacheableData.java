@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.controlprogram.caching;
 import java.io.File;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -33,6 +34,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
@@ -80,12 +82,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// global constant configuration parameters
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static RPolicy       CACHING_BUFFER_POLICY = RPolicy.FIFO; //see cp.eviction.policy
+	public static long          CACHING_BUFFER_PAGECACHE = 0; //page cache budget in bytes (see cp.pagecache.size)
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static boolean CACHING_EVICTION_MMAP = false; //raw memory-mapped eviction (see cp.eviction.mmap)
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -189,6 +192,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private boolean _cleanupFlag = true;   //flag if obj unpinned (cleanup enabled)	
 	private String  _varName = "";         //plan variable name
 	private String  _cacheFileName = null; //local eviction file name
+	private boolean _prefetchPinned = false; //read pin held by unclaimed prefetch
+	private boolean _prefetching = false;  //restore in progress by prefetch
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
 	
@@ -392,6 +397,16 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if ( !isAvailableToRead() )
 			throw new CacheException ("MatrixObject not available to read.");
 		
+		//hand over read pin of completed prefetch (incl restored data)
+		if( _prefetchPinned ) {
+			_prefetchPinned = false;
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementPrefetchHits();
+				CacheStatistics.incrementAcquireRTime(System.nanoTime()-t0);
+			}
+			return _data;
+		}
+		
 		//get object from cache
 		if( _data == null )
 			getCache();
@@ -456,17 +471,74 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				CacheStatistics.incrementMemHits();
 		}
 		
-		//cache status maintenance
+		//cache status maintenance (incl synchronous restore of evicted data)
+		boolean stall = DMLScript.STATISTICS && !_prefetching
+			&& _data==null && isCached(false);
+		long t1 = stall ? System.nanoTime() : 0;
 		acquire( false, _data==null );	
 		updateStatusPinned(true);
 		
 		if( DMLScript.STATISTICS ){
-			long t1 = System.nanoTime();
-			CacheStatistics.incrementAcquireRTime(t1-t0);
+			long t2 = System.nanoTime();
+			CacheStatistics.incrementAcquireRTime(t2-t0);
+			if( stall )
+				CacheStatistics.incrementRestoreStallTime(t2-t1);
 		}
 		
 		return _data;
 	}
+	
+	/**
+	 * Indicates if the data blob has been evicted from memory, i.e., if the
+	 * next acquire requires a restore from the write buffer or local FS.
+	 * 
+	 * @return true if evicted
+	 */
+	public synchronized boolean isEvicted() {
+		return _cacheStatus == CacheStatus.CACHED && _data == null
+			&& (_cache == null || _cache.get() == null);
+	}
+	
+	/**
+	 * Restores an evicted data blob into memory (if required) and pins it with
+	 * a read lock, which is handed over to the next acquireRead. Unclaimed pins
+	 * are released via {@link #releasePrefetch()}, or before modify and clear.
+	 * 
+	 * @return true if the data blob was restored and pinned
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized boolean prefetch() 
+		throws CacheException
+	{
+		if( _prefetchPinned || !isEvicted() )
+			return false;
+		
+		_prefetching = true;
+		try {
+			acquireRead();
+		}
+		finally {
+			_prefetching = false;
+		}
+		_prefetchPinned = true;
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPrefetches();
+		return true;
+	}
+	
+	/**
+	 * Releases the read lock of an unclaimed prefetch, if any.
+	 * 
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized void releasePrefetch() 
+		throws CacheException
+	{
+		if( _prefetchPinned ) {
+			_prefetchPinned = false;
+			release();
+		}
+	}
 
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to change cache block
@@ -486,6 +558,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("Acquire modify "+getVarName());
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
+		releasePrefetch();
 		if ( !isAvailableToModify() )
 			throw new CacheException("MatrixObject not available to modify.");
 		
@@ -549,6 +622,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("Acquire modify newdata "+getVarName());
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
+		releasePrefetch();
 		if (! isAvailableToModify ())
 			throw new CacheException ("CacheableData not available to modify.");
 		
@@ -684,6 +758,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		// check if cleanup enabled and possible 
 		if( !isCleanupEnabled() ) 
 			return; // do nothing
+		releasePrefetch();
 		if( !isAvailableToModify() )
 			throw new CacheException ("CacheableData (" + getDebugName() + ") not available to "
 					+ "modify. Status = " + getStatusAsString() + ".");
@@ -1299,8 +1374,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
-		//cleanup remaining cached writes
+		//cleanup remaining cached writes and prefetch threads
 		LazyWriteBuffer.cleanup();
+		CachePrefetcher.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1366,13 +1442,32 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//obtain eviction mode and init write-ahead buffer
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		CACHING_EVICTION_MMAP = (conf != null) 
+			&& conf.getBooleanValue(DMLConfig.CP_EVICTION_MMAP);
+		CACHING_BUFFER_PAGECACHE = (conf != null) ?
+			(long)conf.getIntValue(DMLConfig.CP_PAGECACHE_SIZE) * 1024 * 1024 : 0;
+		CACHING_BUFFER_POLICY = (conf != null) ? parseEvictionPolicy(
+			conf.getTextValue(DMLConfig.CP_EVICTION_POLICY)) : RPolicy.FIFO;
+		CachePrefetcher.init((conf != null) ? conf.getIntValue(DMLConfig.CP_PREFETCH_DEPTH) : 0);
 		LazyWriteBuffer.init();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
 	}
 	
+	private static RPolicy parseEvictionPolicy( String policy ) {
+		try {
+			return RPolicy.valueOf(policy.trim().toUpperCase());
+		}
+		catch(Exception ex) {
+			LOG.warn("Invalid "+DMLConfig.CP_EVICTION_POLICY+" '"+policy+"' (valid: "
+				+Arrays.toString(RPolicy.values())+"), falling back to "+RPolicy.FIFO+".");
+			return RPolicy.FIFO;
+		}
+	}
+	
 	public static synchronized boolean isCachingActive() {
 		return _activeFlag;
 	}
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.TreeSet;
+
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
+/**
+ * Eviction policy of the write buffer, which selects the next victim
+ * among the buffered entries. The buffer maintains its entries in a linked
+ * hash map in insertion order (or access order for LRU) and calls all
+ * policy methods while holding the buffer lock; hence, policies do not
+ * require additional synchronization.
+ *
+ * Program-informed policies further use reuse hints, i.e., the number of
+ * active loop bodies that read a buffered block, which are registered by
+ * for and while program blocks via the write buffer.
+ */
+public abstract class EvictionPolicy
+{
+	//weight of a program reuse hint relative to an observed access
+	protected static final double HINT_WEIGHT = 4;
+
+	//reuse hints of program blocks: file name -> number of active loops
+	protected final HashMap<String, Integer> _hints = new HashMap<String, Integer>();
+
+	public static EvictionPolicy create(RPolicy policy) {
+		switch( policy ) {
+			case FIFO: return new FIFOPolicy();
+			case LRU:  return new LRUPolicy();
+			case LFU:  return new LFUPolicy();
+			case COST: return new CostPolicy();
+			case LOOP: return new LoopPolicy();
+			default:
+				throw new RuntimeException("Unsupported eviction policy: "+policy);
+		}
+	}
+
+	public abstract RPolicy getType();
+
+	/**
+	 * Indicates if this policy makes use of program reuse hints.
+	 *
+	 * @return true if reuse hints are used
+	 */
+	public boolean requiresReuseHints() {
+		return false;
+	}
+
+	/**
+	 * Called after a new entry has been added at the end of the queue.
+	 *
+	 * @param fname file name
+	 * @param bbuff buffer entry
+	 */
+	public void onInsert(String fname, ByteBuffer bbuff) {
+		bbuff._numAccesses = 1;
+	}
+
+	/**
+	 * Called on a buffer hit of an existing entry.
+	 *
+	 * @param queue eviction queue
+	 * @param fname file name
+	 * @param bbuff buffer entry
+	 */
+	public void onAccess(LinkedHashMap<String, ByteBuffer> queue, String fname, ByteBuffer bbuff) {
+		bbuff._numAccesses++;
+	}
+
+	/**
+	 * Called after an entry has been removed from the queue,
+	 * i.e., after it was evicted or deleted.
+	 *
+	 * @param fname file name
+	 * @param bbuff buffer entry
+	 */
+	public void onRemove(String fname, ByteBuffer bbuff) {
+		//do nothing
+	}
+
+	/**
+	 * Called after all entries have been removed from the queue.
+	 */
+	public void clear() {
+		_hints.clear();
+	}
+
+	/**
+	 * Selects the next victim of the given non-empty queue.
+	 *
+	 * @param queue eviction queue
+	 * @return file name of the victim
+	 */
+	public abstract String selectVictim(LinkedHashMap<String, ByteBuffer> queue);
+
+	public void addReuseHint(String fname) {
+		Integer cnt = _hints.get(fname);
+		_hints.put(fname, (cnt != null) ? cnt + 1 : 1);
+	}
+
+	public void removeReuseHint(String fname) {
+		Integer cnt = _hints.get(fname);
+		if( cnt != null && cnt > 1 )
+			_hints.put(fname, cnt - 1);
+		else
+			_hints.remove(fname);
+	}
+
+	protected int getReuseHint(String fname) {
+		Integer cnt = _hints.get(fname);
+		return (cnt != null) ? cnt : 0;
+	}
+
+	/**
+	 * First-in, first-out eviction in insertion order.
+	 */
+	private static class FIFOPolicy extends EvictionPolicy
+	{
+		@Override
+		public RPolicy getType() {
+			return RPolicy.FIFO;
+		}
+
+		@Override
+		public String selectVictim(LinkedHashMap<String, ByteBuffer> queue) {
+			return queue.keySet().iterator().next();
+		}
+	}
+
+	/**
+	 * Least-recently-used eviction, where accessed entries are
+	 * reinserted at the end of the queue.
+	 */
+	private static class LRUPolicy extends FIFOPolicy
+	{
+		@Override
+		public RPolicy getType() {
+			return RPolicy.LRU;
+		}
+
+		@Override
+		public void onAccess(LinkedHashMap<String, ByteBuffer> queue, String fname, ByteBuffer bbuff) {
+			super.onAccess(queue, fname, bbuff);
+			queue.remove(fname);
+			queue.put(fname, bbuff);
+		}
+	}
+
+	/**
+	 * Base class of priority-based eviction, which maintains all entries in
+	 * a sorted set by (group, priority, insertion order) and selects the first
+	 * entry as victim. Priorities only change on insert, access, and changes
+	 * of reuse hints, where the affected entry is reinserted into the sorted
+	 * set, which avoids a scan over all entries per victim.
+	 */
+	private static abstract class PriorityPolicy extends EvictionPolicy
+	{
+		private final TreeSet<PriorityEntry> _queue = new TreeSet<PriorityEntry>();
+		private final HashMap<String, PriorityEntry> _entries = new HashMap<String, PriorityEntry>();
+		private long _seq = 0;
+
+		/**
+		 * Obtains the priority of an entry, where entries with
+		 * lower priority are evicted first.
+		 *
+		 * @param fname file name
+		 * @param bbuff buffer entry
+		 * @return priority
+		 */
+		protected abstract double getPriority(String fname, ByteBuffer bbuff);
+
+		/**
+		 * Obtains the group of an entry, where entries of lower groups
+		 * are evicted before entries of higher groups.
+		 *
+		 * @param fname file name
+		 * @return group
+		 */
+		protected int getGroup(String fname) {
+			return 0;
+		}
+
+		@Override
+		public void onInsert(String fname, ByteBuffer bbuff) {
+			super.onInsert(fname, bbuff);
+			PriorityEntry old = _entries.remove(fname);
+			if( old != null )
+				_queue.remove(old);
+			PriorityEntry e = new PriorityEntry(fname, bbuff, _seq++);
+			_entries.put(fname, e);
+			update(e);
+		}
+
+		@Override
+		public void onAccess(LinkedHashMap<String, ByteBuffer> queue, String fname, ByteBuffer bbuff) {
+			super.onAccess(queue, fname, bbuff);
+			update(fname);
+		}
+
+		@Override
+		public void onRemove(String fname, ByteBuffer bbuff) {
+			PriorityEntry e = _entries.remove(fname);
+			if( e != null )
+				_queue.remove(e);
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			_queue.clear();
+			_entries.clear();
+		}
+
+		@Override
+		public void addReuseHint(String fname) {
+			super.addReuseHint(fname);
+			update(fname);
+		}
+
+		@Override
+		public void removeReuseHint(String fname) {
+			super.removeReuseHint(fname);
+			update(fname);
+		}
+
+		@Override
+		public String selectVictim(LinkedHashMap<String, ByteBuffer> queue) {
+			//victims are removed via onRemove after eviction
+			PriorityEntry e = !_queue.isEmpty() ? _queue.first() : null;
+			if( e != null )
+				onSelect(e._priority);
+			return (e != null) ? e._fname : queue.keySet().iterator().next();
+		}
+
+		protected void onSelect(double priority) {
+			//do nothing
+		}
+
+		protected void update(String fname) {
+			PriorityEntry e = _entries.get(fname);
+			if( e != null )
+				update(e);
+		}
+
+		private void update(PriorityEntry e) {
+			_queue.remove(e);
+			e._group = getGroup(e._fname);
+			e._priority = getPriority(e._fname, e._bbuff);
+			_queue.add(e);
+		}
+	}
+
+	private static class PriorityEntry implements Comparable<PriorityEntry>
+	{
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		private final long _seq;
+		private int _group;
+		private double _priority;
+
+		private PriorityEntry(String fname, ByteBuffer bbuff, long seq) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_seq = seq;
+		}
+
+		@Override
+		public int compareTo(PriorityEntry that) {
+			int ret = Integer.compare(_group, that._group);
+			if( ret == 0 )
+				ret = Double.compare(_priority, that._priority);
+			return (ret != 0) ? ret : Long.compare(_seq, that._seq);
+		}
+	}
+
+	/**
+	 * Least-frequently-used eviction, where ties are broken
+	 * in insertion order.
+	 */
+	private static class LFUPolicy extends PriorityPolicy
+	{
+		@Override
+		public RPolicy getType() {
+			return RPolicy.LFU;
+		}
+
+		@Override
+		protected double getPriority(String fname, ByteBuffer bbuff) {
+			return bbuff._numAccesses;
+		}
+	}
+
+	/**
+	 * Cost-based eviction according to greedy-dual-size-frequency, where
+	 * the priority of an entry is L + freq * cost / size. The frequency includes
+	 * observed accesses and program reuse hints, the cost approximates the
+	 * write and restore time of a block (with additional serialization for
+	 * shallow dense blocks), and the inflation value L (taken at the last access
+	 * of an entry) is raised to the priority of each victim in order to age
+	 * entries that are no longer accessed.
+	 */
+	private static class CostPolicy extends PriorityPolicy
+	{
+		//fixed cost per eviction and restore in bytes (file create, open, close)
+		private static final double FIXED_COST = 64 * 1024;
+		//relative cost per byte of shallow blocks (serialization on eviction)
+		private static final double SHALLOW_COST = 2;
+
+		private double _inflation = 0;
+
+		@Override
+		public RPolicy getType() {
+			return RPolicy.COST;
+		}
+
+		@Override
+		public boolean requiresReuseHints() {
+			return true;
+		}
+
+		@Override
+		public void onInsert(String fname, ByteBuffer bbuff) {
+			bbuff._clock = _inflation;
+			super.onInsert(fname, bbuff);
+		}
+
+		@Override
+		public void onAccess(LinkedHashMap<String, ByteBuffer> queue, String fname, ByteBuffer bbuff) {
+			bbuff._clock = _inflation;
+			super.onAccess(queue, fname, bbuff);
+		}
+
+		@Override
+		protected void onSelect(double priority) {
+			_inflation = Math.max(_inflation, priority);
+		}
+
+		@Override
+		protected double getPriority(String fname, ByteBuffer bbuff) {
+			//priority w/ inflation value at last access and current reuse hints
+			double size = Math.max(bbuff.getSize(), 1);
+			double cost = FIXED_COST + size * (bbuff.isShallow() ? SHALLOW_COST : 1);
+			double freq = bbuff._numAccesses + HINT_WEIGHT * getReuseHint(fname);
+			return bbuff._clock + freq * cost / size;
+		}
+	}
+
+	/**
+	 * Loop-aware eviction, which evicts blocks that are not read by any active
+	 * loop body before blocks that are known to be reused in the next iteration,
+	 * and applies cost-based eviction within these two groups.
+	 */
+	private static class LoopPolicy extends CostPolicy
+	{
+		@Override
+		public RPolicy getType() {
+			return RPolicy.LOOP;
+		}
+
+		@Override
+		protected int getGroup(String fname) {
+			return (getReuseHint(fname) > 0) ? 1 : 0;
+		}
+	}
+}
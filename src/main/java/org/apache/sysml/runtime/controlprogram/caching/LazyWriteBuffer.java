@@ -20,21 +20,26 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils.LocalFileFormat;
 
 public class LazyWriteBuffer 
 {
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		LFU,  //least frequently used eviction
+		COST, //cost-based eviction (size, serialization, reuse)
+		LOOP, //cost-based eviction w/ loop-aware reuse hints
 	}
 	
 	//global size limit in bytes
@@ -47,9 +52,16 @@ public class LazyWriteBuffer
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//eviction policy for selecting victims of the eviction queue
+	private static EvictionPolicy _policy;
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//formats of evicted files other than serialized blocks (e.g., memory-mapped),
+	//which avoids probing the file on restore
+	private static ConcurrentHashMap<String, LocalFileFormat> _fFormats;
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -69,26 +81,33 @@ public class LazyWriteBuffer
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{
-			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			//create byte buffer handle (no block allocation yet, but
+			//obtain pooled page in order to account for its actual size)
+			byte[] page = cb.isShallowSerialize() ? null : PageCache.getPage((int)lSize);
+			if( page != null && page.length > _limit ) {
+				PageCache.putPage(page);
+				page = null;
+			}
+			ByteBuffer bbuff = new ByteBuffer( lSize, page );
+			long bSize = bbuff.getSize();
 			
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
 				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
+				while( _size+bSize > _limit && !_mQueue.isEmpty() )
 				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
+					//remove victim entry from eviction queue
+					String ftmp = _policy.selectVictim(_mQueue);
+					ByteBuffer tmp = _mQueue.remove(ftmp);
 					
 					if( tmp != null ) {
+						_policy.onRemove(ftmp, tmp);
 						//wait for pending serialization
 						tmp.checkSerialized();
 						
 						//evict matrix
-						tmp.evictBuffer(ftmp);
+						setFileFormat(ftmp, tmp.evictBuffer(ftmp));
 						tmp.freeMemory();
 						_size -= tmp.getSize();
 						numEvicted++;
@@ -97,7 +116,8 @@ public class LazyWriteBuffer
 				
 				//put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
-				_size += lSize;
+				_policy.onInsert(fname, bbuff);
+				_size += bSize;
 			}
 			
 			//serialize matrix (outside synchronized critical path)
@@ -111,7 +131,8 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			setFileFormat(fname, LocalFileUtils.writeCacheBlockToLocal(
+				fname, cb, CacheableData.CACHING_EVICTION_MMAP));
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -130,6 +151,7 @@ public class LazyWriteBuffer
 			//remove queue entry 
 			ByteBuffer ldata = _mQueue.remove(fname);
 			if( ldata != null ) {
+				_policy.onRemove(fname, ldata);
 				_size -= ldata.getSize();
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
@@ -137,8 +159,10 @@ public class LazyWriteBuffer
 		}
 		
 		//delete from FS if required
-		if( requiresDelete )
+		if( requiresDelete ) {
+			_fFormats.remove(fname);
 			_fClean.deleteFile(fname);
+		}
 	}
 	
 	public static CacheBlock readBlock(String fname, boolean matrix)
@@ -153,13 +177,8 @@ public class LazyWriteBuffer
 			ldata = _mQueue.get(fname);
 			
 			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
-			}
+			if( ldata != null )
+				_policy.onAccess(_mQueue, fname, ldata);
 		}
 		
 		//deserialize or read from FS if required
@@ -171,7 +190,9 @@ public class LazyWriteBuffer
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			LocalFileFormat fmt = _fFormats.get(fname);
+			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix,
+				(fmt != null) ? fmt : LocalFileFormat.SERIALIZED);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -181,21 +202,76 @@ public class LazyWriteBuffer
 
 	public static void init() {
 		_mQueue = new EvictionQueue();
+		_policy = EvictionPolicy.create(CacheableData.CACHING_BUFFER_POLICY);
 		_fClean = new FileCleaner();
+		_fFormats = new ConcurrentHashMap<String, LocalFileFormat>();
 		_size = 0;
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.init();
+		PageCache.init(CacheableData.CACHING_BUFFER_PAGECACHE);
 	}
 
 	public static void cleanup() {
 		if( _mQueue != null )
 			_mQueue.clear();
+		if( _policy != null )
+			_policy.clear();
 		if( _fClean != null )
 			_fClean.close();
-		if( CacheableData.CACHING_BUFFER_PAGECACHE )
-			PageCache.clear();
+		if( _fFormats != null )
+			_fFormats.clear();
+		PageCache.clear();
 	}
 
+	public static RPolicy getPolicy() {
+		return (_policy != null) ? _policy.getType() : CacheableData.CACHING_BUFFER_POLICY;
+	}
+	
+	/**
+	 * Indicates if the current eviction policy makes use of program 
+	 * reuse hints, which allows callers to avoid unnecessary overhead.
+	 * 
+	 * @return true if reuse hints are used
+	 */
+	public static boolean requiresReuseHints() {
+		EvictionPolicy policy = _policy;
+		return (policy != null && policy.requiresReuseHints());
+	}
+	
+	/**
+	 * Registers reuse hints for the given cacheable data objects, e.g., 
+	 * objects that are read in every iteration of an active loop.
+	 * 
+	 * @param cdata list of cacheable data objects
+	 */
+	public static void addReuseHints(List<CacheableData<?>> cdata) {
+		if( !requiresReuseHints() || cdata == null )
+			return;
+		synchronized( _mQueue ) {
+			for( CacheableData<?> cd : cdata )
+				_policy.addReuseHint(cd.getCacheFilePathAndName());
+		}
+	}
+	
+	/**
+	 * Removes previously registered reuse hints.
+	 * 
+	 * @param cdata list of cacheable data objects
+	 */
+	public static void removeReuseHints(List<CacheableData<?>> cdata) {
+		if( !requiresReuseHints() || cdata == null )
+			return;
+		synchronized( _mQueue ) {
+			for( CacheableData<?> cd : cdata )
+				_policy.removeReuseHint(cd.getCacheFilePathAndName());
+		}
+	}
+	
+	private static void setFileFormat(String fname, LocalFileFormat fmt) {
+		if( fmt != LocalFileFormat.SERIALIZED )
+			_fFormats.put(fname, fmt);
+		else
+			_fFormats.remove(fname);
+	}
+	
 	public static long getWriteBufferSize() {
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
@@ -241,24 +317,25 @@ public class LazyWriteBuffer
 		//evict all matrices and frames
 		while( !_mQueue.isEmpty() )
 		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
+			//remove victim entry from eviction queue
+			String fname = _policy.selectVictim(_mQueue);
+			ByteBuffer tmp = _mQueue.remove(fname);
 			
 			if( tmp != null ) {
+				_policy.onRemove(fname, tmp);
 				//wait for pending serialization
 				tmp.checkSerialized();
 				
 				//evict matrix
-				tmp.evictBuffer(entry.getKey());
+				setFileFormat(fname, tmp.evictBuffer(fname));
 				tmp.freeMemory();
 			}
 		}
 	}
 	
 	/**
-	 * Extended LinkedHashMap with convenience methods for adding and removing
-	 * last/first entries.
+	 * Extended LinkedHashMap with convenience methods for adding
+	 * last entries (victims are selected by the eviction policy).
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
@@ -269,18 +346,6 @@ public class LazyWriteBuffer
 			//put entry into eviction queue w/ 'addLast' semantics
 			put(fname, bbuff);
 		}
-		
-		public Entry<String, ByteBuffer> removeFirst()
-		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
-		}
 	}
 	
 	/**
@@ -33,6 +33,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.WrittenRanges;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixDimensionsMetaData;
@@ -72,6 +73,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	//additional matrix-specific flags
 	private UpdateType _updateType = UpdateType.COPY; 
+	private WrittenRanges _writtenRanges = null; //ranges written in parfor (null: unknown)
 	
 	//information relevant to partitioned matrices.
 	private boolean _partitioned = false; //indicates if obj partitioned
@@ -120,6 +122,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 				                             metaOld.getOutputInfo(), metaOld.getInputInfo());
 		
 		_updateType = mo._updateType;
+		_writtenRanges = mo._writtenRanges;
 		_partitioned = mo._partitioned;
 		_partitionFormat = mo._partitionFormat;
 		_partitionSize = mo._partitionSize;
@@ -134,6 +137,14 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _updateType;
 	}
 	
+	public void setWrittenRanges(WrittenRanges ranges) {
+		_writtenRanges = ranges;
+	}
+	
+	public WrittenRanges getWrittenRanges() {
+		return _writtenRanges;
+	}
+	
 	@Override
 	public void updateMatrixCharacteristics (MatrixCharacteristics mc) {
 		((MatrixDimensionsMetaData)_metaData).setMatrixCharacteristics( mc );
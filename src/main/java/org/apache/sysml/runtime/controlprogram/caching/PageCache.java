@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -19,51 +19,183 @@
 
 package org.apache.sysml.runtime.controlprogram.caching;
 
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
-public class PageCache 
+/**
+ * Thread-safe pool of byte arrays (pages) in order to reduce allocation
+ * rates of write buffer serialization and local (de)serialization streams.
+ *
+ * Pages are organized in power-of-two size classes, where a page of length
+ * len is pooled in class floor(log2(len)), and a request of size s is served
+ * from class ceil(log2(s)) (or a sufficiently large page of the next smaller
+ * class). Hence, returned pages might be larger than the requested size.
+ * The total size of pooled pages is bounded by a byte budget (see
+ * cp.pagecache.size), where pages of the largest size class are evicted
+ * first in order to make room for new pages.
+ */
+public class PageCache
 {
-	
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
+	//min/max size class (4KB to 1GB), smaller and larger pages are not pooled
+	private static final int MIN_CLASS = 12;
+	private static final int MAX_CLASS = 30;
 
-	public static void init()
-	{
-		_pool = new HashMap<Integer, LinkedList<SoftReference<byte[]>>>();
+	//pages per size class (LIFO reuse, FIFO eviction)
+	private static ConcurrentLinkedDeque<byte[]>[] _pool = null;
+	private static long _budget = 0;
+	private static final AtomicLong _size = new AtomicLong(0);
+
+	//statistics of the page cache
+	private static final LongAdder _numHits = new LongAdder();
+	private static final LongAdder _numMisses = new LongAdder();
+	private static final LongAdder _numEvictions = new LongAdder();
+
+	/**
+	 * Initializes the page cache with the given budget in bytes,
+	 * where a budget of zero disables the page cache.
+	 *
+	 * @param budget max size of pooled pages in bytes
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized void init(long budget) {
+		_budget = budget;
+		_size.set(0);
+		if( budget > 0 ) {
+			_pool = new ConcurrentLinkedDeque[MAX_CLASS-MIN_CLASS+1];
+			for( int i=0; i<_pool.length; i++ )
+				_pool[i] = new ConcurrentLinkedDeque<byte[]>();
+		}
+		else {
+			_pool = null;
+		}
 	}
 
-	public static void clear()
-	{
+	public static synchronized void clear() {
 		_pool = null;
+		_budget = 0;
+		_size.set(0);
 	}
 
-	public static void putPage( byte[] data )
+	public static boolean isEnabled() {
+		return (_pool != null);
+	}
+
+	/**
+	 * Obtains a page of at least the given size from the page cache.
+	 *
+	 * @param size number of bytes
+	 * @return page of length &gt;= size, or null if not available
+	 */
+	public static byte[] getPage( int size )
 	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
-		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<SoftReference<byte[]>>();
-			_pool.put(data.length, list);
+		ConcurrentLinkedDeque<byte[]>[] pool = _pool;
+		if( pool == null || size <= 0 || size > (1<<MAX_CLASS) )
+			return null;
+
+		//probe size class of sufficiently large pages
+		int c = Math.max(getCeilClass(size), MIN_CLASS);
+		byte[] ret = pool[c-MIN_CLASS].pollFirst();
+
+		//probe next smaller size class for exact-size reuse
+		if( ret == null && c > MIN_CLASS ) {
+			ret = pool[c-1-MIN_CLASS].pollFirst();
+			if( ret != null && ret.length < size ) {
+				pool[c-1-MIN_CLASS].offerFirst(ret);
+				ret = null;
+			}
 		}
-		list.addLast(new SoftReference<byte[]>(data));	
+
+		//maintain size and statistics
+		if( ret != null ) {
+			_size.addAndGet(-ret.length);
+			_numHits.increment();
+		}
+		else
+			_numMisses.increment();
+		return ret;
 	}
 
-	public static byte[] getPage( int size )
+	/**
+	 * Returns the given page to the page cache, if there is sufficient
+	 * budget (potentially after evicting other pages).
+	 *
+	 * @param data page
+	 */
+	public static void putPage( byte[] data )
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
+		ConcurrentLinkedDeque<byte[]>[] pool = _pool;
+		if( pool == null || data == null || data.length < (1<<MIN_CLASS) )
+			return;
+		long len = data.length;
+		if( len > _budget ) {
+			_numEvictions.increment();
+			return;
+		}
+
+		//reserve budget, evict pages if necessary
+		while( true ) {
+			long cur = _size.get();
+			if( cur + len <= _budget ) {
+				if( _size.compareAndSet(cur, cur+len) )
+					break;
+			}
+			else if( !evictPage(pool) ) {
+				_numEvictions.increment();
+				return;
 			}
 		}
-		return null;
+
+		pool[getFloorClass(data.length)-MIN_CLASS].offerFirst(data);
+	}
+
+	private static boolean evictPage(ConcurrentLinkedDeque<byte[]>[] pool) {
+		//evict oldest page of largest non-empty size class
+		for( int i=pool.length-1; i>=0; i-- ) {
+			byte[] tmp = pool[i].pollLast();
+			if( tmp != null ) {
+				_size.addAndGet(-tmp.length);
+				_numEvictions.increment();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int getFloorClass(int len) {
+		return 31 - Integer.numberOfLeadingZeros(len);
+	}
+
+	private static int getCeilClass(int len) {
+		return 32 - Integer.numberOfLeadingZeros(len-1);
+	}
+
+	/////////////////////////////////////
+	// statistics of the page cache
+
+	public static long getSize() {
+		return _size.get();
+	}
+
+	public static long getNumHits() {
+		return _numHits.longValue();
+	}
+
+	public static long getNumMisses() {
+		return _numMisses.longValue();
+	}
+
+	public static long getNumEvictions() {
+		return _numEvictions.longValue();
+	}
+
+	public static void resetStatistics() {
+		_numHits.reset();
+		_numMisses.reset();
+		_numEvictions.reset();
+	}
+
+	public static String displayStatistics() {
+		return String.format("%d/%d/%d", getNumHits(), getNumMisses(), getNumEvictions());
 	}
 }
@@ -493,6 +493,7 @@ public class ExecutionContext {
 		MatrixObject mo = getMatrixObject(varName);
 		mo.acquireModify(outputData, opcode);
 	    mo.release(opcode);
+		mo.setWrittenRanges(null); //unknown (see left indexing)
 	    setVariable(varName, mo);
 	}
 
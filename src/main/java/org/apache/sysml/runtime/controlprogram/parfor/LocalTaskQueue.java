@@ -19,7 +19,8 @@
 
 package org.apache.sysml.runtime.controlprogram.parfor;
 
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,11 +31,14 @@ import org.apache.commons.logging.LogFactory;
  * for achieving dynamic load balancing. A good load balance between parallel workers is crucial
  * with regard to the overall speedup of parallelization (see Amdahl's law).
  * 
- * From a technical perspective, a thread monitor concept is used for blocking of waiting writers
- * and readers. Synchronized writes and reads ensure that each task is only read by exactly one
- * reader. Furthermore, the queue is implemented as a simple FIFO.
+ * From a technical perspective, the queue is a lock-free multi-producer/multi-consumer
+ * FIFO, where each task is read by exactly one reader. Readers and writers only fall back
+ * to a thread monitor for blocking if the queue is empty (or full, respectively). In order
+ * to prevent lost wakeups, blocked threads register themselves under the monitor before
+ * re-checking the queue, while writers (readers) check for registered threads after their
+ * non-blocking insert (delete) and only then acquire the monitor for notification. 
+ * Hence, fine-grained tasks do not contend on a single monitor.
  * 
- *
  */
 public class LocalTaskQueue<T> 
 {
@@ -42,57 +46,73 @@ public class LocalTaskQueue<T>
 	public static final int    MAX_SIZE      = 100000; //main memory constraint
 	public static final Object NO_MORE_TASKS = null; //object to signal NO_MORE_TASKS
 	
-	private LinkedList<T>  _data        = null;
-	private boolean 	   _closedInput = false; 
+	//size below which blocked writers resume (hysteresis to avoid ping-pong at max size)
+	private static final int   RESUME_SIZE   = MAX_SIZE / 2;
+	//number of spins before a reader blocks on an empty queue
+	private static final int   NUM_SPINS     = 64;
+	
+	private final ConcurrentLinkedQueue<T> _data;
+	private final AtomicInteger _size; //O(1) size of the lock-free queue
+	private final Object _lock; //monitor for blocking readers and writers
+	private volatile boolean _closedInput = false; 
+	private volatile int _numBlocked = 0; //modified under lock only
 	private static final Log LOG = LogFactory.getLog(LocalTaskQueue.class.getName());
 	
 	public LocalTaskQueue()
 	{
-		_data        = new LinkedList<T>();
+		_data        = new ConcurrentLinkedQueue<T>();
+		_size        = new AtomicInteger(0);
+		_lock        = new Object();
 		_closedInput = false;
 	}
 	
 	/**
-	 * Synchronized insert of a new task to the end of the FIFO queue.
+	 * Lock-free insert of a new task to the end of the FIFO queue, which 
+	 * only blocks if the queue reached its maximum size (until half of the
+	 * queued tasks have been read).
 	 * 
 	 * @param t task
 	 * @throws InterruptedException if InterruptedException occurs
 	 */
-	public synchronized void enqueueTask( T t ) 
+	public void enqueueTask( T t ) 
 		throws InterruptedException
 	{
-		while( _data.size() + 1 > MAX_SIZE )
-		{
-			LOG.warn("MAX_SIZE of task queue reached.");
-			wait(); //max constraint reached, wait for read
-		}
+		if( _size.get() >= MAX_SIZE )
+			waitForCapacity();
 		
-		_data.addLast( t );
+		_size.incrementAndGet();
+		_data.offer( t );
 		
-		notify(); //notify waiting readers
+		notifyBlocked(); //notify waiting readers
 	}
 	
 	/**
-	 * Synchronized read and delete from the top of the FIFO queue.
+	 * Lock-free read and delete from the top of the FIFO queue, which 
+	 * only blocks if the queue is empty and the input not yet closed.
 	 * 
 	 * @return task
 	 * @throws InterruptedException if InterruptedException occurs
 	 */
 	@SuppressWarnings("unchecked")
-	public synchronized T dequeueTask() 
+	public T dequeueTask() 
 		throws InterruptedException
 	{
-		while( _data.isEmpty() )
-		{
-			if( !_closedInput )
-				wait(); // wait for writers
-			else
-				return (T)NO_MORE_TASKS; 
+		T t = _data.poll();
+		
+		//spin shortly before blocking on empty queue
+		for( int i=0; t == null && i < NUM_SPINS && !_closedInput; i++ ) {
+			Thread.yield();
+			t = _data.poll();
 		}
 		
-		T t = _data.removeFirst();
+		if( t == null ) {
+			t = waitForTask();
+			if( t == null )
+				return (T)NO_MORE_TASKS;
+		}
 		
-		notify(); // notify waiting writers
+		if( _size.decrementAndGet() == RESUME_SIZE )
+			notifyBlocked(); // notify waiting writers
 		
 		return t;
 	}
@@ -101,18 +121,67 @@ public class LocalTaskQueue<T>
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
 	 */
-	public synchronized void closeInput()
+	public void closeInput()
+	{
+		synchronized( _lock ) {
+			_closedInput = true;
+			_lock.notifyAll(); //notify all waiting readers
+		}
+	}
+	
+	private T waitForTask() 
+		throws InterruptedException
+	{
+		synchronized( _lock ) {
+			_numBlocked++;
+			try {
+				T t = null;
+				while( (t = _data.poll()) == null ) {
+					if( _closedInput ) //re-check after close
+						return _data.poll();
+					_lock.wait(); // wait for writers
+				}
+				return t;
+			}
+			finally {
+				_numBlocked--;
+			}
+		}
+	}
+	
+	private void waitForCapacity() 
+		throws InterruptedException
 	{
-		_closedInput = true;
-		notifyAll(); //notify all waiting readers
+		synchronized( _lock ) {
+			_numBlocked++;
+			try {
+				if( _size.get() > RESUME_SIZE )
+					LOG.warn("MAX_SIZE of task queue reached.");
+				while( _size.get() > RESUME_SIZE )
+					_lock.wait(); //max constraint reached, wait for reads
+			}
+			finally {
+				_numBlocked--;
+			}
+		}
+	}
+	
+	private void notifyBlocked() {
+		//readers and writers never block concurrently (except for the 
+		//transition at max size), hence we notify all blocked threads
+		if( _numBlocked > 0 ) {
+			synchronized( _lock ) {
+				_lock.notifyAll();
+			}
+		}
 	}
 
 	@Override
-	public synchronized String toString() 
+	public String toString() 
 	{
 		StringBuilder sb = new StringBuilder();
 		sb.append("TASK QUEUE (size=");
-		sb.append(_data.size());
+		sb.append(_size.get());
 		sb.append(",close=");
 		sb.append(_closedInput);
 		sb.append(")\n");
@@ -432,6 +432,12 @@ public class ProgramConverter
 
 	public static FunctionProgramBlock createDeepCopyFunctionProgramBlock(FunctionProgramBlock fpb, HashSet<String> fnStack, HashSet<String> fnCreated) 
 		throws DMLRuntimeException 
+	{
+		return createDeepCopyFunctionProgramBlock(fpb, fnStack, fnCreated, fpb!=null && fpb.isRecompileOnce());
+	}
+	
+	public static FunctionProgramBlock createDeepCopyFunctionProgramBlock(FunctionProgramBlock fpb, HashSet<String> fnStack, HashSet<String> fnCreated, boolean forceDeepCopy) 
+		throws DMLRuntimeException 
 	{
 		if( fpb == null )
 			throw new DMLRuntimeException("Unable to create a deep copy of a non-existing FunctionProgramBlock.");
@@ -446,7 +452,7 @@ public class ProgramConverter
 			tmp2.addAll(fpb.getOutputParams());
 		
 		copy = new FunctionProgramBlock(fpb.getProgram(), tmp1, tmp2);
-		copy.setChildBlocks( rcreateDeepCopyProgramBlocks(fpb.getChildBlocks(), 0, -1, fnStack, fnCreated, true, fpb.isRecompileOnce()) );
+		copy.setChildBlocks( rcreateDeepCopyProgramBlocks(fpb.getChildBlocks(), 0, -1, fnStack, fnCreated, true, forceDeepCopy) );
 		copy.setStatementBlock( fpb.getStatementBlock() );
 		copy.setRecompileOnce(fpb.isRecompileOnce());
 		//copy.setVariables( (LocalVariableMap) fpb.getVariables() ); //implicit cloning
@@ -20,7 +20,13 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -31,17 +37,26 @@ import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
  * serial or multi-threaded merge.
  * 
+ * If all workers wrote disjoint index ranges (tracked by left indexing, see
+ * {@link WrittenRanges}), the merge directly copies the written ranges of
+ * all inputs without comparison, partitioned by output rows.
  * 
  */
 public class ResultMergeLocalMemory extends ResultMerge
 {	
+	//enable range-aware merge for disjoint written ranges
+	public static boolean ALLOW_RANGE_MERGE = true;
 	
 	//internal comparison matrix
 	private double[][]        _compare     = null;
@@ -58,7 +73,13 @@ public class ResultMergeLocalMemory extends ResultMerge
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 
 		LOG.trace("ResultMerge (local, in-memory): Execute serial merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
-				
+		
+		//range-aware merge of disjoint written ranges
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		List<List<IndexRange>> ranges = getDisjointWrittenRanges(true);
+		if( ranges != null )
+			return executeRangeMerge(ranges, 1);
+		
 		try
 		{
 			//get old output matrix from cache for compare
@@ -137,6 +158,9 @@ public class ResultMergeLocalMemory extends ResultMerge
 
 		//LOG.trace("ResultMerge (local, in-memory): Executed serial merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
 		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParForResultMerge(false, System.nanoTime()-t0);
+		
 		return moNew;
 	}
 	
@@ -148,6 +172,12 @@ public class ResultMergeLocalMemory extends ResultMerge
 		
 		LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
 		
+		//parallel range-aware merge of disjoint written ranges
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		List<List<IndexRange>> ranges = getDisjointWrittenRanges(false);
+		if( ranges != null )
+			return executeRangeMerge(ranges, Math.min(par, InfrastructureAnalyzer.getLocalParallelism()));
+		
 		try
 		{
 			//get matrix blocks through caching 
@@ -215,9 +245,115 @@ public class ResultMergeLocalMemory extends ResultMerge
 		
 		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
 
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParForResultMerge(false, System.nanoTime()-t0);
+		
 		return moNew;		
 	}
 
+	/**
+	 * Obtains the written ranges of all inputs if they are known (i.e., derived from
+	 * the output via left indexing), pairwise disjoint across inputs, and if the
+	 * merged output can be represented as a dense block.
+	 * 
+	 * @param serial true for a serial merge, which additionally requires a dense
+	 * estimated output (the parallel merge always uses a dense output)
+	 * @return list of written ranges per input, or null if not applicable
+	 */
+	private List<List<IndexRange>> getDisjointWrittenRanges( boolean serial ) 
+	{
+		WrittenRanges root = _output.getWrittenRanges();
+		if( !ALLOW_RANGE_MERGE || root == null || !root.isRoot() )
+			return null;
+		long rows = _output.getNumRows();
+		long cols = _output.getNumColumns();
+		if( rows * cols > Integer.MAX_VALUE || (serial && MatrixBlock
+			.evalSparseFormatInMemory(rows, cols, getOutputNnzEstimate())) )
+			return null;
+		
+		List<List<IndexRange>> ret = new ArrayList<List<IndexRange>>();
+		for( MatrixObject in : _inputs ) {
+			if( in == null || in == _output ) //no writes
+				continue;
+			WrittenRanges ranges = in.getWrittenRanges();
+			if( ranges == null || ranges.getRoot() != root )
+				return null;
+			ret.add(ranges.toList());
+		}
+		return WrittenRanges.isDisjoint(ret) ? ret : null;
+	}
+	
+	private MatrixObject executeRangeMerge( List<List<IndexRange>> ranges, int k ) 
+		throws DMLRuntimeException
+	{
+		LOG.trace("ResultMerge (local, in-memory): Execute range merge (k="+k+") for output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		ArrayList<MatrixObject> inMO = new ArrayList<MatrixObject>();
+		for( MatrixObject in : _inputs )
+			if( in != null && in != _output )
+				inMO.add(in);
+		if( inMO.isEmpty() )
+			return _output; //return old matrix, to prevent copy
+		
+		MatrixObject moNew = null;
+		try
+		{
+			//create dense output w/ initial state of the result
+			MatrixBlock outMB = _output.acquireRead();
+			int rows = outMB.getNumRows();
+			int cols = outMB.getNumColumns();
+			MatrixBlock outMBNew = new MatrixBlock(rows, cols, false);
+			if( outMB.getNonZeros() > 0 )
+				outMBNew.copy(outMB, false);
+			else
+				outMBNew.allocateDenseBlock();
+			_output.release();
+			
+			//pin all inputs (each read by all row partitions)
+			MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+			for( int i=0; i<inMB.length; i++ )
+				inMB[i] = inMO.get(i).acquireRead();
+			
+			//copy written ranges, partitioned by output rows
+			if( k <= 1 || rows < 2 ) {
+				new RangeMergeTask(inMB, ranges, outMBNew, 0, rows-1).call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<RangeMergeTask> tasks = new ArrayList<RangeMergeTask>();
+				int blklen = (int)Math.ceil((double)rows/k);
+				for( int i=0; i<k & i*blklen<rows; i++ )
+					tasks.add(new RangeMergeTask(inMB, ranges, outMBNew, 
+						i*blklen, Math.min((i+1)*blklen, rows)-1));
+				for( Future<Object> f : pool.invokeAll(tasks) )
+					f.get();
+				pool.shutdown();
+			}
+			outMBNew.recomputeNonZeros();
+			
+			//change sparsity if required after merge
+			outMBNew.examSparsity();
+			
+			//unpin and clear in-memory inputs
+			for( MatrixObject in : inMO ) {
+				in.release();
+				in.clearData();
+			}
+			
+			//create new output matrix 
+			moNew = createNewMatrixObject( outMBNew );
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParForResultMerge(true, System.nanoTime()-t0);
+		
+		return moNew;
+	}
+	
 	private double[][] createCompareMatrix( MatrixBlock output )
 	{
 		double[][] ret = null;
@@ -336,4 +472,68 @@ public class ResultMergeLocalMemory extends ResultMerge
 		}
 		
 	}
+	
+	/**
+	 * Copies the written ranges of all inputs that overlap the 
+	 * given row partition into the dense output.
+	 */
+	private static class RangeMergeTask implements Callable<Object>
+	{
+		private final MatrixBlock[] _in;
+		private final List<List<IndexRange>> _ranges;
+		private final MatrixBlock _out;
+		private final int _rl; //inclusive
+		private final int _ru; //inclusive
+		
+		protected RangeMergeTask(MatrixBlock[] in, List<List<IndexRange>> ranges, MatrixBlock out, int rl, int ru) {
+			_in = in;
+			_ranges = ranges;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			double[] c = _out.getDenseBlock();
+			int n = _out.getNumColumns();
+			for( int i=0; i<_in.length; i++ )
+				for( IndexRange r : _ranges.get(i) ) {
+					int rl = (int)Math.max(r.rowStart, _rl);
+					int ru = (int)Math.min(r.rowEnd, _ru);
+					if( rl <= ru )
+						copyRange(_in[i], c, n, rl, ru, (int)r.colStart, (int)r.colEnd);
+				}
+			return null;
+		}
+		
+		private static void copyRange(MatrixBlock in, double[] c, int n, int rl, int ru, int cl, int cu) {
+			if( in.isEmptyBlock(false) ) {
+				for( int i=rl, cix=rl*n; i<=ru; i++, cix+=n )
+					Arrays.fill(c, cix+cl, cix+cu+1, 0);
+			}
+			else if( in.isInSparseFormat() ) {
+				SparseBlock a = in.getSparseBlock();
+				for( int i=rl, cix=rl*n; i<=ru; i++, cix+=n ) {
+					Arrays.fill(c, cix+cl, cix+cu+1, 0);
+					if( a.isEmpty(i) )
+						continue;
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					int k = a.posFIndexGTE(i, cl);
+					if( k < 0 )
+						continue;
+					for( ; k<apos+alen && aix[k]<=cu; k++ ) //k is absolute pos
+						c[cix+aix[k]] = avals[k];
+				}
+			}
+			else {
+				double[] a = in.getDenseBlock();
+				for( int i=rl, cix=rl*n; i<=ru; i++, cix+=n )
+					System.arraycopy(a, cix+cl, c, cix+cl, cu-cl+1);
+			}
+		}
+	}
 }
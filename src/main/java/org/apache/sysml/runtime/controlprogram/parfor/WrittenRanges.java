@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.sysml.runtime.util.IndexRange;
+
+/**
+ * Index ranges (0-based, inclusive) written by left indexing into a parfor
+ * result variable since the start of the parfor, which allow the result merge
+ * to copy the written ranges of each worker without comparison.
+ *
+ * Written ranges are immutable, persistent lists (appends create a new head that
+ * shares its predecessors), which makes them safe to share between the shallow copies
+ * of a result variable in different workers. Appends of adjacent ranges (e.g., rows
+ * i and i+1 in consecutive iterations of a task) are coalesced. Each list starts at
+ * an empty root, which is assigned to the result variable at the start of a parfor;
+ * the result merge only uses written ranges of worker results that descend from the
+ * root of its output. A null reference represents unknown ranges (e.g., for outputs
+ * of other operations), in which case the result merge falls back to a
+ * comparison-based merge.
+ */
+public class WrittenRanges
+{
+	//max number of ranges per worker result (w/ fallback to unknown)
+	public static final int MAX_RANGES = 16 * 1024;
+
+	//max number of pairwise checks for disjoint ranges of different workers
+	private static final long MAX_DISJOINT_CHECKS = 10L * 1024 * 1024;
+
+	private final IndexRange _range;
+	private final WrittenRanges _prev;
+	private final int _size;
+
+	private WrittenRanges(IndexRange range, WrittenRanges prev, int size) {
+		_range = range;
+		_prev = prev;
+		_size = size;
+	}
+
+	/**
+	 * Creates a new empty root, which marks a result variable
+	 * without writes since the start of a parfor.
+	 *
+	 * @return empty written ranges
+	 */
+	public static WrittenRanges createRoot() {
+		return new WrittenRanges(null, null, 0);
+	}
+
+	/**
+	 * Creates the written ranges after left indexing of the given range.
+	 *
+	 * @param ranges written ranges of the left-hand-side input, or null if unknown
+	 * @param ix index range of left indexing (0-based, inclusive)
+	 * @return written ranges of the output, or null if unknown
+	 */
+	public static WrittenRanges append(WrittenRanges ranges, IndexRange ix) {
+		if( ranges == null )
+			return null;
+		IndexRange head = ranges._range;
+		if( head != null ) {
+			//coalesce contained, vertically or horizontally adjacent ranges
+			if( contains(head, ix) )
+				return ranges;
+			if( head.colStart == ix.colStart && head.colEnd == ix.colEnd && head.rowEnd + 1 == ix.rowStart )
+				return new WrittenRanges(new IndexRange(head.rowStart, ix.rowEnd, ix.colStart, ix.colEnd), ranges._prev, ranges._size);
+			if( head.rowStart == ix.rowStart && head.rowEnd == ix.rowEnd && head.colEnd + 1 == ix.colStart )
+				return new WrittenRanges(new IndexRange(ix.rowStart, ix.rowEnd, head.colStart, ix.colEnd), ranges._prev, ranges._size);
+		}
+		return (ranges._size < MAX_RANGES) ? new WrittenRanges(
+			new IndexRange(ix.rowStart, ix.rowEnd, ix.colStart, ix.colEnd), ranges, ranges._size + 1) : null;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean isRoot() {
+		return _range == null;
+	}
+
+	public WrittenRanges getRoot() {
+		WrittenRanges ret = this;
+		while( ret._range != null )
+			ret = ret._prev;
+		return ret;
+	}
+
+	public List<IndexRange> toList() {
+		IndexRange[] ret = new IndexRange[_size];
+		int pos = _size;
+		for( WrittenRanges r = this; r._range != null; r = r._prev )
+			ret[--pos] = r._range;
+		return Arrays.asList(ret);
+	}
+
+	/**
+	 * Indicates if the ranges of different workers are pairwise disjoint,
+	 * via a sweep over all ranges sorted by row start. Overlapping ranges
+	 * of the same worker are allowed.
+	 *
+	 * @param ranges list of written ranges per worker
+	 * @return true if disjoint, false if overlapping or too expensive to check
+	 */
+	public static boolean isDisjoint(List<List<IndexRange>> ranges) {
+		//collect all ranges w/ worker ids
+		List<long[]> all = new ArrayList<long[]>();
+		for( int i=0; i<ranges.size(); i++ )
+			for( IndexRange r : ranges.get(i) )
+				all.add(new long[]{r.rowStart, r.rowEnd, r.colStart, r.colEnd, i});
+		Collections.sort(all, new Comparator<long[]>() {
+			@Override
+			public int compare(long[] o1, long[] o2) {
+				return Long.compare(o1[0], o2[0]);
+			}
+		});
+
+		//sweep w/ list of active ranges (overlapping the current row)
+		List<long[]> active = new ArrayList<long[]>();
+		long checks = 0;
+		for( long[] r : all ) {
+			int pos = 0;
+			for( long[] a : active ) {
+				if( a[1] < r[0] ) //expired range
+					continue;
+				if( a[4] != r[4] && a[2] <= r[3] && r[2] <= a[3] )
+					return false;
+				active.set(pos++, a);
+			}
+			active.subList(pos, active.size()).clear();
+			active.add(r);
+			if( (checks += active.size()) > MAX_DISJOINT_CHECKS )
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean contains(IndexRange a, IndexRange b) {
+		return a.rowStart <= b.rowStart && b.rowEnd <= a.rowEnd
+			&& a.colStart <= b.colStart && b.colEnd <= a.colEnd;
+	}
+}
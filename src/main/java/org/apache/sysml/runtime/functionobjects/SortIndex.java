@@ -34,26 +34,51 @@ public class SortIndex extends IndexFunction
 {
 	private static final long serialVersionUID = -8446389232078905200L;
 
-	private int     _col        = -1;
+	private int[]   _cols       = null;
 	private boolean _decreasing = false;
 	private boolean _ixreturn   = false;
+	private int     _topk       = -1;
 	
 	private SortIndex() {
 		// nothing to do here
 	}
 
 	public static SortIndex getSortIndexFnObject(int col, boolean decreasing, boolean indexreturn) 
+	{
+		return getSortIndexFnObject(new int[]{col}, decreasing, indexreturn, -1);
+	}
+	
+	/**
+	 * Obtains a sort index function object for multi-column keys
+	 * and an optional top-k.
+	 * 
+	 * @param cols 1-based order by columns, in order of precedence
+	 * @param decreasing sort in descending order
+	 * @param indexreturn return row indexes instead of sorted data
+	 * @param topk number of leading rows to return, or -1 for all rows
+	 * @return sort index function object
+	 */
+	public static SortIndex getSortIndexFnObject(int[] cols, boolean decreasing, boolean indexreturn, int topk) 
 	{
 		SortIndex ix = new SortIndex();
-		ix._col = col;
+		ix._cols = cols;
 		ix._decreasing = decreasing;
 		ix._ixreturn = indexreturn;
+		ix._topk = topk;
 		
 		return ix;
 	}
 
 	public int getCol() {
-		return _col;
+		return _cols[0];
+	}
+	
+	public int[] getCols() {
+		return _cols;
+	}
+	
+	public int getTopK() {
+		return _topk;
 	}
 	
 	public boolean getDecreasing() {
@@ -66,7 +91,7 @@ public class SortIndex extends IndexFunction
 	
 	@Override
 	public boolean computeDimension(int row, int col, CellIndex retDim) {
-		retDim.set(row, _ixreturn?1:col);
+		retDim.set((_topk > 0) ? Math.min(_topk, row) : row, _ixreturn?1:col);
 		return false;
 	}
 
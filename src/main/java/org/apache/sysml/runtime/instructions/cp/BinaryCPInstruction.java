@@ -22,7 +22,9 @@ package org.apache.sysml.runtime.instructions.cp;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 public abstract class BinaryCPInstruction extends ComputationCPInstruction
@@ -42,7 +44,7 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		throws DMLRuntimeException
 	{	
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
-		InstructionUtils.checkNumFields ( parts, 3 );
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
 		
 		String opcode = parts[0];
 		in1.split(parts[1]);
@@ -52,6 +54,25 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		return opcode;
 	}
 	
+	/**
+	 * Sets the degree of parallelism of multi-threaded cellwise operations,
+	 * if given as optional last field of the instruction.
+	 * 
+	 * @param instr instruction string
+	 * @param op binary or scalar operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected static void parseNumThreads(String instr, Operator op)
+		throws DMLRuntimeException
+	{
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
+		int k = (parts.length > 4) ? Integer.parseInt(parts[4]) : 1;
+		if( op instanceof BinaryOperator )
+			((BinaryOperator) op).setNumThreads(k);
+		else if( op instanceof ScalarOperator )
+			((ScalarOperator) op).setNumThreads(k);
+	}
+	
 	protected static String parseBinaryInstruction(String instr, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out)
 		throws DMLRuntimeException
 	{
@@ -306,12 +306,12 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 		else if ( method == DataGenMethod.SEQ ) 
 		{
 			//handle default 1 to -1 for special case of from>to
-			seq_incr = LibMatrixDatagen.updateSeqIncr(seq_from, seq_to, seq_incr);
+			double lincr = LibMatrixDatagen.updateSeqIncr(seq_from, seq_to, seq_incr);
 			
 			if( LOG.isTraceEnabled() )
-				LOG.trace("Process DataGenCPInstruction seq with seqFrom="+seq_from+", seqTo="+seq_to+", seqIncr"+seq_incr);
+				LOG.trace("Process DataGenCPInstruction seq with seqFrom="+seq_from+", seqTo="+seq_to+", seqIncr"+lincr);
 			
-			soresBlock = MatrixBlock.seqOperations(seq_from, seq_to, seq_incr);
+			soresBlock = MatrixBlock.seqOperations(seq_from, seq_to, lincr);
 		}
 		else if ( method == DataGenMethod.SAMPLE ) 
 		{
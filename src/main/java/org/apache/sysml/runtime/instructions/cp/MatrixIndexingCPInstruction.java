@@ -26,6 +26,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.WrittenRanges;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.util.IndexRange;
@@ -88,6 +89,7 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 			
 			MatrixBlock matBlock = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
 			MatrixBlock resultBlock = null;
+			WrittenRanges ranges = mo.getWrittenRanges();
 			
 			if(input2.getDataType() == DataType.MATRIX) //MATRIX<-MATRIX
 			{
@@ -113,6 +115,10 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 			
 			//unpin output
 			ec.setMatrixOutput(output.getName(), resultBlock, updateType, getExtendedOpcode());
+			
+			//track written ranges of parfor result variables (for result merge)
+			if( ranges != null )
+				ec.getMatrixObject(output.getName()).setWrittenRanges(WrittenRanges.append(ranges, ixrange));
 		}
 		else
 			throw new DMLRuntimeException("Invalid opcode (" + opcode +") encountered in MatrixIndexingCPInstruction.");		
@@ -209,11 +209,12 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			
 			// compute the result
 			String margin = params.get("margin");
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1;
 			MatrixBlock soresBlock = null;
 			if( margin.equals("rows") )
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select, k);
 			else if( margin.equals("cols") ) 
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select, k);
 			else
 				throw new DMLRuntimeException("Unspupported margin identifier '"+margin+"'.");
 			
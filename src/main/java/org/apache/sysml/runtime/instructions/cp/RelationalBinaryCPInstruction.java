@@ -34,7 +34,7 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static RelationalBinaryCPInstruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
+		InstructionUtils.checkNumFields (str, 3, 4);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -45,6 +45,7 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		Operator operator = (in1.getDataType() != in2.getDataType()) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
 					InstructionUtils.parseBinaryOperator(opcode);
+		parseNumThreads(str, operator);
 		
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarRelationalCPInstruction(operator, in1, in2, out, opcode, str);
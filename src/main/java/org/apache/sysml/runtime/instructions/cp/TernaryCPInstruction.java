@@ -27,6 +27,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
@@ -42,10 +43,19 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 	private boolean _dim2Literal;
 	private boolean _isExpand;
 	private boolean _ignoreZeros;
+	private int _numThreads;
 	
 	public TernaryCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out, 
 							 String outputDim1, boolean dim1Literal,String outputDim2, boolean dim2Literal, 
 							 boolean isExpand, boolean ignoreZeros, String opcode, String istr )
+	{
+		this(op, in1, in2, in3, out, outputDim1, dim1Literal, outputDim2, dim2Literal, 
+			isExpand, ignoreZeros, 1, opcode, istr);
+	}
+	
+	public TernaryCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out, 
+							 String outputDim1, boolean dim1Literal,String outputDim2, boolean dim2Literal, 
+							 boolean isExpand, boolean ignoreZeros, int k, String opcode, String istr )
 	{
 		super(op, in1, in2, in3, out, opcode, istr);
 		_outDim1 = outputDim1;
@@ -54,13 +64,14 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 		_dim2Literal = dim2Literal;
 		_isExpand = isExpand;
 		_ignoreZeros = ignoreZeros;
+		_numThreads = k;
 	}
 
 	public static TernaryCPInstruction parseInstruction(String inst) 
 		throws DMLRuntimeException
 	{
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst);
-		InstructionUtils.checkNumFields ( parts, 7 );
+		InstructionUtils.checkNumFields ( parts, 7, 8 );
 		
 		String opcode = parts[0];
 		
@@ -81,9 +92,10 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 
 		CPOperand out = new CPOperand(parts[6]);
 		boolean ignoreZeros = Boolean.parseBoolean(parts[7]);
+		int k = (parts.length > 8) ? Integer.parseInt(parts[8]) : 1;
 		
 		// ctable does not require any operator, so we simply pass-in a dummy operator with null functionobject
-		return new TernaryCPInstruction(new SimpleOperator(null), in1, in2, in3, out, dim1Fields[0], Boolean.parseBoolean(dim1Fields[1]), dim2Fields[0], Boolean.parseBoolean(dim2Fields[1]), isExpand, ignoreZeros, opcode, inst);
+		return new TernaryCPInstruction(new SimpleOperator(null), in1, in2, in3, out, dim1Fields[0], Boolean.parseBoolean(dim1Fields[1]), dim2Fields[0], Boolean.parseBoolean(dim2Fields[1]), isExpand, ignoreZeros, k, opcode, inst);
 	}
 
 	private Ternary.OperationTypes findCtableOperation() {
@@ -123,7 +135,22 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 			resultBlock = new MatrixBlock( matBlock1.getNumRows(), Integer.MAX_VALUE, true );
 		}
 		
-		switch(ctableOp) {
+		if( ctableOp != Ternary.OperationTypes.CTABLE_EXPAND_SCALAR_WEIGHT
+			&& LibMatrixCTable.satisfiesMultiThreadingConstraints(matBlock1, _numThreads) )
+		{
+			//multi-threaded ctable over row partitions of all inputs
+			matBlock2 = (input2.getDataType() == DataType.MATRIX) ?
+				ec.getMatrixInput(input2.getName(), getExtendedOpcode()) : null;
+			wtBlock = (input3.getDataType() == DataType.MATRIX) ?
+				ec.getMatrixInput(input3.getName(), getExtendedOpcode()) : null;
+			cst1 = (matBlock2 == null) ? ec.getScalarInput(input2.getName(), 
+				input2.getValueType(), input2.isLiteral()).getDoubleValue() : 0;
+			cst2 = (wtBlock == null) ? ec.getScalarInput(input3.getName(), 
+				input3.getValueType(), input3.isLiteral()).getDoubleValue() : 0;
+			LibMatrixCTable.ctable(matBlock1, matBlock2, cst1, wtBlock, cst2, 
+				_ignoreZeros, resultMap, resultBlock, _numThreads);
+		}
+		else switch(ctableOp) {
 		case CTABLE_TRANSFORM: //(VECTOR)
 			// F=ctable(A,B,W)
 			matBlock2 = ec.getMatrixInput(input2.getName(), getExtendedOpcode());
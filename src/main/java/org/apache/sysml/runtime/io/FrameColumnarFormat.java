@@ -0,0 +1,565 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+
+/**
+ * Columnar binary file format for frames. A file consists of a magic number,
+ * a sequence of column chunks, a footer, and a trailer of footer offset and
+ * magic number. Rows are partitioned into row groups of fixed size, and each
+ * row group stores one chunk per column, which is independently encoded as
+ * plain, dictionary, or run-length encoded values (whatever is smallest).
+ * The footer holds the schema, column names and meta data, as well as offset,
+ * length, encoding and min/max statistics of all chunks, which allows readers
+ * to decode only the projected columns and to decode chunks in parallel.
+ *
+ */
+public class FrameColumnarFormat
+{
+	public static final int MAGIC = 0x53434631; //"SCF1"
+	public static final int TRAILER_SIZE = 12; //footer offset, magic
+
+	//number of rows per row group (unit of parallel decoding)
+	public static int ROW_GROUP_SIZE = 64 * 1024;
+
+	//max number of distinct values for dictionary encoding
+	private static final int MAX_DICT_SIZE = 65536;
+
+	public enum Encoding {
+		PLAIN,
+		DICT,
+		RLE,
+	}
+
+	/**
+	 * Min/max statistics of a column chunk or entire column, where min
+	 * and max are boxed values of the column value type (null if the column
+	 * contains only null or NaN values).
+	 */
+	public static class ColumnStatistics
+	{
+		private final ValueType _vt;
+		private Object _min = null;
+		private Object _max = null;
+		private long _numNulls = 0;
+
+		public ColumnStatistics(ValueType vt) {
+			_vt = vt;
+		}
+
+		public ValueType getValueType() {
+			return _vt;
+		}
+
+		public Object getMin() {
+			return _min;
+		}
+
+		public Object getMax() {
+			return _max;
+		}
+
+		public long getNumNulls() {
+			return _numNulls;
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private void update(Object val) {
+			if( val == null ) {
+				_numNulls++;
+				return;
+			}
+			if( val instanceof Double && ((Double)val).isNaN() )
+				return;
+			if( _min == null || ((Comparable)val).compareTo(_min) < 0 )
+				_min = val;
+			if( _max == null || ((Comparable)val).compareTo(_max) > 0 )
+				_max = val;
+		}
+
+		private void merge(ColumnStatistics that) {
+			if( that._min != null ) {
+				update(that._min);
+				update(that._max);
+			}
+			_numNulls += that._numNulls;
+		}
+
+		private void write(DataOutput out) throws IOException {
+			out.writeLong(_numNulls);
+			out.writeBoolean(_min != null);
+			if( _min != null ) {
+				writeValue(out, _vt, _min);
+				writeValue(out, _vt, _max);
+			}
+		}
+
+		private static ColumnStatistics read(DataInput in, ValueType vt) throws IOException {
+			ColumnStatistics ret = new ColumnStatistics(vt);
+			ret._numNulls = in.readLong();
+			if( in.readBoolean() ) {
+				ret._min = readValue(in, vt);
+				ret._max = readValue(in, vt);
+			}
+			return ret;
+		}
+
+		@Override
+		public String toString() {
+			return "["+_min+", "+_max+"], nulls="+_numNulls;
+		}
+	}
+
+	/**
+	 * Meta data of a single column chunk.
+	 */
+	public static class ChunkMeta
+	{
+		private long _offset = -1;
+		private int _length = -1;
+		private Encoding _enc = null;
+		private ColumnStatistics _stats = null;
+
+		public long getOffset() {
+			return _offset;
+		}
+
+		public int getLength() {
+			return _length;
+		}
+
+		public Encoding getEncoding() {
+			return _enc;
+		}
+
+		public ColumnStatistics getStatistics() {
+			return _stats;
+		}
+	}
+
+	/**
+	 * File footer with the schema, column meta data, and chunk meta data
+	 * of all row groups.
+	 */
+	public static class Footer
+	{
+		private final long _numRows;
+		private final int _groupSize;
+		private final ValueType[] _schema;
+		private final String[] _names;
+		private final ColumnMetadata[] _colmeta;
+		private final ChunkMeta[][] _chunks; //[group][column]
+
+		public Footer(long numRows, int groupSize, ValueType[] schema, String[] names, ColumnMetadata[] colmeta) {
+			_numRows = numRows;
+			_groupSize = groupSize;
+			_schema = schema;
+			_names = names;
+			_colmeta = colmeta;
+			int ngroups = (int)((numRows + groupSize - 1) / groupSize);
+			_chunks = new ChunkMeta[ngroups][schema.length];
+			for( int i=0; i<ngroups; i++ )
+				for( int j=0; j<schema.length; j++ )
+					_chunks[i][j] = new ChunkMeta();
+		}
+
+		public long getNumRows() {
+			return _numRows;
+		}
+
+		public int getNumColumns() {
+			return _schema.length;
+		}
+
+		public ValueType[] getSchema() {
+			return _schema;
+		}
+
+		public String[] getColumnNames() {
+			return _names;
+		}
+
+		public ColumnMetadata getColumnMetadata(int c) {
+			return _colmeta[c];
+		}
+
+		public int getNumRowGroups() {
+			return _chunks.length;
+		}
+
+		public int getRowGroupLower(int g) {
+			return g * _groupSize;
+		}
+
+		public int getRowGroupLength(int g) {
+			return (int)Math.min(_groupSize, _numRows - (long)g * _groupSize);
+		}
+
+		public ChunkMeta getChunkMeta(int g, int c) {
+			return _chunks[g][c];
+		}
+
+		/**
+		 * Obtains the statistics of an entire column by merging the
+		 * statistics of all its chunks.
+		 *
+		 * @param c column index
+		 * @return column statistics
+		 */
+		public ColumnStatistics getColumnStatistics(int c) {
+			ColumnStatistics ret = new ColumnStatistics(_schema[c]);
+			for( int g=0; g<_chunks.length; g++ )
+				ret.merge(_chunks[g][c]._stats);
+			return ret;
+		}
+
+		public void write(DataOutput out) throws IOException {
+			out.writeLong(_numRows);
+			out.writeInt(_groupSize);
+			out.writeInt(_schema.length);
+			for( int j=0; j<_schema.length; j++ ) {
+				out.writeByte(_schema[j].ordinal());
+				out.writeUTF(_names[j]);
+				out.writeLong(_colmeta[j].getNumDistinct());
+				writeValue(out, ValueType.STRING, _colmeta[j].getMvValue());
+			}
+			for( int g=0; g<_chunks.length; g++ )
+				for( int j=0; j<_schema.length; j++ ) {
+					ChunkMeta meta = _chunks[g][j];
+					out.writeLong(meta._offset);
+					out.writeInt(meta._length);
+					out.writeByte(meta._enc.ordinal());
+					meta._stats.write(out);
+				}
+		}
+
+		public static Footer read(DataInput in) throws IOException {
+			long nrow = in.readLong();
+			int groupSize = in.readInt();
+			int ncol = in.readInt();
+			ValueType[] schema = new ValueType[ncol];
+			String[] names = new String[ncol];
+			ColumnMetadata[] colmeta = new ColumnMetadata[ncol];
+			for( int j=0; j<ncol; j++ ) {
+				schema[j] = ValueType.values()[in.readByte()];
+				names[j] = in.readUTF();
+				long ndistinct = in.readLong();
+				colmeta[j] = new ColumnMetadata(ndistinct,
+					(String)readValue(in, ValueType.STRING));
+			}
+			Footer ret = new Footer(nrow, groupSize, schema, names, colmeta);
+			for( int g=0; g<ret._chunks.length; g++ )
+				for( int j=0; j<ncol; j++ ) {
+					ChunkMeta meta = ret._chunks[g][j];
+					meta._offset = in.readLong();
+					meta._length = in.readInt();
+					meta._enc = Encoding.values()[in.readByte()];
+					meta._stats = ColumnStatistics.read(in, schema[j]);
+				}
+			return ret;
+		}
+	}
+
+	/**
+	 * Creates the footer for the given frame, with unassigned chunk offsets.
+	 *
+	 * @param src frame block
+	 * @param groupSize number of rows per row group
+	 * @return footer
+	 */
+	public static Footer createFooter(FrameBlock src, int groupSize) {
+		ColumnMetadata[] colmeta = new ColumnMetadata[src.getNumColumns()];
+		for( int j=0; j<colmeta.length; j++ )
+			colmeta[j] = (src.getNumRows() > 0) ?
+				new ColumnMetadata(src.getColumnMetadata(j)) : new ColumnMetadata(0);
+		return new Footer(src.getNumRows(), groupSize,
+			src.getSchema(), src.getColumnNames(), colmeta);
+	}
+
+	/**
+	 * Encodes the given row group of a column into a chunk of the smallest
+	 * encoding, and populates the encoding and statistics of the chunk meta data.
+	 *
+	 * @param vt value type
+	 * @param data column data (String[], boolean[], long[] or double[])
+	 * @param rl row lower index (inclusive)
+	 * @param ru row upper index (exclusive)
+	 * @param meta chunk meta data
+	 * @return encoded chunk
+	 * @throws IOException if IOException occurs
+	 */
+	public static byte[] encodeChunk(ValueType vt, Object data, int rl, int ru, ChunkMeta meta)
+		throws IOException
+	{
+		//analyze chunk: statistics, distinct values, runs, plain size
+		ColumnStatistics stats = new ColumnStatistics(vt);
+		HashMap<Object,Integer> dict = new HashMap<Object,Integer>();
+		long plainSize = 0, dictSize = 4 + 1, rleSize = 4;
+		Object last = null;
+		for( int i=rl; i<ru; i++ ) {
+			Object val = getValue(vt, data, i);
+			int size = getValueSize(vt, val);
+			stats.update(val);
+			plainSize += size;
+			if( dict != null && !dict.containsKey(val) ) {
+				dict.put(val, dict.size());
+				dictSize += size;
+				if( dict.size() > MAX_DICT_SIZE )
+					dict = null;
+			}
+			if( i==rl || !isEqual(val, last) )
+				rleSize += size + 4;
+			last = val;
+		}
+		if( dict != null )
+			dictSize += (long)(ru-rl) * getCodeWidth(dict.size());
+
+		//select the encoding with minimal size
+		Encoding enc = (dict != null && dictSize < Math.min(plainSize, rleSize)) ? Encoding.DICT :
+			(rleSize < plainSize) ? Encoding.RLE : Encoding.PLAIN;
+
+		//encode chunk
+		ByteArrayOutputStream bos = new ByteArrayOutputStream((int)Math.min(Integer.MAX_VALUE,
+			(enc==Encoding.DICT) ? dictSize : (enc==Encoding.RLE) ? rleSize : plainSize));
+		DataOutputStream out = new DataOutputStream(bos);
+		switch( enc ) {
+			case PLAIN:
+				for( int i=rl; i<ru; i++ )
+					writeValue(out, vt, getValue(vt, data, i));
+				break;
+			case DICT: {
+				Object[] values = new Object[dict.size()];
+				for( Entry<Object,Integer> e : dict.entrySet() )
+					values[e.getValue()] = e.getKey();
+				out.writeInt(values.length);
+				for( Object val : values )
+					writeValue(out, vt, val);
+				int width = getCodeWidth(values.length);
+				out.writeByte(width);
+				for( int i=rl; i<ru; i++ ) {
+					int code = dict.get(getValue(vt, data, i));
+					switch( width ) {
+						case 1: out.writeByte(code); break;
+						case 2: out.writeShort(code); break;
+						default: out.writeInt(code);
+					}
+				}
+				break;
+			}
+			case RLE: {
+				int nruns = 0;
+				for( int i=rl; i<ru; i++ )
+					nruns += (i==rl || !isEqual(getValue(vt, data, i), getValue(vt, data, i-1))) ? 1 : 0;
+				out.writeInt(nruns);
+				for( int i=rl; i<ru; ) {
+					Object val = getValue(vt, data, i);
+					int j = i + 1;
+					while( j<ru && isEqual(getValue(vt, data, j), val) )
+						j++;
+					writeValue(out, vt, val);
+					out.writeInt(j-i);
+					i = j;
+				}
+				break;
+			}
+		}
+		out.flush();
+
+		meta._enc = enc;
+		meta._stats = stats;
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Sets the file location of an encoded column chunk.
+	 *
+	 * @param meta chunk meta data
+	 * @param offset byte offset of the chunk in the file
+	 * @param length length of the chunk in bytes
+	 */
+	public static void setChunkLocation(ChunkMeta meta, long offset, int length) {
+		meta._offset = offset;
+		meta._length = length;
+	}
+
+	/**
+	 * Decodes a column chunk into the given row range of the column data.
+	 *
+	 * @param buff buffer of encoded chunk
+	 * @param off offset of chunk in buffer
+	 * @param len length of chunk in bytes
+	 * @param vt value type
+	 * @param enc chunk encoding
+	 * @param data column data (String[], boolean[], long[] or double[])
+	 * @param rl row lower index
+	 * @param n number of rows
+	 * @throws IOException if IOException occurs
+	 */
+	public static void decodeChunk(byte[] buff, int off, int len, ValueType vt, Encoding enc, Object data, int rl, int n)
+		throws IOException
+	{
+		//fast path for plain numeric chunks
+		if( enc == Encoding.PLAIN && (vt == ValueType.DOUBLE || vt == ValueType.INT) ) {
+			if( len != n * 8 )
+				throw new IOException("Invalid length of plain chunk: "+len+" (expected "+(n*8)+").");
+			ByteBuffer bb = ByteBuffer.wrap(buff, off, len);
+			if( vt == ValueType.DOUBLE )
+				bb.asDoubleBuffer().get((double[])data, rl, n);
+			else
+				bb.asLongBuffer().get((long[])data, rl, n);
+			return;
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buff, off, len));
+		switch( enc ) {
+			case PLAIN:
+				for( int i=rl; i<rl+n; i++ )
+					setValue(vt, data, i, readValue(in, vt));
+				break;
+			case DICT: {
+				Object values = allocateColumnData(vt, in.readInt());
+				for( int i=0; i<Array.getLength(values); i++ )
+					setValue(vt, values, i, readValue(in, vt));
+				int width = in.readByte();
+				int[] codes = new int[n];
+				for( int i=0; i<n; i++ )
+					codes[i] = (width==1) ? in.readUnsignedByte() :
+						(width==2) ? in.readUnsignedShort() : in.readInt();
+				switch( vt ) {
+					case STRING:  { String[] a = (String[])data, d = (String[])values;
+						for( int i=0; i<n; i++ ) a[rl+i] = d[codes[i]]; break; }
+					case BOOLEAN: { boolean[] a = (boolean[])data, d = (boolean[])values;
+						for( int i=0; i<n; i++ ) a[rl+i] = d[codes[i]]; break; }
+					case INT:     { long[] a = (long[])data, d = (long[])values;
+						for( int i=0; i<n; i++ ) a[rl+i] = d[codes[i]]; break; }
+					case DOUBLE:  { double[] a = (double[])data, d = (double[])values;
+						for( int i=0; i<n; i++ ) a[rl+i] = d[codes[i]]; break; }
+					default: throw new IOException("Unsupported value type: "+vt);
+				}
+				break;
+			}
+			case RLE: {
+				int nruns = in.readInt();
+				for( int r=0, pos=rl; r<nruns; r++ ) {
+					Object val = readValue(in, vt);
+					int run = in.readInt();
+					if( pos + run > rl + n )
+						throw new IOException("Invalid run length "+run+" at row "+pos+".");
+					switch( vt ) {
+						case STRING:  Arrays.fill((String[])data, pos, pos+run, (String)val); break;
+						case BOOLEAN: Arrays.fill((boolean[])data, pos, pos+run, (Boolean)val); break;
+						case INT:     Arrays.fill((long[])data, pos, pos+run, (Long)val); break;
+						case DOUBLE:  Arrays.fill((double[])data, pos, pos+run, (Double)val); break;
+						default: throw new IOException("Unsupported value type: "+vt);
+					}
+					pos += run;
+				}
+				break;
+			}
+		}
+	}
+
+	private static Object allocateColumnData(ValueType vt, int len) throws IOException {
+		switch( vt ) {
+			case STRING:  return new String[len];
+			case BOOLEAN: return new boolean[len];
+			case INT:     return new long[len];
+			case DOUBLE:  return new double[len];
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+
+	private static Object getValue(ValueType vt, Object data, int pos) {
+		switch( vt ) {
+			case STRING:  return ((String[])data)[pos];
+			case BOOLEAN: return ((boolean[])data)[pos];
+			case INT:     return ((long[])data)[pos];
+			case DOUBLE:  return ((double[])data)[pos];
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
+	private static void setValue(ValueType vt, Object data, int pos, Object val) {
+		switch( vt ) {
+			case STRING:  ((String[])data)[pos] = (String)val; break;
+			case BOOLEAN: ((boolean[])data)[pos] = (Boolean)val; break;
+			case INT:     ((long[])data)[pos] = (Long)val; break;
+			case DOUBLE:  ((double[])data)[pos] = (Double)val; break;
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
+	private static boolean isEqual(Object a, Object b) {
+		//note: Double.equals compares bits, i.e., NaN equals NaN
+		return (a == null) ? b == null : a.equals(b);
+	}
+
+	private static int getValueSize(ValueType vt, Object val) {
+		switch( vt ) {
+			case STRING:  return 1 + ((val != null) ? IOUtilFunctions.getUTFSize((String)val) : 0);
+			case BOOLEAN: return 1;
+			default:      return 8;
+		}
+	}
+
+	private static int getCodeWidth(int numDistinct) {
+		return (numDistinct <= 256) ? 1 : (numDistinct <= 65536) ? 2 : 4;
+	}
+
+	private static void writeValue(DataOutput out, ValueType vt, Object val) throws IOException {
+		switch( vt ) {
+			case STRING:
+				out.writeBoolean(val != null);
+				if( val != null )
+					out.writeUTF((String)val);
+				break;
+			case BOOLEAN: out.writeBoolean((Boolean)val); break;
+			case INT:     out.writeLong((Long)val); break;
+			case DOUBLE:  out.writeDouble((Double)val); break;
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+
+	private static Object readValue(DataInput in, ValueType vt) throws IOException {
+		switch( vt ) {
+			case STRING:  return in.readBoolean() ? in.readUTF() : null;
+			case BOOLEAN: return in.readBoolean();
+			case INT:     return in.readLong();
+			case DOUBLE:  return in.readDouble();
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+}
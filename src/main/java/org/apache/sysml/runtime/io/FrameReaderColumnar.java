@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ChunkMeta;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ColumnStatistics;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Footer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+
+
+/**
+ * Single-threaded frame columnar reader. The schema, column names and
+ * dimensions are taken from the file footer, and an optional column
+ * projection restricts decoding to the requested columns.
+ *
+ */
+public class FrameReaderColumnar extends FrameReader
+{
+	//column indexes to read (null for all)
+	protected final int[] _cols;
+
+	public FrameReaderColumnar() {
+		this(null);
+	}
+
+	public FrameReaderColumnar(int[] cols) {
+		_cols = cols;
+	}
+
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names,
+			long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//read footer and allocate output frame block
+		Footer footer = readFooter(fs, path);
+		int[] cols = getProjection(footer);
+		FrameBlock ret = createOutputFrameBlock(footer, cols);
+
+		//core read (sequential/parallel)
+		readColumnarFrameFromHDFS(path, fs, footer, cols, ret);
+
+		return ret;
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names,
+			long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//read entire stream, since the footer is located at its end
+		byte[] buff = IOUtils.toByteArray(is);
+		Footer footer = readFooter(buff);
+		int[] cols = getProjection(footer);
+		FrameBlock ret = createOutputFrameBlock(footer, cols);
+
+		//decode projected chunks from buffer
+		for( int g=0; g<footer.getNumRowGroups(); g++ )
+			for( int j=0; j<cols.length; j++ ) {
+				ChunkMeta meta = footer.getChunkMeta(g, cols[j]);
+				decodeChunk(footer, g, cols[j], buff, (int)meta.getOffset(), ret, j);
+			}
+
+		return ret;
+	}
+
+	protected void readColumnarFrameFromHDFS( Path path, FileSystem fs, Footer footer, int[] cols, FrameBlock dest )
+		throws IOException, DMLRuntimeException
+	{
+		FSDataInputStream in = fs.open(path);
+		try {
+			for( int g=0; g<footer.getNumRowGroups(); g++ )
+				for( int j=0; j<cols.length; j++ )
+					readChunk(in, footer, g, cols[j], dest, j);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	/**
+	 * Reads and decodes a single column chunk into the given column of the
+	 * output frame block, via positional reads that are independent of
+	 * the current position of the stream.
+	 *
+	 * @param in input stream
+	 * @param footer file footer
+	 * @param g row group index
+	 * @param c column index in file
+	 * @param dest output frame block
+	 * @param cix column index in output frame block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void readChunk( FSDataInputStream in, Footer footer, int g, int c, FrameBlock dest, int cix )
+		throws IOException
+	{
+		ChunkMeta meta = footer.getChunkMeta(g, c);
+		byte[] buff = new byte[meta.getLength()];
+		in.readFully(meta.getOffset(), buff);
+		decodeChunk(footer, g, c, buff, 0, dest, cix);
+	}
+
+	private static void decodeChunk( Footer footer, int g, int c, byte[] buff, int off, FrameBlock dest, int cix )
+		throws IOException
+	{
+		ChunkMeta meta = footer.getChunkMeta(g, c);
+		FrameColumnarFormat.decodeChunk(buff, off, meta.getLength(), footer.getSchema()[c],
+			meta.getEncoding(), dest.getColumnData(cix), footer.getRowGroupLower(g), footer.getRowGroupLength(g));
+	}
+
+	private int[] getProjection( Footer footer )
+		throws IOException
+	{
+		if( _cols == null ) {
+			int[] ret = new int[footer.getNumColumns()];
+			for( int j=0; j<ret.length; j++ )
+				ret[j] = j;
+			return ret;
+		}
+		for( int c : _cols )
+			if( c < 0 || c >= footer.getNumColumns() )
+				throw new IOException("Projected column index "+c+" out of range [0,"+footer.getNumColumns()+").");
+		return _cols;
+	}
+
+	private static FrameBlock createOutputFrameBlock( Footer footer, int[] cols )
+		throws IOException, DMLRuntimeException
+	{
+		ValueType[] schema = new ValueType[cols.length];
+		String[] names = new String[cols.length];
+		for( int j=0; j<cols.length; j++ ) {
+			schema[j] = footer.getSchema()[cols[j]];
+			names[j] = footer.getColumnNames()[cols[j]];
+		}
+		FrameBlock ret = createOutputFrameBlock(schema, names, footer.getNumRows());
+		for( int j=0; j<cols.length; j++ )
+			ret.setColumnMetadata(j, new ColumnMetadata(footer.getColumnMetadata(cols[j])));
+		return ret;
+	}
+
+	/**
+	 * Reads the footer of a columnar frame file.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @return file footer
+	 * @throws IOException if IOException occurs
+	 */
+	public static Footer readFooter( FileSystem fs, Path path )
+		throws IOException
+	{
+		long len = fs.getFileStatus(path).getLen();
+		FSDataInputStream in = fs.open(path);
+		try {
+			byte[] trailer = new byte[FrameColumnarFormat.TRAILER_SIZE];
+			in.readFully(len - trailer.length, trailer);
+			long offset = checkTrailer(ByteBuffer.wrap(trailer), len, path.toString());
+			byte[] buff = new byte[(int)(len - trailer.length - offset)];
+			in.readFully(offset, buff);
+			return Footer.read(new DataInputStream(new ByteArrayInputStream(buff)));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	private static Footer readFooter( byte[] buff )
+		throws IOException
+	{
+		int len = buff.length;
+		if( len < FrameColumnarFormat.TRAILER_SIZE + 4 )
+			throw new IOException("Invalid columnar frame input of "+len+" bytes.");
+		long offset = checkTrailer(ByteBuffer.wrap(buff, len - FrameColumnarFormat.TRAILER_SIZE,
+			FrameColumnarFormat.TRAILER_SIZE), len, "input stream");
+		return Footer.read(new DataInputStream(new ByteArrayInputStream(
+			buff, (int)offset, (int)(len - FrameColumnarFormat.TRAILER_SIZE - offset))));
+	}
+
+	private static long checkTrailer( ByteBuffer trailer, long len, String fname )
+		throws IOException
+	{
+		long offset = trailer.getLong();
+		if( trailer.getInt() != FrameColumnarFormat.MAGIC || offset < 4
+			|| offset > len - FrameColumnarFormat.TRAILER_SIZE )
+			throw new IOException("Invalid columnar frame file: "+fname+".");
+		return offset;
+	}
+
+	/**
+	 * Reads the min/max statistics of all columns from the footer of
+	 * a columnar frame file, without reading any column data.
+	 *
+	 * @param fname file name
+	 * @return column statistics
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnStatistics[] readColumnStatistics( String fname )
+		throws IOException
+	{
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		Footer footer = readFooter(fs, path);
+		ColumnStatistics[] ret = new ColumnStatistics[footer.getNumColumns()];
+		for( int j=0; j<ret.length; j++ )
+			ret[j] = footer.getColumnStatistics(j);
+		return ret;
+	}
+}
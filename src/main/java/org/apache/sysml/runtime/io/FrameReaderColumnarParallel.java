@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Footer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+
+/**
+ * Multi-threaded frame columnar reader, which reads and decodes disjoint
+ * sets of column chunks in parallel (each task with its own input stream).
+ *
+ */
+public class FrameReaderColumnarParallel extends FrameReaderColumnar
+{
+	public FrameReaderColumnarParallel() {
+		super();
+	}
+
+	public FrameReaderColumnarParallel(int[] cols) {
+		super(cols);
+	}
+
+	@Override
+	protected void readColumnarFrameFromHDFS( Path path, FileSystem fs, Footer footer, int[] cols, FrameBlock dest )
+		throws IOException, DMLRuntimeException
+	{
+		int numChunks = footer.getNumRowGroups() * cols.length;
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), numChunks);
+
+		//fall back to sequential read for single chunks
+		if( numThreads <= 1 ) {
+			super.readColumnarFrameFromHDFS(path, fs, footer, cols, dest);
+			return;
+		}
+
+		try
+		{
+			//create read tasks over round-robin assigned chunks
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+			ArrayList<ReadChunksTask> tasks = new ArrayList<ReadChunksTask>();
+			for( int i=0; i<numThreads; i++ )
+				tasks.add(new ReadChunksTask(path, fs, footer, cols, dest, i, numThreads));
+
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of columnar frame input.", e);
+		}
+	}
+
+	private static class ReadChunksTask implements Callable<Object>
+	{
+		private final Path _path;
+		private final FileSystem _fs;
+		private final Footer _footer;
+		private final int[] _cols;
+		private final FrameBlock _dest;
+		private final int _pos;
+		private final int _step;
+
+		public ReadChunksTask(Path path, FileSystem fs, Footer footer, int[] cols, FrameBlock dest, int pos, int step) {
+			_path = path;
+			_fs = fs;
+			_footer = footer;
+			_cols = cols;
+			_dest = dest;
+			_pos = pos;
+			_step = step;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			int numChunks = _footer.getNumRowGroups() * _cols.length;
+			FSDataInputStream in = _fs.open(_path);
+			try {
+				for( int i=_pos; i<numChunks; i+=_step )
+					readChunk(in, _footer, i / _cols.length, _cols[i % _cols.length], _dest, i % _cols.length);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+			return null;
+		}
+	}
+}
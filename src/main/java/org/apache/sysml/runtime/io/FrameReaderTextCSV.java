@@ -123,9 +123,6 @@ public class FrameReaderTextCSV extends FrameReader
 		throws IOException
 	{
 		boolean hasHeader = _props.hasHeader();
-		boolean isFill = _props.isFill();
-		double dfillValue = _props.getFillValue();
-		String sfillValue = String.valueOf(_props.getFillValue());
 		String delim = _props.getDelim();
 		
 		//create record reader
@@ -133,7 +130,6 @@ public class FrameReaderTextCSV extends FrameReader
 		LongWritable key = new LongWritable();
 		Text value = new Text();
 		int row = rl;
-		int col = -1;
 		
 		//handle header if existing
 		if(first && hasHeader ) {
@@ -142,45 +138,10 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 			
 		// Read the data
-		boolean emptyValuesFound = false;
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
-			{
-				String cellStr = value.toString().trim();
-				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
-				
-				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
-				}
-				
-				for( String part : parts ) //foreach cell
-				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
-						if( isFill && dfillValue!=0 )
-							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
-						emptyValuesFound = true;
-					}
-					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
-					}
-					col++;
-				}
-				
-				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
-				row++;
-			}
+				row = readCSVFrameLine(value.toString(), dest, schema, clen, row);
 		}
 		finally {
 			IOUtilFunctions.closeSilently(reader);
@@ -188,6 +149,62 @@ public class FrameReaderTextCSV extends FrameReader
 		
 		return row;
 	}
+	
+	/**
+	 * Parses a single line of a csv file into the given row of the output frame,
+	 * where lines of frame meta data are parsed into the column meta data.
+	 * 
+	 * @param line line of the csv file
+	 * @param dest output frame block
+	 * @param schema schema of the output frame
+	 * @param clen number of columns
+	 * @param row row index of the line (if not meta data)
+	 * @return row index of the next line
+	 * @throws IOException if IOException occurs
+	 */
+	protected final int readCSVFrameLine( String line, FrameBlock dest, ValueType[] schema, long clen, int row )
+		throws IOException
+	{
+		boolean isFill = _props.isFill();
+		double dfillValue = _props.getFillValue();
+		String sfillValue = String.valueOf(_props.getFillValue());
+		String delim = _props.getDelim();
+		
+		String cellStr = line.trim();
+		boolean emptyValuesFound = false;
+		int col = 0;
+		String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+		
+		//parse frame meta data (missing values / num distinct)
+		if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
+			if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+				for( int j=0; j<dest.getNumColumns(); j++ )
+					dest.getColumnMetadata(j).setMvValue(parts[j+1]);
+			else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+				for( int j=0; j<dest.getNumColumns(); j++ )
+					dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
+			return row;
+		}
+		
+		for( String part : parts ) //foreach cell
+		{
+			part = part.trim();
+			if ( part.isEmpty() ) {
+				if( isFill && dfillValue!=0 )
+					dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
+				emptyValuesFound = true;
+			}
+			else {
+				dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+			}
+			col++;
+		}
+		
+		//sanity checks for empty values and number of columns
+		IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
+		IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+		return row + 1;
+	}
 
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
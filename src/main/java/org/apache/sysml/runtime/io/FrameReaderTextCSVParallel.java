@@ -19,12 +19,13 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -38,13 +39,17 @@ import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.MappedTextFile.LineCursor;
+import org.apache.sysml.runtime.io.MappedTextFile.MappedSplit;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
- * Multi-threaded frame text csv reader.
+ * Multi-threaded frame text csv reader. Local files are read via memory-mapped
+ * splits (see MappedTextFile), without hadoop input splits and record readers.
  * 
  */
 public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
@@ -60,6 +65,13 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	{
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		
+		//fast path for local files (memory-mapped splits)
+		File[] lfiles = MappedTextFile.getLocalFiles(fs, path, job);
+		if( lfiles != null ) {
+			readCSVFrameFromLocalMapped(lfiles, dest, numThreads);
+			return;
+		}
+		
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 		InputSplit[] splits = informat.getSplits(job, numThreads); 
@@ -67,7 +79,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(
+			ExecutorService pool = CommonThreadPool.get(
 				Math.min(numThreads, splits.length));
 			
 			//compute num rows per split
@@ -106,6 +118,11 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	{	
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		
+		//fast path for local files (memory-mapped splits)
+		File[] lfiles = MappedTextFile.getLocalFiles(fs, path, job);
+		if( lfiles != null )
+			return computeCSVSizeLocalMapped(lfiles, numThreads);
+		
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 		InputSplit[] splits = informat.getSplits(job, numThreads);
@@ -115,7 +132,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		
 		//compute number of rows
 		int nrow = 0;
-		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		ExecutorService pool = CommonThreadPool.get(numThreads);
 		try {
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
 			for( int i=0; i<splits.length; i++ )
@@ -134,6 +151,134 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		return new Pair<Integer,Integer>(nrow, ncol);
 	}
 
+	private void readCSVFrameFromLocalMapped( File[] files, FrameBlock dest, int numThreads ) 
+		throws IOException
+	{
+		long offset = 0;
+		if( _props.hasHeader() ) {
+			LineCursor lines = MappedTextFile.createSplits(files[0], 0, 1)[0].getLines();
+			if( lines.next() )
+				dest.setColumnNames(lines.getLine().split(_props.getDelim()));
+			offset = lines.getPosition();
+		}
+		MappedSplit[] splits = MappedTextFile.createSplits(files, offset, numThreads);
+		
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try 
+		{
+			//compute row offset per split via cumsum on row counts
+			ArrayList<MappedCountRowsTask> tasks = new ArrayList<MappedCountRowsTask>();
+			for( MappedSplit split : splits )
+				tasks.add(new MappedCountRowsTask(split));
+			int[] offsets = new int[splits.length];
+			int roffset = 0, pos = 0;
+			for( Future<Long> count : pool.invokeAll(tasks) ) {
+				offsets[pos++] = roffset;
+				roffset += count.get().intValue();
+			}
+			
+			//read individual splits
+			ArrayList<MappedReadRowsTask> tasks2 = new ArrayList<MappedReadRowsTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks2.add(new MappedReadRowsTask(splits[i], dest, offsets[i]));
+			for( Future<Object> read : pool.invokeAll(tasks2) )
+				read.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private Pair<Integer,Integer> computeCSVSizeLocalMapped( File[] files, int numThreads ) 
+		throws IOException 
+	{
+		//compute number of columns (first line w/o meta data)
+		int ncol = -1;
+		LineCursor lines = MappedTextFile.createSplits(files[0], 0, 1)[0].getLines();
+		while( ncol < 0 && lines.next() ) {
+			if( isMetaDataLine(lines) )
+				continue;
+			String row = lines.getLine().trim();
+			ncol = row.isEmpty() ? 0 : IOUtilFunctions.countTokensCSV(row, _props.getDelim());
+		}
+		
+		//compute number of rows
+		long offset = 0;
+		if( _props.hasHeader() ) {
+			lines = MappedTextFile.createSplits(files[0], 0, 1)[0].getLines();
+			offset = lines.next() ? lines.getPosition() : 0;
+		}
+		int nrow = 0;
+		ExecutorService pool = CommonThreadPool.get(numThreads);
+		try {
+			ArrayList<MappedCountRowsTask> tasks = new ArrayList<MappedCountRowsTask>();
+			for( MappedSplit split : MappedTextFile.createSplits(files, offset, numThreads) )
+				tasks.add(new MappedCountRowsTask(split));
+			for( Future<Long> count : pool.invokeAll(tasks) ) 
+				nrow += count.get().intValue();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return new Pair<Integer,Integer>(nrow, ncol);
+	}
+	
+	private static final byte[] TXMTD_MVPREFIX = TfUtils.TXMTD_MVPREFIX.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] TXMTD_NDPREFIX = TfUtils.TXMTD_NDPREFIX.getBytes(StandardCharsets.UTF_8);
+	
+	private static boolean isMetaDataLine( LineCursor lines ) {
+		return lines.startsWith(TXMTD_MVPREFIX)
+			|| lines.startsWith(TXMTD_NDPREFIX);
+	}
+	
+	private static class MappedCountRowsTask implements Callable<Long> 
+	{
+		private final MappedSplit _split;
+		
+		public MappedCountRowsTask(MappedSplit split) {
+			_split = split;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			LineCursor lines = _split.getLines();
+			long nrows = 0;
+			while( lines.next() )
+				nrows += isMetaDataLine(lines) ? 0 : 1;
+			return nrows;
+		}
+	}
+	
+	private class MappedReadRowsTask implements Callable<Object> 
+	{
+		private final MappedSplit _split;
+		private final FrameBlock _dest;
+		private final int _offset;
+		
+		public MappedReadRowsTask(MappedSplit split, FrameBlock dest, int offset) {
+			_split = split;
+			_dest = dest;
+			_offset = offset;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			LineCursor lines = _split.getLines();
+			ValueType[] schema = _dest.getSchema();
+			int row = _offset;
+			while( lines.next() )
+				row = readCSVFrameLine(lines.getLine(), _dest, schema, _dest.getNumColumns(), row);
+			return null;
+		}
+	}
+
 	private static class CountRowsTask implements Callable<Long> 
 	{
 		private InputSplit _split = null;
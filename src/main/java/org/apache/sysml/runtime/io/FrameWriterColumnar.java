@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ChunkMeta;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Footer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+
+/**
+ * Single-threaded frame columnar writer.
+ *
+ */
+public class FrameWriterColumnar extends FrameWriter
+{
+
+	@Override
+	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Frame block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//write columnar file to hdfs (sequential/parallel encoding)
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		writeColumnarFrameToFile(path, fs, src);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	private void writeColumnarFrameToFile( Path path, FileSystem fs, FrameBlock src )
+		throws IOException, DMLRuntimeException
+	{
+		Footer footer = FrameColumnarFormat.createFooter(src, FrameColumnarFormat.ROW_GROUP_SIZE);
+		int batch = Math.max(getNumParallelRowGroups(), 1);
+
+		FSDataOutputStream out = fs.create(path, true);
+		try
+		{
+			out.writeInt(FrameColumnarFormat.MAGIC);
+
+			//encode and append chunks in batches of row groups
+			for( int gl=0; gl<footer.getNumRowGroups(); gl+=batch ) {
+				int gu = Math.min(gl+batch, footer.getNumRowGroups());
+				byte[][][] chunks = encodeRowGroups(src, footer, gl, gu);
+				for( int g=gl; g<gu; g++ )
+					for( int j=0; j<src.getNumColumns(); j++ ) {
+						byte[] chunk = chunks[g-gl][j];
+						ChunkMeta meta = footer.getChunkMeta(g, j);
+						FrameColumnarFormat.setChunkLocation(meta, out.getPos(), chunk.length);
+						out.write(chunk);
+					}
+			}
+
+			//append footer and trailer
+			long footerOffset = out.getPos();
+			footer.write(out);
+			out.writeLong(footerOffset);
+			out.writeInt(FrameColumnarFormat.MAGIC);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+
+	/**
+	 * Number of row groups encoded per batch, before appended to the file.
+	 *
+	 * @return number of row groups per batch
+	 */
+	protected int getNumParallelRowGroups() {
+		return 1;
+	}
+
+	/**
+	 * Encodes all column chunks of the given range of row groups.
+	 *
+	 * @param src frame block
+	 * @param footer file footer
+	 * @param gl row group lower index (inclusive)
+	 * @param gu row group upper index (exclusive)
+	 * @return encoded chunks [group-gl][column]
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected byte[][][] encodeRowGroups( FrameBlock src, Footer footer, int gl, int gu )
+		throws IOException, DMLRuntimeException
+	{
+		byte[][][] ret = new byte[gu-gl][src.getNumColumns()][];
+		for( int g=gl; g<gu; g++ )
+			for( int j=0; j<src.getNumColumns(); j++ )
+				ret[g-gl][j] = encodeChunk(src, footer, g, j);
+		return ret;
+	}
+
+	protected static byte[] encodeChunk( FrameBlock src, Footer footer, int g, int c )
+		throws IOException
+	{
+		int rl = footer.getRowGroupLower(g);
+		int ru = rl + footer.getRowGroupLength(g);
+		return FrameColumnarFormat.encodeChunk(src.getSchema()[c],
+			src.getColumnData(c), rl, ru, footer.getChunkMeta(g, c));
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Footer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+
+/**
+ * Multi-threaded frame columnar writer, which encodes the column chunks
+ * of batches of row groups in parallel but appends them in order to a
+ * single file.
+ *
+ */
+public class FrameWriterColumnarParallel extends FrameWriterColumnar
+{
+	@Override
+	protected int getNumParallelRowGroups() {
+		return OptimizerUtils.getParallelBinaryWriteParallelism();
+	}
+
+	@Override
+	protected byte[][][] encodeRowGroups( FrameBlock src, Footer footer, int gl, int gu )
+		throws IOException, DMLRuntimeException
+	{
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		int ncol = src.getNumColumns();
+
+		//fall back to sequential encoding for small inputs
+		if( numThreads <= 1 || (gu-gl)*ncol <= 1 )
+			return super.encodeRowGroups(src, footer, gl, gu);
+
+		try
+		{
+			//create and execute encode tasks (one per chunk)
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+			ArrayList<EncodeChunkTask> tasks = new ArrayList<EncodeChunkTask>();
+			for( int g=gl; g<gu; g++ )
+				for( int j=0; j<ncol; j++ )
+					tasks.add(new EncodeChunkTask(src, footer, g, j));
+			List<Future<byte[]>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//collect encoded chunks and check for exceptions
+			byte[][][] ret = new byte[gu-gl][ncol][];
+			for( int i=0; i<rt.size(); i++ )
+				ret[i / ncol][i % ncol] = rt.get(i).get();
+			return ret;
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of columnar frame.", e);
+		}
+	}
+
+	private static class EncodeChunkTask implements Callable<byte[]>
+	{
+		private final FrameBlock _src;
+		private final Footer _footer;
+		private final int _g;
+		private final int _c;
+
+		public EncodeChunkTask(FrameBlock src, Footer footer, int g, int c) {
+			_src = src;
+			_footer = footer;
+			_g = g;
+			_c = c;
+		}
+
+		@Override
+		public byte[] call() throws Exception {
+			return encodeChunk(_src, _footer, _g, _c);
+		}
+	}
+}
@@ -60,6 +60,12 @@ public class FrameWriterFactory
 			else
 				writer = new FrameWriterBinaryBlock();
 		}
+		else if( oinfo == OutputInfo.ColumnarFrameOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+				writer = new FrameWriterColumnarParallel();
+			else
+				writer = new FrameWriterColumnar();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
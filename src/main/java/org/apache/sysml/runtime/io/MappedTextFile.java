@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapred.JobConf;
+
+/**
+ * Memory-mapped access to local text files for the parallel text readers, which
+ * bypasses the Hadoop file system, input splits and record readers (and thus the
+ * per-line Text and String objects). A file is partitioned into splits at line
+ * boundaries, each split is mapped into memory, and lines are iterated as byte
+ * ranges of the mapped buffer. Numbers are parsed directly from these bytes,
+ * with a fallback to the JDK parser for all special cases.
+ *
+ * Line terminators follow the Hadoop line reader (\n, \r, or \r\n), i.e., the
+ * mapped readers see exactly the same lines as the Hadoop-based readers.
+ */
+public class MappedTextFile
+{
+	//enable mapped read of local (uncompressed) text files
+	public static boolean ALLOW_MAPPED_READ = true;
+
+	//max size of a single split (mapped buffers are limited to 2GB)
+	private static final long MAX_SPLIT_SIZE = 1L << 30; //1GB
+
+	//exact powers of ten (10^0 to 10^22) for fast double parsing
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+
+	/**
+	 * Obtains the local files for mapped read, if applicable, i.e., the file itself
+	 * or the non-empty part files of a directory in lexicographic order.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @param job job configuration
+	 * @return local files, or null if not local, compressed, or empty
+	 * @throws IOException if IOException occurs
+	 */
+	public static File[] getLocalFiles(FileSystem fs, Path path, JobConf job)
+		throws IOException
+	{
+		if( !ALLOW_MAPPED_READ || !(fs instanceof LocalFileSystem) )
+			return null;
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		File[] files = file.isDirectory() ? file.listFiles() : new File[]{file};
+		if( files == null )
+			return null;
+		Arrays.sort(files);
+		
+		//filter hidden files (see FileInputFormat) and empty files
+		CompressionCodecFactory codecs = new CompressionCodecFactory(job);
+		ArrayList<File> ret = new ArrayList<File>();
+		for( File f : files ) {
+			if( f.getName().startsWith("_") || f.getName().startsWith(".") )
+				continue;
+			if( !f.isFile() || codecs.getCodec(new Path(f.getPath())) != null )
+				return null;
+			if( f.length() > 0 )
+				ret.add(f);
+		}
+		return ret.isEmpty() ? null : ret.toArray(new File[0]);
+	}
+
+	/**
+	 * Creates splits aligned at line boundaries, where the number of splits
+	 * is increased if necessary to respect the maximum split size.
+	 *
+	 * @param file local file
+	 * @param offset start offset in bytes (e.g., after a header)
+	 * @param numSplits requested number of splits
+	 * @return array of non-empty splits in file order
+	 * @throws IOException if IOException occurs
+	 */
+	public static MappedSplit[] createSplits(File file, long offset, int numSplits)
+		throws IOException
+	{
+		return createSplits(new File[]{file}, offset, numSplits);
+	}
+
+	/**
+	 * Creates splits aligned at line boundaries over a sequence of files, 
+	 * where the number of splits is increased if necessary to respect 
+	 * the maximum split size.
+	 *
+	 * @param files local files
+	 * @param offset start offset in bytes of the first file (e.g., after a header)
+	 * @param numSplits requested number of splits
+	 * @return array of non-empty splits in file order
+	 * @throws IOException if IOException occurs
+	 */
+	public static MappedSplit[] createSplits(File[] files, long offset, int numSplits)
+		throws IOException
+	{
+		long total = -offset;
+		for( File file : files )
+			total += file.length();
+		long blen = Math.max(Math.min(total/numSplits, MAX_SPLIT_SIZE), 1);
+		
+		ArrayList<MappedSplit> ret = new ArrayList<MappedSplit>();
+		for( int i=0; i<files.length; i++ ) {
+			try( RandomAccessFile raf = new RandomAccessFile(files[i], "r") ) {
+				long len = raf.length();
+				long start = (i==0) ? offset : 0;
+				while( start < len ) {
+					//align nominal end to the next line start
+					long end = (len-start <= blen) ? len : alignToLineStart(raf, start+blen, len);
+					if( end - start > Integer.MAX_VALUE )
+						throw new IOException("Line exceeds max split size in file: "+files[i].getPath());
+					ret.add(new MappedSplit(files[i], start, end, ret.size()));
+					start = end;
+				}
+			}
+		}
+		return ret.toArray(new MappedSplit[0]);
+	}
+
+	/**
+	 * Obtains the offset after the header of a file, i.e., after all leading
+	 * comment lines (if a comment prefix is given), and the given number of header
+	 * lines, which are only skipped if there is no comment prefix or comments exist
+	 * (e.g., for the matrix market meta data line).
+	 *
+	 * @param file local file
+	 * @param comment line prefix of comments, or 0 if none
+	 * @param numLines number of header lines
+	 * @return offset in bytes
+	 * @throws IOException if IOException occurs
+	 */
+	public static long skipHeader(File file, byte comment, int numLines)
+		throws IOException
+	{
+		MappedSplit split = createSplits(file, 0, 1)[0];
+		LineCursor lines = split.getLines();
+		long ret = 0;
+		boolean comments = false;
+		if( comment != 0 )
+			while( lines.next() && lines.length() > 0 && lines.byteAt(0) == comment ) {
+				ret = lines.getPosition();
+				comments = true;
+			}
+		else
+			lines.next();
+		if( comment == 0 || comments ) {
+			//current line is the first header line
+			for( int i=0; i<numLines && lines.getStart() >= 0; i++ ) {
+				ret = lines.getPosition();
+				if( i < numLines-1 && !lines.next() )
+					break;
+			}
+		}
+		return split.getStart() + ret;
+	}
+
+	private static long alignToLineStart(RandomAccessFile raf, long pos, long len)
+		throws IOException
+	{
+		//search for the next \n at or after pos-1 (i.e., lines of other
+		//terminators are kept in a single split, see LineCursor)
+		byte[] buff = new byte[64 * 1024];
+		raf.seek(pos-1);
+		for( long off = pos-1; off < len; ) {
+			int n = raf.read(buff);
+			if( n <= 0 )
+				break;
+			for( int i=0; i<n; i++ )
+				if( buff[i] == '\n' )
+					return off + i + 1;
+			off += n;
+		}
+		return len;
+	}
+
+	/**
+	 * Parses a double from the given byte range, which is expected to be trimmed.
+	 * Decimals with up to 15 significant digits and small exponents (i.e., values
+	 * exactly representable as mantissa and power of ten) are parsed directly,
+	 * which is correctly rounded; all other inputs fall back to Double.parseDouble.
+	 *
+	 * @param buf byte buffer
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed double value
+	 */
+	public static double parseDouble(ByteBuffer buf, int start, int end) {
+		int i = start;
+		boolean neg = false;
+		if( i < end && (buf.get(i)=='-' || buf.get(i)=='+') )
+			neg = (buf.get(i++) == '-');
+
+		//parse mantissa w/o leading zeros, and decimal exponent
+		long mant = 0;
+		int ndigits = 0, exp = 0;
+		boolean digits = false, frac = false;
+		for( ; i < end; i++ ) {
+			byte c = buf.get(i);
+			if( c >= '0' && c <= '9' ) {
+				if( ndigits >= 15 )
+					return parseDoubleFallback(buf, start, end);
+				mant = mant * 10 + (c - '0');
+				ndigits += (mant > 0) ? 1 : 0;
+				exp -= frac ? 1 : 0;
+				digits = true;
+			}
+			else if( c == '.' && !frac )
+				frac = true;
+			else
+				break;
+		}
+		if( !digits )
+			return parseDoubleFallback(buf, start, end);
+
+		//parse optional exponent
+		if( i < end && (buf.get(i)=='e' || buf.get(i)=='E') ) {
+			int j = i + 1;
+			boolean eneg = false;
+			if( j < end && (buf.get(j)=='-' || buf.get(j)=='+') )
+				eneg = (buf.get(j++) == '-');
+			int e = 0;
+			for( ; j < end && j-i <= 5 && buf.get(j) >= '0' && buf.get(j) <= '9'; j++ )
+				e = e * 10 + (buf.get(j) - '0');
+			if( j == end && buf.get(j-1) >= '0' && buf.get(j-1) <= '9' ) {
+				exp += eneg ? -e : e;
+				i = end;
+			}
+		}
+		if( i != end ) //unsupported suffix
+			return parseDoubleFallback(buf, start, end);
+
+		//exact conversion (correctly rounded single operation)
+		double ret = 0;
+		if( mant != 0 ) {
+			if( exp < -22 || exp > 22 )
+				return parseDoubleFallback(buf, start, end);
+			ret = (exp < 0) ? mant / POW10[-exp] : mant * POW10[exp];
+		}
+		return neg ? -ret : ret;
+	}
+
+	/**
+	 * Parses an integer from the given byte range, which is expected to be trimmed.
+	 *
+	 * @param buf byte buffer
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed integer value
+	 */
+	public static int parseInt(ByteBuffer buf, int start, int end) {
+		int i = start;
+		boolean neg = (i < end && buf.get(i) == '-');
+		i += (neg || (i < end && buf.get(i) == '+')) ? 1 : 0;
+		long ret = 0;
+		for( ; i < end && i-start < 11; i++ ) {
+			byte c = buf.get(i);
+			if( c < '0' || c > '9' )
+				break;
+			ret = ret * 10 + (c - '0');
+		}
+		ret = neg ? -ret : ret;
+		if( i != end || i == start || ret < Integer.MIN_VALUE || ret > Integer.MAX_VALUE )
+			return Integer.parseInt(toString(buf, start, end)); //error handling
+		return (int) ret;
+	}
+
+	public static boolean isWhitespace(byte c) {
+		//consistent with String.trim (but w/o multi-byte chars)
+		return (c & 0xff) <= ' ';
+	}
+
+	public static String toString(ByteBuffer buf, int start, int end) {
+		byte[] tmp = new byte[end-start];
+		for( int i=start; i<end; i++ )
+			tmp[i-start] = buf.get(i);
+		return new String(tmp, StandardCharsets.UTF_8);
+	}
+
+	private static double parseDoubleFallback(ByteBuffer buf, int start, int end) {
+		return Double.parseDouble(toString(buf, start, end));
+	}
+
+	/**
+	 * Byte range of a local file, aligned at line boundaries.
+	 */
+	public static class MappedSplit
+	{
+		private final File _file;
+		private final long _start; //inclusive
+		private final long _end; //exclusive
+		private final int _index;
+
+		protected MappedSplit(File file, long start, long end, int index) {
+			_file = file;
+			_start = start;
+			_end = end;
+			_index = index;
+		}
+
+		public long getStart() {
+			return _start;
+		}
+
+		public int getIndex() {
+			return _index;
+		}
+
+		public ByteBuffer map() throws IOException {
+			try( RandomAccessFile raf = new RandomAccessFile(_file, "r") ) {
+				//mapping remains valid after close of the channel
+				return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, _start, _end-_start);
+			}
+		}
+
+		public LineCursor getLines() throws IOException {
+			return new LineCursor(map());
+		}
+
+		@Override
+		public String toString() {
+			return _file.getPath() + ":" + _start + "+" + (_end-_start);
+		}
+	}
+
+	/**
+	 * Iterator over the lines of a mapped split, where the current line is
+	 * represented as (untrimmed) byte range of the underlying buffer.
+	 */
+	public static class LineCursor
+	{
+		private final ByteBuffer _buf;
+		private final int _limit;
+		private int _pos = 0;
+		private int _lstart = -1;
+		private int _lend = -1;
+
+		protected LineCursor(ByteBuffer buf) {
+			_buf = buf;
+			_limit = buf.limit();
+		}
+
+		public boolean next() {
+			if( _pos >= _limit )
+				return false;
+			int i = _pos;
+			byte c = 0;
+			while( i < _limit && (c = _buf.get(i)) != '\n' && c != '\r' )
+				i++;
+			_lstart = _pos;
+			_lend = i;
+			_pos = (i < _limit && c == '\r' && i+1 < _limit && _buf.get(i+1) == '\n') ? i+2 : i+1;
+			return true;
+		}
+
+		public ByteBuffer getBuffer() {
+			return _buf;
+		}
+
+		public int getStart() {
+			return _lstart;
+		}
+
+		public int getEnd() {
+			return _lend;
+		}
+
+		public int length() {
+			return _lend - _lstart;
+		}
+
+		public byte byteAt(int pos) {
+			return _buf.get(_lstart + pos);
+		}
+
+		public int getPosition() {
+			return Math.min(_pos, _limit);
+		}
+
+		public boolean startsWith(byte[] prefix) {
+			if( prefix.length > length() )
+				return false;
+			for( int i=0; i<prefix.length; i++ )
+				if( _buf.get(_lstart+i) != prefix[i] )
+					return false;
+			return true;
+		}
+
+		public String getLine() {
+			return MappedTextFile.toString(_buf, _lstart, _lend);
+		}
+	}
+}
@@ -19,12 +19,16 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -41,8 +45,11 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.MappedTextFile.LineCursor;
+import org.apache.sysml.runtime.io.MappedTextFile.MappedSplit;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
@@ -54,6 +61,10 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
  * danger of lost updates. Note, there is also no sorting of sparse rows
  * required because data comes in sorted order per row.
  * 
+ * Local files are read via memory-mapped splits (see MappedTextFile), where
+ * cells are parsed directly from the mapped bytes without hadoop record readers
+ * and intermediate strings.
+ * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
@@ -77,6 +88,11 @@ public class ReaderTextCSVParallel extends MatrixReader
 		Path path = new Path(fname);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
 		
+		//fast path for local files (memory-mapped splits)
+		File[] lfiles = MappedTextFile.getLocalFiles(fs, path, job);
+		if( lfiles != null )
+			return readCSVMatrixFromLocalMapped(lfiles, rlen, estnnz);
+		
 		FileInputFormat.addInputPath(job, path);
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
@@ -128,7 +144,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 
-		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
 
 		try 
 		{
@@ -158,6 +174,192 @@ public class ReaderTextCSVParallel extends MatrixReader
 		}
 	}
 
+	private MatrixBlock readCSVMatrixFromLocalMapped(File[] files, long rlen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		long offset = _props.hasHeader() ? MappedTextFile.skipHeader(files[0], (byte)0, 1) : 0;
+		MappedSplit[] splits = MappedTextFile.createSplits(files, offset, _numThreads);
+		byte[] delim = _props.getDelim().getBytes(StandardCharsets.UTF_8);
+		
+		// count no of entities in the first non-header row
+		int ncol = 0;
+		if( splits.length > 0 ) {
+			LineCursor lines = splits[0].getLines();
+			if( lines.next() )
+				ncol = countCells(lines.getBuffer(), lines.getStart(), lines.getEnd(), delim);
+		}
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			// First Read Pass (count rows per split, determine row offsets)
+			ArrayList<MappedCountRowsTask> tasks = new ArrayList<MappedCountRowsTask>();
+			for( MappedSplit split : splits )
+				tasks.add(new MappedCountRowsTask(split));
+			int[] offsets = new int[splits.length];
+			int nrow = 0, pos = 0;
+			for( Future<Integer> count : pool.invokeAll(tasks) ) {
+				offsets[pos++] = nrow;
+				nrow += count.get();
+			}
+			
+			// allocate target matrix block (sparse for lock-free insert)
+			long estnnz2 = (estnnz < 0) ? (long)nrow * ncol : estnnz;
+			MatrixBlock ret = createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz2, true, true);
+			
+			// Second Read Pass (read, parse bytes, append to matrix block)
+			ArrayList<MappedCSVReadTask> tasks2 = new ArrayList<MappedCSVReadTask>();
+			for( int i=0; i<splits.length; i++ )
+				tasks2.add(new MappedCSVReadTask(splits[i], ret, offsets[i], delim,
+					_props.isFill(), _props.getFillValue()));
+			long lnnz = 0;
+			List<Future<Long>> rt = pool.invokeAll(tasks2);
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			
+			// sanity check for parallel row count (since determined internally)
+			if (rlen > 0 && rlen != ret.getNumRows())
+				throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+						+ "expected nrow="+ rlen + ", real nrow=" + ret.getNumRows());
+			
+			return ret;
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static int countCells(ByteBuffer buf, int start, int end, byte[] delim) {
+		//consistent with trim and split preserving all tokens
+		while( start < end && MappedTextFile.isWhitespace(buf.get(start)) )
+			start++;
+		while( end > start && MappedTextFile.isWhitespace(buf.get(end-1)) )
+			end--;
+		if( start == end )
+			return 0;
+		int ret = 1;
+		for( int i=findDelim(buf, start, end, delim); i<end; i=findDelim(buf, i+delim.length, end, delim) )
+			ret++;
+		return ret;
+	}
+	
+	private static int findDelim(ByteBuffer buf, int start, int end, byte[] delim) {
+		byte d0 = delim[0];
+		for( int i=start; i<=end-delim.length; i++ ) {
+			if( buf.get(i) != d0 )
+				continue;
+			int j = 1;
+			while( j<delim.length && buf.get(i+j)==delim[j] )
+				j++;
+			if( j == delim.length )
+				return i;
+		}
+		return end;
+	}
+	
+	private static class MappedCountRowsTask implements Callable<Integer> 
+	{
+		private final MappedSplit _split;
+		
+		public MappedCountRowsTask(MappedSplit split) {
+			_split = split;
+		}
+		
+		@Override
+		public Integer call() throws Exception {
+			LineCursor lines = _split.getLines();
+			int nrows = 0;
+			while( lines.next() )
+				nrows++;
+			return nrows;
+		}
+	}
+	
+	private static class MappedCSVReadTask implements Callable<Long> 
+	{
+		private final MappedSplit _split;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		private final byte[] _delim;
+		private final boolean _fill;
+		private final double _fillValue;
+		
+		public MappedCSVReadTask(MappedSplit split, MatrixBlock dest, int rl, 
+			byte[] delim, boolean fill, double fillValue) 
+		{
+			_split = split;
+			_dest = dest;
+			_rl = rl;
+			_delim = delim;
+			_fill = fill;
+			_fillValue = fillValue;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			LineCursor lines = _split.getLines();
+			ByteBuffer buf = lines.getBuffer();
+			boolean sparse = _dest.isInSparseFormat();
+			int clen = _dest.getNumColumns();
+			int row = _rl;
+			long lnnz = 0;
+			
+			while( lines.next() ) //foreach line
+			{
+				int start = lines.getStart(), end = lines.getEnd();
+				while( start < end && MappedTextFile.isWhitespace(buf.get(start)) )
+					start++;
+				while( end > start && MappedTextFile.isWhitespace(buf.get(end-1)) )
+					end--;
+				
+				int col = 0;
+				boolean noFillEmpty = false;
+				for( int cs=start; start<end; cs+=_delim.length ) //foreach cell
+				{
+					int ce = findDelim(buf, cs, end, _delim);
+					int cs2 = cs, ce2 = ce;
+					while( cs2 < ce2 && MappedTextFile.isWhitespace(buf.get(cs2)) )
+						cs2++;
+					while( ce2 > cs2 && MappedTextFile.isWhitespace(buf.get(ce2-1)) )
+						ce2--;
+					double cellValue = _fillValue;
+					if( cs2 == ce2 )
+						noFillEmpty |= !_fill;
+					else
+						cellValue = MappedTextFile.parseDouble(buf, cs2, ce2);
+					if( cellValue != 0 && col < clen ) {
+						if( sparse )
+							_dest.appendValue(row, col, cellValue);
+						else
+							_dest.setValueDenseUnsafe(row, col, cellValue);
+						lnnz++;
+					}
+					col++;
+					if( (cs = ce) == end )
+						break;
+				}
+				
+				// sanity checks (number of columns, fill values)
+				if( noFillEmpty )
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(lines.getLine(), _fill, noFillEmpty);
+				if( col != clen )
+					throw new IOException("Invalid number of columns (" + col + ", expected=" + clen + ") "
+						+ "found in delimited file (" + _split + ") for line: " + lines.getLine());
+				row++;
+			}
+			
+			return lnnz;
+		}
+	}
+
 	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(
 			InputSplit[] splits, Path path, JobConf job, boolean hasHeader,
 			String delim, long estnnz) throws IOException, DMLRuntimeException 
@@ -187,7 +389,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// count rows in parallel per split
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
 			for (InputSplit split : splits) {
 				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
@@ -19,13 +19,14 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -41,8 +42,11 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.MappedTextFile.LineCursor;
+import org.apache.sysml.runtime.io.MappedTextFile.MappedSplit;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -63,6 +67,10 @@ import org.apache.sysml.runtime.util.MapReduceTool;
  * 3) However, we use MIN_FILESIZE_MM (8KB) to give guarantees for the common case of small headers
  *    in order the issue described in (2).
  * 
+ * Local files are read via memory-mapped splits (see MappedTextFile), where cells are
+ * parsed directly from the mapped bytes. For matrix market files, the header (comments and 
+ * meta data) is skipped upfront, which also avoids the issue described in (2).
+ * 
  */
 public class ReaderTextCellParallel extends MatrixReader
 {
@@ -92,8 +100,12 @@ public class ReaderTextCellParallel extends MatrixReader
 		//allocate output matrix block
 		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, false);
 	
-		//core read 
-		readTextCellMatrixFromHDFS(path, job, ret, rlen, clen, brlen, bclen, _isMMFile);
+		//core read (w/ fast path for local files)
+		File[] lfiles = MappedTextFile.getLocalFiles(fs, path, job);
+		if( lfiles != null )
+			readTextCellMatrixFromLocalMapped(lfiles, ret, rlen, clen);
+		else
+			readTextCellMatrixFromHDFS(path, job, ret, rlen, clen, brlen, bclen, _isMMFile);
 
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
@@ -128,7 +140,7 @@ public class ReaderTextCellParallel extends MatrixReader
 		try 
 		{
 			//create read tasks for all splits
-			ExecutorService pool = Executors.newFixedThreadPool(par);
+			ExecutorService pool = CommonThreadPool.get(par);
 			InputSplit[] splits = informat.getSplits(job, par);
 			ArrayList<ReadTask> tasks = new ArrayList<ReadTask>();
 			for( InputSplit split : splits ){
@@ -156,6 +168,116 @@ public class ReaderTextCellParallel extends MatrixReader
 		}
 	}
 
+	private void readTextCellMatrixFromLocalMapped( File[] files, MatrixBlock dest, long rlen, long clen )
+		throws IOException
+	{
+		long offset = _isMMFile ? MappedTextFile.skipHeader(files[0], (byte)'%', 1) : 0;
+		MappedSplit[] splits = MappedTextFile.createSplits(files, offset, _numThreads);
+		
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try 
+		{
+			//create and execute read tasks for all splits
+			ArrayList<MappedReadTask> tasks = new ArrayList<MappedReadTask>();
+			for( MappedSplit split : splits )
+				tasks.add(new MappedReadTask(split, dest, rlen, clen));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+			
+			//post-processing
+			dest.setNonZeros( lnnz );
+			if( dest.isInSparseFormat() ) 
+				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
+		} 
+		catch (Exception e) {
+			throw new IOException("Threadpool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Read task for a memory-mapped split of a local file, which parses 
+	 * (row, column, value) triples directly from the mapped bytes.
+	 */
+	private static class MappedReadTask implements Callable<Long> 
+	{
+		private final MappedSplit _split;
+		private final MatrixBlock _dest;
+		private final long _rlen;
+		private final long _clen;
+		private int _pos = -1; //current token start
+		private int _end = -1; //current token end
+		
+		public MappedReadTask( MappedSplit split, MatrixBlock dest, long rlen, long clen ) {
+			_split = split;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+		}
+		
+		@Override
+		public Long call() throws Exception 
+		{
+			LineCursor lines = _split.getLines();
+			ByteBuffer buf = lines.getBuffer();
+			boolean sparse = _dest.isInSparseFormat();
+			CellBuffer buff = sparse ? new CellBuffer() : null;
+			long lnnz = 0;
+			
+			while( lines.next() ) {
+				//tokenize and parse (row, column, value)
+				_end = lines.getStart();
+				int row = MappedTextFile.parseInt(buf, nextToken(buf, lines), _end) - 1;
+				int col = MappedTextFile.parseInt(buf, nextToken(buf, lines), _end) - 1;
+				double lvalue = MappedTextFile.parseDouble(buf, nextToken(buf, lines), _end);
+				if( row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen )
+					throw new RuntimeException("Matrix cell ["+(row+1)+","+(col+1)+"] " +
+						"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+				
+				if( sparse ) { //SPARSE<-value
+					buff.addCell(row, col, lvalue);
+					//capacity buffer flush on demand
+					if( buff.size()>=CellBuffer.CAPACITY ) 
+						synchronized( _dest ){ //sparse requires lock
+							lnnz += buff.size();
+							buff.flushCellBufferToMatrixBlock(_dest);
+						}
+				}
+				else { //DENSE<-value
+					_dest.setValueDenseUnsafe( row, col, lvalue );
+					lnnz += (lvalue!=0) ? 1 : 0;
+				}
+			}
+			
+			//final buffer flush 
+			if( sparse )
+				synchronized( _dest ){ //sparse requires lock
+					lnnz += buff.size();
+					buff.flushCellBufferToMatrixBlock(_dest);
+				}
+			
+			return lnnz;
+		}
+		
+		private int nextToken(ByteBuffer buf, LineCursor lines) {
+			//skip leading delimiters (see FastStringTokenizer)
+			int end = lines.getEnd();
+			_pos = _end;
+			while( _pos < end && buf.get(_pos) == ' ' )
+				_pos++;
+			_end = _pos;
+			while( _end < end && buf.get(_end) != ' ' )
+				_end++;
+			return _pos;
+		}
+	}
+	
 	public static class ReadTask implements Callable<Long> 
 	{
 		private InputSplit _split = null;
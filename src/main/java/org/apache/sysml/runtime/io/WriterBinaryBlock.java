@@ -28,6 +28,7 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -60,6 +61,11 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
 			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
 		
+		//decompress compressed blocks, which are written in the ordinary blocked
+		//format (compressed form only persisted in local eviction files)
+		if( CompressedMatrixBlock.isCompressed(src) )
+			src = ((CompressedMatrixBlock)src).decompress();
+		
 		//core write sequential/parallel
 		if( src.isDiag() )
 			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
@@ -68,6 +68,25 @@ public class CTableMap
 		_maxRow = Math.max(_maxRow, row);
 		_maxCol = Math.max(_maxCol, col);
 	}
+	
+	/**
+	 * Aggregates all entries of the given ctable map into this map,
+	 * which is used to merge thread-local partial ctable results.
+	 * 
+	 * @param that ctable map
+	 */
+	public void aggregate(CTableMap that) 
+	{
+		Iterator<LLDoubleEntry> iter = that._map.getIterator();
+		while( iter.hasNext() ) {
+			LLDoubleEntry e = iter.next();
+			_map.addValue(e.key1, e.key2, e.value);
+		}
+		
+		//maintain internal summaries
+		_maxRow = Math.max(_maxRow, that._maxRow);
+		_maxCol = Math.max(_maxCol, that._maxCol);
+	}
 
 	public MatrixBlock toMatrixBlock(int rlen, int clen)
 	{
@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+
+/**
+ * This DenseBlockOffHeap is a row-major dense matrix representation that is
+ * allocated outside the JVM heap. In contrast to the dense double array of
+ * MatrixBlock, which is limited to 2^31 cells and subject to garbage collection,
+ * this block is backed by a sequence of direct buffers (segments) of aligned
+ * rows, i.e., each row is stored in a single segment. Hence, it supports tall
+ * and wide blocks of more than 2^31 cells, as long as a single row fits into
+ * a segment. MatrixBlock uses this representation for dense blocks beyond
+ * 2^31 cells (see {@link MatrixBlock#allocateDenseBlock(boolean)}).
+ * 
+ * Segments are allocated on their first write access, and segments that 
+ * have not been allocated yet represent zeros. 
+ *
+ * Operations on this block are supposed to process it in batches of rows,
+ * which are either accessed directly via {@link #values(int)} and {@link #pos(int)}
+ * or copied into reusable on-heap matrix blocks, which allows to reuse the existing
+ * dense kernels of LibMatrixMult, LibMatrixAgg, and LibMatrixBincell.
+ *
+ */
+public class DenseBlockOffHeap
+{
+	//max number of cells per segment (direct buffers are limited to 2GB)
+	public static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE / 8;
+	
+	//default number of cells per segment (128MB)
+	public static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	//number of cells per row batch for on-heap processing (8MB)
+	public static final long BATCH_SIZE = 1024 * 1024;
+
+	private final int _rlen;
+	private final int _clen;
+	private final int _blen; //number of rows per segment
+	private AtomicReferenceArray<DoubleBuffer> _segs;
+	private long _nnz = 0;
+
+	/**
+	 * Creates a zero-initialized off-heap dense block with
+	 * segments of default size, or larger if a single row
+	 * exceeds the default segment size.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public DenseBlockOffHeap(int rlen, int clen) {
+		this(rlen, clen, Math.max(DEFAULT_SEGMENT_SIZE, clen));
+	}
+
+	/**
+	 * Creates a zero-initialized off-heap dense block with
+	 * segments of at most the given number of cells.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param segSize max number of cells per segment
+	 */
+	public DenseBlockOffHeap(int rlen, int clen, long segSize) {
+		if( rlen < 0 || clen < 0 )
+			throw new RuntimeException("Invalid dimensions of off-heap dense block: "+rlen+"x"+clen);
+		segSize = Math.min(segSize, MAX_SEGMENT_SIZE);
+		if( clen > segSize )
+			throw new RuntimeException("Number of columns "+clen+" of off-heap "
+				+ "dense block exceeds the max segment size of "+segSize+" cells.");
+		_rlen = rlen;
+		_clen = clen;
+		_blen = (int)Math.max(Math.min(segSize / Math.max(clen, 1), rlen), 1);
+		
+		//segments are allocated on demand
+		_segs = new AtomicReferenceArray<DoubleBuffer>((rlen + _blen - 1) / _blen);
+	}
+
+	/**
+	 * Creates an off-heap dense block with the contents of the
+	 * given matrix block.
+	 *
+	 * @param mb matrix block
+	 */
+	public DenseBlockOffHeap(MatrixBlock mb) {
+		this(mb.getNumRows(), mb.getNumColumns());
+		if( !mb.isEmptyBlock(false) )
+			setRows(0, mb);
+		_nnz = mb.getNonZeros();
+	}
+
+	public int getNumRows() {
+		return _rlen;
+	}
+
+	public int getNumColumns() {
+		return _clen;
+	}
+
+	public long getLength() {
+		return (long)_rlen * _clen;
+	}
+
+	public int getNumSegments() {
+		return _segs.length();
+	}
+	
+	public int getNumAllocatedSegments() {
+		int ret = 0;
+		for( int i=0; i<_segs.length(); i++ )
+			ret += (_segs.get(i) != null) ? 1 : 0;
+		return ret;
+	}
+	
+	/**
+	 * Get the off-heap size in bytes of the allocated segments.
+	 * 
+	 * @return size in bytes
+	 */
+	public long getAllocatedSize() {
+		long ret = 0;
+		for( int i=0; i<_segs.length(); i++ ) {
+			DoubleBuffer seg = _segs.get(i);
+			ret += (seg != null) ? 8L * seg.capacity() : 0;
+		}
+		return ret;
+	}
+
+	public int getSegmentRows() {
+		return _blen;
+	}
+
+	public long getNonZeros() {
+		return _nnz;
+	}
+
+	public void setNonZeros(long nnz) {
+		_nnz = nnz;
+	}
+
+	/**
+	 * Get the number of rows per batch for processing this
+	 * block in batches of reusable on-heap matrix blocks.
+	 *
+	 * @return number of rows per batch
+	 */
+	public int getBatchRows() {
+		return (int)Math.max(Math.min(BATCH_SIZE / Math.max(_clen, 1), _rlen), 1);
+	}
+
+	public boolean isEmpty() {
+		return _nnz == 0;
+	}
+
+	/**
+	 * Get the segment holding the values of row r, which is allocated
+	 * if it does not exist yet. The segment is shared and hence, should
+	 * be accessed with absolute get and put operations only.
+	 *
+	 * @param r row index
+	 * @return segment of row r
+	 */
+	public DoubleBuffer values(int r) {
+		int ix = r / _blen;
+		DoubleBuffer seg = _segs.get(ix);
+		return (seg != null) ? seg : allocateSegment(ix);
+	}
+	
+	/**
+	 * Indicates if the segment holding row r is allocated, i.e., 
+	 * if row r might contain non-zero values.
+	 * 
+	 * @param r row index
+	 * @return true if the segment of row r is allocated
+	 */
+	public boolean isAllocated(int r) {
+		return _segs.get(r / _blen) != null;
+	}
+	
+	private synchronized DoubleBuffer allocateSegment(int ix) {
+		DoubleBuffer seg = _segs.get(ix);
+		if( seg == null ) {
+			//direct buffers are guaranteed to be 0-initialized
+			int len = Math.min(_blen, _rlen-ix*_blen) * _clen;
+			seg = ByteBuffer.allocateDirect(len * 8)
+				.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			_segs.set(ix, seg);
+		}
+		return seg;
+	}
+
+	/**
+	 * Get the starting position of row r in its segment.
+	 *
+	 * @param r row index
+	 * @return starting position of row r
+	 */
+	public int pos(int r) {
+		return (r % _blen) * _clen;
+	}
+
+	public double get(int r, int c) {
+		DoubleBuffer seg = _segs.get(r / _blen);
+		return (seg != null) ? seg.get(pos(r) + c) : 0;
+	}
+
+	public void set(int r, int c, double v) {
+		if( v != 0 || isAllocated(r) )
+			values(r).put(pos(r) + c, v);
+	}
+
+	/**
+	 * Resets all values to zero by releasing the references 
+	 * to all segments, which are reallocated on demand.
+	 */
+	public void reset() {
+		for( int i=0; i<_segs.length(); i++ )
+			_segs.set(i, null);
+		_nnz = 0;
+	}
+
+	public long recomputeNonZeros() {
+		long nnz = 0;
+		for( int i=0; i<_segs.length(); i++ ) {
+			DoubleBuffer seg = _segs.get(i);
+			for( int j=0; seg!=null && j<seg.capacity(); j++ )
+				nnz += (seg.get(j)!=0) ? 1 : 0;
+		}
+		return _nnz = nnz;
+	}
+
+	/**
+	 * Sets all values to the given value, where a value of zero
+	 * releases all segments.
+	 * 
+	 * @param v value
+	 */
+	public void fill(double v) {
+		reset();
+		if( v == 0 )
+			return;
+		for( int i=0; i<_segs.length(); i++ ) {
+			DoubleBuffer seg = allocateSegment(i);
+			for( int j=0; j<seg.capacity(); j++ )
+				seg.put(j, v);
+		}
+		_nnz = getLength();
+	}
+	
+	/**
+	 * Copies the values and number of non-zeros of the given off-heap 
+	 * block of equal dimensions, where only the rows of allocated 
+	 * segments of the input are copied.
+	 * 
+	 * @param that off-heap dense block
+	 */
+	public void copy(DenseBlockOffHeap that) {
+		if( that._rlen != _rlen || that._clen != _clen )
+			throw new RuntimeException("Invalid dimensions of off-heap dense block copy: "
+				+that._rlen+"x"+that._clen+" vs "+_rlen+"x"+_clen);
+		reset();
+		for( int i=0; i<_rlen; i++ ) {
+			if( !that.isAllocated(i) )
+				continue;
+			DoubleBuffer a = that.values(i).duplicate();
+			a.limit(that.pos(i) + _clen).position(that.pos(i));
+			DoubleBuffer c = values(i).duplicate();
+			c.position(pos(i));
+			c.put(a);
+		}
+		_nnz = that._nnz;
+	}
+
+	/**
+	 * Copies the given row range into a dense on-heap matrix block,
+	 * which is reused if it has sufficient capacity.
+	 *
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param ret output matrix block, or null
+	 * @return matrix block of the given rows
+	 */
+	public MatrixBlock getRows(int rl, int ru, MatrixBlock ret) {
+		if( ret == null )
+			ret = new MatrixBlock(ru-rl, _clen, false);
+		else
+			ret.reset(ru-rl, _clen, false);
+		ret.allocateDenseBlock();
+
+		//bulk copy per segment
+		double[] c = ret.getDenseBlock();
+		for( int i=rl, cix=0; i<ru; ) {
+			int iu = Math.min(ru, (i / _blen + 1) * _blen);
+			int len = (iu - i) * _clen;
+			if( isAllocated(i) ) {
+				DoubleBuffer seg = values(i).duplicate();
+				seg.position(pos(i));
+				seg.get(c, cix, len);
+			}
+			cix += len;
+			i = iu;
+		}
+
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	/**
+	 * Copies the given dense or sparse matrix block into the rows
+	 * starting at rl, where existing values are overwritten. 
+	 * Note: the number of non-zeros is not maintained.
+	 *
+	 * @param rl row lower index, inclusive
+	 * @param src input matrix block of the same number of columns
+	 */
+	public void setRows(int rl, MatrixBlock src) {
+		if( src.getNumColumns() != _clen || rl + src.getNumRows() > _rlen )
+			throw new RuntimeException("Invalid dimensions of row batch: "+src.getNumRows()
+				+"x"+src.getNumColumns()+" at row "+rl+" vs "+_rlen+"x"+_clen);
+		int ru = rl + src.getNumRows();
+
+		if( !src.isInSparseFormat() && src.getDenseBlock() != null ) {
+			//bulk copy per segment
+			double[] a = src.getDenseBlock();
+			for( int i=rl, aix=0; i<ru; ) {
+				int iu = Math.min(ru, (i / _blen + 1) * _blen);
+				int len = (iu - i) * _clen;
+				DoubleBuffer seg = values(i).duplicate();
+				seg.position(pos(i));
+				seg.put(a, aix, len);
+				aix += len;
+				i = iu;
+			}
+		}
+		else {
+			//clear and scatter non-zeros per row
+			for( int i=rl; i<ru; i++ ) {
+				if( !isAllocated(i) )
+					continue;
+				DoubleBuffer c = values(i);
+				int cix = pos(i);
+				for( int j=0; j<_clen; j++ )
+					c.put(cix+j, 0);
+			}
+			SparseBlock a = src.getSparseBlock();
+			if( src.isInSparseFormat() && a != null ) {
+				for( int i=rl; i<ru; i++ ) {
+					if( a.isEmpty(i-rl) )
+						continue;
+					int apos = a.pos(i-rl);
+					int alen = a.size(i-rl);
+					int[] aix = a.indexes(i-rl);
+					double[] avals = a.values(i-rl);
+					DoubleBuffer c = values(i);
+					int cix = pos(i);
+					for( int k=apos; k<apos+alen; k++ )
+						c.put(cix+aix[k], avals[k]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts this off-heap block into an on-heap matrix block,
+	 * which is only possible for blocks of up to 2^31 cells.
+	 *
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock toMatrixBlock() 
+		throws DMLRuntimeException 
+	{
+		if( getLength() > Integer.MAX_VALUE )
+			throw new RuntimeException("Off-heap dense block ("+_rlen+"x"+_clen+") exceeds "
+				+ "supported size of "+Integer.MAX_VALUE+" elements of in-memory matrix blocks.");
+		MatrixBlock ret = getRows(0, _rlen, null);
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Releases the references to all segments. The off-heap memory
+	 * is reclaimed once the direct buffers are garbage collected.
+	 */
+	public void free() {
+		_segs = new AtomicReferenceArray<DoubleBuffer>(0);
+		_nnz = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "DenseBlockOffHeap: rlen="+_rlen+", clen="+_clen+", nnz="+_nnz
+			+", segments="+_segs.length()+", segrows="+_blen;
+	}
+}
@@ -26,8 +26,10 @@ import java.io.Serializable;
 import org.apache.hadoop.io.DoubleWritable;
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.SequenceFileInputFormat;
 import org.apache.hadoop.mapred.TextInputFormat;
@@ -68,6 +70,8 @@ public class InputInfo implements Serializable
 			SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class); 
 	public static final InputInfo BinaryBlockFrameInputInfo=new InputInfo(
 			SequenceFileInputFormat.class, LongWritable.class, FrameBlock.class); 
+	public static final InputInfo ColumnarFrameInputInfo=new InputInfo(
+			FileInputFormat.class, NullWritable.class, FrameBlock.class); 
 	
 	// Format that denotes the input of a SORT job
 	public static final InputInfo InputInfoForSort=new InputInfo(SequenceFileInputFormat.class, 
@@ -100,6 +104,8 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.ColumnarFrameInputInfo)
+			return OutputInfo.ColumnarFrameOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -125,6 +131,8 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("columnar"))
+			return ColumnarFrameInputInfo;
 		return null;
 	}
 
@@ -159,6 +167,8 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == ColumnarFrameInputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
@@ -25,7 +25,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
@@ -48,6 +47,7 @@ import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
 import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
@@ -55,6 +55,7 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -247,7 +248,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTask> tasks = new ArrayList<AggTask>();
 			int blklen = (int)(Math.ceil((double)m/k));
 			for( int i=0; i<k & i*blklen<m; i++ ) {
@@ -275,6 +276,89 @@ public class LibMatrixAgg
 		//System.out.println("uagg k="+k+" ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
 	}
 
+	/**
+	 * Performs a multi-threaded unary aggregate over an off-heap dense input. The input
+	 * is processed in batches of rows, which are copied into thread-local dense blocks in
+	 * order to reuse the dense aggregation kernels. Row aggregates are written directly 
+	 * into the output, while all other aggregates are combined from partial aggregates.
+	 * The output is an in-memory block without correction rows or columns.
+	 * 
+	 * @param in off-heap dense input
+	 * @param uaop aggregate unary operator
+	 * @param k maximum parallelism
+	 * @return output matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock aggregateUnaryMatrix(DenseBlockOffHeap in, AggregateUnaryOperator uaop, int k) 
+		throws DMLRuntimeException
+	{
+		//check for supported operations
+		if( !isSupportedUnaryAggregateOperator(uaop) || uaop.indexFn instanceof ReduceDiag )
+			throw new DMLRuntimeException("Unsupported unary aggregate operation over "
+				+ "off-heap dense block: "+uaop.aggOp.increOp.fn.getClass().getSimpleName());
+		
+		//prepare meta data and output incl corrections (always dense)
+		AggType aggtype = getAggType(uaop);
+		final int m = in.getNumRows();
+		MatrixBlock out = allocateOutputWithCorrections(uaop, m, in.getNumColumns());
+		
+		//batch size w.r.t. the input rows (and output rows for row aggregates)
+		int blen = in.getBatchRows();
+		int nb = (int)Math.ceil((double)m/blen);
+		int k2 = Math.max(Math.min(k, nb), 1);
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get( k2 );
+			ArrayList<OffHeapAggTask> tasks = new ArrayList<OffHeapAggTask>();
+			for( int i=0; i<k2; i++ )
+				tasks.add(new OffHeapAggTask(in, out, aggtype, uaop, blen, i, k2));
+			List<Future<MatrixBlock>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial results (in order of tasks)
+			if( !(uaop.indexFn instanceof ReduceCol) ) {
+				out.copy(taskret.get(0).get());
+				for( int i=1; i<taskret.size(); i++ )
+					aggregateFinalResult(uaop.aggOp, out, taskret.get(i).get());
+			}
+			else {
+				for( Future<MatrixBlock> task : taskret )
+					task.get(); //error handling
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//cleanup output and change representation (if necessary)
+		out.recomputeNonZeros();
+		if( uaop.aggOp.correctionExists )
+			out.dropLastRowsOrColumns(uaop.aggOp.correctionLocation);
+		out.examSparsity();
+		return out;
+	}
+	
+	private static MatrixBlock allocateOutputWithCorrections(AggregateUnaryOperator uaop, int m, int n) 
+		throws DMLRuntimeException
+	{
+		CellIndex ix = new CellIndex(-1, -1);
+		uaop.indexFn.computeDimension(m, n, ix);
+		if( uaop.aggOp.correctionExists ) {
+			switch( uaop.aggOp.correctionLocation ) {
+				case LASTROW: ix.row++; break;
+				case LASTCOLUMN: ix.column++; break;
+				case LASTTWOROWS: ix.row+=2; break;
+				case LASTTWOCOLUMNS: ix.column+=2; break;
+				case LASTFOURROWS: ix.row+=4; break;
+				case LASTFOURCOLUMNS: ix.column+=4; break;
+				default:
+					throw new DMLRuntimeException("unrecognized correctionLocation: "+uaop.aggOp.correctionLocation);
+			}
+		}
+		MatrixBlock out = new MatrixBlock(ix.row, ix.column, false);
+		out.allocateDenseBlock();
+		return out;
+	}
+
 	public static MatrixBlock cumaggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, UnaryOperator uop) 
 		throws DMLRuntimeException
 	{
@@ -341,7 +425,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int blklen = (int)(Math.ceil((double)m/k));
 			
 			//step 1: compute aggregates per row partition
@@ -436,7 +520,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTernaryTask> tasks = new ArrayList<AggTernaryTask>();
 			int blklen = (int)(Math.ceil((double)in1.rlen/k));
 			IndexFunction ixFn = op.indexFn;
@@ -510,7 +594,7 @@ public class LibMatrixAgg
 		//core multi-threaded grouped aggregate computation
 		//(currently: parallelization over columns to avoid additional memory requirements)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<GrpAggTask> tasks = new ArrayList<GrpAggTask>();
 			int blklen = (int)(Math.ceil((double)target.clen/k));
 			for( int i=0; i<k & i*blklen<target.clen; i++ )
@@ -3503,6 +3587,70 @@ public class LibMatrixAgg
 		}
 	}
 
+	private static class OffHeapAggTask implements Callable<MatrixBlock> 
+	{
+		private final DenseBlockOffHeap _in;
+		private final MatrixBlock _ret;
+		private final AggType _aggtype;
+		private final AggregateUnaryOperator _uaop;
+		private final int _blen;
+		private final int _pos;
+		private final int _k;
+
+		protected OffHeapAggTask( DenseBlockOffHeap in, MatrixBlock ret, AggType aggtype, 
+			AggregateUnaryOperator uaop, int blen, int pos, int k )
+		{
+			_in = in;
+			_ret = ret;
+			_aggtype = aggtype;
+			_uaop = uaop;
+			_blen = blen;
+			_pos = pos;
+			_k = k;
+		}
+		
+		@Override
+		public MatrixBlock call() throws DMLRuntimeException
+		{
+			boolean rowAgg = (_uaop.indexFn instanceof ReduceCol);
+			final int m = _in.getNumRows();
+			final int n2 = _ret.clen;
+			
+			//thread-local on-heap buffers, reused across batches
+			MatrixBlock a = null;
+			MatrixBlock tmp = null;
+			MatrixBlock partial = null;
+			
+			//process every k-th batch of rows
+			for( int rl=_pos*_blen; rl<m; rl+=_k*_blen ) {
+				int ru = Math.min(rl+_blen, m);
+				a = _in.getRows(rl, ru, a);
+				int m2 = rowAgg ? ru-rl : _ret.rlen;
+				if( tmp == null )
+					tmp = new MatrixBlock(m2, n2, false);
+				else
+					tmp.reset(m2, n2, false);
+				tmp.allocateDenseBlock();
+				aggregateUnaryMatrixDense(a, tmp, _aggtype, _uaop.aggOp.increOp.fn, _uaop.indexFn, 0, ru-rl);
+				
+				if( rowAgg ) //copy disjoint rows into output
+					System.arraycopy(tmp.denseBlock, 0, _ret.denseBlock, rl*n2, (ru-rl)*n2);
+				else if( partial == null ) { //first partial aggregate
+					partial = tmp;
+					tmp = null;
+				}
+				else { //incremental aggregation of partial aggregates
+					tmp.recomputeNonZeros();
+					aggregateFinalResult(_uaop.aggOp, partial, tmp);
+				}
+			}
+			
+			if( partial != null )
+				partial.recomputeNonZeros();
+			return partial;
+		}
+	}
+
 	private static class CumAggTask implements Callable<Long> 
 	{
 		private MatrixBlock _in  = null;
@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -39,7 +45,9 @@ import org.apache.sysml.runtime.functionobjects.PlusMultiply;
 import org.apache.sysml.runtime.functionobjects.Power2;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -57,6 +65,7 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -84,6 +93,60 @@ public class LibMatrixBincell
 	 */
 	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
 		throws DMLRuntimeException
+	{
+		bincellOp(m1, ret, op, 1);
+	}
+	
+	/**
+	 * matrix-matrix binary operations, MM, MV
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		bincellOp(m1, m2, ret, op, 1);
+	}
+	
+	/**
+	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
+	 * 
+	 * @param m1ret result matrix
+	 * @param m2 matrix block
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOpInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//execute binary cell operations
+		if(op.sparseSafe || isSparseSafeDivide(op, m2))
+			safeBinaryInPlace(m1ret, m2, op);
+		else
+			unsafeBinaryInPlace(m1ret, m2, op);
+		
+		//ensure empty results sparse representation 
+		//(no additional memory requirements)
+		if( m1ret.isEmptyBlock(false) )
+			m1ret.examSparsity();
+	}
+
+	/**
+	 * multi-threaded matrix-scalar, scalar-matrix binary operations,
+	 * where small inputs are processed as a single row partition.
+	 *
+	 * @param m1 input matrix
+	 * @param ret result matrix
+	 * @param op scalar operator
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k)
+		throws DMLRuntimeException
 	{
 		//check internal assumptions 
 		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
@@ -93,63 +156,109 @@ public class LibMatrixBincell
 		
 		//execute binary cell operations
 		if(op.sparseSafe)
-			safeBinaryScalar(m1, ret, op);
+			safeBinaryScalar(m1, ret, op, k);
 		else
-			unsafeBinaryScalar(m1, ret, op);
+			unsafeBinaryScalar(m1, ret, op, k);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
 		if( ret.isEmptyBlock(false) )
 			ret.examSparsity();
 	}
-	
+
 	/**
-	 * matrix-matrix binary operations, MM, MV
-	 * 
+	 * multi-threaded matrix-matrix binary operations, MM, MV, where small
+	 * inputs or inputs without row-partitioned kernel (e.g., sparse MV, VV)
+	 * are processed single-threaded.
+	 *
 	 * @param m1 input matrix 1
 	 * @param m2 input matrix 2
 	 * @param ret result matrix
 	 * @param op binary operator
+	 * @param k maximum parallelism
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k)
 		throws DMLRuntimeException
 	{
 		//execute binary cell operations
 		if(op.sparseSafe || isSparseSafeDivide(op, m2))
-			safeBinary(m1, m2, ret, op);
+			safeBinary(m1, m2, ret, op, k);
 		else
-			unsafeBinary(m1, m2, ret, op);
+			unsafeBinary(m1, m2, ret, op, k);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
 		if( ret.isEmptyBlock(false) )
 			ret.examSparsity();
 	}
+
+	/**
+	 * matrix-scalar, scalar-matrix binary operations over an off-heap dense block,
+	 * where the output is a new off-heap dense block.
+	 * 
+	 * @param m1 off-heap dense input matrix
+	 * @param op scalar operator
+	 * @param k maximum parallelism
+	 * @return off-heap dense result matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static DenseBlockOffHeap bincellOp(DenseBlockOffHeap m1, ScalarOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		DenseBlockOffHeap ret = new DenseBlockOffHeap(m1.getNumRows(), m1.getNumColumns());
+		bincellOpOffHeap(m1, null, null, ret, BinaryAccessType.INVALID, op, k);
+		return ret;
+	}
 	
 	/**
-	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
+	 * matrix-matrix binary operations over off-heap dense blocks of equal
+	 * dimensions, where the output is a new off-heap dense block.
 	 * 
-	 * @param m1ret result matrix
-	 * @param m2 matrix block
+	 * @param m1 off-heap dense input matrix 1
+	 * @param m2 off-heap dense input matrix 2
 	 * @param op binary operator
+	 * @param k maximum parallelism
+	 * @return off-heap dense result matrix
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	public static void bincellOpInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
+	public static DenseBlockOffHeap bincellOp(DenseBlockOffHeap m1, DenseBlockOffHeap m2, BinaryOperator op, int k) 
 		throws DMLRuntimeException
 	{
-		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
-			safeBinaryInPlace(m1ret, m2, op);
-		else
-			unsafeBinaryInPlace(m1ret, m2, op);
-		
-		//ensure empty results sparse representation 
-		//(no additional memory requirements)
-		if( m1ret.isEmptyBlock(false) )
-			m1ret.examSparsity();
+		if( m1.getNumRows() != m2.getNumRows() || m1.getNumColumns() != m2.getNumColumns() )
+			throw new DMLRuntimeException("Block sizes are not matched for binary cell operations: "
+				+ m1.getNumRows()+"x"+m1.getNumColumns()+" vs "+m2.getNumRows()+"x"+m2.getNumColumns());
+		DenseBlockOffHeap ret = new DenseBlockOffHeap(m1.getNumRows(), m1.getNumColumns());
+		bincellOpOffHeap(m1, m2, null, ret, BinaryAccessType.MATRIX_MATRIX, op, k);
+		return ret;
 	}
-
+	
+	/**
+	 * matrix-vector binary operations of an off-heap dense block and an in-memory 
+	 * column or row vector, where the output is a new off-heap dense block.
+	 * 
+	 * @param m1 off-heap dense input matrix
+	 * @param m2 column or row vector
+	 * @param op binary operator
+	 * @param k maximum parallelism
+	 * @return off-heap dense result matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static DenseBlockOffHeap bincellOp(DenseBlockOffHeap m1, MatrixBlock m2, BinaryOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.getNumRows();
+		final int n = m1.getNumColumns();
+		BinaryAccessType atype = (m2.rlen == m && m2.clen == 1) ? BinaryAccessType.MATRIX_COL_VECTOR :
+			(m2.rlen == 1 && m2.clen == n) ? BinaryAccessType.MATRIX_ROW_VECTOR : BinaryAccessType.INVALID;
+		if( atype == BinaryAccessType.INVALID )
+			throw new DMLRuntimeException("Block sizes are not matched for binary cell operations: "
+				+ m+"x"+n+" vs "+m2.rlen+"x"+m2.clen);
+		DenseBlockOffHeap ret = new DenseBlockOffHeap(m, n);
+		bincellOpOffHeap(m1, null, DataConverter.convertToDoubleVector(m2), ret, atype, op, k);
+		return ret;
+	}
+	
 	public static BinaryAccessType getBinaryAccessType(MatrixBlock m1, MatrixBlock m2)
 	{
 		int rlen1 = m1.rlen;
@@ -193,12 +302,40 @@ public class LibMatrixBincell
 		//if rhs is fully dense, there cannot be a /0 and hence DIV becomes sparse safe
 		return (op.fn instanceof Divide && rhs.getNonZeros()==(long)rhs.getNumRows()*rhs.getNumColumns());
 	}
-	
+
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k)
+	{
+		//check for sufficient parallelism and thread-safe output
+		if( k <= 1 || m1.rlen <= k/2 || !ret.isThreadSafe() )
+			return false;
+		
+		//check for sufficient work (all dense/sparse combinations are row-partitioned)
+		return (ret.sparse ? m1.nonZeros : (long)m1.rlen*m1.clen) >= PAR_NUMCELL_THRESHOLD;
+	}
+
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k)
+	{
+		//check for sufficient parallelism and thread-safe output
+		if( k <= 1 || m1.rlen <= k/2 || !ret.isThreadSafe() )
+			return false;
+		
+		//check for row-partitioned kernels (all MM, sparse-unsafe MV, dense sparse-safe MV)
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		boolean safe = (op.sparseSafe || isSparseSafeDivide(op, m2));
+		boolean valid = (atype == BinaryAccessType.MATRIX_MATRIX)
+			|| ((atype == BinaryAccessType.MATRIX_COL_VECTOR || atype == BinaryAccessType.MATRIX_ROW_VECTOR)
+				&& (!safe || (!m1.sparse && !m2.sparse && !ret.sparse)));
+		
+		//check for sufficient work
+		return valid && (ret.sparse ? m1.nonZeros+m2.nonZeros : 
+			(long)ret.rlen*ret.clen) >= PAR_NUMCELL_THRESHOLD;
+	}
+
 	//////////////////////////////////////////////////////
 	// private sparse-safe/sparse-unsafe implementations
 	///////////////////////////////////
 
-	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) 
 		throws DMLRuntimeException 
 	{
 		boolean skipEmpty = (op.fn instanceof Multiply 
@@ -211,16 +348,16 @@ public class LibMatrixBincell
 			return;
 		}
 	
-		int rlen = m1.rlen;
-		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
 		if(    atype == BinaryAccessType.MATRIX_COL_VECTOR //MATRIX - VECTOR
 			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)  
 		{
 			//note: m2 vector and hence always dense
-			if( !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE all
-				safeBinaryMVDense(m1, m2, ret, op);
+			if( !m1.sparse && !m2.sparse && !ret.sparse ) { //DENSE all
+				ret.allocateDenseBlock();
+				ret.nonZeros = executeBincell(m1, m2, ret, op, k);
+			}
 			else if( m1.sparse ) //SPARSE m1
 				safeBinaryMVSparse(m1, m2, ret, op);
 			else //generic combinations
@@ -232,234 +369,230 @@ public class LibMatrixBincell
 		}
 		else //MATRIX - MATRIX
 		{
-			if(m1.sparse && m2.sparse)
+			//allocate once (dense or sparse rows), incl clear nnz
+			ret.allocateDenseOrSparseBlock();
+			ret.nonZeros = executeBincell(m1, m2, ret, op, k);
+		}
+	}
+
+	private static long safeBinaryMM(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		boolean skipEmpty = (op.fn instanceof Multiply 
+				|| isSparseSafeDivide(op, m2) );
+		int clen = m1.clen;
+		long nnz = 0;
+		
+		if(m1.sparse && m2.sparse)
+		{
+			//both sparse blocks existing
+			if(m1.sparseBlock!=null && m2.sparseBlock!=null)
 			{
-				if(ret.sparse)
-					ret.allocateSparseRowsBlock();	
+				SparseBlock lsblock = m1.sparseBlock;
+				SparseBlock rsblock = m2.sparseBlock;
 				
-				//both sparse blocks existing
-				if(m1.sparseBlock!=null && m2.sparseBlock!=null)
+				for(int r=rl; r<ru; r++)
 				{
-					SparseBlock lsblock = m1.sparseBlock;
-					SparseBlock rsblock = m2.sparseBlock;
-					
-					if( ret.sparse && lsblock.isAligned(rsblock) )
-					{
-						SparseBlock c = ret.sparseBlock;
-						for(int r=0; r<rlen; r++) 
-							if( !lsblock.isEmpty(r) ) {
-								int alen = lsblock.size(r);
-								int apos = lsblock.pos(r);
-								int[] aix = lsblock.indexes(r);
-								double[] avals = lsblock.values(r);
-								double[] bvals = rsblock.values(r);
-								c.allocate(r, alen);
-								for( int j=apos; j<apos+alen; j++ ) {
-									double tmp = op.fn.execute(avals[j], bvals[j]);
-									c.append(r, aix[j], tmp);
-								}
-								ret.nonZeros += c.size(r);
-							}
-					}
-					else //general case
-					{	
-						for(int r=0; r<rlen; r++)
-						{
-							if( !lsblock.isEmpty(r) && !rsblock.isEmpty(r) ) {
-								mergeForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), lsblock.pos(r), lsblock.size(r),
-										rsblock.values(r), rsblock.indexes(r), rsblock.pos(r), rsblock.size(r), r, ret);	
+					if( !lsblock.isEmpty(r) && !rsblock.isEmpty(r) ) {
+						if( ret.sparse && lsblock.isAligned(r, rsblock) ) {
+							SparseBlock c = ret.sparseBlock;
+							int alen = lsblock.size(r);
+							int apos = lsblock.pos(r);
+							int[] aix = lsblock.indexes(r);
+							double[] avals = lsblock.values(r);
+							double[] bvals = rsblock.values(r);
+							c.allocate(r, alen);
+							for( int j=apos; j<apos+alen; j++ ) {
+								double tmp = op.fn.execute(avals[j], bvals[j]);
+								c.append(r, aix[j], tmp);
 							}
-							else if( !rsblock.isEmpty(r) ) {
-								appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
-										rsblock.pos(r), rsblock.size(r), 0, r, ret);
-							}
-							else if( !lsblock.isEmpty(r) ){
-								appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
-										lsblock.pos(r), lsblock.size(r), 0, r, ret);
-							}
-							// do nothing if both not existing
-						}
-					}
-				}
-				//right sparse block existing
-				else if( m2.sparseBlock!=null )
-				{
-					SparseBlock rsblock = m2.sparseBlock;
-					
-					for(int r=0; r<Math.min(rlen, rsblock.numRows()); r++)
-						if( !rsblock.isEmpty(r) )
-						{
-							appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
-									rsblock.pos(r), rsblock.size(r), 0, r, ret);
+							nnz += c.size(r);
 						}
-				}
-				//left sparse block existing
-				else
-				{
-					SparseBlock lsblock = m1.sparseBlock;
-					
-					for(int r=0; r<rlen; r++)
-						if( !lsblock.isEmpty(r) )
-						{
-							appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
-									lsblock.pos(r), lsblock.size(r), 0, r, ret);
+						else { //general case
+							nnz += mergeForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), lsblock.pos(r), lsblock.size(r),
+									rsblock.values(r), rsblock.indexes(r), rsblock.pos(r), rsblock.size(r), r, ret);
 						}
+					}
+					else if( !rsblock.isEmpty(r) ) {
+						nnz += appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
+								rsblock.pos(r), rsblock.size(r), 0, r, ret);
+					}
+					else if( !lsblock.isEmpty(r) ){
+						nnz += appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
+								lsblock.pos(r), lsblock.size(r), 0, r, ret);
+					}
+					// do nothing if both not existing
 				}
 			}
-			else if( !ret.sparse && (m1.sparse || m2.sparse) &&
-					(op.fn instanceof Plus || op.fn instanceof Minus ||
-					op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
-					(op.fn instanceof Multiply && !m2.sparse )))
+			//right sparse block existing
+			else if( m2.sparseBlock!=null )
 			{
-				//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
-				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] c = ret.denseBlock;
-				
-				//1) process left input: assignment
+				SparseBlock rsblock = m2.sparseBlock;
 				
-				if( m1.sparse ) //SPARSE left
-				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
-					
-					if( m1.sparseBlock != null )
+				for(int r=rl; r<Math.min(ru, rsblock.numRows()); r++)
+					if( !rsblock.isEmpty(r) )
 					{
-						SparseBlock a = m1.sparseBlock;
-						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							if( !a.isEmpty(i) )
-							{
-								int apos = a.pos(i);
-								int alen = a.size(i);
-								int[] aix = a.indexes(i);
-								double[] avals = a.values(i);
-								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = avals[k];
-							}
-						}
+						nnz += appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
+								rsblock.pos(r), rsblock.size(r), 0, r, ret);
 					}
-				}
-				else //DENSE left
-				{
-					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
-					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
+			}
+			//left sparse block existing
+			else
+			{
+				SparseBlock lsblock = m1.sparseBlock;
 				
-				//2) process right input: op.fn (+,-,*), * only if dense
-				if( m2.sparse ) //SPARSE right
-				{				
-					if(m2.sparseBlock!=null)
+				for(int r=rl; r<ru; r++)
+					if( !lsblock.isEmpty(r) )
 					{
-						SparseBlock a = m2.sparseBlock;
-						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
-							if( !a.isEmpty(i) ) {
-								int apos = a.pos(i);
-								int alen = a.size(i);
-								int[] aix = a.indexes(i);
-								double[] avals = a.values(i);
-								for(int k = apos; k < apos+alen; k++) 
-									c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
-							}
-						}	
+						nnz += appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
+								lsblock.pos(r), lsblock.size(r), 0, r, ret);
 					}
-				}
-				else //DENSE right
-				{
-					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
-					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
-				}
-	
-				//3) recompute nnz
-				ret.recomputeNonZeros();
 			}
-			else if( !ret.sparse && !m1.sparse && !m2.sparse 
-					&& m1.denseBlock!=null && m2.denseBlock!=null )
+		}
+		else if( !ret.sparse && (m1.sparse || m2.sparse) &&
+				(op.fn instanceof Plus || op.fn instanceof Minus ||
+				op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
+				(op.fn instanceof Multiply && !m2.sparse )))
+		{
+			//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
+			final int n = ret.clen;
+			double[] c = ret.denseBlock;
+			
+			//1) process left input: assignment
+			
+			if( m1.sparse ) //SPARSE left
 			{
-				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
-				ValueFunction fn = op.fn;
+				Arrays.fill(c, rl*n, ru*n, 0); 
 				
-				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
+				if( m1.sparseBlock != null )
+				{
+					SparseBlock a = m1.sparseBlock;
+					
+					for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+						if( !a.isEmpty(i) )
+						{
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							for(int k = apos; k < apos+alen; k++) 
+								c[ix+aix[k]] = avals[k];
+						}
+					}
 				}
-				ret.nonZeros = nnz;
 			}
-			else if( skipEmpty && (m1.sparse || m2.sparse) ) 
+			else //DENSE left
 			{
-				SparseBlock a = m1.sparse ? m1.sparseBlock : m2.sparseBlock;
-				if( a == null )
-					return;
-				
-				//prepare second input and allocate output
-				MatrixBlock b = m1.sparse ? m2 : m1;
-				ret.allocateDenseOrSparseBlock();
-				
-				for( int i=0; i<a.numRows(); i++ ) {
-					if( a.isEmpty(i) ) continue;
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					if( ret.sparse && !b.sparse )
-						ret.sparseBlock.allocate(i, alen);
-					for(int k = apos; k < apos+alen; k++) {
-						double in2 = b.quickGetValue(i, aix[k]);
-						if( in2==0 ) continue;
-						double val = op.fn.execute(avals[k], in2);
-						ret.appendValue(i, aix[k], val);
-					}
+				if( !m1.isEmptyBlock(false) ) 
+					System.arraycopy(m1.denseBlock, rl*n, c, rl*n, (ru-rl)*n);
+				else
+					Arrays.fill(c, rl*n, ru*n, 0); 
+			}
+			
+			//2) process right input: op.fn (+,-,*), * only if dense
+			if( m2.sparse ) //SPARSE right
+			{				
+				if(m2.sparseBlock!=null)
+				{
+					SparseBlock a = m2.sparseBlock;
+					
+					for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+						if( !a.isEmpty(i) ) {
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							for(int k = apos; k < apos+alen; k++) 
+								c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
+						}
+					}	
 				}
 			}
-			else //generic case
+			else //DENSE right
 			{
-				for(int r=0; r<rlen; r++)
-					for(int c=0; c<clen; c++) {
-						double in1 = m1.quickGetValue(r, c);
-						double in2 = m2.quickGetValue(r, c);
-						if( in1==0 && in2==0) continue;
-						double val = op.fn.execute(in1, in2);
-						ret.appendValue(r, c, val);
-					}
+				if( !m2.isEmptyBlock(false) )
+					for( int i=rl*n; i<ru*n; i++ )
+						c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
+				else if(op.fn instanceof Multiply)
+					Arrays.fill(c, rl*n, ru*n, 0); 
+			}
+
+			//3) recompute nnz
+			nnz = ret.recomputeNonZeros(rl, ru-1, 0, n-1);
+		}
+		else if( !ret.sparse && !m1.sparse && !m2.sparse 
+				&& m1.denseBlock!=null && m2.denseBlock!=null )
+		{
+			final int n = ret.clen;
+			double[] a = m1.denseBlock;
+			double[] b = m2.denseBlock;
+			double[] c = ret.denseBlock;
+			ValueFunction fn = op.fn;
+			
+			//compute dense-dense binary, maintain nnz on-the-fly
+			for( int i=rl*n; i<ru*n; i++ ) {
+				c[i] = fn.execute(a[i], b[i]);
+				nnz += (c[i]!=0)? 1 : 0;
 			}
 		}
+		else if( skipEmpty && (m1.sparse || m2.sparse) ) 
+		{
+			SparseBlock a = m1.sparse ? m1.sparseBlock : m2.sparseBlock;
+			if( a == null )
+				return 0;
+			
+			//prepare second input
+			MatrixBlock b = m1.sparse ? m2 : m1;
+			
+			for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				if( ret.sparse && !b.sparse )
+					ret.sparseBlock.allocate(i, alen);
+				for(int k = apos; k < apos+alen; k++) {
+					double in2 = b.quickGetValue(i, aix[k]);
+					if( in2==0 ) continue;
+					double val = op.fn.execute(avals[k], in2);
+					ret.appendValuePlain(i, aix[k], val);
+					nnz += (val != 0) ? 1 : 0;
+				}
+			}
+		}
+		else //generic case
+		{
+			for(int r=rl; r<ru; r++)
+				for(int c=0; c<clen; c++) {
+					double in1 = m1.quickGetValue(r, c);
+					double in2 = m2.quickGetValue(r, c);
+					if( in1==0 && in2==0) continue;
+					double val = op.fn.execute(in1, in2);
+					ret.appendValuePlain(r, c, val);
+					nnz += (val != 0) ? 1 : 0;
+				}
+		}
+		
+		return nnz;
 	}
 
-	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		
-		//early abort on skip and empy
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		ret.allocateDenseBlock();
 		double[] a = m1.denseBlock;
 		double[] b = m2.denseBlock;
 		double[] c = ret.denseBlock;
-		int nnz = 0;
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 			{
 				//replicate vector value
 				double v2 = (b==null) ? 0 : b[i];
@@ -467,7 +600,7 @@ public class LibMatrixBincell
 					continue;
 					
 				if( isMultiply && v2 == 1 ) { //ROW COPY
-					//a guaranteed to be non-null (see early abort)
+					//a guaranteed to be non-null (see early abort in safeBinary)
 					System.arraycopy(a, ix, c, ix, clen);
 					nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
 				}
@@ -489,23 +622,23 @@ public class LibMatrixBincell
 		{
 			if( a==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
-				nnz += (v != 0) ? rlen*clen : 0;
+				Arrays.fill(c, rl*clen, ru*clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
 			else if( a==null ) //left empty
 			{
 				//compute first row
-				for( int j=0; j<clen; j++ ) {
-					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+				for( int j=0, ix=rl*clen; j<clen; j++ ) {
+					c[ix+j] = op.fn.execute( 0, b[j] );
+					nnz += (c[ix+j] != 0) ? (ru-rl) : 0;
 				}
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1, ix=(rl+1)*clen; i<ru; i++, ix+=clen )
+					System.arraycopy(c, rl*clen, c, ix, clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
 					for( int j=0; j<clen; j++ ) {
 						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
 						nnz += (c[ix+j] != 0) ? 1 : 0;
@@ -513,7 +646,7 @@ public class LibMatrixBincell
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
@@ -801,16 +934,50 @@ public class LibMatrixBincell
 		mbOut.examSparsity();
 	}
 
-	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) 
 		throws DMLRuntimeException 
 	{
 		int rlen = m1.rlen;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
+		if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
+		{
+			int clen2 = m2.clen; 
+			
+			if(LibMatrixOuterAgg.isCompareOperator(op) 
+				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
+				performBinOuterOperation(m1, m2, ret, op);
+			} 
+			else {
+				for(int r=0; r<rlen; r++) {
+					double v1 = m1.quickGetValue(r, 0);		
+					for(int c=0; c<clen2; c++)
+					{
+						double v2 = m2.quickGetValue(0, c);
+						double v = op.fn.execute( v1, v2 );
+						ret.appendValue(r, c, v);	
+					}
+				}
+			}
+		}
+		else //MATRIX - VECTOR, MATRIX - MATRIX
+		{
+			//allocate once (dense or sparse rows), incl clear nnz
+			ret.allocateDenseOrSparseBlock();
+			ret.nonZeros = executeBincell(m1, m2, ret, op, k);
+		}
+	}
+
+	private static long unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 			{
 				//replicated value
 				double v2 = m2.quickGetValue(r, 0);
@@ -819,73 +986,56 @@ public class LibMatrixBincell
 				{
 					double v1 = m1.quickGetValue(r, c);	
 					double v = op.fn.execute( v1, v2 );
-					ret.appendValue(r, c, v);
+					ret.appendValuePlain(r, c, v);
+					nnz += (v != 0) ? 1 : 0;
 				}
 			}
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) //MATRIX - ROW_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 				for(int c=0; c<clen; c++)
 				{
 					double v1 = m1.quickGetValue(r, c);	
 					double v2 = m2.quickGetValue(0, c);
 					double v = op.fn.execute( v1, v2 );
-					ret.appendValue(r, c, v);
-				}
-		}
-		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
-		{
-			int clen2 = m2.clen; 
-			
-			if(LibMatrixOuterAgg.isCompareOperator(op) 
-				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
-				performBinOuterOperation(m1, m2, ret, op);
-			} 
-			else {
-				for(int r=0; r<rlen; r++) {
-					double v1 = m1.quickGetValue(r, 0);		
-					for(int c=0; c<clen2; c++)
-					{
-						double v2 = m2.quickGetValue(0, c);
-						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);	
-					}
+					ret.appendValuePlain(r, c, v);
+					nnz += (v != 0) ? 1 : 0;
 				}
-			}
 		}
 		else // MATRIX - MATRIX
 		{
 			//dense non-empty vectors
 			if( m1.clen==1 && !m1.sparse && !m1.isEmptyBlock(false)   
-				&& !m2.sparse && !m2.isEmptyBlock(false)  )
+				&& !m2.sparse && !m2.isEmptyBlock(false) && !ret.sparse )
 			{
-				ret.allocateDenseBlock();
 				double[] a = m1.denseBlock;
 				double[] b = m2.denseBlock;
 				double[] c = ret.denseBlock;
-				for( int i=0; i<rlen; i++ ) {
+				for( int i=rl; i<ru; i++ ) {
 					c[i] = op.fn.execute( a[i], b[i] );
-					if( c[i] != 0 ) 
-						ret.nonZeros++;
+					nnz += (c[i] != 0) ? 1 : 0;
 				}
 			}
 			//general case
 			else 
 			{
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++)
 					{
 						double v1 = m1.quickGetValue(r, c);
 						double v2 = m2.quickGetValue(r, c);
 						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);
+						ret.appendValuePlain(r, c, v);
+						nnz += (v != 0) ? 1 : 0;
 					}
 			}
 		}
+		
+		return nnz;
 	}
 
-	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k)
 		throws DMLRuntimeException
 	{
 		//early abort possible since sparsesafe
@@ -897,66 +1047,71 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
+		//allocate sparse row structure or dense block, incl clear nnz
+		ret.allocateDenseOrSparseBlock();
+		ret.nonZeros = executeBincell(m1, null, ret, op, k);
+	}
+
+	private static long safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		if( !m1.sparse ) //DENSE <- DENSE
+			return denseBinaryScalar(m1, ret, op, rl, ru);
+		
+		//SPARSE <- SPARSE
 		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int rlen = Math.min(ru, a.numRows());
 		
-		if( m1.sparse ) //SPARSE <- SPARSE
-		{	
-			//allocate sparse row structure
-			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+		long nnz = 0;
+		for(int r=rl; r<rlen; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
-				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRowVector crow = new SparseRowVector(alen);
+				crow.setSize(alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRowVector crow = new SparseRowVector(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
+					|| op.fn instanceof Power2  ) {
+					c.allocate(r, alen);
 				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
-						|| op.fn instanceof Power2  ) {
-						c.allocate(r, alen);
-					}
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
 		}
+		
+		return nnz;
 	}
 	
 	/**
 	 * Since this operation is sparse-unsafe, ret should always be passed in dense representation.
 	 * 
 	 * @param m1 input matrix
-	 * @param m2 result matrix
+	 * @param ret result matrix
 	 * @param op scalar operator
+	 * @param k maximum parallelism
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op)
+	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k)
 		throws DMLRuntimeException
 	{
 		//early abort possible since sparsesafe
@@ -972,58 +1127,60 @@ public class LibMatrixBincell
 		if( ret.sparse )
 			throw new DMLRuntimeException("Unsupported unsafe binary scalar operations over sparse output representation.");
 		
-		if( m1.sparse ) //SPARSE MATRIX
-		{
-			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
-			
-			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
-				if( !a.isEmpty(i) ) {
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz -= (val==0) ? 1 : 0;
-					}
+		//allocate dense block (if necessary), incl clear nnz
+		ret.allocateDenseBlock(true);
+		ret.nonZeros = executeBincell(m1, null, ret, op, k);
+	}
+
+	private static long unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		if( !m1.sparse ) //DENSE MATRIX
+			return denseBinaryScalar(m1, ret, op, rl, ru);
+		
+		//SPARSE MATRIX
+		SparseBlock a = m1.sparseBlock;
+		double[] c = ret.denseBlock;
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double cval0 = op.executeScalar(0);
+		Arrays.fill(c, rl*n, ru*n, cval0);
+		
+		//compute non-zero input values
+		long nnz = (cval0 != 0) ? (long)(ru-rl)*n : 0;
+		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c[ cix+aix[j] ] = val;
+					nnz += ((val != 0) ? 1 : 0) - ((cval0 != 0) ? 1 : 0);
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE MATRIX
-			denseBinaryScalar(m1, ret, op);
 		}
+		
+		return nnz;
 	}
 
-	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		//allocate dense block (if necessary), incl clear nnz
-		ret.allocateDenseBlock(true);
-		
 		double[] a = m1.denseBlock;
 		double[] c = ret.denseBlock;
+		int n = m1.clen;
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ ) {
 			c[i] = op.executeScalar( a[i] );
 			nnz += (c[i] != 0) ? 1 : 0;
 		}
-		ret.nonZeros = nnz;
+		
+		return nnz;
 	}
 
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
@@ -1081,13 +1238,13 @@ public class LibMatrixBincell
 						if(thisRow!=null)
 						{
 							m1ret.nonZeros-=thisRow.size();
-							mergeForSparseBinary(op, thisRow.values(), thisRow.indexes(), 0, 
+							m1ret.nonZeros+=mergeForSparseBinary(op, thisRow.values(), thisRow.indexes(), 0, 
 									thisRow.size(), b.values(r), b.indexes(r), b.pos(r), b.size(r), r, m1ret);
 							
 						}
 						else
 						{
-							appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
+							m1ret.nonZeros+=appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
 						}
 					}
 				}	
@@ -1100,7 +1257,7 @@ public class LibMatrixBincell
 				{
 					if( !b.isEmpty(r) ) {
 						SparseRow tmp = new SparseRowVector( b.size(r), clen );
-						appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
+						m1ret.nonZeros+=appendRightForSparseBinary(op, b.values(r), b.indexes(r), b.pos(r), b.size(r), 0, r, m1ret);
 						m1ret.sparseBlock.set(r, tmp, false);
 					}
 				}				
@@ -1184,71 +1341,262 @@ public class LibMatrixBincell
 		}
 	}
 	
-	private static void mergeForSparseBinary(BinaryOperator op, double[] values1, int[] cols1, int pos1, int size1, 
+	private static long mergeForSparseBinary(BinaryOperator op, double[] values1, int[] cols1, int pos1, int size1, 
 			double[] values2, int[] cols2, int pos2, int size2, int resultRow, MatrixBlock result) 
 		throws DMLRuntimeException
 	{
 		int p1 = 0, p2 = 0;
+		long nnz = 0;
 		if( op.fn instanceof Multiply ) { //skip empty
 			//skip empty: merge-join (with inner join semantics)
 			//similar to sorted list intersection
-			SparseBlock sblock = result.getSparseBlock();
-			sblock.allocate(resultRow, Math.min(size1, size2), result.clen);
+			if( result.sparse )
+				result.sparseBlock.allocate(resultRow, Math.min(size1, size2), result.clen);
 			while( p1 < size1 && p2 < size2 ) {
 				int colPos1 = cols1[pos1+p1];
 				int colPos2 = cols2[pos2+p2];
-				if( colPos1 == colPos2 )
-					sblock.append(resultRow, colPos1,
-						op.fn.execute(values1[pos1+p1], values2[pos2+p2]));
+				if( colPos1 == colPos2 ) {
+					double v = op.fn.execute(values1[pos1+p1], values2[pos2+p2]);
+					result.appendValuePlain(resultRow, colPos1, v);
+					nnz += (v != 0) ? 1 : 0;
+				}
 				p1 += (colPos1 <= colPos2) ? 1 : 0;
 				p2 += (colPos1 >= colPos2) ? 1 : 0;
 			}
-			result.nonZeros += sblock.size(resultRow);
 		}
 		else {
 			//general case: merge-join (with outer join semantics) 
 			while( p1 < size1 && p2 < size2 ) {
+				double v = 0;
 				if(cols1[pos1+p1]<cols2[pos2+p2]) {
-					result.appendValue(resultRow, cols1[pos1+p1], 
-						op.fn.execute(values1[pos1+p1], 0));
+					v = op.fn.execute(values1[pos1+p1], 0);
+					result.appendValuePlain(resultRow, cols1[pos1+p1], v);
 					p1++;
 				}
 				else if(cols1[pos1+p1]==cols2[pos2+p2]) {
-					result.appendValue(resultRow, cols1[pos1+p1], 
-						op.fn.execute(values1[pos1+p1], values2[pos2+p2]));
+					v = op.fn.execute(values1[pos1+p1], values2[pos2+p2]);
+					result.appendValuePlain(resultRow, cols1[pos1+p1], v);
 					p1++;
 					p2++;
 				}
 				else {
-					result.appendValue(resultRow, cols2[pos2+p2], 
-						op.fn.execute(0, values2[pos2+p2]));
+					v = op.fn.execute(0, values2[pos2+p2]);
+					result.appendValuePlain(resultRow, cols2[pos2+p2], v);
 					p2++;
 				}
+				nnz += (v != 0) ? 1 : 0;
 			}
 			//add left over
-			appendLeftForSparseBinary(op, values1, cols1, pos1, size1, p1, resultRow, result);
-			appendRightForSparseBinary(op, values2, cols2, pos2, size2, p2, resultRow, result);
+			nnz += appendLeftForSparseBinary(op, values1, cols1, pos1, size1, p1, resultRow, result);
+			nnz += appendRightForSparseBinary(op, values2, cols2, pos2, size2, p2, resultRow, result);
 		}
+		return nnz;
 	}
 
-	private static void appendLeftForSparseBinary(BinaryOperator op, double[] values1, int[] cols1, int pos1, int size1, 
+	private static long appendLeftForSparseBinary(BinaryOperator op, double[] values1, int[] cols1, int pos1, int size1, 
 				int pos, int resultRow, MatrixBlock result) 
 		throws DMLRuntimeException
 	{
+		long nnz = 0;
 		for(int j=pos1+pos; j<pos1+size1; j++) {
 			double v = op.fn.execute(values1[j], 0);
-			result.appendValue(resultRow, cols1[j], v);
+			result.appendValuePlain(resultRow, cols1[j], v);
+			nnz += (v != 0) ? 1 : 0;
 		}
+		return nnz;
 	}
 
-	private static void appendRightForSparseBinary(BinaryOperator op, double[] values2, int[] cols2, int pos2, int size2, 
+	private static long appendRightForSparseBinary(BinaryOperator op, double[] values2, int[] cols2, int pos2, int size2, 
 		int pos, int resultRow, MatrixBlock result) throws DMLRuntimeException
 	{
+		long nnz = 0;
 		for( int j=pos2+pos; j<pos2+size2; j++ ) {
 			double v = op.fn.execute(0, values2[j]);
-			result.appendValue(resultRow, cols2[j], v);
+			result.appendValuePlain(resultRow, cols2[j], v);
+			nnz += (v != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	private static void bincellOpOffHeap(DenseBlockOffHeap m1, DenseBlockOffHeap m2, double[] v, 
+		DenseBlockOffHeap ret, BinaryAccessType atype, Operator op, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.getNumRows();
+		int blklen = (int)Math.ceil((double)m/Math.max(k, 1));
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			ArrayList<BincellOffHeapTask> tasks = new ArrayList<BincellOffHeapTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellOffHeapTask(m1, m2, v, ret, atype, op, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static class BincellOffHeapTask implements Callable<Long> 
+	{
+		private final DenseBlockOffHeap _m1;
+		private final DenseBlockOffHeap _m2;
+		private final double[] _v;
+		private final DenseBlockOffHeap _ret;
+		private final BinaryAccessType _atype;
+		private final Operator _op;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BincellOffHeapTask( DenseBlockOffHeap m1, DenseBlockOffHeap m2, double[] v, 
+			DenseBlockOffHeap ret, BinaryAccessType atype, Operator op, int rl, int ru ) 
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_v = v;
+			_ret = ret;
+			_atype = atype;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			final int n = _m1.getNumColumns();
+			long nnz = 0;
+			
+			//direct row-wise access to the off-heap segments 
+			//(absolute get/put, i.e., no shared buffer positions)
+			for( int i=_rl; i<_ru; i++ ) {
+				DoubleBuffer a = _m1.values(i);
+				DoubleBuffer c = _ret.values(i);
+				int aix = _m1.pos(i);
+				int cix = _ret.pos(i);
+				
+				if( _op instanceof ScalarOperator ) {
+					ScalarOperator sop = (ScalarOperator) _op;
+					for( int j=0; j<n; j++ ) {
+						double val = sop.executeScalar(a.get(aix+j));
+						c.put(cix+j, val);
+						nnz += (val != 0) ? 1 : 0;
+					}
+				}
+				else {
+					ValueFunction fn = ((BinaryOperator)_op).fn;
+					if( _atype == BinaryAccessType.MATRIX_MATRIX ) {
+						DoubleBuffer b = _m2.values(i);
+						int bix = _m2.pos(i);
+						for( int j=0; j<n; j++ ) {
+							double val = fn.execute(a.get(aix+j), b.get(bix+j));
+							c.put(cix+j, val);
+							nnz += (val != 0) ? 1 : 0;
+						}
+					}
+					else if( _atype == BinaryAccessType.MATRIX_COL_VECTOR ) {
+						double bval = _v[i];
+						for( int j=0; j<n; j++ ) {
+							double val = fn.execute(a.get(aix+j), bval);
+							c.put(cix+j, val);
+							nnz += (val != 0) ? 1 : 0;
+						}
+					}
+					else { //MATRIX_ROW_VECTOR
+						for( int j=0; j<n; j++ ) {
+							double val = fn.execute(a.get(aix+j), _v[j]);
+							c.put(cix+j, val);
+							nnz += (val != 0) ? 1 : 0;
+						}
+					}
+				}
+			}
+			
+			return nnz;
+		}
+	}
+	
+	private static long executeBincell(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, Operator op, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.rlen;
+		
+		//sequential execution over all rows as a single row partition
+		boolean par = (op instanceof ScalarOperator) ?
+			satisfiesMultiThreadingConstraints(m1, ret, (ScalarOperator)op, k) :
+			satisfiesMultiThreadingConstraints(m1, m2, ret, (BinaryOperator)op, k);
+		if( !par )
+			return executeBincell(m1, m2, ret, op, 0, m);
+		
+		//multi-threaded execution over row partitions
+		int blklen = (int)Math.ceil((double)m/k);
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			return nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static long executeBincell(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, Operator op, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		if( op instanceof ScalarOperator ) {
+			ScalarOperator sop = (ScalarOperator) op;
+			return sop.sparseSafe ? 
+				safeBinaryScalar(m1, ret, sop, rl, ru) :
+				unsafeBinaryScalar(m1, ret, sop, rl, ru);
 		}
+		
+		BinaryOperator bop = (BinaryOperator) op;
+		if( !(bop.sparseSafe || isSparseSafeDivide(bop, m2)) )
+			return unsafeBinary(m1, m2, ret, bop, rl, ru);
+		return (getBinaryAccessType(m1, m2) == BinaryAccessType.MATRIX_MATRIX) ?
+			safeBinaryMM(m1, m2, ret, bop, rl, ru) :
+			safeBinaryMVDense(m1, m2, ret, bop, rl, ru);
 	}
 	
+	/**
+	 * Task for row-partitioned binary cell operations, which executes the 
+	 * sequential kernels over its row range and returns the number of 
+	 * non-zeros of its output rows.
+	 */
+	private static class BincellTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final Operator _op;
+		private final int _rl;
+		private final int _ru;
+		
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, Operator op, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return executeBincell(_m1, _m2, _ret, _op, _rl, _ru);
+		}
+	}
 }
-
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.CTable;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+
+/**
+ * Library for multi-threaded ctable (contingency table) operations, i.e.,
+ * F = ctable(A,B,W) with optional scalar B and W. The input rows are split
+ * into disjoint row partitions and each task aggregates its cells into a
+ * thread-local partial result, which are merged at the end.
+ *
+ * For known and small output dimensions, the partial results are dense
+ * matrix blocks of the output dimensions; otherwise, the partial
+ * results are thread-local hash maps (see CTableMap), which is beneficial
+ * for skewed key distributions because each task only touches its own map.
+ *
+ * All cells are processed via the CTable function object, i.e., the semantics
+ * (NaN handling, validation of ctable inputs, pruning by output dimensions)
+ * are equivalent to the single-threaded ctable in MatrixBlock, including
+ * the sparse-safe processing of sparse inputs with aligned zeros.
+ */
+public class LibMatrixCTable
+{
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+
+	private LibMatrixCTable() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given ctable input is large enough to benefit
+	 * from multi-threaded execution with the given degree of parallelism.
+	 *
+	 * @param in1 first input matrix
+	 * @param k maximum parallelism
+	 * @return true if multi-threaded ctable should be used
+	 */
+	public static boolean satisfiesMultiThreadingConstraints(MatrixBlock in1, int k) {
+		return k > 1 && in1.getNumRows() > k/2
+			&& (long)in1.getNumRows()*in1.getNumColumns() >= PAR_NUMCELL_THRESHOLD;
+	}
+
+	/**
+	 * Multi-threaded ctable operation F = ctable(A,B,W), where B and W are
+	 * either matrices of the same dimensions as A or scalars (if null). The
+	 * result is aggregated either into the given dense result block (if
+	 * allocated for known output dimensions) or into the given result map.
+	 *
+	 * @param in1 first input matrix (A)
+	 * @param in2 second input matrix (B), or null for scalar
+	 * @param cst2 scalar second input, if in2 is null
+	 * @param in3 weight matrix (W), or null for scalar
+	 * @param cst3 scalar weight, if in3 is null
+	 * @param ignoreZeros if true, skip cells with A=0 and B=0
+	 * @param resultMap result map, used if resultBlock is null
+	 * @param resultBlock dense result block with known dimensions, or null
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void ctable(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int k)
+		throws DMLRuntimeException
+	{
+		//check for valid dense result block (allocated by caller)
+		if( resultBlock != null && resultBlock.isInSparseFormat() )
+			throw new DMLRuntimeException("Multi-threaded ctable requires a dense result block.");
+
+		//use dense partial results if output small (total size of
+		//partials bounded by the input size or the parallelization threshold)
+		int m = in1.getNumRows();
+		boolean denseParts = resultBlock != null && (long)resultBlock.getNumRows()
+			* resultBlock.getNumColumns() * k <= Math.max((long)m*in1.getNumColumns(), PAR_NUMCELL_THRESHOLD);
+
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<CTableTask> tasks = new ArrayList<CTableTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new CTableTask(in1, in2, cst2, in3, cst3, ignoreZeros,
+					denseParts ? resultBlock : null, i*blklen, Math.min((i+1)*blklen, m)));
+			ArrayList<Object> partials = new ArrayList<Object>();
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				partials.add(task.get());
+			pool.shutdown();
+
+			//merge thread-local partial results
+			if( resultBlock != null )
+				mergeIntoBlock(partials, resultBlock);
+			else
+				for( Object part : partials )
+					resultMap.aggregate((CTableMap)part);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void mergeIntoBlock(ArrayList<Object> partials, MatrixBlock resultBlock) {
+		int rlen = resultBlock.getNumRows();
+		int clen = resultBlock.getNumColumns();
+		resultBlock.allocateDenseBlock();
+		double[] c = resultBlock.getDenseBlock();
+		for( Object part : partials ) {
+			if( part instanceof MatrixBlock ) { //DENSE partial
+				double[] a = ((MatrixBlock) part).getDenseBlock();
+				if( a != null ) //non-empty partial
+					for( int i=0; i<a.length; i++ )
+						c[i] += a[i];
+			}
+			else { //HASH partial (prune out-of-bounds cells)
+				Iterator<LLDoubleEntry> iter = ((CTableMap)part).getIterator();
+				while( iter.hasNext() ) {
+					LLDoubleEntry e = iter.next();
+					if( e.key1 <= rlen && e.key2 <= clen )
+						c[(int)(e.key1-1)*clen+(int)(e.key2-1)] += e.value;
+				}
+			}
+		}
+		resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * Ctable task over a row partition, which returns its thread-local
+	 * partial result as either a dense matrix block or a CTableMap.
+	 */
+	private static class CTableTask implements Callable<Object>
+	{
+		private final MatrixBlock _in1;
+		private final MatrixBlock _in2;
+		private final double _cst2;
+		private final MatrixBlock _in3;
+		private final double _cst3;
+		private final boolean _ignoreZeros;
+		private final MatrixBlock _dense; //output meta data for dense partials
+		private final int _rl;
+		private final int _ru;
+
+		protected CTableTask(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3,
+			boolean ignoreZeros, MatrixBlock dense, int rl, int ru)
+		{
+			_in1 = in1;
+			_in2 = in2;
+			_cst2 = cst2;
+			_in3 = in3;
+			_cst3 = cst3;
+			_ignoreZeros = ignoreZeros;
+			_dense = dense;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws DMLRuntimeException {
+			//allocate thread-local partial result
+			CTableMap map = (_dense == null) ? new CTableMap() : null;
+			MatrixBlock block = (_dense != null) ? new MatrixBlock(
+				_dense.getNumRows(), _dense.getNumColumns(), false) : null;
+			CTable ctable = CTable.getCTableFnObject();
+
+			if( _ignoreZeros && _in1.isInSparseFormat() //SPARSE-SAFE & SPARSE INPUTS
+				&& _in2 != null && _in2.isInSparseFormat() && _in3 == null )
+			{
+				//note: only used if both inputs have aligned zeros, which
+				//allows us to infer that the nnz both inputs are equivalent
+				//(consistent with the single-threaded ctable in MatrixBlock)
+				SparseBlock a = _in1.getSparseBlock();
+				SparseBlock b = _in2.getSparseBlock();
+				if( a == null || b == null )
+					return (map != null) ? map : block;
+				for( int i=_rl; i<_ru; i++ ) {
+					if( a.isEmpty(i) )
+						continue;
+					int alen = a.size(i);
+					int apos = a.pos(i);
+					double[] avals = a.values(i);
+					int bpos = b.pos(i);
+					double[] bvals = b.values(i);
+					for( int j=0; j<alen; j++ )
+						execute(ctable, avals[apos+j], bvals[bpos+j], _cst3, map, block);
+				}
+			}
+			else //SPARSE-UNSAFE | GENERIC INPUTS
+			{
+				//sparse-unsafe ctable execution
+				//(because input values of 0 are invalid and have to result in errors)
+				int n = _in1.getNumColumns();
+				for( int i=_rl; i<_ru; i++ )
+					for( int j=0; j<n; j++ ) {
+						double v1 = _in1.quickGetValue(i, j);
+						double v2 = (_in2 != null) ? _in2.quickGetValue(i, j) : _cst2;
+						double w = (_in3 != null) ? _in3.quickGetValue(i, j) : _cst3;
+						execute(ctable, v1, v2, w, map, block);
+					}
+			}
+
+			return (map != null) ? map : block;
+		}
+
+		private void execute(CTable ctable, double v1, double v2, double w, CTableMap map, MatrixBlock block)
+			throws DMLRuntimeException
+		{
+			if( block != null ) //DENSE partial (prune out-of-bounds cells)
+				ctable.execute(v1, v2, w, _ignoreZeros, block);
+			else //HASH partial
+				ctable.execute(v1, v2, w, _ignoreZeros, map);
+		}
+	}
+}
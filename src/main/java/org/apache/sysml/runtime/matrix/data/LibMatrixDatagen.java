@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -35,6 +34,7 @@ import org.apache.commons.math3.random.Well1024a;
 import org.apache.sysml.hops.DataGenOp;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.NormalPRNGenerator;
 import org.apache.sysml.runtime.util.PRNGenerator;
 import org.apache.sysml.runtime.util.PoissonPRNGenerator;
@@ -341,7 +341,7 @@ public class LibMatrixDatagen
 		
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<RandTask> tasks = new ArrayList<RandTask>();
 			int blklen = ((int)(Math.ceil((double)parnb/k)));
 			for( int i=0; i<k & i*blklen<parnb; i++ ) {
@@ -577,11 +577,17 @@ public class LibMatrixDatagen
 				}
 				else {
 					if (sparsity == 1.0) {
+						//bulk generation of block rows (same order as cell-wise 
+						//generation), followed by in-place scaling if necessary
 						double[] c = out.denseBlock;
 						int cix = rowoffset*cols + coloffset;
-						for(int ii = 0; ii < blockrows; ii++, cix+=cols)
-							for(int jj = 0; jj < blockcols; jj++)
-								c[cix+jj] = min + (range * valuePRNG.nextDouble());
+						boolean scale = (min != 0 || range != 1);
+						for(int ii = 0; ii < blockrows; ii++, cix+=cols) {
+							valuePRNG.nextDoubles(c, cix, blockcols);
+							if( scale )
+								for(int jj = 0; jj < blockcols; jj++)
+									c[cix+jj] = min + (range * c[cix+jj]);
+						}
 					}
 					else {
 						if (out.sparse ) {
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.FastMath;
@@ -39,6 +38,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -209,7 +209,7 @@ public class LibMatrixMult
 		//core multi-threaded matrix mult computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTask> tasks = new ArrayList<MatrixMultTask>();
 			int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
 			ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
@@ -241,6 +241,55 @@ public class LibMatrixMult
 		//		              "("+m2.isInSparseFormat()+","+m2.getNumRows()+","+m2.getNumColumns()+","+m2.getNonZeros()+") in "+time.stop());
 	}
 	
+	/**
+	 * Performs a multi-threaded matrix multiplication of an off-heap dense left input
+	 * and an in-memory right input, and stores the result in a new off-heap dense block.
+	 * The left input is processed in batches of rows, which are copied into thread-local 
+	 * dense blocks in order to reuse the optimized dense matrix mult kernels. 
+	 * 
+	 * @param m1 off-heap dense left input
+	 * @param m2 right input matrix
+	 * @param k maximum parallelism
+	 * @return off-heap dense result
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static DenseBlockOffHeap matrixMult(DenseBlockOffHeap m1, MatrixBlock m2, int k) 
+		throws DMLRuntimeException
+	{
+		if( m1.getNumColumns() != m2.rlen )
+			throw new DMLRuntimeException("Dimensions do not match for matrix multiplication ("
+				+ m1.getNumColumns()+"!="+m2.rlen+").");
+		
+		//allocate off-heap output (0-initialized)
+		DenseBlockOffHeap ret = new DenseBlockOffHeap(m1.getNumRows(), m2.clen);
+		if( m2.isEmptyBlock(false) )
+			return ret;
+		
+		//batch size w.r.t. input and output rows
+		int blen = Math.min(m1.getBatchRows(), ret.getBatchRows());
+		int nb = (int)Math.ceil((double)m1.getNumRows()/blen);
+		int k2 = Math.max(Math.min(k, nb), 1);
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get( k2 );
+			ArrayList<MatrixMultOffHeapTask> tasks = new ArrayList<MatrixMultOffHeapTask>();
+			for( int i=0; i<k2; i++ )
+				tasks.add(new MatrixMultOffHeapTask(m1, m2, ret, blen, i, k2));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			//aggregate partial nnz
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			ret.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+	
 	/**
 	 * Performs a matrix multiplication chain operation of type t(X)%*%(X%*%v) or t(X)%*%(w*(X%*%v)).
 	 * 
@@ -323,7 +372,7 @@ public class LibMatrixMult
 		//core matrix mult chain computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultChainTask> tasks = new ArrayList<MatrixMultChainTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			blklen += (blklen%24 != 0)?24-blklen%24:0;
@@ -405,7 +454,7 @@ public class LibMatrixMult
 	
 		//core multi-threaded matrix mult computation
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 			//load balance via #tasks=2k due to triangular shape 
 			int blklen = (int)(Math.ceil((double)ret.rlen/(2*k)));
@@ -485,7 +534,7 @@ public class LibMatrixMult
 		
 		try
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultPermuteTask> tasks = new ArrayList<MatrixMultPermuteTask>();
 			int blklen = (int)(Math.ceil((double)pm1.rlen/k));
 			for( int i=0; i<k & i*blklen<pm1.rlen; i++ )
@@ -560,7 +609,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSLossTask> tasks = new ArrayList<MatrixMultWSLossTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			for( int i=0; i<k & i*blklen<mX.rlen; i++ )
@@ -636,7 +685,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSigmoidTask> tasks = new ArrayList<MatrixMultWSigmoidTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -751,7 +800,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWDivTask> tasks = new ArrayList<MatrixMultWDivTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -828,7 +877,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWCeTask> tasks = new ArrayList<MatrixMultWCeTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -900,7 +949,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWuTask> tasks = new ArrayList<MatrixMultWuTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -3641,6 +3690,49 @@ public class LibMatrixMult
 	// Task Implementations for Multi-Threaded Operations  //
 	/////////////////////////////////////////////////////////
 
+	private static class MatrixMultOffHeapTask implements Callable<Long> 
+	{
+		private final DenseBlockOffHeap _m1;
+		private final MatrixBlock _m2;
+		private final DenseBlockOffHeap _ret;
+		private final int _blen;
+		private final int _pos;
+		private final int _k;
+		
+		protected MatrixMultOffHeapTask( DenseBlockOffHeap m1, MatrixBlock m2, 
+			DenseBlockOffHeap ret, int blen, int pos, int k )
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_blen = blen;
+			_pos = pos;
+			_k = k;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//thread-local on-heap buffers, reused across batches
+			MatrixBlock a = null;
+			MatrixBlock c = new MatrixBlock(_blen, _m2.clen, false);
+			long nnz = 0;
+			
+			//process every k-th batch of rows
+			final int m = _m1.getNumRows();
+			for( int rl=_pos*_blen; rl<m; rl+=_k*_blen ) {
+				int ru = Math.min(rl+_blen, m);
+				a = _m1.getRows(rl, ru, a);
+				c.reset(ru-rl, _m2.clen, false);
+				matrixMult(a, _m2, c, false);
+				if( !c.isEmptyBlock(false) )
+					_ret.setRows(rl, c);
+				nnz += c.getNonZeros();
+			}
+			return nnz;
+		}
+	}
+	
 	private static class MatrixMultTask implements Callable<Object> 
 	{
 		private MatrixBlock _m1  = null;
@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -42,6 +41,7 @@ import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -64,6 +64,9 @@ public class LibMatrixReorg
 	//minimum number of elements for multi-threaded execution
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
 	
+	//minimum number of rows for multi-threaded sort
+	public static final int PAR_SORT_NUMROW_THRESHOLD = 64*1024; //64K
+	
 	//allow shallow dense/sparse copy for unchanged data (which is 
 	//safe due to copy-on-write and safe update-in-place handling)
 	public static final boolean SHALLOW_COPY_REORG = true;
@@ -71,6 +74,13 @@ public class LibMatrixReorg
 	//allow reuse of temporary blocks for certain operations
 	public static final boolean ALLOW_BLOCK_REUSE = false;
 	
+	//use recursive dense and counting-sort sparse transpose (otherwise
+	//fixed blocking, which is retained for performance comparisons)
+	public static boolean CACHE_OBLIVIOUS_TRANSPOSE = true;
+	
+	//base tile size of recursive dense transpose (2 x 32x32 doubles fit in L1)
+	private static final int TRANSPOSE_TILE_SIZE = 32;
+	
 	private enum ReorgType {
 		TRANSPOSE,
 		REV,
@@ -111,7 +121,8 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCols(), ix.getDecreasing(), 
+					ix.getIndexReturn(), ix.getTopK(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -139,6 +150,12 @@ public class LibMatrixReorg
 		
 		//Timing time = new Timing(true);
 		
+		//sparse-sparse transpose via counting sort into CSR
+		if( in.sparse && out.sparse && isCountingSortTranspose(in) ) {
+			transposeSparseToSparseCSR( in, out, 1 );
+			return out;
+		}
+		
 		//allocate output arrays (if required)
 		if( out.sparse )
 			out.allocateSparseRowsBlock(false);
@@ -177,6 +194,10 @@ public class LibMatrixReorg
 		
 		//set meta data and allocate output arrays (if required)
 		out.nonZeros = in.nonZeros;
+		if( in.sparse && out.sparse && isCountingSortTranspose(in) ) {
+			transposeSparseToSparseCSR( in, out, k );
+			return out;
+		}
 		if( out.sparse )
 			out.allocateSparseRowsBlock(false);
 		else
@@ -184,7 +205,7 @@ public class LibMatrixReorg
 		
 		//core multi-threaded transpose
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			//pre-processing (compute nnz per column once for sparse)
 			int[] cnt = null;
 			if( in.sparse && out.sparse ) {
@@ -316,17 +337,43 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, new int[]{by}, desc, ixret, -1, 1);
+	}
+	
+	/**
+	 * CP sort (order) operation with multi-column keys, optional top-k, and
+	 * multi-threading. Rows are ordered by the given columns (with the first
+	 * column as primary key); the output is stable, i.e., rows with equal keys
+	 * retain their input order for both ascending and descending order.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix, with dimensions min(topk,rlen) x (ixret ? 1 : clen)
+	 * @param by 1-based order by columns
+	 * @param desc sort in descending order
+	 * @param ixret return the 1-based row indexes instead of the sorted data
+	 * @param topk number of leading rows to return, or -1 for all rows
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret, int topk, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
 		int rlen = in.rlen;
 		int clen = in.clen;
+		int rlen2 = (topk > 0) ? Math.min(topk, rlen) : rlen;
 		out.sparse = (in.sparse && !ixret);
-		out.nonZeros = ixret ? rlen : in.nonZeros;
+		out.nonZeros = ixret ? rlen2 : in.nonZeros;
 		
 		//step 1: error handling
-		if( by <= 0 || clen < by )
-			throw new DMLRuntimeException("Sort configuration issue: non-existing orderby column: "+by+" ("+rlen+"x"+clen+" input).");
+		if( by == null || by.length == 0 )
+			throw new DMLRuntimeException("Sort configuration issue: no order by columns specified.");
+		for( int c : by )
+			if( c <= 0 || clen < c )
+				throw new DMLRuntimeException("Sort configuration issue: non-existing orderby column: "+c+" ("+rlen+"x"+clen+" input).");
 		
 		//step 2: empty block / special case handling
 		if( !ixret ) //SORT DATA
@@ -334,10 +381,13 @@ public class LibMatrixReorg
 			if( in.isEmptyBlock(false) ) //EMPTY INPUT BLOCK
 				return out;
 			
-			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
+			if( !sparse && clen == 1 && rlen2 == rlen ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				if( k > 1 && rlen >= PAR_SORT_NUMROW_THRESHOLD )
+					sortDenseParallel(out.denseBlock, rlen, k);
+				else
+					Arrays.sort(out.denseBlock, 0, rlen);
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -347,45 +397,15 @@ public class LibMatrixReorg
 		{
 			if( in.isEmptyBlock(false) ) { //EMPTY INPUT BLOCK
 				out.allocateDenseBlock(false);
-				for( int i=0; i<rlen; i++ ) //seq(1,n)
+				for( int i=0; i<rlen2; i++ ) //seq(1,n)
 					out.setValueDenseUnsafe(i, 0, i+1);
 				return out;
 			}
 		}
 		
-		//step 3: index vector sorting
-		
-		//create index vector and extract values
-		int[] vix = new int[rlen];
-		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
-			}
-		}
+		//step 3: index vector sorting (stable, optionally top-k)
+		int[] vix = sortIndexes(in, by, desc, rlen2, 
+			(rlen >= PAR_SORT_NUMROW_THRESHOLD) ? k : 1);
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
 		if( !ixret )
@@ -394,25 +414,27 @@ public class LibMatrixReorg
 			if( !sparse ) //DENSE
 			{
 				out.allocateDenseBlock(false);
-				for( int i=0; i<rlen; i++ ) {
+				for( int i=0; i<rlen2; i++ ) {
 					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
 				}
 			}
 			else //SPARSE
 			{
 				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ )
+				for( int i=0; i<rlen2; i++ )
 					if( !in.sparseBlock.isEmpty(vix[i]) ) {
 						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
 							!SHALLOW_COPY_REORG); //row remains unchanged
 					}
 			}
+			if( rlen2 < rlen )
+				out.recomputeNonZeros();
 		}
 		else
 		{
 			//copy sorted index vector into result
 			out.allocateDenseBlock(false);
-			for( int i=0; i<rlen; i++ )
+			for( int i=0; i<rlen2; i++ )
 				out.setValueDenseUnsafe(i, 0, vix[i]+1);
 		}
 		
@@ -538,6 +560,37 @@ public class LibMatrixReorg
 			return removeEmptyColumns(in, ret, select);
 	}
 
+	/**
+	 * CP rmempty operation (single input, single output matrix), multi-threaded
+	 * over row partitions for sufficiently large inputs. The computation is done
+	 * in three phases: (1) determine non-empty rows/columns and per-partition 
+	 * counts, (2) compute output offsets via prefix sums, and (3) scatter all 
+	 * partitions into the output. Sparse outputs of rmempty rows share the rows
+	 * of MCSR inputs, similar to the single-threaded shallow copy.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows if true, remove empty rows; otherwise, remove empty columns
+	 * @param select optional selection vector, or null
+	 * @param k maximum parallelism
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+		throws DMLRuntimeException
+	{
+		//fallback to single-threaded rmempty for empty and small inputs, 
+		//or if concurrent updates of disjoint sparse output rows not thread-safe
+		if( k <= 1 || in.isEmptyBlock(false) || in.rlen < k 
+			|| (long)in.rlen*in.clen < PAR_NUMCELL_THRESHOLD || !MatrixBlock.isThreadSafe(true) )
+			return rmempty(in, ret, rows, select);
+		
+		if( rows )
+			return removeEmptyRows(in, ret, select, k);
+		else //cols
+			return removeEmptyColumns(in, ret, select, k);
+	}
+
 	/**
 	 * MR rmempty interface - for rmempty we cannot view blocks independently, and hence,
 	 * there are different CP and MR interfaces.
@@ -756,6 +809,10 @@ public class LibMatrixReorg
 			int ix = rl+cl; int len = ru+cu-ix-1;
 			System.arraycopy(a, ix, c, ix, len);
 		}
+		else if( CACHE_OBLIVIOUS_TRANSPOSE ) //MATRIX TRANSPOSE (recursive)
+		{
+			transposeDenseRec(a, c, n, n2, rl, ru, cl, cu);
+		}
 		else //MATRIX TRANSPOSE
 		{
 			//blocking according to typical L2 cache sizes 
@@ -778,6 +835,47 @@ public class LibMatrixReorg
 				}
 		}
 	}
+	
+	/**
+	 * Cache-oblivious dense transpose, which recursively splits the larger
+	 * dimension (at tile boundaries) until both dimensions fit into a base
+	 * tile. In contrast to fixed blocking, this achieves good cache line reuse
+	 * for all levels of the memory hierarchy and all input shapes.
+	 * 
+	 * @param a dense input array
+	 * @param c dense output array
+	 * @param n number of input columns
+	 * @param n2 number of output columns
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 * @param cl column lower bound
+	 * @param cu column upper bound
+	 */
+	private static void transposeDenseRec(double[] a, double[] c, int n, int n2, int rl, int ru, int cl, int cu) 
+	{
+		final int m = ru - rl;
+		final int len = cu - cl;
+		
+		if( m <= TRANSPOSE_TILE_SIZE && len <= TRANSPOSE_TILE_SIZE ) {
+			//core transpose operation of base tile
+			for( int i=rl, aix=rl*n+cl, cix=cl*n2+rl; i<ru; i++, aix+=n, cix++ )
+				transposeRow(a, c, aix, cix, n2, len);
+		}
+		else if( m >= len ) {
+			int mid = rl + alignToTile(m/2);
+			transposeDenseRec(a, c, n, n2, rl, mid, cl, cu);
+			transposeDenseRec(a, c, n, n2, mid, ru, cl, cu);
+		}
+		else {
+			int mid = cl + alignToTile(len/2);
+			transposeDenseRec(a, c, n, n2, rl, ru, cl, mid);
+			transposeDenseRec(a, c, n, n2, rl, ru, mid, cu);
+		}
+	}
+	
+	private static int alignToTile(int len) {
+		return (int)Math.ceil((double)len/TRANSPOSE_TILE_SIZE) * TRANSPOSE_TILE_SIZE;
+	}
 
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
@@ -883,6 +981,103 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static boolean isCountingSortTranspose(MatrixBlock in) {
+		//CSR output requires an int number of non-zeros
+		return CACHE_OBLIVIOUS_TRANSPOSE && in.nonZeros < Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Sparse-sparse transpose via a two-pass counting sort into a CSR block.
+	 * The input rows are split into partitions, for which the first pass counts
+	 * the non-zeros per column. Prefix sums over columns and partitions then
+	 * give the output row pointers and disjoint write positions per partition,
+	 * to which the second pass scatters the partitions in parallel. Since the
+	 * partitions are processed in row order, the output column indexes are sorted.
+	 * 
+	 * @param in sparse input matrix block
+	 * @param out sparse output matrix block
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void transposeSparseToSparseCSR(MatrixBlock in, MatrixBlock out, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		SparseBlock a = in.getSparseBlock();
+		
+		//row partitions, with partition counts bounded by the number of non-zeros
+		int numParts = (int) Math.max(Math.min(k, in.nonZeros/n), 1);
+		int blklen = (int)Math.ceil((double)m/numParts);
+		numParts = (int)Math.ceil((double)m/blklen);
+		int[][] pos = new int[numParts][];
+		
+		try {
+			ExecutorService pool = (numParts > 1) ? CommonThreadPool.get(numParts) : null;
+			
+			//pass 1: count non-zeros per column and partition
+			if( pool != null ) {
+				ArrayList<CountNnzTask> tasks = new ArrayList<CountNnzTask>();
+				for( int i=0; i<numParts; i++ )
+					tasks.add(new CountNnzTask(in, i*blklen, Math.min((i+1)*blklen, m), n));
+				List<Future<int[]>> rtasks = pool.invokeAll(tasks);
+				for( int i=0; i<numParts; i++ )
+					pos[i] = rtasks.get(i).get();
+			}
+			else
+				pos[0] = countNnzPerColumn(in, 0, m, n);
+			
+			//prefix sums of output row pointers and partition write positions
+			int[] rptr = new int[n+1];
+			for( int j=0; j<n; j++ ) {
+				int p = rptr[j];
+				for( int i=0; i<numParts; i++ ) {
+					int cnt = pos[i][j];
+					pos[i][j] = p;
+					p += cnt;
+				}
+				rptr[j+1] = p;
+			}
+			
+			//pass 2: scatter partitions into disjoint output positions
+			int nnz = rptr[n];
+			int[] cix = new int[nnz];
+			double[] cvals = new double[nnz];
+			if( pool != null ) {
+				ArrayList<TransposeCSRTask> tasks = new ArrayList<TransposeCSRTask>();
+				for( int i=0; i<numParts; i++ )
+					tasks.add(new TransposeCSRTask(a, i*blklen, Math.min((i+1)*blklen, m), pos[i], cix, cvals));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+			else
+				transposeSparseToCSR(a, 0, m, pos[0], cix, cvals);
+			
+			out.sparseBlock = new SparseBlockCSR(rptr, cix, cvals, nnz);
+			out.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void transposeSparseToCSR(SparseBlock a, int rl, int ru, int[] pos, int[] cix, double[] cvals) 
+	{
+		for( int i=rl; i<ru; i++ ) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			for( int j=apos; j<apos+alen; j++ ) {
+				int cpos = pos[aix[j]]++;
+				cix[cpos] = i;
+				cvals[cpos] = avals[j];
+			}
+		}
+	}
+
 	private static void transposeSparseToDense(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
 	{
@@ -962,10 +1157,14 @@ public class LibMatrixReorg
 	}
 
 	private static int[] countNnzPerColumn(MatrixBlock in, int rl, int ru) {
+		return countNnzPerColumn(in, rl, ru, 4096); //16KB
+	}
+	
+	private static int[] countNnzPerColumn(MatrixBlock in, int rl, int ru, int maxCols) {
 		//initial pass to determine capacity (this helps to prevent
 		//sparse row reallocations and mem inefficiency w/ skew
 		int[] cnt = null;
-		if( in.sparse && in.clen <= 4096 ) { //16KB
+		if( in.sparse && in.clen <= maxCols ) {
 			SparseBlock a = in.sparseBlock;
 			cnt = new int[in.clen];
 			for( int i=rl; i<ru; i++ ) {
@@ -1837,6 +2036,312 @@ public class LibMatrixReorg
 		return ret;
 	}
 
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException 
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		boolean[] flags = (select == null) ? new boolean[m] :
+			DataConverter.convertToBooleanVector(select);
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int blklen = (int)(Math.ceil((double)m/k));
+			
+			//Step 1: determine non-empty rows and counts per partition
+			ArrayList<RemoveEmptyRowsCountTask> tasks1 = new ArrayList<RemoveEmptyRowsCountTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks1.add(new RemoveEmptyRowsCountTask(in, flags, 
+					select==null, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Integer>> counts = pool.invokeAll(tasks1);
+			
+			//Step 2: prefix sums of counts as output row offsets
+			int[] offsets = new int[counts.size()];
+			int rlen2 = 0;
+			for( int i=0; i<counts.size(); i++ ) {
+				offsets[i] = rlen2;
+				rlen2 += counts.get(i).get();
+			}
+			
+			//reset result (see single-threaded removeEmptyRows)
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(Math.max(rlen2, 1), n, in.nonZeros);
+			ret.reset(Math.max(rlen2, 1), n, sp);
+			if( SHALLOW_COPY_REORG && m == rlen2 ) {
+				pool.shutdown();
+				ret.sparse = in.sparse;
+				if( ret.sparse )
+					ret.sparseBlock = in.sparseBlock;
+				else
+					ret.denseBlock = in.denseBlock;
+				ret.nonZeros = in.nonZeros;
+				return ret;
+			}
+			
+			//Step 3: scatter row partitions into output
+			long nnz = 0;
+			if( rlen2 > 0 ) {
+				ret.allocateDenseOrSparseBlock();
+				ArrayList<RemoveEmptyRowsTask> tasks3 = new ArrayList<RemoveEmptyRowsTask>();
+				for( int i=0; i<tasks1.size(); i++ )
+					tasks3.add(new RemoveEmptyRowsTask(in, ret, flags, 
+						i*blklen, Math.min((i+1)*blklen, m), offsets[i]));
+				for( Future<Long> task : pool.invokeAll(tasks3) )
+					nnz += task.get();
+			}
+			pool.shutdown();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//check sparsity
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	private static int removeEmptyRowsCount(MatrixBlock in, boolean[] flags, boolean scan, int rl, int ru) 
+	{
+		final int n = in.clen;
+		int cnt = 0;
+		if( !scan ) { //SELECT
+			for( int i=rl; i<ru; i++ )
+				cnt += flags[i] ? 1 : 0;
+		}
+		else if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				cnt += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
+		}
+		else { //DENSE
+			double[] a = in.denseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				for( int j=0; j<n; j++ )
+					if( a[aix+j] != 0 ) {
+						flags[i] = true;
+						cnt++;
+						break; //early abort for current row
+					}
+		}
+		return cnt;
+	}
+
+	private static long removeEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int cl) 
+	{
+		final int n = in.clen;
+		long nnz = 0;
+		int ci = cl; //output row index
+		
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			if( ret.sparse ) { //SPARSE <- SPARSE (shared rows)
+				SparseBlock c = ret.sparseBlock;
+				for( int i=rl; i<ru; i++ )
+					if( flags[i] ) {
+						if( !a.isEmpty(i) ) {
+							c.set(ci, a.get(i), !SHALLOW_COPY_REORG);
+							nnz += a.size(i);
+						}
+						ci++;
+					}
+			}
+			else { //DENSE <- SPARSE
+				double[] c = ret.denseBlock;
+				for( int i=rl; i<ru; i++ )
+					if( flags[i] ) {
+						if( !a.isEmpty(i) ) {
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							for( int j=apos; j<apos+alen; j++ )
+								c[ci*n+aix[j]] = avals[j];
+							nnz += alen;
+						}
+						ci++;
+					}
+			}
+		}
+		else if( !ret.sparse ) //DENSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			double[] c = ret.denseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					System.arraycopy(a, aix, c, ci*n, n);
+					ci++;
+				}
+			if( ci > cl )
+				nnz = ret.recomputeNonZeros(cl, ci-1, 0, n-1);
+		}
+		else //SPARSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					for( int j=0; j<n; j++ )
+						if( a[aix+j] != 0 ) {
+							c.append(ci, j, a[aix+j]);
+							nnz++;
+						}
+					ci++;
+				}
+		}
+		
+		return nnz;
+	}
+
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException 
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int blklen = (int)(Math.ceil((double)m/k));
+			
+			//Step 1: determine non-empty columns (partial flags per partition)
+			boolean[] flags = null;
+			if( select == null ) {
+				flags = new boolean[n];
+				ArrayList<RemoveEmptyColsFlagTask> tasks1 = new ArrayList<RemoveEmptyColsFlagTask>();
+				for( int i=0; i<k & i*blklen<m; i++ )
+					tasks1.add(new RemoveEmptyColsFlagTask(in, i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<boolean[]> task : pool.invokeAll(tasks1) ) {
+					boolean[] lflags = task.get();
+					for( int j=0; j<n; j++ )
+						flags[j] |= lflags[j];
+				}
+			}
+			else {
+				flags = DataConverter.convertToBooleanVector(select);
+			}
+			
+			//Step 2: prefix sums of flags as output column indexes
+			int[] cix = new int[n];
+			int clen2 = 0;
+			for( int j=0; j<n; j++ ) {
+				cix[j] = clen2;
+				clen2 += flags[j] ? 1 : 0;
+			}
+			
+			//reset result (see single-threaded removeEmptyColumns)
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(m, Math.max(clen2, 1), in.nonZeros);
+			ret.reset(m, Math.max(clen2, 1), sp);
+			if( SHALLOW_COPY_REORG && n == clen2 ) {
+				pool.shutdown();
+				ret.sparse = in.sparse;
+				if( ret.sparse )
+					ret.sparseBlock = in.sparseBlock;
+				else
+					ret.denseBlock = in.denseBlock;
+				ret.nonZeros = in.nonZeros;
+				return ret;
+			}
+			
+			//Step 3: scatter row partitions into output
+			long nnz = 0;
+			if( clen2 > 0 ) {
+				ret.allocateDenseOrSparseBlock();
+				ArrayList<RemoveEmptyColsTask> tasks3 = new ArrayList<RemoveEmptyColsTask>();
+				for( int i=0; i<k & i*blklen<m; i++ )
+					tasks3.add(new RemoveEmptyColsTask(in, ret, flags, cix, 
+						i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<Long> task : pool.invokeAll(tasks3) )
+					nnz += task.get();
+			}
+			pool.shutdown();
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//check sparsity
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	private static boolean[] removeEmptyColumnsFlags(MatrixBlock in, int rl, int ru) 
+	{
+		final int n = in.clen;
+		boolean[] flags = new boolean[n];
+		if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else { //DENSE
+			double[] a = in.denseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++ )
+				for( int j=0; j<n; j++, aix++ )
+					if( a[aix] != 0 )
+						flags[j] = true;
+		}
+		return flags;
+	}
+
+	private static long removeEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) 
+	{
+		final int n = in.clen;
+		final int clen2 = ret.clen;
+		long nnz = 0;
+		
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						if( flags[aix[j]] && avals[j] != 0 ) {
+							if( ret.sparse )
+								ret.sparseBlock.append(i, cix[aix[j]], avals[j]);
+							else
+								ret.denseBlock[i*clen2+cix[aix[j]]] = avals[j];
+							nnz++;
+						}
+				}
+		}
+		else if( !ret.sparse ) //DENSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			double[] c = ret.denseBlock;
+			for( int i=rl, aix=rl*n, lcix=rl*clen2; i<ru; i++, lcix+=clen2 )
+				for( int j=0; j<n; j++, aix++ )
+					if( flags[j] )
+						c[ lcix+cix[j] ] = a[aix];
+			nnz = ret.recomputeNonZeros(rl, ru-1, 0, clen2-1);
+		}
+		else //SPARSE <- DENSE
+		{
+			double[] a = in.denseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++ )
+				for( int j=0; j<n; j++, aix++ )
+					if( flags[j] && a[aix] != 0 ) {
+						c.append(i, cix[j], a[aix]);
+						nnz++;
+					}
+		}
+		
+		return nnz;
+	}
+
 	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) 
 		throws DMLRuntimeException
 	{
@@ -1906,7 +2411,7 @@ public class LibMatrixReorg
 		}
 		else {
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<RExpandColsTask> tasks = new ArrayList<RExpandColsTask>();
 				int blklen = (int)(Math.ceil((double)rlen/k/8));
 				for( int i=0; i<8*k & i*blklen<rlen; i++ )
@@ -1999,25 +2504,301 @@ public class LibMatrixReorg
 		}
 	}
 
-	private static void sortReverseDense( int[] a )
+	/**
+	 * Stable sort of row indexes by the given order by columns. The rows are
+	 * split into k partitions, which are independently sorted (quicksort on the
+	 * primary key and ordered fix-ups of runs of equal keys) and then merged 
+	 * pairwise in parallel rounds. In top-k mode, partitions that are much
+	 * larger than k instead select their top-k rows via bounded heaps, and only
+	 * the union of candidates is sorted.
+	 * 
+	 * @param in input matrix
+	 * @param by 1-based order by columns
+	 * @param desc sort in descending order
+	 * @param topk number of leading rows to return
+	 * @param k degree of parallelism
+	 * @return sorted 0-based row indexes of length topk
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static int[] sortIndexes(MatrixBlock in, int[] by, boolean desc, int topk, int k) 
+		throws DMLRuntimeException
 	{
-		int rlen = a.length;
+		final int m = in.rlen;
+		SortKeys keys = new SortKeys(in, by, desc, m);
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		//row partitions (aligned to the number of threads)
+		int blklen = (int)Math.ceil((double)m/k);
+		int numParts = (int)Math.ceil((double)m/blklen);
+		boolean heap = (topk < m && (long)topk * 8 < blklen);
+		int[] bnd = new int[numParts+1];
+		for( int i=0; i<numParts; i++ )
+			bnd[i+1] = Math.min((i+1)*blklen, m);
+		
+		try {
+			ExecutorService pool = (numParts > 1) ? CommonThreadPool.get(numParts) : null;
+			
+			//sort or select top-k per partition
+			ArrayList<SortPartitionTask> tasks = new ArrayList<SortPartitionTask>();
+			for( int i=0; i<numParts; i++ )
+				tasks.add(new SortPartitionTask(keys, bnd[i], bnd[i+1], heap ? topk : -1));
+			int[] cnt = new int[numParts];
+			if( pool != null ) {
+				List<Future<Integer>> rtasks = pool.invokeAll(tasks);
+				for( int i=0; i<numParts; i++ )
+					cnt[i] = rtasks.get(i).get();
+			}
+			else
+				cnt[0] = tasks.get(0).call();
+			
+			if( heap ) {
+				//sort the union of top-k candidates
+				int len = 0;
+				for( int c : cnt )
+					len += c;
+				SortKeys ckeys = new SortKeys(keys, len);
+				for( int i=0, pos=0; i<numParts; i++ ) {
+					System.arraycopy(keys.values, bnd[i], ckeys.values, pos, cnt[i]);
+					System.arraycopy(keys.vix, bnd[i], ckeys.vix, pos, cnt[i]);
+					pos += cnt[i];
+				}
+				keys = ckeys;
+				bnd = new int[]{0, len};
+				ckeys.sort(0, len);
+			}
+			else if( numParts > 1 ) {
+				//pairwise merge of sorted partitions in parallel rounds
+				double[] values2 = new double[m];
+				int[] vix2 = new int[m];
+				while( bnd.length > 2 ) {
+					ArrayList<MergeSortedTask> mtasks = new ArrayList<MergeSortedTask>();
+					int[] bnd2 = new int[(bnd.length)/2+1];
+					for( int i=0; i<bnd.length-1; i+=2 ) {
+						int mid = bnd[Math.min(i+1, bnd.length-1)];
+						int ru = bnd[Math.min(i+2, bnd.length-1)];
+						mtasks.add(new MergeSortedTask(keys, values2, vix2, bnd[i], mid, ru));
+						bnd2[i/2+1] = ru;
+					}
+					for( Future<Object> task : pool.invokeAll(mtasks) )
+						task.get();
+					keys.swap(values2, vix2);
+					values2 = keys.values2; vix2 = keys.vix2;
+					bnd = bnd2;
+				}
+			}
+			
+			if( pool != null )
+				pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
 		}
+		
+		return (topk < keys.vix.length) ? 
+			Arrays.copyOf(keys.vix, topk) : keys.vix;
 	}
 
-	private static void sortReverseDense( double[] a )
+	private static void sortDenseParallel(double[] a, int len, int k) 
+		throws DMLRuntimeException
 	{
-		int rlen = a.length;
+		//partitions (aligned to the number of threads)
+		int blklen = (int)Math.ceil((double)len/k);
+		int numParts = (int)Math.ceil((double)len/blklen);
+		int[] bnd = new int[numParts+1];
+		for( int i=0; i<numParts; i++ )
+			bnd[i+1] = Math.min((i+1)*blklen, len);
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		try {
+			ExecutorService pool = CommonThreadPool.get(numParts);
+			
+			//sort partitions
+			ArrayList<SortDensePartitionTask> tasks = new ArrayList<SortDensePartitionTask>();
+			for( int i=0; i<numParts; i++ )
+				tasks.add(new SortDensePartitionTask(a, bnd[i], bnd[i+1]));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//pairwise merge of sorted partitions in parallel rounds
+			double[] src = a;
+			double[] dst = new double[len];
+			while( bnd.length > 2 ) {
+				ArrayList<MergeSortedDenseTask> mtasks = new ArrayList<MergeSortedDenseTask>();
+				int[] bnd2 = new int[(bnd.length)/2+1];
+				for( int i=0; i<bnd.length-1; i+=2 ) {
+					int mid = bnd[Math.min(i+1, bnd.length-1)];
+					int ru = bnd[Math.min(i+2, bnd.length-1)];
+					mtasks.add(new MergeSortedDenseTask(src, dst, bnd[i], mid, ru));
+					bnd2[i/2+1] = ru;
+				}
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				double[] tmp = src; src = dst; dst = tmp;
+				bnd = bnd2;
+			}
+			if( src != a )
+				System.arraycopy(src, 0, a, 0, len);
+			
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Sort keys of rows with lock-step primary key values and row indexes,
+	 * as well as secondary keys in original row order.
+	 */
+	private static class SortKeys
+	{
+		private final boolean _desc;
+		private final double[][] _skeys;   //secondary keys (by row)
+		private final double[][] _scratch; //run keys per secondary level
+		private double[] values;           //primary key
+		private int[] vix;                 //row indexes
+		private double[] values2 = null;   //previous buffers after swap
+		private int[] vix2 = null;
+		
+		protected SortKeys(MatrixBlock in, int[] by, boolean desc, int len) {
+			_desc = desc;
+			_skeys = new double[by.length-1][len];
+			_scratch = new double[by.length-1][len];
+			values = new double[len];
+			vix = new int[len];
+			//extract primary and secondary keys
+			for( int i=0; i<len; i++ ) {
+				vix[i] = i;
+				values[i] = in.quickGetValue(i, by[0]-1);
+				for( int j=0; j<_skeys.length; j++ )
+					_skeys[j][i] = in.quickGetValue(i, by[j+1]-1);
+			}
+		}
+		
+		protected SortKeys(SortKeys that, int len) {
+			_desc = that._desc;
+			_skeys = that._skeys;
+			_scratch = new double[_skeys.length][len];
+			values = new double[len];
+			vix = new int[len];
+		}
+		
+		protected void swap(double[] values2, int[] vix2) {
+			this.values2 = values;
+			this.vix2 = vix;
+			values = values2;
+			vix = vix2;
+		}
+		
+		protected boolean lessThan(double v1, int i1, double v2, int i2) {
+			int c = compare(v1, v2);
+			for( int j=0; c==0 && j<_skeys.length; j++ )
+				c = compare(_skeys[j][i1], _skeys[j][i2]);
+			//total order w/ row indexes for stable output
+			return (c != 0) ? (_desc ? c > 0 : c < 0) : i1 < i2;
+		}
+		
+		protected void sort(int rl, int ru) {
+			SortUtils.sortByValue(rl, ru, values, vix);
+			if( _desc )
+				reverse(values, vix, rl, ru);
+			sortRuns(values, rl, ru, 0);
+		}
+		
+		private void sortRuns(double[] keys, int rl, int ru, int level) {
+			for( int i=rl; i<ru-1; i++ ) {
+				//determine run of equal keys
+				int len = 0;
+				while( i+len+1<ru && keys[i]==keys[i+len+1] )
+					len++;
+				if( len>0 ) {
+					int ru2 = i+len+1;
+					if( level < _skeys.length ) {
+						//sort run by next key
+						double[] tmp = _scratch[level];
+						for( int j=i; j<ru2; j++ )
+							tmp[j] = _skeys[level][vix[j]];
+						SortUtils.sortByValue(i, ru2, tmp, vix);
+						if( _desc )
+							reverse(tmp, vix, i, ru2);
+						sortRuns(tmp, i, ru2, level+1);
+					}
+					else //sort run by row index
+						Arrays.sort(vix, i, ru2);
+					i += len; //skip processed run
+				}
+			}
+		}
+		
+		protected int selectTopK(int rl, int ru, int topk) {
+			//bounded heap in [rl, rl+topk) with the last candidate at the root
+			int len = 0;
+			for( int i=rl; i<ru; i++ ) {
+				if( len < topk ) {
+					values[rl+len] = values[i];
+					vix[rl+len] = vix[i];
+					siftUp(rl, len++);
+				}
+				else if( lessThan(values[i], vix[i], values[rl], vix[rl]) ) {
+					values[rl] = values[i];
+					vix[rl] = vix[i];
+					siftDown(rl, 0, len);
+				}
+			}
+			return len;
+		}
+		
+		private void siftUp(int off, int pos) {
+			while( pos > 0 ) {
+				int parent = (pos-1)/2;
+				if( !lessThan(values[off+parent], vix[off+parent], values[off+pos], vix[off+pos]) )
+					break;
+				swap(off+parent, off+pos);
+				pos = parent;
+			}
+		}
+		
+		private void siftDown(int off, int pos, int len) {
+			while( 2*pos+1 < len ) {
+				int child = 2*pos+1;
+				if( child+1 < len && lessThan(values[off+child], vix[off+child], values[off+child+1], vix[off+child+1]) )
+					child++;
+				if( !lessThan(values[off+pos], vix[off+pos], values[off+child], vix[off+child]) )
+					break;
+				swap(off+pos, off+child);
+				pos = child;
+			}
+		}
+		
+		private void swap(int i, int j) {
+			double tmp = values[i]; values[i] = values[j]; values[j] = tmp;
+			int tmp2 = vix[i]; vix[i] = vix[j]; vix[j] = tmp2;
+		}
+		
+		protected void merge(double[] values2, int[] vix2, int rl, int mid, int ru) {
+			int i = rl, j = mid, pos = rl;
+			while( i < mid && j < ru ) {
+				if( lessThan(values[j], vix[j], values[i], vix[i]) ) {
+					values2[pos] = values[j]; vix2[pos++] = vix[j++];
+				}
+				else {
+					values2[pos] = values[i]; vix2[pos++] = vix[i++];
+				}
+			}
+			System.arraycopy(values, i, values2, pos, mid-i);
+			System.arraycopy(vix, i, vix2, pos, mid-i);
+			pos += mid-i;
+			System.arraycopy(values, j, values2, pos, ru-j);
+			System.arraycopy(vix, j, vix2, pos, ru-j);
+		}
+		
+		private static int compare(double a, double b) {
+			return (a < b) ? -1 : (a > b) ? 1 : 0;
+		}
+		
+		private static void reverse(double[] a, int[] b, int rl, int ru) {
+			for( int i=rl, j=ru-1; i<j; i++, j-- ) {
+				double tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+				int tmp2 = b[i]; b[i] = b[j]; b[j] = tmp2;
+			}
 		}
 	}
 
@@ -2148,21 +2929,147 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static class SortPartitionTask implements Callable<Integer>
+	{
+		private final SortKeys _keys;
+		private final int _rl;
+		private final int _ru;
+		private final int _topk;
+		
+		protected SortPartitionTask(SortKeys keys, int rl, int ru, int topk) {
+			_keys = keys;
+			_rl = rl;
+			_ru = ru;
+			_topk = topk;
+		}
+		
+		@Override
+		public Integer call() {
+			if( _topk > 0 )
+				return _keys.selectTopK(_rl, _ru, _topk);
+			_keys.sort(_rl, _ru);
+			return _ru - _rl;
+		}
+	}
+	
+	private static class MergeSortedTask implements Callable<Object>
+	{
+		private final SortKeys _keys;
+		private final double[] _values2;
+		private final int[] _vix2;
+		private final int _rl;
+		private final int _mid;
+		private final int _ru;
+		
+		protected MergeSortedTask(SortKeys keys, double[] values2, int[] vix2, int rl, int mid, int ru) {
+			_keys = keys;
+			_values2 = values2;
+			_vix2 = vix2;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			_keys.merge(_values2, _vix2, _rl, _mid, _ru);
+			return null;
+		}
+	}
+	
+	private static class SortDensePartitionTask implements Callable<Object>
+	{
+		private final double[] _a;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SortDensePartitionTask(double[] a, int rl, int ru) {
+			_a = a;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			Arrays.sort(_a, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class MergeSortedDenseTask implements Callable<Object>
+	{
+		private final double[] _a;
+		private final double[] _c;
+		private final int _rl;
+		private final int _mid;
+		private final int _ru;
+		
+		protected MergeSortedDenseTask(double[] a, double[] c, int rl, int mid, int ru) {
+			_a = a;
+			_c = c;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			//merge w/ the total order of Arrays.sort (-0.0 before 0.0, NaN last)
+			int i = _rl, j = _mid, pos = _rl;
+			while( i < _mid && j < _ru )
+				_c[pos++] = (Double.compare(_a[j], _a[i]) < 0) ? _a[j++] : _a[i++];
+			System.arraycopy(_a, i, _c, pos, _mid-i);
+			System.arraycopy(_a, j, _c, pos+_mid-i, _ru-j);
+			return null;
+		}
+	}
+	
 	private static class CountNnzTask implements Callable<int[]>
 	{
 		private MatrixBlock _in = null;
 		private int _rl = -1;
 		private int _ru = -1;
+		private int _maxCols = -1;
 
 		protected CountNnzTask(MatrixBlock in, int rl, int ru) {
+			this(in, rl, ru, 4096);
+		}
+		
+		protected CountNnzTask(MatrixBlock in, int rl, int ru, int maxCols) {
 			_in = in;
 			_rl = rl;
 			_ru = ru;
+			_maxCols = maxCols;
 		}
 		
 		@Override
 		public int[] call() throws DMLRuntimeException {
-			return countNnzPerColumn(_in, _rl, _ru);
+			return countNnzPerColumn(_in, _rl, _ru, _maxCols);
+		}
+	}
+	
+	private static class TransposeCSRTask implements Callable<Object>
+	{
+		private final SparseBlock _a;
+		private final int _rl;
+		private final int _ru;
+		private final int[] _pos;
+		private final int[] _cix;
+		private final double[] _cvals;
+		
+		protected TransposeCSRTask(SparseBlock a, int rl, int ru, int[] pos, int[] cix, double[] cvals) {
+			_a = a;
+			_rl = rl;
+			_ru = ru;
+			_pos = pos;
+			_cix = cix;
+			_cvals = cvals;
+		}
+		
+		@Override
+		public Object call() {
+			transposeSparseToCSR(_a, _rl, _ru, _pos, _cix, _cvals);
+			return null;
 		}
 	}
 	
@@ -2191,4 +3098,92 @@ public class LibMatrixReorg
 			return rexpandColumns(_in, _out, _max, _cast, _ignore, _rl, _ru);
 		}
 	}
+	
+	private static class RemoveEmptyRowsCountTask implements Callable<Integer>
+	{
+		private final MatrixBlock _in;
+		private final boolean[] _flags;
+		private final boolean _scan;
+		private final int _rl;
+		private final int _ru;
+
+		protected RemoveEmptyRowsCountTask(MatrixBlock in, boolean[] flags, boolean scan, int rl, int ru) {
+			_in = in;
+			_flags = flags;
+			_scan = scan;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Integer call() {
+			return removeEmptyRowsCount(_in, _flags, _scan, _rl, _ru);
+		}
+	}
+	
+	private static class RemoveEmptyRowsTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final boolean[] _flags;
+		private final int _rl;
+		private final int _ru;
+		private final int _cl;
+
+		protected RemoveEmptyRowsTask(MatrixBlock in, MatrixBlock out, boolean[] flags, int rl, int ru, int cl) {
+			_in = in;
+			_out = out;
+			_flags = flags;
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+		}
+		
+		@Override
+		public Long call() {
+			return removeEmptyRows(_in, _out, _flags, _rl, _ru, _cl);
+		}
+	}
+	
+	private static class RemoveEmptyColsFlagTask implements Callable<boolean[]>
+	{
+		private final MatrixBlock _in;
+		private final int _rl;
+		private final int _ru;
+
+		protected RemoveEmptyColsFlagTask(MatrixBlock in, int rl, int ru) {
+			_in = in;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public boolean[] call() {
+			return removeEmptyColumnsFlags(_in, _rl, _ru);
+		}
+	}
+	
+	private static class RemoveEmptyColsTask implements Callable<Long>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final boolean[] _flags;
+		private final int[] _cix;
+		private final int _rl;
+		private final int _ru;
+
+		protected RemoveEmptyColsTask(MatrixBlock in, MatrixBlock out, boolean[] flags, int[] cix, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_flags = flags;
+			_cix = cix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return removeEmptyColumns(_in, _out, _flags, _cix, _rl, _ru);
+		}
+	}
 }
@@ -27,6 +27,7 @@ import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -124,6 +125,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	//matrix data (sparse or dense)
 	protected double[] denseBlock    = null;
 	protected SparseBlock sparseBlock = null;
+	
+	//dense matrix data beyond 2^31 cells (off-heap, instead of denseBlock)
+	protected DenseBlockOffHeap denseBlockOffHeap = null;
 		
 	//sparse-block-specific attributes (allocation only)
 	protected int estimatedNNzsPerRow = -1; 
@@ -172,6 +176,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparseBlock = sblock;
 	}
 	
+	/**
+	 * Constructs a dense {@link MatrixBlock} with a given instance of a {@link DenseBlockOffHeap},
+	 * which is converted into an in-memory dense block if it does not exceed 2^31 cells.
+	 * 
+	 * @param dblock off-heap dense block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock(DenseBlockOffHeap dblock) 
+		throws DMLRuntimeException 
+	{
+		this(dblock.getNumRows(), dblock.getNumColumns(), false);
+		setDenseBlockOffHeap(dblock);
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -257,6 +275,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	private void resetDense(double val) {
+		//handle to off-heap dense block (reused for equal dimensions)
+		if( denseBlockOffHeap != null && (denseBlockOffHeap.getNumRows() != rlen
+			|| denseBlockOffHeap.getNumColumns() != clen) )
+			cleanupBlock(true, false);
+		
 		//handle to dense block allocation
 		if( denseBlock != null && denseBlock.length<rlen*clen && val==0)
 			denseBlock = null;
@@ -266,6 +289,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//reset dense block to given value 
 		if( denseBlock != null )
 			Arrays.fill(denseBlock, 0, rlen*clen, val);
+		else if( denseBlockOffHeap != null )
+			denseBlockOffHeap.fill(val);
 	}
 	
 	/**
@@ -321,7 +346,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public boolean isAllocated() {
 		return sparse ? (sparseBlock!=null)
-			: (denseBlock!=null);
+			: (denseBlock!=null || denseBlockOffHeap!=null);
 	}
 
 	public void allocateDenseBlock() {
@@ -339,19 +364,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
+		//allocate off-heap block beyond 2^31 cells (16GB dense), since java arrays are 
+		//limited to 2^(32-1) elements; reused if existing w/ equal dimensions
 		if( limit > Integer.MAX_VALUE ) {
-			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") "
-				+ "exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). "
-				+ "Please, report this issue and reduce the JVM heapsize to execute "
-				+ "this operation in "+execType+".");
+			if( denseBlockOffHeap == null || denseBlockOffHeap.getNumRows() != rlen 
+				|| denseBlockOffHeap.getNumColumns() != clen ) {
+				cleanupBlock(true, false);
+				denseBlockOffHeap = new DenseBlockOffHeap(rlen, clen);
+			}
+			if( clearNNZ )
+				nonZeros = 0;
+			sparse = false;
+			return;
 		}
 		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
 		if(denseBlock == null || denseBlock.length < limit) {
 			denseBlock = new double[(int)limit];
 		}
+		if( denseBlockOffHeap != null )
+			cleanupBlock(true, false);
 		
 		//clear nnz if necessary
 		if( clearNNZ ) {
@@ -426,8 +458,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 * @param sparse if true, set sparse block to null
 	 */
 	public void cleanupBlock( boolean dense, boolean sparse ) {
-		if(dense)
+		if(dense) {
 			denseBlock = null;
+			if( denseBlockOffHeap != null )
+				denseBlockOffHeap.free();
+			denseBlockOffHeap = null;
+		}
 		if(sparse)
 			sparseBlock = null;
 	}
@@ -484,7 +520,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		boolean ret = false;
 		if( sparse && sparseBlock==null )
 			ret = true;
-		else if( !sparse && denseBlock==null ) 	
+		else if( !sparse && denseBlock==null && denseBlockOffHeap==null ) 	
 			ret = true;
 		if( nonZeros==0 )
 		{
@@ -513,6 +549,44 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return denseBlock;
 	}
 	
+	/**
+	 * Get the off-heap dense block, which is only allocated for 
+	 * dense blocks beyond 2^31 cells instead of the dense double array.
+	 * 
+	 * @return off-heap dense block, or null if not allocated
+	 */
+	public DenseBlockOffHeap getDenseBlockOffHeap() {
+		if( sparse )
+			return null;
+		return denseBlockOffHeap;
+	}
+	
+	/**
+	 * Sets the given off-heap dense block and its number of non-zeros, 
+	 * which is converted into an in-memory dense block if it does not 
+	 * exceed 2^31 cells.
+	 * 
+	 * @param dblock off-heap dense block of equal dimensions
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public void setDenseBlockOffHeap(DenseBlockOffHeap dblock) 
+		throws DMLRuntimeException 
+	{
+		if( dblock.getNumRows() != rlen || dblock.getNumColumns() != clen )
+			throw new RuntimeException("Invalid dimensions of off-heap dense block: "
+				+dblock.getNumRows()+"x"+dblock.getNumColumns()+" vs "+rlen+"x"+clen);
+		cleanupBlock(true, true);
+		sparse = false;
+		if( dblock.getLength() > Integer.MAX_VALUE ) {
+			denseBlockOffHeap = dblock;
+			nonZeros = dblock.getNonZeros();
+		}
+		else {
+			copy(dblock.toMatrixBlock(), false);
+			dblock.free();
+		}
+	}
+	
 	public SparseBlock getSparseBlock() {
 		if( !sparse )
 			return null;
@@ -578,6 +652,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else
 		{
+			if( denseBlockOffHeap!=null )
+				return denseBlockOffHeap.get(r, c);
 			if( denseBlock==null )
 				return 0;
 			return denseBlock[r*clen+c]; 
@@ -603,13 +679,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			//early abort
-			if( denseBlock==null && v==0 )
+			if( denseBlock==null && denseBlockOffHeap==null && v==0 )
 				return;		
 			
 			//allocate and init dense block (w/o overwriting nnz)
 			allocateDenseBlock(false);
 			
-			//set value and maintain nnz
+			//set value and maintain nnz (off-heap beyond 2^31 cells)
+			if( denseBlockOffHeap!=null ) {
+				double old = denseBlockOffHeap.get(r, c);
+				denseBlockOffHeap.set(r, c, v);
+				nonZeros += ((v!=0) ? 1 : 0) - ((old!=0) ? 1 : 0);
+				return;
+			}
 			int index=r*clen+c;
 			if( denseBlock[index]==0 )
 				nonZeros++;
@@ -683,6 +765,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
+	/**
+	 * Append value without nnz maintenance, e.g., for multi-threaded
+	 * operations over disjoint row ranges, where the caller maintains
+	 * the nnz. This requires an allocated dense block or sparse block.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @param v value
+	 */
+	public void appendValuePlain(int r, int c, double v)
+	{
+		//early abort (append guarantees no overwrite)
+		if( v == 0 ) 
+			return;
+		
+		if( !sparse ) //DENSE 
+			denseBlock[r*clen+c] = v;
+		else { //SPARSE
+			sparseBlock.allocate(r, estimatedNNzsPerRow, clen);
+			sparseBlock.append(r, c, v);
+		}
+	}
+
 	public void appendRow(int r, SparseRow row) {
 		appendRow(r, row, true);
 	}
@@ -1081,13 +1186,35 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparse = true;
 		
 		//early abort on empty blocks
-		if(denseBlock==null)
+		if(denseBlock==null && denseBlockOffHeap==null)
 			return;
 		
 		//allocate sparse target block (reset required to maintain nnz again)
 		allocateSparseRowsBlock();
 		reset();
 		
+		//copy off-heap dense to sparse, row-wise over allocated segments
+		if( denseBlockOffHeap != null ) {
+			DenseBlockOffHeap a = denseBlockOffHeap;
+			long nnz = 0;
+			for( int i=0; i<rlen; i++ ) {
+				if( !a.isAllocated(i) )
+					continue;
+				DoubleBuffer avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<clen; j++ ) {
+					double val = avals.get(aix+j);
+					if( val != 0 ) {
+						sparseBlock.append(i, j, val);
+						nnz++;
+					}
+				}
+			}
+			nonZeros = nnz;
+			cleanupBlock(true, false);
+			return;
+		}
+		
 		//copy dense to sparse with (1) row pre-allocation to avoid repeated 
 		//allocation on append, and (2) nnz re-computation 
 		double[] a = denseBlock;
@@ -1137,6 +1264,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if(sparseBlock==null)
 			return;
 		
+		//copy sparse to off-heap dense beyond 2^31 cells
+		if( (long)rlen*clen > Integer.MAX_VALUE ) {
+			allocateDenseBlock(false);
+			denseBlockOffHeap.reset();
+			SparseBlock a = sparseBlock;
+			for( int i=0; i<rlen; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					denseBlockOffHeap.set(i, aix[j], avals[j]);
+			}
+			denseBlockOffHeap.setNonZeros(nonZeros);
+			sparseBlock = null;
+			return;
+		}
+		
 		int limit=rlen*clen;
 		if ( limit < 0 ) {
 			throw new DMLRuntimeException("Unexpected error in sparseToDense().. limit < 0: " + rlen + ", " + clen + ", " + limit);
@@ -1180,6 +1327,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//note: rlen might be <= sparseBlock.numRows()
 			nonZeros = sparseBlock.size(0, sparseBlock.numRows());
 		}
+		else if( !sparse && denseBlockOffHeap!=null ) { //DENSE OFF-HEAP (max long)
+			nonZeros = denseBlockOffHeap.recomputeNonZeros();
+		}
 		else if( !sparse && denseBlock!=null ) { //DENSE (max int)
 			double[] a = denseBlock;
 			final int limit=rlen*clen;
@@ -1337,6 +1487,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 				Arrays.fill(denseBlock, 0, limit, 0);
+			else if(denseBlockOffHeap!=null)
+				denseBlockOffHeap.reset();
+			return;
+		}
+		
+		//copy of off-heap dense block beyond 2^31 cells
+		if( that.denseBlockOffHeap != null ) {
+			allocateDenseBlock(false);
+			denseBlockOffHeap.copy(that.denseBlockOffHeap);
 			return;
 		}
 		
@@ -1386,7 +1545,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		
 		allocateSparseRowsBlock(false);
-	
+
+		//copy of off-heap dense block beyond 2^31 cells
+		if( that.denseBlockOffHeap != null ) {
+			DenseBlockOffHeap a = that.denseBlockOffHeap;
+			for( int i=0; i<rlen; i++ ) {
+				sparseBlock.reset(i, estimatedNNzsPerRow, clen);
+				if( !a.isAllocated(i) )
+					continue;
+				DoubleBuffer avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<clen; j++ ) {
+					double val = avals.get(aix+j);
+					if( val != 0 ) {
+						sparseBlock.allocate(i, estimatedNNzsPerRow, clen);
+						sparseBlock.append(i, j, val);
+					}
+				}
+			}
+			return;
+		}
+
 		for(int i=0, ix=0; i<rlen; i++)
 		{			
 			sparseBlock.reset(i, estimatedNNzsPerRow, clen);
@@ -2611,6 +2790,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		MatrixBlock ret = checkType(result);
 		
+		//scalar operations over off-heap dense blocks (off-heap output)
+		if( denseBlockOffHeap != null && !sparse ) {
+			DenseBlockOffHeap tmp = LibMatrixBincell.bincellOp(
+				denseBlockOffHeap, op, op.getNumThreads());
+			return setDenseBlockOffHeapResult(ret, tmp);
+		}
+		
 		// estimate the sparsity structure of result matrix
 		boolean sp = this.sparse; // by default, we guess result.sparsity=input.sparsity
 		if (!op.sparseSafe)
@@ -2623,7 +2809,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		LibMatrixBincell.bincellOp(this, ret, op, op.getNumThreads());
 		
 		return ret;
 	}
@@ -2880,6 +3066,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					"cell operations: "+this.rlen+"x"+this.clen+" vs "+ that.rlen+"x"+that.clen);
 		}
 		
+		//binary operations over off-heap dense blocks with equal dimensions 
+		//or in-memory vectors (off-heap output)
+		if( denseBlockOffHeap != null && !sparse ) {
+			DenseBlockOffHeap tmp = (that.denseBlockOffHeap != null && !that.sparse) ?
+				LibMatrixBincell.bincellOp(denseBlockOffHeap, that.denseBlockOffHeap, op, op.getNumThreads()) :
+				LibMatrixBincell.bincellOp(denseBlockOffHeap, that, op, op.getNumThreads());
+			return setDenseBlockOffHeapResult(ret, tmp);
+		}
+		
 		//compute output dimensions
 		boolean outer = (LibMatrixBincell.getBinaryAccessType(this, that)
 				         == BinaryAccessType.OUTER_VECTOR_VECTOR); 
@@ -2894,7 +3089,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		LibMatrixBincell.bincellOp(this, that, ret, op, op.getNumThreads());
 		
 		return ret;
 	}
@@ -4188,6 +4383,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int blockingFactorRow, int blockingFactorCol, MatrixIndexes indexesIn, boolean inCP) 
 		throws DMLRuntimeException
 	{
+		//aggregates over off-heap dense blocks (in-memory output w/o corrections)
+		if( denseBlockOffHeap != null && !sparse && inCP ) {
+			MatrixBlock tmp = LibMatrixAgg.aggregateUnaryMatrix(
+				denseBlockOffHeap, op, op.getNumThreads());
+			if( result == null )
+				return tmp;
+			result.copy(tmp);
+			return result;
+		}
+		
 		CellIndex tempCellIndex = new CellIndex(-1,-1);
 		op.indexFn.computeDimension(rlen, clen, tempCellIndex);
 		if(op.aggOp.correctionExists)
@@ -4879,6 +5084,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( !(op.binaryFn instanceof Multiply && op.aggOp.increOp.fn instanceof Plus) ) {
 			throw new DMLRuntimeException("Unsupported binary aggregate operation: ("+op.binaryFn+", "+op.aggOp+").");
 		}
+		
+		//matrix multiplication w/ off-heap dense left input (off-heap output)
+		if( m1.denseBlockOffHeap != null && !m1.sparse ) {
+			DenseBlockOffHeap tmp = LibMatrixMult.matrixMult(
+				m1.denseBlockOffHeap, m2, op.getNumThreads());
+			return setDenseBlockOffHeapResult(ret, tmp);
+		}
 			
 		//setup meta data (dimensions, sparsity)
 		int rl = m1.rlen;
@@ -5042,9 +5254,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select )
 		throws DMLRuntimeException 
+	{	
+		return removeEmptyOperations(ret, rows, select, 1);
+	}
+	
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select, int k )
+		throws DMLRuntimeException 
 	{	
 		MatrixBlock result = checkType(ret);
-		return LibMatrixReorg.rmempty(this, result, rows, select);
+		return LibMatrixReorg.rmempty(this, result, rows, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows)
@@ -5723,6 +5941,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return (MatrixBlock) block;
 	}
 	
+	private static MatrixBlock setDenseBlockOffHeapResult(MatrixBlock ret, DenseBlockOffHeap dblock) 
+		throws DMLRuntimeException 
+	{
+		if( ret == null )
+			return new MatrixBlock(dblock);
+		ret.reset(dblock.getNumRows(), dblock.getNumColumns(), false);
+		ret.setDenseBlockOffHeap(dblock);
+		return ret;
+	}
+	
 	/**
 	 * Indicates if concurrent modifications of disjoint rows are thread-safe.
 	 * 
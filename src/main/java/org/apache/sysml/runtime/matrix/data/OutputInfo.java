@@ -28,6 +28,7 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileOutputFormat;
 import org.apache.hadoop.mapred.OutputFormat;
 import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.hadoop.mapred.TextOutputFormat;
@@ -64,6 +65,8 @@ public class OutputInfo implements Serializable
 			SequenceFileOutputFormat.class, MatrixIndexes.class, MatrixBlock.class);
 	public static final OutputInfo BinaryBlockFrameOutputInfo=new OutputInfo(
 			SequenceFileOutputFormat.class, LongWritable.class, FrameBlock.class);
+	public static final OutputInfo ColumnarFrameOutputInfo=new OutputInfo(
+			FileOutputFormat.class, NullWritable.class, FrameBlock.class);
 	public static final OutputInfo OutputInfoForSortInput=new OutputInfo(SequenceFileOutputFormat.class, 
 			DoubleWritable.class, IntWritable.class);
 	public static final OutputInfo OutputInfoForSortOutput = new OutputInfo(CompactOutputFormat.class,
@@ -90,6 +93,8 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.ColumnarFrameOutputInfo)
+			return InputInfo.ColumnarFrameInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -115,6 +120,8 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("columnar") )
+			return ColumnarFrameOutputInfo;
 		return null;
 	}
 	
@@ -137,6 +144,8 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == ColumnarFrameOutputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
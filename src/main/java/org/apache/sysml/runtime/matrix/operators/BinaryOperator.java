@@ -50,6 +50,7 @@ public class BinaryOperator  extends Operator implements Serializable
 	private static final long serialVersionUID = -2547950181558989209L;
 
 	public ValueFunction fn;
+	private int k = 1; //num threads
 	
 	public BinaryOperator(ValueFunction p)
 	{
@@ -61,6 +62,14 @@ public class BinaryOperator  extends Operator implements Serializable
 			|| fn instanceof PlusMultiply || fn instanceof MinusMultiply);
 	}
 	
+	public void setNumThreads(int numThreads) {
+		k = numThreads;
+	}
+	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	/**
 	 * Method for getting the hop binary operator type for a given function object.
 	 * This is used in order to use a common code path for consistency between 
@@ -44,6 +44,7 @@ public abstract class ScalarOperator extends Operator
 
 	public ValueFunction fn;
 	protected double _constant;
+	private int k = 1; //num threads
 	
 	public ScalarOperator(ValueFunction p, double cst) {
 		fn = p;
@@ -65,6 +66,14 @@ public abstract class ScalarOperator extends Operator
 			|| (fn instanceof Builtin && ((Builtin)fn).getBuiltinCode()==BuiltinCode.MIN && _constant>=0));
 	}
 	
+	public void setNumThreads(int numThreads) {
+		k = numThreads;
+	}
+	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	/**
 	 * Apply the scalar operator over a given input value.
 	 * 
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * This common thread pool provides an abstraction to obtain a shared
+ * thread pool for all multi-threaded operations (matrix kernels, codegen
+ * operators, compression, and parallel readers/writers), in order to avoid
+ * the thread creation overhead per operation and over-subscription of
+ * cores if such operations are nested in parfor workers.
+ *
+ * The shared pool is a work-stealing fork-join pool of configurable size
+ * (see cp.threadpool.size), which handles nested invocations from its own
+ * worker threads by helping with or compensating for blocked joins. Since
+ * callers obtain an executor service, shutdown on the shared pool is a no-op.
+ * If the shared pool is disabled, every request returns a new fixed-size pool.
+ */
+public class CommonThreadPool implements ExecutorService
+{
+	//shared fork-join pool, lazily created on first use
+	private static ForkJoinPool _shared = null;
+
+	//statistics of the shared pool
+	private static final LongAdder _numInvocations = new LongAdder();
+	private static final LongAdder _numTasks = new LongAdder();
+	private static final LongAdder _numNested = new LongAdder();
+	private static long _maxQueueDepth = 0;
+	private static long _baseStealCount = 0;
+
+	//underlying executor service
+	private final ExecutorService _pool;
+	private final boolean _isShared;
+
+	public CommonThreadPool(ExecutorService pool) {
+		_pool = pool;
+		_isShared = (pool == _shared);
+	}
+
+	/**
+	 * Obtains an executor service for the given degree of parallelism.
+	 * If the shared pool is enabled, all requests are served by the
+	 * shared pool, which bounds the total number of active threads.
+	 *
+	 * @param k degree of parallelism requested by the caller
+	 * @return executor service
+	 */
+	public static ExecutorService get(int k) {
+		ForkJoinPool shared = getSharedPool();
+		return (shared != null) ? new CommonThreadPool(shared) :
+			Executors.newFixedThreadPool(Math.max(k, 1));
+	}
+
+	/**
+	 * Indicates if the current thread is a worker of the shared pool,
+	 * i.e., if an operation is invoked in a nested manner.
+	 *
+	 * @return true if the current thread is a shared pool worker
+	 */
+	public static boolean isSharedPoolWorker() {
+		Thread t = Thread.currentThread();
+		return (_shared != null && t instanceof ForkJoinWorkerThread
+			&& ((ForkJoinWorkerThread)t).getPool() == _shared);
+	}
+
+	/**
+	 * Returns the size of the shared pool, or -1 if the
+	 * shared pool is disabled or not yet created.
+	 *
+	 * @return parallelism of the shared pool
+	 */
+	public static int getSharedPoolSize() {
+		ForkJoinPool shared = _shared;
+		return (shared != null) ? shared.getParallelism() : -1;
+	}
+
+	private static synchronized ForkJoinPool getSharedPool() {
+		if( _shared == null ) {
+			int size = getConfiguredPoolSize();
+			if( size > 0 )
+				_shared = new ForkJoinPool(size);
+		}
+		return _shared;
+	}
+
+	private static int getConfiguredPoolSize() {
+		int size = -1;
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf != null ) {
+			String val = conf.getTextValue(DMLConfig.CP_THREADPOOL_SIZE);
+			if( val != null && !val.isEmpty() )
+				size = Integer.parseInt(val);
+		}
+		//negative sizes refer to the local parallelism, 0 disables the shared pool
+		return (size < 0) ? InfrastructureAnalyzer.getLocalParallelism() : size;
+	}
+
+	/**
+	 * Shuts down the shared pool, if created. Subsequent requests
+	 * create a new shared pool according to the current configuration.
+	 */
+	public static synchronized void shutdownShared() {
+		if( _shared != null ) {
+			_shared.shutdown();
+			_shared = null;
+			_baseStealCount = 0;
+		}
+	}
+
+	/////////////////////////////////////
+	// statistics of the shared pool
+
+	public static void resetStatistics() {
+		_numInvocations.reset();
+		_numTasks.reset();
+		_numNested.reset();
+		synchronized( CommonThreadPool.class ) {
+			_maxQueueDepth = 0;
+			_baseStealCount = (_shared != null) ? _shared.getStealCount() : 0;
+		}
+	}
+
+	public static long getNumInvocations() {
+		return _numInvocations.longValue();
+	}
+
+	public static long getNumTasks() {
+		return _numTasks.longValue();
+	}
+
+	public static long getNumNestedInvocations() {
+		return _numNested.longValue();
+	}
+
+	public static synchronized long getMaxQueueDepth() {
+		return _maxQueueDepth;
+	}
+
+	public static long getQueueDepth() {
+		ForkJoinPool shared = _shared;
+		return (shared != null) ? shared.getQueuedTaskCount()
+			+ shared.getQueuedSubmissionCount() : 0;
+	}
+
+	public static synchronized long getStealCount() {
+		return (_shared != null) ? _shared.getStealCount() - _baseStealCount : 0;
+	}
+
+	public static String displayStatistics() {
+		return String.format("%d/%d/%d/%d/%d/%d", getSharedPoolSize(), getNumInvocations(),
+			getNumNestedInvocations(), getNumTasks(), getMaxQueueDepth(), getStealCount());
+	}
+
+	private void maintainStatistics(int numTasks) {
+		if( !_isShared )
+			return;
+		_numInvocations.increment();
+		_numTasks.add(numTasks);
+		if( isSharedPoolWorker() )
+			_numNested.increment();
+		long depth = getQueueDepth();
+		synchronized( CommonThreadPool.class ) {
+			_maxQueueDepth = Math.max(_maxQueueDepth, depth);
+		}
+	}
+
+	/////////////////////////////////////
+	// executor service interface
+
+	@Override
+	public void shutdown() {
+		//no-op for the shared pool
+		if( !_isShared )
+			_pool.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return (!_isShared) ?
+			_pool.shutdownNow() : new ArrayList<Runnable>();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return _pool.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return _pool.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+		throws InterruptedException
+	{
+		//shared pool is never terminated by its users
+		return (!_isShared) ?
+			_pool.awaitTermination(timeout, unit) : true;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		maintainStatistics(1);
+		return _pool.submit(task);
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		maintainStatistics(1);
+		return _pool.submit(task, result);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		maintainStatistics(1);
+		return _pool.submit(task);
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
+		throws InterruptedException
+	{
+		maintainStatistics(tasks.size());
+		return _pool.invokeAll(tasks);
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+		throws InterruptedException
+	{
+		maintainStatistics(tasks.size());
+		return _pool.invokeAll(tasks, timeout, unit);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+		throws InterruptedException, ExecutionException
+	{
+		maintainStatistics(tasks.size());
+		return _pool.invokeAny(tasks);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		maintainStatistics(tasks.size());
+		return _pool.invokeAny(tasks, timeout, unit);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		maintainStatistics(1);
+		_pool.execute(command);
+	}
+}
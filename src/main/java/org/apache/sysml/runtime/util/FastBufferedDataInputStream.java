@@ -25,6 +25,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
@@ -44,9 +45,21 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		
 		if (size <= 0) 
 	    	throw new IllegalArgumentException("Buffer size <= 0");
-		_buff = new byte[ size ];
+		byte[] buff = PageCache.getPage(size);
+		_buff = (buff != null) ? buff : new byte[ size ];
 		_bufflen = size;
 	}
+	
+	@Override
+	public void close() 
+		throws IOException 
+	{
+		super.close();
+		
+		//return buffer once (robustness for repeated close)
+		PageCache.putPage(_buff);
+		_buff = null;
+	}
 
 	/////////////////////////////
 	// DataInput Implementation
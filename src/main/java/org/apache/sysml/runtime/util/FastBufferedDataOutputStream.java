@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UTFDataFormatException;
 
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -60,7 +61,8 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 	    if( size%8 != 0 )    
 	    	throw new IllegalArgumentException("Buffer size not a multiple of 8.");
 	    
-		_buff = new byte[size];
+		byte[] buff = PageCache.getPage(size);
+		_buff = (buff != null) ? buff : new byte[size];
 		_bufflen = size;
 	}
 
@@ -113,6 +115,10 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
     	throws IOException
     {
     	super.close();
+    	
+    	//return buffer once (robustness for repeated close)
+    	PageCache.putPage(_buff);
+    	_buff = null;
     }
     
     /////////////////////////////
@@ -20,8 +20,10 @@
 package org.apache.sysml.runtime.util;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -29,8 +31,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -42,6 +48,7 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
@@ -50,11 +57,24 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.MatrixValue;
 import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 
 public class LocalFileUtils 
 {
 	public static final int BUFFER_SIZE = 8192;
 	
+	//raw layout of memory-mapped matrix blocks: header of magic number, type, rlen, 
+	//clen, and nnz, followed by dense values or CSR row pointers, column indexes, and 
+	//values; the magic number only validates the header, while the format of a local 
+	//file is given by its writer (see LocalFileFormat) because any int could also be 
+	//the first field of a serialized block
+	private static final int MAPPED_MAGIC = 0x7F7F7F7F;
+	private static final int MAPPED_HEADER_SIZE = 32;
+	private static final int MAPPED_EMPTY = 0;
+	private static final int MAPPED_DENSE = 1;
+	private static final int MAPPED_CSR = 2;
+	private static final long MAPPED_REGION_SIZE = 1L << 30; //max 1GB per mapped region
+	
 	//unique IDs per JVM for tmp files
 	private static IDSequence _seq = null;
 	private static String _workingDir = null;
@@ -66,8 +86,29 @@ public class LocalFileUtils
 	public static final String CATEGORY_WORK         = "work";
 	public static final String CATEGORY_CODEGEN      = "codegen";
 	
+	//cleaner for explicit unmapping of mapped regions (null if not accessible)
+	private static Method _cleaner = null;
+	
 	static {
 		_seq = new IDSequence();
+		try {
+			ByteBuffer buff = ByteBuffer.allocateDirect(1);
+			_cleaner = buff.getClass().getMethod("cleaner");
+			_cleaner.setAccessible(true);
+		}
+		catch(Exception ex) {
+			_cleaner = null; //fallback to unmapping on GC
+		}
+	}
+	
+	/**
+	 * Formats of local files written via {@link #writeCacheBlockToLocal(String, CacheBlock, boolean)},
+	 * which need to be passed to the corresponding read.
+	 */
+	public enum LocalFileFormat {
+		SERIALIZED, //serialized matrix/frame block
+		MAPPED,     //raw layout of empty, dense, or CSR matrix blocks
+		COMPRESSED, //serialized compressed matrix block
 	}
 	
 	/** Reads a matrix block from local file system.
@@ -112,6 +153,99 @@ public class LocalFileUtils
 		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	/** Reads a matrix/frame block from local file system, which was written
+	 * in the given format.
+	 * 
+	 * @param fname file name to read
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @param fmt format returned by the write of the local file
+	 * @return cache block (common interface to MatrixBlock and FrameBlock)
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readCacheBlockFromLocal(String fname, boolean matrix, LocalFileFormat fmt) throws IOException {
+		switch( fmt ) {
+			case MAPPED:     return readMatrixBlockFromLocalMapped(fname);
+			case COMPRESSED: return readCompressedMatrixBlockFromLocal(fname);
+			default:         return readCacheBlockFromLocal(fname, matrix);
+		}
+	}
+	
+	/**
+	 * Reads a compressed matrix block from local file system, including
+	 * its column groups as they were written (w/o recompression).
+	 * 
+	 * @param fname file name to read
+	 * @return compressed matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CompressedMatrixBlock readCompressedMatrixBlockFromLocal(String fname) 
+		throws IOException
+	{
+		FileInputStream fis = new FileInputStream(fname);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE));
+		try {
+			CompressedMatrixBlock ret = new CompressedMatrixBlock();
+			ret.readFields(in);
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+			IOUtilFunctions.closeSilently(fis);
+		}
+	}
+	
+	/**
+	 * Reads a matrix block in raw layout from a memory-mapped local file. 
+	 * Dense values and CSR arrays are transferred in bulk from the mapped 
+	 * pages, without any deserialization of individual values.
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlockFromLocalMapped(String fname) 
+		throws IOException
+	{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE).order(ByteOrder.nativeOrder());
+			while( header.hasRemaining() && channel.read(header) >= 0 );
+			if( header.hasRemaining() || header.getInt(0) != MAPPED_MAGIC )
+				throw new IOException("Invalid memory-mapped matrix block file: "+fname);
+			int type = header.getInt(4);
+			int rlen = header.getInt(8);
+			int clen = header.getInt(12);
+			long nnz = header.getLong(16);
+			
+			switch( type ) {
+				case MAPPED_EMPTY:
+					return new MatrixBlock(rlen, clen, true);
+				case MAPPED_DENSE: {
+					MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+					ret.allocateDenseBlock();
+					readMapped(channel, MAPPED_HEADER_SIZE, ret.getDenseBlock(), rlen*clen);
+					ret.setNonZeros(nnz);
+					return ret;
+				}
+				case MAPPED_CSR: {
+					int[] ptr = new int[rlen+1];
+					int[] ix = new int[(int)nnz];
+					double[] vals = new double[(int)nnz];
+					long off = readMapped(channel, MAPPED_HEADER_SIZE, ptr, rlen+1);
+					off = readMapped(channel, off, ix, (int)nnz);
+					readMapped(channel, alignOffset(off), vals, (int)nnz);
+					return new MatrixBlock(rlen, clen, nnz, new SparseBlockCSR(ptr, ix, vals, (int)nnz));
+				}
+				default:
+					throw new IOException("Unsupported memory-mapped block type: "+type);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
@@ -219,6 +353,194 @@ public class LocalFileUtils
 		writeWritableToLocal(fname, cb);
 	}
 	
+	/** Writes a matrix/frame block to local file system, in the raw memory-mapped
+	 * layout if requested and supported for the given block, otherwise serialized.
+	 * 
+	 * @param fname file name to write
+	 * @param cb cache block (common interface to matrix block and frame block)
+	 * @param mmap if true, use memory-mapped layout if possible
+	 * @return format of the written file, required for reading it
+	 * @throws IOException if IOException occurs
+	 */
+	public static LocalFileFormat writeCacheBlockToLocal(String fname, CacheBlock cb, boolean mmap) throws IOException {
+		if( cb instanceof CompressedMatrixBlock ) {
+			writeCompressedMatrixBlockToLocal(fname, (CompressedMatrixBlock)cb);
+			return LocalFileFormat.COMPRESSED;
+		}
+		else if( mmap && isMappableCacheBlock(cb) ) {
+			writeMatrixBlockToLocalMapped(fname, (MatrixBlock)cb);
+			return LocalFileFormat.MAPPED;
+		}
+		writeWritableToLocal(fname, cb);
+		return LocalFileFormat.SERIALIZED;
+	}
+	
+	/**
+	 * Writes a compressed matrix block to local file system, including its
+	 * column groups as they are (w/o decompression).
+	 * 
+	 * @param fname file name to write
+	 * @param cmb compressed matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeCompressedMatrixBlockToLocal(String fname, CompressedMatrixBlock cmb) 
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream( fname );
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, BUFFER_SIZE));
+		try {
+			cmb.write(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+		}
+	}
+	
+	/**
+	 * Indicates if the given cache block can be written in the raw memory-mapped
+	 * layout, which applies to empty, dense, and CSR matrix blocks.
+	 * 
+	 * @param cb cache block
+	 * @return true if the block can be memory-mapped
+	 */
+	public static boolean isMappableCacheBlock(CacheBlock cb) {
+		if( !(cb instanceof MatrixBlock) )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		return mb.isEmptyBlock(false)
+			|| (!mb.isInSparseFormat() && mb.getDenseBlock() != null)
+			|| (mb.isInSparseFormat() && mb.getSparseBlock() instanceof SparseBlockCSR);
+	}
+	
+	/**
+	 * Writes an empty, dense, or CSR matrix block in raw layout to a memory-mapped
+	 * local file. Dense values and CSR arrays are transferred in bulk into the 
+	 * mapped pages, without any serialization of individual values.
+	 * 
+	 * @param fname file name to write
+	 * @param mb matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlockToLocalMapped(String fname, MatrixBlock mb)
+		throws IOException
+	{
+		if( !isMappableCacheBlock(mb) )
+			throw new IOException("Unsupported matrix block for memory-mapped write.");
+		
+		int rlen = mb.getNumRows();
+		int clen = mb.getNumColumns();
+		int type = mb.isEmptyBlock(false) ? MAPPED_EMPTY :
+			!mb.isInSparseFormat() ? MAPPED_DENSE : MAPPED_CSR;
+		long nnz = (type==MAPPED_EMPTY) ? 0 : (type==MAPPED_DENSE) ?
+			mb.getNonZeros() : mb.getSparseBlock().size();
+		
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE).order(ByteOrder.nativeOrder());
+			header.putInt(0, MAPPED_MAGIC);
+			header.putInt(4, type);
+			header.putInt(8, rlen);
+			header.putInt(12, clen);
+			header.putLong(16, nnz);
+			while( header.hasRemaining() )
+				channel.write(header);
+			
+			if( type == MAPPED_DENSE ) {
+				writeMapped(channel, MAPPED_HEADER_SIZE, mb.getDenseBlock(), rlen*clen);
+			}
+			else if( type == MAPPED_CSR ) {
+				SparseBlockCSR sblock = (SparseBlockCSR) mb.getSparseBlock();
+				long off = writeMapped(channel, MAPPED_HEADER_SIZE, sblock.rowPointers(), rlen+1);
+				off = writeMapped(channel, off, sblock.indexes(), (int)nnz);
+				writeMapped(channel, alignOffset(off), sblock.values(), (int)nnz);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	private static long writeMapped(FileChannel channel, long off, double[] a, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int blen = (int)Math.min(len-i, MAPPED_REGION_SIZE/8);
+			MappedByteBuffer buff = channel.map(MapMode.READ_WRITE, off, 8L*blen);
+			buff.order(ByteOrder.nativeOrder()).asDoubleBuffer().put(a, i, blen);
+			unmap(buff);
+			off += 8L*blen;
+			i += blen;
+		}
+		return off;
+	}
+	
+	private static long writeMapped(FileChannel channel, long off, int[] a, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int blen = (int)Math.min(len-i, MAPPED_REGION_SIZE/4);
+			MappedByteBuffer buff = channel.map(MapMode.READ_WRITE, off, 4L*blen);
+			buff.order(ByteOrder.nativeOrder()).asIntBuffer().put(a, i, blen);
+			unmap(buff);
+			off += 4L*blen;
+			i += blen;
+		}
+		return off;
+	}
+	
+	private static long readMapped(FileChannel channel, long off, double[] a, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int blen = (int)Math.min(len-i, MAPPED_REGION_SIZE/8);
+			MappedByteBuffer buff = channel.map(MapMode.READ_ONLY, off, 8L*blen);
+			buff.order(ByteOrder.nativeOrder()).asDoubleBuffer().get(a, i, blen);
+			unmap(buff);
+			off += 8L*blen;
+			i += blen;
+		}
+		return off;
+	}
+	
+	private static long readMapped(FileChannel channel, long off, int[] a, int len) 
+		throws IOException
+	{
+		for( int i=0; i<len; ) {
+			int blen = (int)Math.min(len-i, MAPPED_REGION_SIZE/4);
+			MappedByteBuffer buff = channel.map(MapMode.READ_ONLY, off, 4L*blen);
+			buff.order(ByteOrder.nativeOrder()).asIntBuffer().get(a, i, blen);
+			unmap(buff);
+			off += 4L*blen;
+			i += blen;
+		}
+		return off;
+	}
+	
+	private static void unmap(MappedByteBuffer buff) {
+		//release mapped region right after the bulk transfer instead of on GC, 
+		//which otherwise accumulates mappings; dirty pages are written back by the OS 
+		//(no force, as local spill files need not be durable); the buffer and its views 
+		//must not be accessed afterwards
+		if( _cleaner == null )
+			return;
+		try {
+			Object cleaner = _cleaner.invoke(buff);
+			if( cleaner != null )
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+		}
+		catch(Exception ex) {
+			//ignore, unmapped on GC
+		}
+	}
+	
+	private static long alignOffset(long off) {
+		//align double values to 8 byte boundaries
+		return (off + 7) / 8 * 8;
+	}
+	
 	/**
 	 * Writes an arbitrary writable to local file system, using a fused buffered writer
 	 * with special support for matrix blocks.
@@ -244,6 +566,12 @@ public class LocalFileUtils
 
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
+	{
+		writeByteArrayToLocal(fname, data, data.length);
+	}
+	
+	public static void writeByteArrayToLocal( String fname, byte[] data, int len )
+		throws IOException
 	{	
 		//byte array write via java.nio file channel ~10-15% faster than java.io
 		FileChannel channel = null;
@@ -251,7 +579,9 @@ public class LocalFileUtils
 			Path path = Paths.get(fname);
 			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
 				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
-			channel.write(ByteBuffer.wrap(data));
+			ByteBuffer buff = ByteBuffer.wrap(data, 0, len);
+			while( buff.hasRemaining() )
+				channel.write(buff);
 		}
 		finally {
 			IOUtilFunctions.closeSilently(channel);
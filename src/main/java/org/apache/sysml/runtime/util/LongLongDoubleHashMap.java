@@ -19,7 +19,9 @@
 
 package org.apache.sysml.runtime.util;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * This native long long - double hashmap is specifically designed for
@@ -28,19 +30,26 @@ import java.util.Iterator;
  * to be more memory-efficient which is important for large maps in order
  * to keep data in the caches and prevent high-latency random memory access. 
  * 
+ * The map uses open addressing with linear probing over parallel arrays
+ * of keys and values, i.e., it does not allocate objects per entry. As a
+ * result, the key1 value Long.MIN_VALUE is reserved to mark empty slots.
+ * 
  */
 public class LongLongDoubleHashMap 
 {
 	private static final int INIT_CAPACITY = 8;
 	private static final int RESIZE_FACTOR = 2;
 	private static final float LOAD_FACTOR = 0.75f;
+	private static final long EMPTY = Long.MIN_VALUE;
 
-	private LLDoubleEntry[] data = null;
+	private long[] keys1 = null;
+	private long[] keys2 = null;
+	private double[] values = null;
 	private int size = -1;
 	
 	public LongLongDoubleHashMap()
 	{
-		data = new LLDoubleEntry[INIT_CAPACITY];
+		allocate(INIT_CAPACITY);
 		size = 0;
 	}
 
@@ -50,118 +59,131 @@ public class LongLongDoubleHashMap
 
 	public void addValue(long key1, long key2, double value)
 	{
-		//compute entry index position
-		int hash = hash(key1, key2);
-		int ix = indexFor(hash, data.length);
-
-		//find existing entry and add value
-		for( LLDoubleEntry e = data[ix]; e!=null; e = e.next ) {
-			if( e.key1==key1 && e.key2==key2 ) {
-				e.value += value;
+		//probe for existing entry or empty slot
+		int mask = keys1.length-1;
+		int ix = hash(key1, key2) & mask;
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 ) {
+				values[ix] += value;
 				return; //no need to append or resize
 			}
+			ix = (ix+1) & mask;
 		}
 		
 		//add non-existing entry (constant time)
-		LLDoubleEntry enew = new LLDoubleEntry(key1, key2, value);
-		enew.next = data[ix]; //colliding entries / null
-		data[ix] = enew;
+		if( key1 == EMPTY )
+			throw new IllegalArgumentException("Invalid key: "+key1);
+		//at the capacity cap, keep at least one empty slot in order
+		//to guarantee the termination of probe sequences
+		if( size >= keys1.length-1 )
+			throw new RuntimeException("LongLongDoubleHashMap exceeded its "
+				+ "maximum capacity of "+(keys1.length-1)+" entries.");
+		keys1[ix] = key1;
+		keys2[ix] = key2;
+		values[ix] = value;
 		size++;
 		
 		//resize if necessary
-		if( size >= LOAD_FACTOR*data.length )
+		if( size >= LOAD_FACTOR*keys1.length )
 			resize();
 	}
 
+	/**
+	 * Obtains an iterator over all entries. Note that the iterator reuses
+	 * a single entry object, i.e., callers must not hold references to
+	 * returned entries across calls of next().
+	 * 
+	 * @return iterator over entries
+	 */
 	public Iterator<LLDoubleEntry> getIterator() {
 		return new LLDoubleEntryIterator();
 	}
 
+	private void allocate(int capacity) {
+		keys1 = new long[capacity];
+		keys2 = new long[capacity];
+		values = new double[capacity];
+		Arrays.fill(keys1, EMPTY);
+	}
+	
 	private void resize() {
 		//check for integer overflow on resize
-		if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+		if( keys1.length > Integer.MAX_VALUE/RESIZE_FACTOR )
 			return;
 		
-		//resize data array and copy existing contents
-		LLDoubleEntry[] olddata = data;
-		data = new LLDoubleEntry[data.length*RESIZE_FACTOR];
-		size = 0;
+		//resize data arrays and copy existing contents
+		long[] okeys1 = keys1;
+		long[] okeys2 = keys2;
+		double[] ovalues = values;
+		allocate(okeys1.length*RESIZE_FACTOR);
 		
-		//rehash all entries
-		for( LLDoubleEntry e : olddata ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					addValue(e.key1, e.key2, e.value);
-					e = e.next;
-				}
-				addValue(e.key1, e.key2, e.value);	
-			}
+		//rehash all entries (keys are guaranteed to be unique)
+		int mask = keys1.length-1;
+		for( int i=0; i<okeys1.length; i++ ) {
+			if( okeys1[i] == EMPTY )
+				continue;
+			int ix = hash(okeys1[i], okeys2[i]) & mask;
+			while( keys1[ix] != EMPTY )
+				ix = (ix+1) & mask;
+			keys1[ix] = okeys1[i];
+			keys2[ix] = okeys2[i];
+			values[ix] = ovalues[i];
 		}
 	}
 
 	private static int hash(long key1, long key2) {
-		int h = UtilFunctions.longHashCode(key1, key2);
-		
-		// This function ensures that hashCodes that differ only by
-		// constant multiples at each bit position have a bounded
-		// number of collisions (approximately 8 at default load factor).
-		h ^= (h >>> 20) ^ (h >>> 12);
-		return h ^ (h >>> 7) ^ (h >>> 4);
-	}
-
-	private static int indexFor(int h, int length) {
-		return h & (length-1);
+		// Multiplicative mixing of both keys. In contrast to the 
+		// basic UtilFunctions.longHashCode, this avoids systematic
+		// collisions of small (row,col) pairs, which would result 
+		// in long probe sequences with linear probing.
+		long h = key1 * 0x9E3779B97F4A7C15L + key2;
+		h ^= (h >>> 32);
+		h *= 0xBF58476D1CE4E5B9L;
+		return (int)(h ^ (h >>> 29));
 	}
 
 	public class LLDoubleEntry {
 		public long key1 = Long.MAX_VALUE;
 		public long key2 = Long.MAX_VALUE;
 		public double value = Double.MAX_VALUE;
-		public LLDoubleEntry next = null;
 		
 		public LLDoubleEntry(long k1, long k2, double val) {
 			key1 = k1;
 			key2 = k2;
 			value = val;
-			next = null;
 		}
 	}
 	
 	private class LLDoubleEntryIterator implements Iterator<LLDoubleEntry> {
-		private LLDoubleEntry _curr;
+		private final LLDoubleEntry _curr;
 		private int _currPos;
 		
 		public LLDoubleEntryIterator() {
-			_curr = null;
+			_curr = new LLDoubleEntry(EMPTY, EMPTY, 0);
 			_currPos = -1;
 			findNext();
 		}
 		
 		@Override
 		public boolean hasNext() {
-			return (_curr != null);
+			return (_currPos < keys1.length);
 		}
 
 		@Override
 		public LLDoubleEntry next() {
-			LLDoubleEntry ret = _curr;
+			if( !hasNext() )
+				throw new NoSuchElementException();
+			_curr.key1 = keys1[_currPos];
+			_curr.key2 = keys2[_currPos];
+			_curr.value = values[_currPos];
 			findNext();
-			return ret;
+			return _curr;
 		}
 		
 		private void findNext() {
-			if( _curr != null && _curr.next != null ) {
-				_curr = _curr.next;
-				return;
-			}
 			_currPos++;
-			while( _currPos < data.length  ) {
-				_curr = data[_currPos];
-				if( _curr != null ) 
-					return;
+			while( _currPos < keys1.length && keys1[_currPos] == EMPTY )
 				_currPos++;
-			}
-			_curr = null;
 		}
 	}
 }
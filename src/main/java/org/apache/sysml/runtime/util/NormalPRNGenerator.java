@@ -19,20 +19,18 @@
 
 package org.apache.sysml.runtime.util;
 
-import java.util.Random;
-
-
 /**
  * Class that can generate a stream of random numbers from standard 
  * normal distribution N(0,1). This class internally makes use of 
- * RandNPair, which uses Box-Muller method.
+ * RandNPair, which uses Box-Muller method, over a stream of
+ * uniform random numbers from UniformPRNGenerator.
  */
 
 
 public class NormalPRNGenerator extends PRNGenerator
 {
 	//private long seed;
-	Random r;
+	private UniformPRNGenerator r;
 	private RandNPair pair;
 	boolean flag = false; // we use pair.N1 if flag=false, and pair.N2 otherwise
 	
@@ -47,10 +45,10 @@ public class NormalPRNGenerator extends PRNGenerator
 	public void setSeed(long sd) {
 		//seed = s;
 		seed = sd;
-		r = new Random(seed);
+		r = new UniformPRNGenerator(seed);
 		pair = new RandNPair();
 		flag = false;
-		pair.compute(r);
+		pair.compute(r.nextDouble(), r.nextDouble());
 	}
 	
 	public double nextDouble() {
@@ -60,7 +58,7 @@ public class NormalPRNGenerator extends PRNGenerator
 		}
 		else {
 			d = pair.getSecond();
-			pair.compute(r);
+			pair.compute(r.nextDouble(), r.nextDouble());
 		}
 		flag = !flag;
 		return d;
@@ -33,4 +33,17 @@ public abstract class PRNGenerator
 	}
 
 	public abstract double nextDouble() ;
+	
+	/**
+	 * Fills the given range of the output array with the next len 
+	 * random numbers, in the same order as repeated calls of nextDouble.
+	 * 
+	 * @param c output array
+	 * @param off offset in output array
+	 * @param len number of random numbers
+	 */
+	public void nextDoubles(double[] c, int off, int len) {
+		for( int i=off; i<off+len; i++ )
+			c[i] = nextDouble();
+	}
 }
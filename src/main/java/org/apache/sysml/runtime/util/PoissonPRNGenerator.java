@@ -20,13 +20,13 @@
 package org.apache.sysml.runtime.util;
 
 import org.apache.commons.math3.distribution.PoissonDistribution;
-import org.apache.commons.math3.random.SynchronizedRandomGenerator;
-import org.apache.commons.math3.random.Well1024a;
+import org.apache.commons.math3.random.AbstractRandomGenerator;
 
 
 /**
  * Class that can generate a stream of random numbers from Poisson
- * distribution with specified mean. 
+ * distribution with specified mean. The Poisson sampling is done by
+ * commons-math over a stream of uniform random numbers from UniformPRNGenerator.
  */
 
 
@@ -52,10 +52,10 @@ public class PoissonPRNGenerator extends PRNGenerator
 
 	public void setup(double mean, long sd) {
 		seed = sd;
+		_mean = mean;
 		
-		SynchronizedRandomGenerator srg = new SynchronizedRandomGenerator(new Well1024a());
-		srg.setSeed(seed);
-		_pdist = new PoissonDistribution(srg, _mean, PoissonDistribution.DEFAULT_EPSILON, PoissonDistribution.DEFAULT_MAX_ITERATIONS);
+		UniformRandomGenerator urg = new UniformRandomGenerator(seed);
+		_pdist = new PoissonDistribution(urg, _mean, PoissonDistribution.DEFAULT_EPSILON, PoissonDistribution.DEFAULT_MAX_ITERATIONS);
 	}
 	
 	@Override
@@ -71,6 +71,26 @@ public class PoissonPRNGenerator extends PRNGenerator
 		return (double) _pdist.sample();
 	}
 	
-	
-
+	/**
+	 * Adapter of the uniform PRNG to the commons-math random generator
+	 * interface (not synchronized, as generators are never shared).
+	 */
+	private static class UniformRandomGenerator extends AbstractRandomGenerator
+	{
+		private final UniformPRNGenerator _runif;
+		
+		public UniformRandomGenerator(long sd) {
+			_runif = new UniformPRNGenerator(sd);
+		}
+		
+		@Override
+		public void setSeed(long sd) {
+			_runif.setSeed(sd);
+		}
+		
+		@Override
+		public double nextDouble() {
+			return _runif.nextDouble();
+		}
+	}
 }
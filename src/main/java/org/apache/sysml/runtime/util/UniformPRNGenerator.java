@@ -19,16 +19,23 @@
 
 package org.apache.sysml.runtime.util;
 
-import java.util.Random;
-
-
+/**
+ * Class that can generate a stream of random numbers from the uniform
+ * distribution U[0,1). This class internally uses the SplitMix64 algorithm,
+ * i.e., a 64bit Weyl sequence with a bijective mixing function. In contrast 
+ * to java.util.Random, it is not synchronized and its state is a single long,
+ * which makes it cheap to create independent streams for block-level seeds.
+ */
 public class UniformPRNGenerator extends PRNGenerator {
 
-	Random runif = null;
+	private static final long GAMMA = 0x9E3779B97F4A7C15L; //golden ratio
+	private static final double DOUBLE_UNIT = 0x1.0p-53; //1/2^53
+	
+	private long _state = 0;
 	
 	public void setSeed(long sd) {
 		seed = sd;
-		runif = new Random(seed);
+		_state = mix64(sd);
 	}
 	
 	public UniformPRNGenerator(long sd) {
@@ -42,6 +49,23 @@ public class UniformPRNGenerator extends PRNGenerator {
 
 	@Override
 	public double nextDouble() {
-		return runif.nextDouble();
+		_state += GAMMA;
+		return (mix64(_state) >>> 11) * DOUBLE_UNIT;
+	}
+	
+	@Override
+	public void nextDoubles(double[] c, int off, int len) {
+		long state = _state;
+		for( int i=off; i<off+len; i++ ) {
+			state += GAMMA;
+			c[i] = (mix64(state) >>> 11) * DOUBLE_UNIT;
+		}
+		_state = state;
+	}
+	
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
 	}
 }
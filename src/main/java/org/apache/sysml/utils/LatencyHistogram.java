@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of non-negative values (e.g., times in nanoseconds)
+ * with logarithmic buckets, i.e., each power of two is split into
+ * 2^SUB_BITS linear sub-buckets, which bounds the relative error of
+ * percentiles to 1/2^SUB_BITS. Buckets are striped counters (LongAdder),
+ * allocated on first use, so concurrent updates do not contend on a
+ * shared lock or cache line.
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int NUM_BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicReferenceArray<LongAdder> _buckets =
+		new AtomicReferenceArray<LongAdder>(NUM_BUCKETS);
+
+	public void add(long value) {
+		int ix = getBucket(Math.max(value, 0));
+		LongAdder bucket = _buckets.get(ix);
+		if( bucket == null ) {
+			_buckets.compareAndSet(ix, null, new LongAdder());
+			bucket = _buckets.get(ix);
+		}
+		bucket.increment();
+	}
+
+	public long getCount() {
+		long ret = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			LongAdder bucket = _buckets.get(i);
+			ret += (bucket != null) ? bucket.sum() : 0;
+		}
+		return ret;
+	}
+
+	/**
+	 * Gets the approximate percentile as the upper bound of the
+	 * bucket that contains the percentile rank.
+	 *
+	 * @param p percentile in [0,1]
+	 * @return percentile value, or 0 if empty
+	 */
+	public long getPercentile(double p) {
+		long[] counts = new long[NUM_BUCKETS];
+		long total = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			LongAdder bucket = _buckets.get(i);
+			counts[i] = (bucket != null) ? bucket.sum() : 0;
+			total += counts[i];
+		}
+		if( total == 0 )
+			return 0;
+		long rank = Math.max((long)Math.ceil(p * total), 1);
+		long cum = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			cum += counts[i];
+			if( cum >= rank )
+				return getUpperBound(i);
+		}
+		return getUpperBound(NUM_BUCKETS-1);
+	}
+
+	protected static int getBucket(long value) {
+		//values < 2^SUB_BITS map to linear buckets, others
+		//to (exponent, SUB_BITS leading bits after the msb)
+		if( value < SUB_BUCKETS )
+			return (int) value;
+		int exp = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int)(value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	protected static long getUpperBound(int bucket) {
+		if( bucket < SUB_BUCKETS )
+			return bucket;
+		int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		long lower = (1L << exp) | (sub << (exp - SUB_BITS));
+		return lower + (1L << (exp - SUB_BITS)) - 1;
+	}
+}
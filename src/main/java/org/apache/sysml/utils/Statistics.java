@@ -23,25 +23,38 @@ import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.text.DecimalFormat;
-import java.util.Arrays;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * This class captures all statistics.
@@ -83,6 +96,8 @@ public class Statistics
 	private static final LongAdder codegenEnumEvalP = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheMisses = new LongAdder(); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -103,9 +118,20 @@ public class Statistics
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
 	
-	//heavy hitter counts and times 
-	private static HashMap<String,Long> _cpInstTime = new HashMap<String, Long>();
-	private static HashMap<String,Long> _cpInstCounts = new HashMap<String, Long>();
+	//PARFOR in-memory result merge stats (range-aware vs comparison-based)
+	private static final LongAdder parforRangeMergeCount = new LongAdder();
+	private static final LongAdder parforRangeMergeTime = new LongAdder(); //in nano sec
+	private static final LongAdder parforOtherMergeCount = new LongAdder();
+	private static final LongAdder parforOtherMergeTime = new LongAdder(); //in nano sec
+	
+	//Compression (phases: size estimation, co-coding, encoding, cleanup)
+	private static final LongAdder compressCount = new LongAdder();
+	private static final DoubleAdder[] compressPhaseTime = new DoubleAdder[]{ //in milli sec
+		new DoubleAdder(), new DoubleAdder(), new DoubleAdder(), new DoubleAdder()};
+	
+	//heavy hitter counts, times, time histograms and processed bytes
+	//(concurrent map of striped counters, merged on read)
+	private static final ConcurrentHashMap<String,HeavyHitter> _cpInstStats = new ConcurrentHashMap<String, HeavyHitter>();
 
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
@@ -289,6 +315,14 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
+	public static void incrementCodegenClassCacheMisses() {
+		codegenClassCacheMisses.increment();
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -323,6 +357,14 @@ public class Statistics
 		return codegenPlanCacheHits.longValue();
 	}
 	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
+	public static long getCodegenClassCacheMisses() {
+		return codegenClassCacheMisses.longValue();
+	}
+	
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
@@ -350,6 +392,27 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static void incrementParForResultMerge( boolean range, long time ) {
+		(range ? parforRangeMergeCount : parforOtherMergeCount).increment();
+		(range ? parforRangeMergeTime : parforOtherMergeTime).add(time);
+	}
+
+	public static void incrementCompression( double t1, double t2, double t3, double t4 ) {
+		compressCount.increment();
+		compressPhaseTime[0].add(t1);
+		compressPhaseTime[1].add(t2);
+		compressPhaseTime[2].add(t3);
+		compressPhaseTime[3].add(t4);
+	}
+	
+	public static long getCompressionCount() {
+		return compressCount.longValue();
+	}
+	
+	public static double getCompressionPhaseTime( int phase ) {
+		return compressPhaseTime[phase].doubleValue();
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -407,11 +470,20 @@ public class Statistics
 		codegenEnumEvalP.reset();
 		codegenCompileTime.reset();
 		codegenClassCompileTime.reset();
+		codegenClassCacheHits.reset();
+		codegenClassCacheMisses.reset();
 		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforRangeMergeCount.reset();
+		parforRangeMergeTime.reset();
+		parforOtherMergeCount.reset();
+		parforOtherMergeTime.reset();
+		compressCount.reset();
+		for( DoubleAdder time : compressPhaseTime )
+			time.reset();
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
@@ -436,6 +508,8 @@ public class Statistics
 		nativeConv2dBwdFilterTime = 0;
 		nativeConv2dBwdDataTime = 0;
 		LibMatrixDNN.resetStatistics();
+		CommonThreadPool.resetStatistics();
+		PageCache.resetStatistics();
 	}
 
 	public static void resetJITCompileTime(){
@@ -451,8 +525,7 @@ public class Statistics
 	}
 
 	public static void resetCPHeavyHitters(){
-		_cpInstTime.clear();
-		_cpInstCounts.clear();
+		_cpInstStats.clear();
 	}
 
 	public static void setSparkCtxCreateTime(long ns) {
@@ -518,22 +591,87 @@ public class Statistics
 	 * @param instructionName name of the instruction/op
 	 * @param timeNanos time in nano seconds
 	 */
-	public synchronized static void maintainCPHeavyHitters( String instructionName, long timeNanos )
+	public static void maintainCPHeavyHitters( String instructionName, long timeNanos )
 	{
-		Long oldVal = _cpInstTime.getOrDefault(instructionName, 0L);
-		_cpInstTime.put(instructionName, oldVal + timeNanos);
-
-		Long oldCnt = _cpInstCounts.getOrDefault(instructionName, 0L);
-		_cpInstCounts.put(instructionName, oldCnt + 1);
+		maintainCPHeavyHitters(instructionName, timeNanos, 0);
+	}
+	
+	/**
+	 * "Maintains" or adds time and processed bytes to per instruction/op timers, 
+	 * also increments associated count and time histogram. This method is 
+	 * lock-free, i.e., does not serialize concurrent (e.g., parfor) workers.
+	 * 
+	 * @param instructionName name of the instruction/op
+	 * @param timeNanos time in nano seconds
+	 * @param bytes processed bytes (inputs and output)
+	 */
+	public static void maintainCPHeavyHitters( String instructionName, long timeNanos, long bytes )
+	{
+		HeavyHitter hh = _cpInstStats.get(instructionName);
+		if( hh == null )
+			hh = _cpInstStats.computeIfAbsent(instructionName, k -> new HeavyHitter());
+		hh.time.add(timeNanos);
+		hh.count.increment();
+		hh.bytes.add(bytes);
+		hh.hist.add(timeNanos);
+	}
+	
+	/**
+	 * Estimates the bytes processed by an instruction as the in-memory
+	 * size of its matrix inputs and output (according to their meta data).
+	 * 
+	 * @param inst instruction
+	 * @param ec execution context
+	 * @return estimated size in bytes, or 0 if unknown
+	 */
+	public static long getProcessedBytes( Instruction inst, ExecutionContext ec )
+	{
+		if( !(inst instanceof ComputationCPInstruction) )
+			return 0;
+		ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+		long ret = 0;
+		for( CPOperand op : new CPOperand[]{cinst.input1, cinst.input2, cinst.input3, cinst.output} ) {
+			Data dat = (op != null && op.getDataType() == DataType.MATRIX) ? 
+				ec.getVariable(op.getName()) : null;
+			if( dat instanceof MatrixObject ) {
+				MatrixCharacteristics mc = ((MatrixObject)dat).getMatrixCharacteristics();
+				if( mc.dimsKnown() )
+					ret += OptimizerUtils.estimateSizeExactSparsity(mc.getRows(), mc.getCols(),
+						mc.nnzKnown() ? OptimizerUtils.getSparsity(mc) : 1.0);
+			}
+		}
+		return ret;
 	}
-
 
 	public static Set<String> getCPHeavyHitterOpCodes() {
-		return _cpInstTime.keySet();
+		return _cpInstStats.keySet();
 	}
 	
 	public static long getCPHeavyHitterCount(String opcode) {
-		return _cpInstCounts.get(opcode);
+		HeavyHitter hh = _cpInstStats.get(opcode);
+		return (hh != null) ? hh.count.sum() : 0;
+	}
+	
+	public static long getCPHeavyHitterTime(String opcode) {
+		HeavyHitter hh = _cpInstStats.get(opcode);
+		return (hh != null) ? hh.time.sum() : 0;
+	}
+	
+	public static long getCPHeavyHitterBytes(String opcode) {
+		HeavyHitter hh = _cpInstStats.get(opcode);
+		return (hh != null) ? hh.bytes.sum() : 0;
+	}
+	
+	/**
+	 * Obtain an approximate percentile of the execution times of an instruction.
+	 * 
+	 * @param opcode instruction/op name
+	 * @param p percentile in [0,1], e.g., 0.99 for p99
+	 * @return time in nano seconds, or 0 if unknown
+	 */
+	public static long getCPHeavyHitterTimePercentile(String opcode, double p) {
+		HeavyHitter hh = _cpInstStats.get(opcode);
+		return (hh != null) ? hh.hist.getPercentile(p) : 0;
 	}
 
 	/**
@@ -546,16 +684,19 @@ public class Statistics
 	 * @return string representing the heavy hitter instructions in tabular
 	 *         format
 	 */
-	@SuppressWarnings("unchecked")
 	public static String getHeavyHitters(int num) {
-		int len = _cpInstTime.size();
+		// snapshot of merged times and heavy hitters (concurrently updated and reset),
+		// which avoids lookups of entries that might be removed in the meantime
+		ArrayList<SimpleEntry<Entry<String, HeavyHitter>, Long>> tmp = new ArrayList<>();
+		for( Entry<String, HeavyHitter> e : _cpInstStats.entrySet() )
+			tmp.add(new SimpleEntry<>(e, e.getValue().time.sum()));
+		int len = tmp.size();
 		if (num <= 0 || len <= 0)
 			return "-";
 
 		// get top k via sort
-		Entry<String, Long>[] tmp = _cpInstTime.entrySet().toArray(new Entry[len]);
-		Arrays.sort(tmp, new Comparator<Entry<String, Long>>() {
-			public int compare(Entry<String, Long> e1, Entry<String, Long> e2) {
+		Collections.sort(tmp, new Comparator<Entry<Entry<String, HeavyHitter>, Long>>() {
+			public int compare(Entry<Entry<String, HeavyHitter>, Long> e1, Entry<Entry<String, HeavyHitter>, Long> e2) {
 				return e1.getValue().compareTo(e2.getValue());
 			}
 		});
@@ -564,6 +705,9 @@ public class Statistics
 		final String instCol = "Instruction";
 		final String timeSCol = "Time(s)";
 		final String countCol = "Count";
+		final String p50Col = "p50(ms)";
+		final String p99Col = "p99(ms)";
+		final String dataCol = "Data(MB)";
 		final String gpuCol = "Misc Timers";
 		StringBuilder sb = new StringBuilder();
 		int numHittersToDisplay = Math.min(num, len);
@@ -571,38 +715,45 @@ public class Statistics
 		int maxInstLen = instCol.length();
 		int maxTimeSLen = timeSCol.length();
 		int maxCountLen = countCol.length();
+		int maxP50Len = p50Col.length();
+		int maxP99Len = p99Col.length();
+		int maxDataLen = dataCol.length();
 		DecimalFormat sFormat = new DecimalFormat("#,##0.000");
+		String[][] cols = new String[numHittersToDisplay][];
 		for (int i = 0; i < numHittersToDisplay; i++) {
-			Entry<String, Long> hh = tmp[len - 1 - i];
-			String instruction = hh.getKey();
-			Long timeNs = hh.getValue();
-			double timeS = (double) timeNs / 1000000000.0;
-
+			Entry<Entry<String, HeavyHitter>, Long> e = tmp.get(len - 1 - i);
+			String instruction = e.getKey().getKey();
+			HeavyHitter hh = e.getKey().getValue();
+			
+			//time, count, p50, p99, and processed data
+			cols[i] = new String[] {
+				sFormat.format((double) e.getValue() / 1000000000.0),
+				String.valueOf(hh.count.sum()),
+				sFormat.format((double) hh.hist.getPercentile(0.5) / 1000000.0),
+				sFormat.format((double) hh.hist.getPercentile(0.99) / 1000000.0),
+				DMLScript.FINEGRAINED_STATISTICS ? //bytes only maintained w/ fine-grained stats
+					sFormat.format((double) hh.bytes.sum() / (1024 * 1024)) : "-"};
+			
 			maxInstLen = Math.max(maxInstLen, instruction.length());
-
-			String timeSString = sFormat.format(timeS);
-			maxTimeSLen = Math.max(maxTimeSLen, timeSString.length());
-
-			maxCountLen = Math.max(maxCountLen, String.valueOf(_cpInstCounts.get(instruction)).length());
+			maxTimeSLen = Math.max(maxTimeSLen, cols[i][0].length());
+			maxCountLen = Math.max(maxCountLen, cols[i][1].length());
+			maxP50Len = Math.max(maxP50Len, cols[i][2].length());
+			maxP99Len = Math.max(maxP99Len, cols[i][3].length());
+			maxDataLen = Math.max(maxDataLen, cols[i][4].length());
 		}
 		maxInstLen = Math.min(maxInstLen, DMLScript.STATISTICS_MAX_WRAP_LEN);
-		sb.append(String.format(
-				" %" + maxNumLen + "s  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen + "s", numCol,
-				instCol, timeSCol, countCol));
+		String lineFormat = " %" + maxNumLen + "s  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen 
+				+ "s  %" + maxP50Len + "s  %" + maxP99Len + "s  %" + maxDataLen + "s";
+		sb.append(String.format(lineFormat, numCol, instCol, timeSCol, countCol, p50Col, p99Col, dataCol));
 		if (GPUStatistics.DISPLAY_STATISTICS || DMLScript.FINEGRAINED_STATISTICS) {
 			sb.append("  ");
 			sb.append(gpuCol);
 		}
 		sb.append("\n");
 		for (int i = 0; i < numHittersToDisplay; i++) {
-			String instruction = tmp[len - 1 - i].getKey();
+			String instruction = tmp.get(len - 1 - i).getKey().getKey();
 			String [] wrappedInstruction = wrap(instruction, maxInstLen);
 
-			Long timeNs = tmp[len - 1 - i].getValue();
-			double timeS = (double) timeNs / 1000000000.0;
-			String timeSString = sFormat.format(timeS);
-
-			Long count = _cpInstCounts.get(instruction);
 			int numLines = wrappedInstruction.length;
 			String [] miscTimers = null;
 			
@@ -616,15 +767,13 @@ public class Statistics
 				String instStr = (wrapIter < wrappedInstruction.length) ? wrappedInstruction[wrapIter] : "";
 				String miscTimerStr = ( (GPUStatistics.DISPLAY_STATISTICS || DMLScript.FINEGRAINED_STATISTICS) && wrapIter < miscTimers.length) ? miscTimers[wrapIter] : ""; 
 				if(wrapIter == 0) {
-					// Display instruction count
-					sb.append(String.format(
-							" %" + maxNumLen + "d  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen + "d" + miscFormatString,
-							(i + 1), instStr, timeSString, count, miscTimerStr));
+					// Display instruction count and times
+					sb.append(String.format(lineFormat + miscFormatString, String.valueOf(i + 1), instStr, 
+							cols[i][0], cols[i][1], cols[i][2], cols[i][3], cols[i][4], miscTimerStr));
 				}
 				else {
-					sb.append(String.format(
-							" %" + maxNumLen + "s  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen + "s" + miscFormatString,
-							"", instStr, "", "", miscTimerStr));
+					sb.append(String.format(lineFormat + miscFormatString, 
+							"", instStr, "", "", "", "", "", miscTimerStr));
 				}
 				sb.append("\n");
 			}
@@ -710,6 +859,14 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforRangeMergeCount(){
+		return parforRangeMergeCount.longValue();
+	}
+	
+	public static long getParforOtherMergeCount(){
+		return parforOtherMergeCount.longValue();
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -779,9 +936,16 @@ public class Statistics
 					String.format("%.3f", examSparsityTime*1e-9) + "/" + String.format("%.3f", allocateDoubleArrTime*1e-9)  + ".\n");
 			}
 			
+			if( CommonThreadPool.getNumInvocations()>0 )
+				sb.append("Thread pool (k,inv,nest,tasks,q,steal):\t" + CommonThreadPool.displayStatistics() + ".\n");
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			sb.append("Cache WB policy (hit ratio):\t" + CacheStatistics.displayPolicyHitRatio() + ".\n");
+			if( CacheStatistics.getPrefetches()>0 || CacheStatistics.getRestoreStallTime()>0 )
+				sb.append("Cache prefetch (num, hit, stall):\t" + CacheStatistics.displayPrefetch() + " sec.\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( PageCache.isEnabled() )
+				sb.append("Page cache (hit, miss, evict):\t" + PageCache.displayStatistics() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
 			if( getFunRecompiles()>0 ) {
@@ -796,6 +960,8 @@ public class Statistics
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( CodegenUtils.getPersistentClassCache() != null )
+					sb.append("Codegen class cache (hit,miss):\t" + getCodegenClassCacheHits() + "/" + getCodegenClassCacheMisses() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -815,9 +981,22 @@ public class Statistics
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");	
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
+				if( parforRangeMergeCount.longValue()+parforOtherMergeCount.longValue() > 0 ) {
+					sb.append("ParFor mem merges (range/cmp):\t" + String.format("%d/%d.\n", 
+						parforRangeMergeCount.longValue(), parforOtherMergeCount.longValue()));
+					sb.append("ParFor mem merge time (range/cmp):\t" + String.format("%.3f/%.3f sec.\n", 
+						((double)parforRangeMergeTime.longValue())*1e-9, ((double)parforOtherMergeTime.longValue())*1e-9));
+				}
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
 
+			if( compressCount.longValue() > 0 ) {
+				sb.append("Compressed blocks:\t\t" + compressCount.longValue() + ".\n");
+				sb.append("Compress times (est,cocode,enc,clean):\t" + String.format("%.3f/%.3f/%.3f/%.3f sec.\n", 
+					compressPhaseTime[0].doubleValue()/1000, compressPhaseTime[1].doubleValue()/1000,
+					compressPhaseTime[2].doubleValue()/1000, compressPhaseTime[3].doubleValue()/1000));
+			}
+
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
 			sb.append("Total JVM GC time:\t\t" + ((double)getJVMgcTime())/1000 + " sec.\n");
@@ -827,4 +1006,15 @@ public class Statistics
 		
 		return sb.toString();
 	}
+	
+	/**
+	 * Striped statistics of a single heavy hitter instruction/op.
+	 */
+	private static class HeavyHitter 
+	{
+		private final LongAdder time = new LongAdder();
+		private final LongAdder count = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LatencyHistogram hist = new LatencyHistogram();
+	}
 }
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicMatrixRowVectorOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		PLUS, //sparse-unsafe
+		MULT, //sparse-safe
+		GREATER, //sparse-unsafe for negative vector entries
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testPlusDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.PLUS, true);
+	}
+
+	@Test
+	public void testPlusDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testPlusEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.PLUS, false);
+	}
+
+	@Test
+	public void testMultDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.MULT, true);
+	}
+
+	@Test
+	public void testMultDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.MULT, false);
+	}
+
+	@Test
+	public void testMultEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.MULT, false);
+	}
+
+	@Test
+	public void testGreaterDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.GREATER, true);
+	}
+
+	@Test
+	public void testGreaterDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.GREATER, false);
+	}
+
+	@Test
+	public void testGreaterEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.GREATER, false);
+	}
+
+	private void runOperationsTest(SparsityType sptype, ValueType vtype, OpType otype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vector = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(1, cols, -1, 1, 1.0, 3));
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//matrix-row vector uncompressed
+			ValueFunction fn = (otype==OpType.PLUS) ? Plus.getPlusFnObject() :
+				(otype==OpType.MULT) ? Multiply.getMultiplyFnObject() : GreaterThan.getGreaterThanFnObject();
+			BinaryOperator bop = new BinaryOperator(fn);
+			MatrixBlock ret1 = (MatrixBlock)mb.binaryOperations(bop, vector, new MatrixBlock());
+			
+			//matrix-row vector compressed (output remains compressed)
+			MatrixBlock ret2 = (MatrixBlock)cmb.binaryOperations(bop, vector, new MatrixBlock());
+			if( compress ) {
+				Assert.assertTrue(ret2 instanceof CompressedMatrixBlock 
+					&& ((CompressedMatrixBlock)ret2).isCompressed());
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicMatrixSliceTest extends AutomatedTestBase
+{	
+	private static final int rows = 2*1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum SliceType {
+		ROW_RANGE, //rows [rl,ru], all columns
+		COL_RANGE, //all rows, columns [cl,cu]
+		ROW_COL_RANGE, //rows [rl,ru], columns [cl,cu]
+		SINGLE_ROW, //single row, all columns
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSliceRowDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.ROW_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROW_RANGE, false);
+	}
+
+	@Test
+	public void testSliceColDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceColDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.COL_RANGE, false);
+	}
+
+	@Test
+	public void testSliceRowColDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.ROW_COL_RANGE, true);
+	}
+
+	@Test
+	public void testSliceRowColDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.ROW_COL_RANGE, false);
+	}
+
+	@Test
+	public void testSliceSingleRowDenseRandDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowDenseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowDenseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowDenseConstDataCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.CONST, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowSparseRandDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowSparseRoundRandDataOLECompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowSparseRoundRandDataDDCCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowSparseConstDataCompression() {
+		runSliceTest(SparsityType.SPARSE, ValueType.CONST, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowEmptyCompression() {
+		runSliceTest(SparsityType.EMPTY, ValueType.RAND, SliceType.SINGLE_ROW, true);
+	}
+
+	@Test
+	public void testSliceSingleRowDenseRandDataNoCompression() {
+		runSliceTest(SparsityType.DENSE, ValueType.RAND, SliceType.SINGLE_ROW, false);
+	}
+
+	private void runSliceTest(SparsityType sptype, ValueType vtype, SliceType stype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//prepare slice boundaries (not aligned with bitmap segments)
+			int rl = 0, ru = rows-1, cl = 0, cu = cols-1;
+			switch( stype ) {
+				case ROW_RANGE: rl = 1111; ru = 2222; break;
+				case COL_RANGE: cl = 5; cu = 21; break;
+				case ROW_COL_RANGE: rl = 7; ru = 1500; cl = 3; cu = 33; break;
+				case SINGLE_ROW: rl = 1789; ru = 1789; break;
+			}
+			
+			//slice uncompressed
+			MatrixBlock ret1 = mb.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			
+			//slice compressed (output remains compressed except single rows)
+			MatrixBlock ret2 = cmb.sliceOperations(rl, ru, cl, cu, new MatrixBlock());
+			if( compress && stype != SliceType.SINGLE_ROW ) {
+				Assert.assertTrue(ret2 instanceof CompressedMatrixBlock 
+					&& ((CompressedMatrixBlock)ret2).isCompressed());
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ru-rl+1, cu-cl+1, 0.0000001);
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicUnaryOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		EXP, //sparse-unsafe
+		ABS, //sparse-safe
+		ROUND, //sparse-safe
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testExpDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.EXP, true);
+	}
+
+	@Test
+	public void testExpDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.EXP, false);
+	}
+
+	@Test
+	public void testExpEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.EXP, false);
+	}
+
+	@Test
+	public void testAbsDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.ABS, true);
+	}
+
+	@Test
+	public void testAbsDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ABS, false);
+	}
+
+	@Test
+	public void testAbsEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.ABS, false);
+	}
+
+	@Test
+	public void testRoundDenseRandDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundDenseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundDenseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundDenseConstDataCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundSparseRandDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundSparseRoundRandDataOLECompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundSparseRoundRandDataDDCCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundSparseConstDataCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundEmptyCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.ROUND, true);
+	}
+
+	@Test
+	public void testRoundDenseRandDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundDenseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundDenseConstDataNoCompression() {
+		runOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundSparseRandDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundSparseRoundRandDataOLENoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundSparseConstDataNoCompression() {
+		runOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ROUND, false);
+	}
+
+	@Test
+	public void testRoundEmptyNoCompression() {
+		runOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.ROUND, false);
+	}
+
+	private void runOperationsTest(SparsityType sptype, ValueType vtype, OpType otype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//unary operation uncompressed
+			BuiltinCode code = (otype==OpType.EXP) ? BuiltinCode.EXP :
+				(otype==OpType.ABS) ? BuiltinCode.ABS : BuiltinCode.ROUND;
+			UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(code));
+			MatrixBlock ret1 = (MatrixBlock)mb.unaryOperations(uop, new MatrixBlock());
+			
+			//unary operation compressed (output remains compressed)
+			MatrixBlock ret2 = (MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock());
+			if( compress ) {
+				Assert.assertTrue(ret2 instanceof CompressedMatrixBlock 
+					&& ((CompressedMatrixBlock)ret2).isCompressed());
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
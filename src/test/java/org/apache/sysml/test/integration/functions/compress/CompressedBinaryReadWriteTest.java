@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils.LocalFileFormat;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the local eviction round trip of compressed matrix blocks, which
+ * are persisted without decompression, as well as binary block writes of
+ * compressed matrix blocks, which use the ordinary blocked format.
+ */
+public class CompressedBinaryReadWriteTest extends AutomatedTestBase
+{
+	private static final int rows = 1023;
+	private static final int cols = 20;
+	private static final int blocksize = 1000;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLE() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, false);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLE() {
+		runCompressedReadWriteTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, false);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDC() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, false);
+	}
+
+	@Test
+	public void testDenseConstData() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.CONST, false);
+	}
+
+	@Test
+	public void testDenseRandData() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.RAND, false);
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLEParallel() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, true);
+	}
+
+	@Test
+	public void testSparseRoundRandDataDDCParallel() {
+		runCompressedReadWriteTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, true);
+	}
+
+	@Test
+	public void testDenseConstDataParallel() {
+		runCompressedReadWriteTest(SparsityType.DENSE, ValueType.CONST, true);
+	}
+
+	@Test
+	public void testLocalEviction() {
+		String fname = getTempFileName("cmbevict");
+		try
+		{
+			MatrixBlock mb = createInput(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC);
+			CompressedMatrixBlock cmb = compress(mb);
+
+			//write and read compressed block w/ and w/o memory mapping
+			for( boolean mmap : new boolean[]{true, false} ) {
+				LocalFileFormat fmt = LocalFileUtils.writeCacheBlockToLocal(fname, cmb, mmap);
+				Assert.assertEquals(LocalFileFormat.COMPRESSED, fmt);
+				MatrixBlock ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true, fmt);
+				checkCompressedResult(mb, ret, cmb.getColGroups().size());
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+			cleanup(fname);
+		}
+	}
+
+	@Test
+	public void testExactSizeOnDisk() {
+		try
+		{
+			for( ValueType vtype : ValueType.values() ) {
+				CompressedMatrixBlock cmb = compress(createInput(SparsityType.DENSE, vtype));
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				cmb.write(new DataOutputStream(bos));
+				Assert.assertEquals(bos.size(), cmb.getExactSizeOnDisk());
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+
+	/**
+	 *
+	 * @param sptype sparsity type
+	 * @param vtype value type
+	 * @param parallel use multi-threaded writer and reader
+	 */
+	private void runCompressedReadWriteTest(SparsityType sptype, ValueType vtype, boolean parallel)
+	{
+		RUNTIME_PLATFORM platformOld = DMLScript.rtplatform;
+		String fname = getTempFileName("cmb");
+		try
+		{
+			DMLScript.rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+
+			//generate and compress input data
+			MatrixBlock mb = createInput(sptype, vtype);
+			CompressedMatrixBlock cmb = compress(mb);
+
+			//write compressed matrix block to (blocked) binary block file
+			WriterBinaryBlock writer = parallel ?
+				new WriterBinaryBlockParallel(-1) : new WriterBinaryBlock(-1);
+			writer.writeMatrixToHDFS(cmb, fname, rows, cols, blocksize, blocksize, cmb.getNonZeros());
+
+			//read uncompressed blocks from binary block file
+			MatrixReader reader = parallel ?
+				new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, blocksize, blocksize, -1);
+
+			//compare result with input
+			Assert.assertFalse(ret instanceof CompressedMatrixBlock);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.rtplatform = platformOld;
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+			cleanup(fname);
+		}
+	}
+
+	private static MatrixBlock createInput(SparsityType sptype, ValueType vtype)
+		throws Exception
+	{
+		double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+		double min = (vtype==ValueType.CONST)? 10 : -10;
+		double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+		if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+			input = TestUtils.round(input);
+		}
+		return DataConverter.convertToMatrixBlock(input);
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb)
+		throws Exception
+	{
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+		cmb.compress();
+		Assert.assertTrue(cmb.isCompressed());
+		return cmb;
+	}
+
+	private static void checkCompressedResult(MatrixBlock expected, MatrixBlock ret, int numGroups)
+		throws Exception
+	{
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		CompressedMatrixBlock cret = (CompressedMatrixBlock) ret;
+		Assert.assertTrue(cret.isCompressed());
+		Assert.assertEquals(numGroups, cret.getColGroups().size());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(expected);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(cret.decompress());
+		TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+	}
+
+	private static String getTempFileName(String prefix) {
+		return new File(System.getProperty("java.io.tmpdir"),
+			prefix + "_" + System.nanoTime()).getPath();
+	}
+
+	private static void cleanup(String fname) {
+		try {
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			//ignore cleanup errors
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.util.List;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock.CompressionStatistics;
+import org.apache.sysml.runtime.compress.cocode.ColumnGroupPartitionerBinPacking;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that multi-threaded compression (incl parallel co-coding) yields
+ * the same compression plan as single-threaded compression, independent
+ * of the number of local cores.
+ */
+public class ParCompressionPlanTest extends AutomatedTestBase
+{
+	private static final int rows = 5003;
+	private static final int cols = 24;
+	private static final int numThreads = 4;
+
+	public enum ValueType {
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+		CORRELATED, //co-coded
+	}
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testRoundRandDataOLE() {
+		runCompressionPlanTest(ValueType.RAND_ROUND_OLE);
+	}
+
+	@Test
+	public void testRoundRandDataDDC() {
+		runCompressionPlanTest(ValueType.RAND_ROUND_DDC);
+	}
+
+	@Test
+	public void testCorrelatedData() {
+		runCompressionPlanTest(ValueType.CORRELATED);
+	}
+
+	/**
+	 *
+	 * @param vtype value type
+	 */
+	private void runCompressionPlanTest(ValueType vtype)
+	{
+		boolean statsOld = DMLScript.STATISTICS;
+		double binCapacityOld = ColumnGroupPartitionerBinPacking.BIN_CAPACITY;
+		try
+		{
+			//generate input data
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, 0, 3, 0.9, 7));
+			if( vtype==ValueType.CORRELATED ) {
+				//derive every other column from its predecessor
+				for( int i=0; i<rows; i++ )
+					for( int j=1; j<cols; j+=2 )
+						input[i][j] = 2 * input[i][j-1] + 1;
+				//single bin of all columns (parallel merge candidates)
+				ColumnGroupPartitionerBinPacking.BIN_CAPACITY = 1;
+			}
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype!=ValueType.RAND_ROUND_OLE);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block single- and multi-threaded
+			DMLScript.STATISTICS = true;
+			Statistics.reset();
+			CompressedMatrixBlock cmb1 = new CompressedMatrixBlock(mb);
+			cmb1.compress(1);
+			CompressedMatrixBlock cmb2 = new CompressedMatrixBlock(mb);
+			cmb2.compress(numThreads);
+
+			//compare compression plans
+			List<ColGroup> groups1 = cmb1.getColGroups();
+			List<ColGroup> groups2 = cmb2.getColGroups();
+			Assert.assertEquals(groups1.size(), groups2.size());
+			for( int i=0; i<groups1.size(); i++ ) {
+				Assert.assertEquals(groups1.get(i).getCompType(), groups2.get(i).getCompType());
+				Assert.assertArrayEquals(groups1.get(i).getColIndices(), groups2.get(i).getColIndices());
+			}
+			if( vtype==ValueType.CORRELATED )
+				Assert.assertTrue(groups2.size() < cols);
+
+			//check per-phase statistics
+			Assert.assertEquals(2, Statistics.getCompressionCount());
+			CompressionStatistics stats = cmb2.getCompressionStatistics();
+			Assert.assertTrue(stats.timePhase1 >= 0 && stats.timePhase2 >= 0
+				&& stats.timePhase3 >= 0 && stats.timePhase4 >= 0);
+
+			//compare decompressed result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(cmb2.decompress(numThreads));
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = statsOld;
+			ColumnGroupPartitionerBinPacking.BIN_CAPACITY = binCapacityOld;
+			Statistics.reset();
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Test concurrent execution of clones of a single prepared script,
+ * which share the compiled program and a reused model input.
+ */
+public class JMLCClonedPreparedScriptTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "concurrent-score";
+	private final static String TEST_NAME2 = "concurrent-score-fun";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCClonedPreparedScriptTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 73;
+	private final static int cols = 31;
+	private final static int nThreads = 8;
+	private final static int nRuns = 25;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "Y" }) );
+	}
+	
+	@Test
+	public void testConcurrentScoringDense() throws Exception {
+		runJMLCClonedScriptTest(TEST_NAME, 0.9);
+	}
+	
+	@Test
+	public void testConcurrentScoringSparse() throws Exception {
+		runJMLCClonedScriptTest(TEST_NAME, 0.1);
+	}
+	
+	@Test
+	public void testConcurrentScoringFunctionRecompile() throws Exception {
+		runJMLCClonedScriptTest(TEST_NAME2, 0.9);
+	}
+	
+	@Test
+	public void testConcurrentScoringDynRecompile() throws Exception {
+		runJMLCClonedScriptTest(TEST_NAME, 0.9, true);
+	}
+	
+	@Test
+	public void testConcurrentScoringFunctionDynRecompile() throws Exception {
+		runJMLCClonedScriptTest(TEST_NAME2, 0.9, true);
+	}
+
+	private void runJMLCClonedScriptTest(String testname, double sparsity) 
+		throws Exception
+	{
+		runJMLCClonedScriptTest(testname, sparsity, false);
+	}
+	
+	private void runJMLCClonedScriptTest(String testname, double sparsity, boolean dynRecompile) 
+		throws Exception
+	{
+		loadTestConfiguration(getTestConfiguration(testname));
+		
+		//generate inputs
+		final double[][] W = getRandomMatrix(cols, 1, -1, 1, 0.9, 3);
+		final List<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nThreads; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparsity, 7+i));
+		
+		Connection conn = dynRecompile ?
+			new Connection(ConfigType.ALLOW_DYN_RECOMPILATION) : new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+			//compile once, bind reused model
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");
+			final PreparedScript pstmt = conn.prepareScript(script, 
+				new String[]{"X","W"}, new String[]{"Y"}, false);
+			pstmt.setMatrix("W", W, true);
+			if( testname.equals(TEST_NAME2) ) //private function copies per clone
+				pstmt.enableFunctionRecompile(null, "score");
+			
+			//sequential reference results
+			List<double[][]> Yref = new ArrayList<double[][]>();
+			for( double[][] X : Xset ) {
+				pstmt.setMatrix("X", X);
+				Yref.add(pstmt.executeScript().getMatrix("Y"));
+			}
+			
+			//concurrent scoring w/ one clone per thread
+			List<Future<List<double[][]>>> rt = new ArrayList<Future<List<double[][]>>>();
+			for( int i=0; i<nThreads; i++ ) {
+				final double[][] X = Xset.get(i);
+				rt.add(pool.submit(new Callable<List<double[][]>>() {
+					@Override
+					public List<double[][]> call() throws Exception {
+						PreparedScript lpstmt = pstmt.clone();
+						List<double[][]> ret = new ArrayList<double[][]>();
+						for( int j=0; j<nRuns; j++ ) {
+							lpstmt.setMatrix("X", X);
+							ret.add(lpstmt.executeScript().getMatrix("Y"));
+						}
+						return ret;
+					}
+				}));
+			}
+			
+			//compare results of all runs with reference results
+			for( int i=0; i<nThreads; i++ )
+				for( double[][] Y : rt.get(i).get() )
+					TestUtils.compareMatrices(Yref.get(i), Y, rows, 1, 1e-10);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.MicroBatchScorer;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test micro-batched scoring of concurrent single-row requests, where
+ * results are compared with the row-wise scores of the entire matrix.
+ */
+public class JMLCMicroBatchScoringTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "microbatch-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCMicroBatchScoringTest.class.getSimpleName() + "/";
+
+	private final static int rows = 400;
+	private final static int cols = 17;
+	private final static int nThreads = 8;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y" }) );
+	}
+
+	@Test
+	public void testMicroBatchSingleDispatcher() throws Exception {
+		runJMLCMicroBatchTest(16, 1);
+	}
+
+	@Test
+	public void testMicroBatchMultiDispatcher() throws Exception {
+		runJMLCMicroBatchTest(16, 3);
+	}
+
+	@Test
+	public void testMicroBatchSize1() throws Exception {
+		runJMLCMicroBatchTest(1, 2);
+	}
+
+	@Test
+	public void testMicroBatchInconsistentRows() throws Exception {
+		Connection conn = new Connection();
+		MicroBatchScorer scorer = null;
+		try {
+			PreparedScript pstmt = prepareScript(conn, getRandomMatrix(cols, 1, -1, 1, 1, 3));
+			scorer = new MicroBatchScorer(pstmt, "X", "Y", 1, 0);
+			scorer.score(new double[cols+1]);
+			Assert.fail("Expected DMLException for inconsistent dimensions.");
+		}
+		catch(DMLException ex) {
+			//expected
+		}
+		finally {
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	@Test
+	public void testMicroBatchMalformedRowIsolation() throws Exception {
+		Connection conn = new Connection();
+		MicroBatchScorer scorer = null;
+		try {
+			//reference results of a single execution over all rows
+			double[][] X = getRandomMatrix(7, cols, -1, 1, 0.7, 7);
+			PreparedScript pstmt = prepareScript(conn, getRandomMatrix(cols, 1, -1, 1, 1, 3));
+			pstmt.setMatrix("X", X);
+			double[][] Yref = pstmt.executeScript().getMatrix("Y");
+
+			//malformed first request batched with well-formed requests
+			scorer = new MicroBatchScorer(pstmt, "X", "Y", 8, 500);
+			CompletableFuture<double[]> bad = scorer.scoreAsync(new double[cols+1]);
+			List<CompletableFuture<double[]>> good = new ArrayList<CompletableFuture<double[]>>();
+			for( int i=0; i<X.length; i++ )
+				good.add(scorer.scoreAsync(X[i]));
+			for( int i=0; i<X.length; i++ )
+				Assert.assertEquals(Yref[i][0], good.get(i).get()[0], 1e-10);
+			try {
+				bad.get();
+				Assert.fail("Expected failure for inconsistent dimensions.");
+			}
+			catch(ExecutionException ex) {
+				//expected
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	@Test
+	public void testMicroBatchClosePending() throws Exception {
+		Connection conn = new Connection();
+		MicroBatchScorer scorer = null;
+		try {
+			//requests pending on close are failed, and close does not block
+			PreparedScript pstmt = prepareScript(conn, getRandomMatrix(cols, 1, -1, 1, 1, 3));
+			scorer = new MicroBatchScorer(pstmt, "X", "Y", 1, 0, 2);
+			CompletableFuture<double[]> req = scorer.scoreAsync(new double[cols]);
+			scorer.close();
+			Assert.assertTrue(req.isDone());
+			try {
+				scorer.score(new double[cols]);
+				Assert.fail("Expected DMLException for closed scorer.");
+			}
+			catch(DMLException ex) {
+				//expected
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	private void runJMLCMicroBatchTest(int batchSize, int numDispatchers)
+		throws Exception
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+
+		//generate inputs
+		final double[][] W = getRandomMatrix(cols, 1, -1, 1, 0.9, 3);
+		final double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.7, 7);
+
+		Connection conn = new Connection();
+		MicroBatchScorer scorer = null;
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+			//reference results of a single execution over all rows
+			PreparedScript pstmt = prepareScript(conn, W);
+			pstmt.setMatrix("X", X);
+			double[][] Yref = pstmt.executeScript().getMatrix("Y");
+
+			//concurrent single-row requests
+			final MicroBatchScorer fscorer = scorer =
+				new MicroBatchScorer(pstmt, "X", "Y", batchSize, 5, numDispatchers);
+			List<Future<double[][]>> rt = new ArrayList<Future<double[][]>>();
+			for( int i=0; i<nThreads; i++ ) {
+				final int tix = i;
+				rt.add(pool.submit(new Callable<double[][]>() {
+					@Override
+					public double[][] call() throws Exception {
+						double[][] ret = new double[rows][];
+						for( int j=tix; j<rows; j+=nThreads )
+							ret[j] = fscorer.score(X[j]);
+						return ret;
+					}
+				}));
+			}
+
+			//collect and compare results
+			double[][] Y = new double[rows][];
+			for( int i=0; i<nThreads; i++ ) {
+				double[][] tmp = rt.get(i).get();
+				for( int j=i; j<rows; j+=nThreads )
+					Y[j] = tmp[j];
+			}
+			TestUtils.compareMatrices(Yref, Y, rows, 1, 1e-10);
+
+			//check batching statistics
+			Assert.assertEquals(rows, scorer.getNumRequests());
+			Assert.assertTrue(scorer.getMaxBatchSize() <= batchSize);
+			Assert.assertTrue(scorer.getNumBatches() >= rows / batchSize);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	private PreparedScript prepareScript(Connection conn, double[][] W)
+		throws Exception
+	{
+		String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");
+		PreparedScript pstmt = conn.prepareScript(script,
+			new String[]{"X","W"}, new String[]{"Y"}, false);
+		pstmt.setMatrix("W", W, true);
+		return pstmt;
+	}
+}
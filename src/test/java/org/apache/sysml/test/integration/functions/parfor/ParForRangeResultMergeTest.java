@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Test of the range-aware in-memory result merge for disjoint row, column, and 
+ * cell writes, where results are compared with equivalent serial computations.
+ */
+public class ParForRangeResultMergeTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_rangemerge1"; //rows
+	private final static String TEST_NAME2 = "parfor_rangemerge2"; //cols
+	private final static String TEST_NAME3 = "parfor_rangemerge3"; //cells
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForRangeResultMergeTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 1025;
+	private final static int cols = 67;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R", "S" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R", "S" }) );
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R", "S" }) );
+	}
+
+	@Test
+	public void testParForRangeMergeRows() {
+		runParForRangeResultMergeTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testParForRangeMergeCols() {
+		runParForRangeResultMergeTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testParForRangeMergeCells() {
+		runParForRangeResultMergeTest(TEST_NAME3, true);
+	}
+	
+	@Test
+	public void testParForCompareMergeRows() {
+		runParForRangeResultMergeTest(TEST_NAME1, false);
+	}
+	
+	private void runParForRangeResultMergeTest( String testname, boolean rangeMerge )
+	{
+		boolean oldFlag = ResultMergeLocalMemory.ALLOW_RANGE_MERGE;
+		
+		try
+		{
+			ResultMergeLocalMemory.ALLOW_RANGE_MERGE = rangeMerge;
+			
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", String.valueOf(rows), 
+				String.valueOf(cols), output("R"), output("S") };
+			
+			runTest(true, false, null, -1);
+			
+			//compare parfor result with serial reference
+			HashMap<CellIndex, Double> dmlR = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> dmlS = readDMLMatrixFromHDFS("S");
+			TestUtils.compareMatrices(dmlR, dmlS, eps, "R", "S");
+			
+			//check used result merge
+			if( rangeMerge ) 
+				Assert.assertTrue(Statistics.getParforRangeMergeCount() > 0);
+			else
+				Assert.assertEquals(0, Statistics.getParforRangeMergeCount());
+			Assert.assertEquals(rangeMerge ? 0 : 1, Statistics.getParforOtherMergeCount());
+		}
+		finally {
+			ResultMergeLocalMemory.ALLOW_RANGE_MERGE = oldFlag;
+		}
+	}
+}
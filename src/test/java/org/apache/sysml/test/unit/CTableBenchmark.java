@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Random;
+
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Micro benchmark of the single- and multi-threaded ctable(A,B,W) over
+ * uniform and skewed (power-law) key distributions, for hash-based and
+ * dense outputs of known dimensions. Run via main with optional arguments
+ * [number of rows, max key, number of threads, number of repetitions].
+ */
+public class CTableBenchmark
+{
+	public static void main(String[] args) throws Exception {
+		int rows = (args.length > 0) ? Integer.parseInt(args[0]) : 10000000;
+		int maxKey = (args.length > 1) ? Integer.parseInt(args[1]) : 1000;
+		int k = (args.length > 2) ? Integer.parseInt(args[2]) :
+			Runtime.getRuntime().availableProcessors();
+		int reps = (args.length > 3) ? Integer.parseInt(args[3]) : 3;
+
+		MatrixBlock w = MatrixBlock.randOperations(rows, 1, 1.0, 0, 1, "uniform", 11);
+		System.out.println("keys\toutput\tk=1[ms]\tk="+k+"[ms]");
+		for( boolean skewed : new boolean[]{false, true} ) {
+			MatrixBlock in1 = createKeys(rows, maxKey, skewed, 7);
+			MatrixBlock in2 = createKeys(rows, maxKey, skewed, 3);
+			for( boolean dense : new boolean[]{false, true} ) {
+				double t1 = runCTable(in1, in2, w, maxKey, dense, 1, reps);
+				double t2 = runCTable(in1, in2, w, maxKey, dense, k, reps);
+				System.out.println((skewed?"skewed":"uniform")+"\t"+(dense?"dense":"hash")+"\t"
+					+String.format("%.1f", t1)+"\t"+String.format("%.1f", t2));
+			}
+		}
+		CommonThreadPool.shutdownShared();
+	}
+
+	private static double runCTable(MatrixBlock in1, MatrixBlock in2, MatrixBlock w,
+		int maxKey, boolean dense, int k, int reps) throws Exception
+	{
+		//warmup, then average over the given repetitions
+		double time = 0;
+		for( int i=0; i<reps+1; i++ ) {
+			CTableMap map = new CTableMap();
+			MatrixBlock out = dense ? new MatrixBlock(maxKey, maxKey, false) : null;
+			long t0 = System.nanoTime();
+			LibMatrixCTable.ctable(in1, in2, 1, w, 2, false, map, out, k);
+			if( i > 0 )
+				time += (System.nanoTime() - t0) / 1e6;
+		}
+		return time / reps;
+	}
+
+	private static MatrixBlock createKeys(int rows, int maxKey, boolean skewed, long seed) {
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, 1, false);
+		ret.allocateDenseBlock();
+		double[] a = ret.getDenseBlock();
+		for( int i=0; i<rows; i++ ) {
+			double r = rand.nextDouble();
+			a[i] = skewed ?
+				Math.min(Math.floor(1/Math.pow(1-r, 1.5)), maxKey) : //most keys 1-3
+				Math.floor(r*maxKey) + 1;
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
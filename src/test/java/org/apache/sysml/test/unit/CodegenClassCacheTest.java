@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.codegen.SpoofCellwise;
+import org.apache.sysml.runtime.codegen.SpoofOperator;
+import org.apache.sysml.utils.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CodegenClassCacheTest
+{
+	private File _dir;
+	private CompilerType _compilerOld;
+	private boolean _statsOld;
+
+	@Before
+	public void setUp() throws Exception {
+		_dir = Files.createTempDirectory("classcache").toFile();
+		_compilerOld = SpoofCompiler.JAVA_COMPILER;
+		_statsOld = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		Statistics.reset();
+		CodegenUtils.clearClassCache();
+		CodegenUtils.setPersistentClassCache(_dir.getPath());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		CodegenUtils.setPersistentClassCache(null);
+		CodegenUtils.clearClassCache();
+		SpoofCompiler.JAVA_COMPILER = _compilerOld;
+		DMLScript.STATISTICS = _statsOld;
+		Statistics.reset();
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Test
+	public void testReuseAcrossProcessesJanino() throws Exception {
+		runClassCacheTest(CompilerType.JANINO);
+	}
+
+	@Test
+	public void testReuseAcrossProcessesJavac() throws Exception {
+		runClassCacheTest(CompilerType.JAVAC);
+	}
+
+	@Test
+	public void testDifferentSourceCode() throws Exception {
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		Class<?> cla1 = CodegenUtils.compileClass("codegen.TMP3", createSource(3, "+"));
+		Class<?> cla2 = CodegenUtils.compileClass("codegen.TMP5", createSource(5, "*"));
+		Assert.assertNotEquals(cla1.getName(), cla2.getName());
+		Assert.assertEquals(2, _dir.list().length);
+		Assert.assertEquals(2, Statistics.getCodegenClassCacheMisses());
+	}
+
+	@Test
+	public void testCorruptClassFile() throws Exception {
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		Class<?> cla1 = CodegenUtils.compileClass("codegen.TMP3", createSource(3, "+"));
+		File file = _dir.listFiles()[0];
+		Files.write(file.toPath(), new byte[]{1, 2, 3});
+
+		//recompile on invalid cached class and overwrite cache entry
+		CodegenUtils.clearClassCache();
+		Class<?> cla2 = CodegenUtils.compileClass("codegen.TMP3", createSource(3, "+"));
+		Assert.assertEquals(cla1.getName(), cla2.getName());
+		Assert.assertEquals(0, Statistics.getCodegenClassCacheHits());
+		Assert.assertTrue(file.length() > 3);
+	}
+
+	private void runClassCacheTest(CompilerType compiler) throws Exception {
+		SpoofCompiler.JAVA_COMPILER = compiler;
+
+		//compile class and store it in the persistent cache
+		Class<?> cla1 = CodegenUtils.compileClass("codegen.TMP3", createSource(3, "+"));
+		Assert.assertTrue(cla1.getName().startsWith("codegen."+CodegenUtils.PERSISTENT_CLASS_PREFIX));
+		Assert.assertEquals(1, _dir.list().length);
+		Assert.assertEquals(0, Statistics.getCodegenClassCacheHits());
+		Assert.assertEquals(1, Statistics.getCodegenClassCacheMisses());
+		Assert.assertEquals(1, Statistics.getCodegenClassCompile());
+
+		//load same operator w/ different generated names in a "new process"
+		CodegenUtils.clearClassCache();
+		Class<?> cla2 = CodegenUtils.compileClass("codegen.TMP17", createSource(17, "+"));
+		Assert.assertEquals(cla1.getName(), cla2.getName());
+		Assert.assertEquals(1, Statistics.getCodegenClassCacheHits());
+		Assert.assertEquals(1, Statistics.getCodegenClassCompile());
+
+		//check loaded operator and class data for class shipping
+		SpoofOperator op = CodegenUtils.createInstance(cla2);
+		Assert.assertTrue(op instanceof SpoofCellwise);
+		Assert.assertNotNull(CodegenUtils.getClassData(cla2.getName()));
+		Assert.assertSame(cla2, CodegenUtils.getClass(cla2.getName()));
+	}
+
+	private static String createSource(int id, String op) {
+		String cname = "TMP" + id;
+		String var = "TMP" + (id+1);
+		return "package codegen;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofCellwise;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofOperator.SideInput;\n"
+			+ "\n"
+			+ "public final class " + cname + " extends SpoofCellwise {\n"
+			+ "  public " + cname + "() {\n"
+			+ "    super(CellType.NO_AGG, true, AggOp.SUM);\n"
+			+ "  }\n"
+			+ "  protected double genexec(double a, SideInput[] b, double[] scalars, int m, int n, int rowIndex, int colIndex) { \n"
+			+ "    double " + var + " = a " + op + " 7;\n"
+			+ "    return " + var + ";\n"
+			+ "  }\n"
+			+ "}\n";
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommonThreadPoolTest 
+{
+	@Test
+	public void testSharedPoolShutdown() throws Exception {
+		ExecutorService pool = CommonThreadPool.get(4);
+		pool.shutdown();
+		Assert.assertFalse(pool.isShutdown());
+		Assert.assertEquals(Integer.valueOf(7), 
+			CommonThreadPool.get(4).submit(() -> 7).get());
+	}
+
+	@Test
+	public void testNestedInvocation() throws Exception {
+		int k = Math.max(CommonThreadPool.getSharedPoolSize(), 2);
+		ExecutorService pool = CommonThreadPool.get(k);
+		List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+		for( int i=0; i<4*k; i++ )
+			tasks.add(() -> sumNested(k));
+		long sum = 0;
+		for( Future<Long> f : pool.invokeAll(tasks) )
+			sum += f.get();
+		pool.shutdown();
+		Assert.assertEquals(4L*k*k*(k-1)/2, sum);
+		Assert.assertTrue(CommonThreadPool.getNumNestedInvocations() > 0);
+	}
+
+	private static long sumNested(int k) throws Exception {
+		ExecutorService pool = CommonThreadPool.get(k);
+		List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+		for( int i=0; i<k; i++ ) {
+			final long val = i;
+			tasks.add(() -> val);
+		}
+		long sum = 0;
+		for( Future<Long> f : pool.invokeAll(tasks) )
+			sum += f.get();
+		pool.shutdown();
+		return sum;
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlockOffHeap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DenseBlockOffHeapTest
+{
+	//multiple segments and batches
+	private static final int rows = 2345;
+	private static final int cols = 567;
+	private static final long segSize = 1001L * cols;
+	private static final double eps = 1e-9;
+
+	@Test
+	public void testRoundtripDense() throws Exception {
+		runRoundtripTest(0.9);
+	}
+
+	@Test
+	public void testRoundtripSparse() throws Exception {
+		runRoundtripTest(0.05);
+	}
+
+	@Test
+	public void testMatrixMult() throws Exception {
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		MatrixBlock mb2 = createMatrix(cols, 31, 0.9, 3);
+		DenseBlockOffHeap ret = LibMatrixMult.matrixMult(createOffHeap(mb1), mb2, 4);
+		MatrixBlock ret2 = new MatrixBlock(rows, 31, false);
+		LibMatrixMult.matrixMult(mb1, mb2, ret2);
+		compare(ret2, ret.toMatrixBlock());
+		Assert.assertEquals(ret2.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void testAggregateSum() throws Exception {
+		runAggregateTest("uak+");
+	}
+
+	@Test
+	public void testAggregateRowSums() throws Exception {
+		runAggregateTest("uark+");
+	}
+
+	@Test
+	public void testAggregateColSums() throws Exception {
+		runAggregateTest("uack+");
+	}
+
+	@Test
+	public void testAggregateMax() throws Exception {
+		runAggregateTest("uamax");
+	}
+
+	@Test
+	public void testAggregateRowMeans() throws Exception {
+		runAggregateTest("uarmean");
+	}
+
+	@Test
+	public void testAggregateMean() throws Exception {
+		runAggregateTest("uamean");
+	}
+
+	@Test
+	public void testBincellScalar() throws Exception {
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		ScalarOperator sop = InstructionUtils.parseScalarBinaryOperator("*", false, 7);
+		DenseBlockOffHeap ret = LibMatrixBincell.bincellOp(createOffHeap(mb1), sop, 4);
+		MatrixBlock ret2 = (MatrixBlock) mb1.scalarOperations(sop, new MatrixBlock());
+		compare(ret2, ret.toMatrixBlock());
+		Assert.assertEquals(ret2.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void testBincellMatrixMatrix() throws Exception {
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		MatrixBlock mb2 = createMatrix(rows, cols, 0.5, 3);
+		BinaryOperator bop = InstructionUtils.parseBinaryOperator("+");
+		DenseBlockOffHeap ret = LibMatrixBincell.bincellOp(
+			createOffHeap(mb1), createOffHeap(mb2), bop, 4);
+		MatrixBlock ret2 = (MatrixBlock) mb1.binaryOperations(bop, mb2, new MatrixBlock());
+		compare(ret2, ret.toMatrixBlock());
+	}
+
+	@Test
+	public void testBincellMatrixRowVector() throws Exception {
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		MatrixBlock mb2 = createMatrix(1, cols, 0.9, 3);
+		BinaryOperator bop = InstructionUtils.parseBinaryOperator("-");
+		DenseBlockOffHeap ret = LibMatrixBincell.bincellOp(createOffHeap(mb1), mb2, bop, 4);
+		MatrixBlock ret2 = (MatrixBlock) mb1.binaryOperations(bop, mb2, new MatrixBlock());
+		compare(ret2, ret.toMatrixBlock());
+	}
+
+	@Test
+	public void testBincellMatrixColVector() throws Exception {
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		MatrixBlock mb2 = createMatrix(rows, 1, 0.9, 3);
+		BinaryOperator bop = InstructionUtils.parseBinaryOperator("*");
+		DenseBlockOffHeap ret = LibMatrixBincell.bincellOp(createOffHeap(mb1), mb2, bop, 4);
+		MatrixBlock ret2 = (MatrixBlock) mb1.binaryOperations(bop, mb2, new MatrixBlock());
+		compare(ret2, ret.toMatrixBlock());
+	}
+
+	@Test
+	public void testMatrixBlockBeyondIntBoundary() throws Exception {
+		//65536 x 32769 dense block (> 2^31 cells), w/ lazily allocated segments
+		int m = 65536, n = 32769;
+		MatrixBlock mb = new MatrixBlock(m, n, false);
+		mb.allocateDenseBlock();
+		Assert.assertNull(mb.getDenseBlock());
+		Assert.assertNotNull(mb.getDenseBlockOffHeap());
+		Assert.assertEquals(0, mb.getDenseBlockOffHeap().getNumAllocatedSegments());
+		
+		//write and read back cells before and beyond cell index 2^31
+		Assert.assertTrue((long)(m-1)*n+(n-1) > Integer.MAX_VALUE);
+		mb.quickSetValue(0, 0, 3);
+		mb.quickSetValue(m-1, n-1, 7);
+		mb.quickSetValue(m-1, 0, 0);
+		Assert.assertEquals(3, mb.quickGetValue(0, 0), 0);
+		Assert.assertEquals(7, mb.quickGetValue(m-1, n-1), 0);
+		Assert.assertEquals(0, mb.quickGetValue(m-1, 0), 0);
+		Assert.assertEquals(0, mb.quickGetValue(m/2, n/2), 0);
+		Assert.assertEquals(2, mb.getNonZeros());
+		Assert.assertEquals(2, mb.recomputeNonZeros());
+		Assert.assertEquals(2, mb.getDenseBlockOffHeap().getNumAllocatedSegments());
+		
+		//deep copies of off-heap dense block (dense and sparse target)
+		MatrixBlock mb2 = new MatrixBlock(m, n, false);
+		mb2.copy(mb, false);
+		Assert.assertNotNull(mb2.getDenseBlockOffHeap());
+		Assert.assertEquals(7, mb2.quickGetValue(m-1, n-1), 0);
+		Assert.assertEquals(2, mb2.getNonZeros());
+		mb2.cleanupBlock(true, true);
+		Assert.assertFalse(mb2.isAllocated());
+		MatrixBlock mb3 = new MatrixBlock(mb);
+		Assert.assertTrue(mb3.isInSparseFormat());
+		Assert.assertEquals(7, mb3.quickGetValue(m-1, n-1), 0);
+		Assert.assertEquals(2, mb3.getNonZeros());
+		
+		//dense-sparse-dense conversion
+		mb.examSparsity();
+		Assert.assertTrue(mb.isInSparseFormat());
+		Assert.assertEquals(2, mb.getNonZeros());
+		mb.sparseToDense();
+		Assert.assertNotNull(mb.getDenseBlockOffHeap());
+		Assert.assertEquals(3, mb.quickGetValue(0, 0), 0);
+		Assert.assertEquals(7, mb.quickGetValue(m-1, n-1), 0);
+		Assert.assertEquals(2, mb.recomputeNonZeros());
+		
+		//update and reset
+		mb.quickSetValue(0, 0, 0);
+		Assert.assertEquals(1, mb.getNonZeros());
+		mb.reset();
+		Assert.assertEquals(0, mb.quickGetValue(m-1, n-1), 0);
+		Assert.assertEquals(0, mb.getDenseBlockOffHeap().getNumAllocatedSegments());
+		mb.cleanupBlock(true, true);
+	}
+	
+	@Test
+	public void testMatrixBlockResult() throws Exception {
+		//off-heap results within 2^31 cells are converted to in-memory blocks
+		MatrixBlock mb1 = createMatrix(rows, cols, 0.9, 7);
+		MatrixBlock ret = new MatrixBlock(createOffHeap(mb1));
+		Assert.assertNull(ret.getDenseBlockOffHeap());
+		Assert.assertEquals(mb1.getNonZeros(), ret.getNonZeros());
+		compare(mb1, ret);
+	}
+
+	private static void runRoundtripTest(double sparsity) throws Exception {
+		MatrixBlock mb = createMatrix(rows, cols, sparsity, 7);
+		DenseBlockOffHeap ob = createOffHeap(mb);
+		Assert.assertEquals(3, ob.getNumSegments());
+		Assert.assertEquals(3, ob.getNumAllocatedSegments());
+		Assert.assertEquals(mb.getNonZeros(), ob.recomputeNonZeros());
+		Assert.assertEquals(mb.quickGetValue(1500, 13), ob.get(1500, 13), 0);
+		compare(mb, ob.toMatrixBlock());
+		compare(mb.sliceOperations(900, 1999, 0, cols-1, new MatrixBlock()),
+			ob.getRows(900, 2000, null));
+	}
+
+	private static void runAggregateTest(String opcode) throws Exception {
+		MatrixBlock mb = createMatrix(rows, cols, 0.9, 7);
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		MatrixBlock ret = LibMatrixAgg.aggregateUnaryMatrix(createOffHeap(mb), op, 4);
+		MatrixBlock ret2 = (MatrixBlock) mb.aggregateUnaryOperations(op, new MatrixBlock(),
+			rows, cols, new MatrixIndexes(1, 1), true);
+		compare(ret2, ret);
+	}
+
+	private static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed) throws Exception {
+		return DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, seed));
+	}
+
+	private static DenseBlockOffHeap createOffHeap(MatrixBlock mb) {
+		DenseBlockOffHeap ret = new DenseBlockOffHeap(mb.getNumRows(), mb.getNumColumns(), segSize);
+		ret.setRows(0, mb);
+		ret.setNonZeros(mb.getNonZeros());
+		return ret;
+	}
+
+	private static void compare(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNumRows(), mb2.getNumRows());
+		Assert.assertEquals(mb1.getNumColumns(), mb2.getNumColumns());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb1),
+			DataConverter.convertToDoubleMatrix(mb2), mb1.getNumRows(), mb1.getNumColumns(), eps);
+	}
+}
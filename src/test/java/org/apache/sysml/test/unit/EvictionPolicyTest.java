@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.LinkedHashMap;
+
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.EvictionPolicy;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EvictionPolicyTest
+{
+	private static final long small = 64 * 1024;
+	private static final long large = 16 * 1024 * 1024;
+
+	@Test
+	public void testFIFO() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.FIFO);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, small, small);
+		access(policy, queue, "a", 3);
+		Assert.assertEquals("a", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testLRU() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.LRU);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, small, small);
+		access(policy, queue, "a", 1);
+		Assert.assertEquals("b", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testLFU() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.LFU);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, small, small);
+		access(policy, queue, "a", 2);
+		access(policy, queue, "b", 1);
+		Assert.assertEquals("c", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testCostLargeBlocksFirst() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.COST);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, large, small);
+		Assert.assertEquals("b", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testCostReuseHints() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.COST);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, large, small);
+		policy.addReuseHint("b");
+		Assert.assertEquals("a", policy.selectVictim(queue));
+		policy.removeReuseHint("b");
+		Assert.assertEquals("b", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testCostAging() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.COST);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, small);
+		access(policy, queue, "a", 3);
+		Assert.assertEquals("b", policy.selectVictim(queue));
+		//repeatedly evict and re-access b until the unused a is aged out
+		int numEvictions = 0;
+		while( policy.selectVictim(queue).equals("b") && numEvictions < 10 ) {
+			policy.onRemove("b", queue.remove("b"));
+			addEntry(policy, queue, "b", small);
+			access(policy, queue, "b", 1);
+			numEvictions++;
+		}
+		Assert.assertTrue(numEvictions > 0 && numEvictions < 10);
+	}
+
+	@Test
+	public void testLoopReuseHints() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.LOOP);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, large, small);
+		policy.addReuseHint("a");
+		policy.addReuseHint("b");
+		Assert.assertEquals("c", policy.selectVictim(queue));
+		policy.addReuseHint("c");
+		Assert.assertEquals("b", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testCostRemovedEntries() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.COST);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, large, large, small);
+		Assert.assertEquals("b", policy.selectVictim(queue));
+		policy.onRemove("b", queue.remove("b"));
+		Assert.assertEquals("c", policy.selectVictim(queue));
+		policy.onRemove("c", queue.remove("c"));
+		access(policy, queue, "a", 2);
+		Assert.assertEquals("d", policy.selectVictim(queue));
+	}
+
+	@Test
+	public void testLFURemovedEntries() {
+		EvictionPolicy policy = EvictionPolicy.create(RPolicy.LFU);
+		LinkedHashMap<String, ByteBuffer> queue = createQueue(policy, small, small, small);
+		access(policy, queue, "b", 1);
+		Assert.assertEquals("a", policy.selectVictim(queue));
+		policy.onRemove("a", queue.remove("a"));
+		Assert.assertEquals("c", policy.selectVictim(queue));
+	}
+
+	private static LinkedHashMap<String, ByteBuffer> createQueue(EvictionPolicy policy, long... sizes) {
+		LinkedHashMap<String, ByteBuffer> queue = new LinkedHashMap<String, ByteBuffer>();
+		for( int i=0; i<sizes.length; i++ )
+			addEntry(policy, queue, String.valueOf((char)('a'+i)), sizes[i]);
+		return queue;
+	}
+
+	private static void addEntry(EvictionPolicy policy, LinkedHashMap<String, ByteBuffer> queue, String fname, long size) {
+		ByteBuffer bbuff = new ByteBuffer(size);
+		queue.put(fname, bbuff);
+		policy.onInsert(fname, bbuff);
+	}
+
+	private static void access(EvictionPolicy policy, LinkedHashMap<String, ByteBuffer> queue, String fname, int num) {
+		for( int i=0; i<num; i++ )
+			policy.onAccess(queue, fname, queue.get(fname));
+	}
+}
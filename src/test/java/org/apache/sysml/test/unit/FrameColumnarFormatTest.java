@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameColumnarFormat;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ColumnStatistics;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Encoding;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.Footer;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderColumnar;
+import org.apache.sysml.runtime.io.FrameReaderColumnarParallel;
+import org.apache.sysml.runtime.io.FrameWriterColumnar;
+import org.apache.sysml.runtime.io.FrameWriterColumnarParallel;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FrameColumnarFormatTest
+{
+	private static final int rows = 2345;
+	private static final int groupSize = 1000;
+	private static final ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.DOUBLE,
+		ValueType.INT, ValueType.BOOLEAN, ValueType.STRING, ValueType.DOUBLE, ValueType.INT};
+
+	private static int oldGroupSize;
+
+	@BeforeClass
+	public static void init() {
+		oldGroupSize = FrameColumnarFormat.ROW_GROUP_SIZE;
+		FrameColumnarFormat.ROW_GROUP_SIZE = groupSize;
+	}
+
+	@AfterClass
+	public static void cleanup() {
+		FrameColumnarFormat.ROW_GROUP_SIZE = oldGroupSize;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		runRoundTrip(false, false);
+	}
+
+	@Test
+	public void testRoundTripParallel() throws Exception {
+		runRoundTrip(true, true);
+	}
+
+	@Test
+	public void testEncodings() throws Exception {
+		File file = writeFrame(createFrame(), false);
+		try {
+			Footer footer = FrameReaderColumnar.readFooter(IOUtilFunctions.getFileSystem(
+				new Path(file.getPath())), new Path(file.getPath()));
+			Assert.assertEquals(rows, footer.getNumRows());
+			Assert.assertEquals(3, footer.getNumRowGroups());
+			Assert.assertEquals(Encoding.PLAIN, footer.getChunkMeta(0, 1).getEncoding());
+			Assert.assertEquals(Encoding.DICT, footer.getChunkMeta(0, 4).getEncoding());
+			Assert.assertEquals(Encoding.RLE, footer.getChunkMeta(0, 5).getEncoding());
+			Assert.assertEquals(Encoding.RLE, footer.getChunkMeta(2, 6).getEncoding());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testProjection() throws Exception {
+		FrameBlock frame = createFrame();
+		File file = writeFrame(frame, false);
+		try {
+			int[] cols = new int[]{4, 1};
+			for( FrameReader reader : new FrameReader[]{new FrameReaderColumnar(cols), new FrameReaderColumnarParallel(cols)} ) {
+				FrameBlock ret = reader.readFrameFromHDFS(file.getPath(), -1, -1);
+				Assert.assertEquals(rows, ret.getNumRows());
+				Assert.assertEquals(2, ret.getNumColumns());
+				Assert.assertEquals(ValueType.STRING, ret.getSchema()[0]);
+				Assert.assertEquals(ValueType.DOUBLE, ret.getSchema()[1]);
+				Assert.assertEquals("C5", ret.getColumnNames()[0]);
+				for( int i=0; i<rows; i++ ) {
+					Assert.assertEquals(frame.get(i, 4), ret.get(i, 0));
+					Assert.assertEquals(frame.get(i, 1), ret.get(i, 1));
+				}
+			}
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		File file = writeFrame(createFrame(), false);
+		try {
+			ColumnStatistics[] stats = FrameReaderColumnar.readColumnStatistics(file.getPath());
+			Assert.assertEquals(schema.length, stats.length);
+			Assert.assertEquals(0d, (Double)stats[1].getMin(), 0);
+			Assert.assertEquals((rows-1)*0.5, (Double)stats[1].getMax(), 0);
+			Assert.assertEquals(0L, stats[2].getMin());
+			Assert.assertEquals((long)rows-1, stats[2].getMax());
+			Assert.assertEquals(false, stats[3].getMin());
+			Assert.assertEquals(true, stats[3].getMax());
+			Assert.assertEquals("a", stats[4].getMin());
+			Assert.assertEquals("e", stats[4].getMax());
+			Assert.assertEquals((rows+9)/10, stats[0].getNumNulls());
+			Assert.assertEquals(-7d, (Double)stats[5].getMin(), 0);
+			Assert.assertEquals(7d, (Double)stats[5].getMax(), 0);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testEmptyFrame() throws Exception {
+		FrameBlock frame = new FrameBlock(schema);
+		File file = writeFrame(frame, false);
+		try {
+			FrameBlock ret = new FrameReaderColumnar().readFrameFromHDFS(file.getPath(), -1, -1);
+			Assert.assertEquals(0, ret.getNumRows());
+			Assert.assertEquals(schema.length, ret.getNumColumns());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private void runRoundTrip(boolean parWrite, boolean parRead) throws Exception {
+		FrameBlock frame = createFrame();
+		frame.getColumnMetadata(2).setNumDistinct(17);
+		frame.getColumnMetadata(0).setMvValue("NA");
+		File file = writeFrame(frame, parWrite);
+		try {
+			FrameReader reader = parRead ? new FrameReaderColumnarParallel() : new FrameReaderColumnar();
+			verifyFrame(frame, reader.readFrameFromHDFS(file.getPath(), -1, -1));
+			InputStream is = new FileInputStream(file);
+			try {
+				verifyFrame(frame, reader.readFrameFromInputStream(is, -1, -1));
+			}
+			finally {
+				IOUtilFunctions.closeSilently(is);
+			}
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void verifyFrame(FrameBlock expected, FrameBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertArrayEquals(expected.getSchema(), actual.getSchema());
+		Assert.assertArrayEquals(expected.getColumnNames(), actual.getColumnNames());
+		for( int j=0; j<expected.getNumColumns(); j++ ) {
+			Assert.assertEquals(expected.getColumnMetadata(j).getNumDistinct(), actual.getColumnMetadata(j).getNumDistinct());
+			Assert.assertEquals(expected.getColumnMetadata(j).getMvValue(), actual.getColumnMetadata(j).getMvValue());
+			for( int i=0; i<expected.getNumRows(); i++ )
+				if( UtilFunctions.compareTo(schema[j], expected.get(i, j), actual.get(i, j)) != 0 )
+					Assert.fail("Wrong value at ("+i+","+j+"): "+actual.get(i, j)+" vs "+expected.get(i, j));
+		}
+	}
+
+	private static File writeFrame(FrameBlock frame, boolean parallel) throws Exception {
+		File file = File.createTempFile("frame", ".col");
+		file.delete();
+		FrameWriterColumnar writer = parallel ? new FrameWriterColumnarParallel() : new FrameWriterColumnar();
+		writer.writeFrameToHDFS(frame, file.getPath(), frame.getNumRows(), frame.getNumColumns());
+		return file;
+	}
+
+	private static FrameBlock createFrame() {
+		String[] names = new String[schema.length];
+		for( int j=0; j<schema.length; j++ )
+			names[j] = "C" + (j+1);
+		FrameBlock frame = new FrameBlock(schema, names);
+		Object[] row = new Object[schema.length];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = (i % 10 == 0) ? null : "s" + i;          //plain strings w/ nulls
+			row[1] = i * 0.5;                                 //plain doubles
+			row[2] = (long) i;                                //plain ints
+			row[3] = (i % 3 == 0);                            //booleans
+			row[4] = String.valueOf((char)('a' + i % 5));     //dictionary strings
+			row[5] = (i < rows/2) ? -7d : 7d;                 //runs of doubles
+			row[6] = (long) (i / 500);                        //runs of ints
+			frame.appendRow(row);
+		}
+		return frame;
+	}
+}
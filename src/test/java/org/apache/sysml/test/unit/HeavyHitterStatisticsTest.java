@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.utils.LatencyHistogram;
+import org.apache.sysml.utils.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeavyHitterStatisticsTest
+{
+	@Before
+	@After
+	public void reset() {
+		Statistics.resetCPHeavyHitters();
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		LatencyHistogram hist = new LatencyHistogram();
+		for( long i=1; i<=1000; i++ )
+			hist.add(i * 1000);
+		Assert.assertEquals(1000, hist.getCount());
+		assertApprox(500000, hist.getPercentile(0.5));
+		assertApprox(990000, hist.getPercentile(0.99));
+		assertApprox(1000000, hist.getPercentile(1));
+	}
+
+	@Test
+	public void testHistogramSmallValues() {
+		LatencyHistogram hist = new LatencyHistogram();
+		for( int i=0; i<8; i++ )
+			hist.add(i);
+		Assert.assertEquals(3, hist.getPercentile(0.5));
+		Assert.assertEquals(7, hist.getPercentile(1));
+		Assert.assertEquals(0, new LatencyHistogram().getPercentile(0.5));
+	}
+
+	@Test
+	public void testHeavyHitters() {
+		for( int i=0; i<99; i++ )
+			Statistics.maintainCPHeavyHitters("ba+*", 1000000, 1024);
+		Statistics.maintainCPHeavyHitters("ba+*", 100000000, 1024);
+		Assert.assertTrue(Statistics.getCPHeavyHitterOpCodes().contains("ba+*"));
+		Assert.assertEquals(100, Statistics.getCPHeavyHitterCount("ba+*"));
+		Assert.assertEquals(199000000, Statistics.getCPHeavyHitterTime("ba+*"));
+		Assert.assertEquals(100 * 1024, Statistics.getCPHeavyHitterBytes("ba+*"));
+		assertApprox(1000000, Statistics.getCPHeavyHitterTimePercentile("ba+*", 0.5));
+		assertApprox(1000000, Statistics.getCPHeavyHitterTimePercentile("ba+*", 0.99));
+		assertApprox(100000000, Statistics.getCPHeavyHitterTimePercentile("ba+*", 1));
+		Assert.assertEquals(0, Statistics.getCPHeavyHitterCount("r'"));
+		Assert.assertTrue(Statistics.getHeavyHitters(10).contains("p99(ms)"));
+	}
+
+	@Test
+	public void testConcurrentHeavyHitters() throws Exception {
+		final int numThreads = 8, n = 20000;
+		final String[] opcodes = new String[]{"+", "*", "ba+*", "r'"};
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+			for( int k=0; k<numThreads; k++ )
+				tasks.add(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						for( int i=0; i<n; i++ )
+							Statistics.maintainCPHeavyHitters(opcodes[i % opcodes.length], 10, 8);
+						return 0;
+					}
+				});
+			for( Future<Integer> f : pool.invokeAll(tasks) )
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		for( String opcode : opcodes ) {
+			long cnt = (long)numThreads * n / opcodes.length;
+			Assert.assertEquals(cnt, Statistics.getCPHeavyHitterCount(opcode));
+			Assert.assertEquals(cnt * 10, Statistics.getCPHeavyHitterTime(opcode));
+			Assert.assertEquals(cnt * 8, Statistics.getCPHeavyHitterBytes(opcode));
+		}
+	}
+
+	@Test
+	public void testHeavyHittersConcurrentReset() throws Exception {
+		final int n = 20000;
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<Integer> f1 = pool.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() {
+					for( int i=0; i<n; i++ ) {
+						Statistics.maintainCPHeavyHitters("op"+(i % 64), 10, 8);
+						if( i % 128 == 0 )
+							Statistics.resetCPHeavyHitters();
+					}
+					return 0;
+				}
+			});
+			Future<Integer> f2 = pool.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() {
+					for( int i=0; i<n/100; i++ )
+						Statistics.getHeavyHitters(64);
+					return 0;
+				}
+			});
+			f1.get();
+			f2.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void assertApprox(long expected, long actual) {
+		//upper bound of log-linear bucket w/ 8 sub-buckets
+		Assert.assertTrue("Expected ~"+expected+" but was "+actual,
+			actual >= expected && actual <= expected * 1.125);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.File;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils.LocalFileFormat;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalFileUtilsMappedTest
+{
+	private static final int rows = 1234;
+	private static final int cols = 77;
+
+	@Test
+	public void testMappedDense() throws Exception {
+		runMappedTest(createMatrix(0.9), true);
+	}
+
+	@Test
+	public void testMappedSparseCSR() throws Exception {
+		MatrixBlock mb = new MatrixBlock(createMatrix(0.05), SparseBlock.Type.CSR, true);
+		runMappedTest(mb, true);
+	}
+
+	@Test
+	public void testMappedEmpty() throws Exception {
+		runMappedTest(new MatrixBlock(rows, cols, true), true);
+	}
+
+	@Test
+	public void testSerializedSparseMCSR() throws Exception {
+		MatrixBlock mb = createMatrix(0.05);
+		Assert.assertTrue(mb.getSparseBlock() instanceof SparseBlockMCSR);
+		runMappedTest(mb, false);
+	}
+
+	@Test
+	public void testSerializedMagicNumRows() throws Exception {
+		//serialized block w/ rlen equal to the header magic of mapped files
+		MatrixBlock mb = new MatrixBlock(0x7F7F7F7F, 3, true);
+		File file = File.createTempFile("mapped", ".dat");
+		try {
+			String fname = file.getAbsolutePath();
+			LocalFileFormat fmt = LocalFileUtils.writeCacheBlockToLocal(fname, mb, false);
+			Assert.assertEquals(LocalFileFormat.SERIALIZED, fmt);
+			MatrixBlock ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true, fmt);
+			Assert.assertEquals(mb.getNumRows(), ret.getNumRows());
+			Assert.assertEquals(mb.getNumColumns(), ret.getNumColumns());
+			Assert.assertTrue(ret.isEmptyBlock(false));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void runMappedTest(MatrixBlock mb, boolean mappable) throws Exception {
+		File file = File.createTempFile("mapped", ".dat");
+		try {
+			String fname = file.getAbsolutePath();
+			Assert.assertEquals(mappable, LocalFileUtils.isMappableCacheBlock(mb));
+			LocalFileFormat fmt = LocalFileUtils.writeCacheBlockToLocal(fname, mb, true);
+			Assert.assertEquals(mappable, fmt == LocalFileFormat.MAPPED);
+			CacheBlock cb = LocalFileUtils.readCacheBlockFromLocal(fname, true, fmt);
+			MatrixBlock ret = (MatrixBlock) cb;
+			Assert.assertEquals(mb.getNumRows(), ret.getNumRows());
+			Assert.assertEquals(mb.getNumColumns(), ret.getNumColumns());
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			Assert.assertEquals(mb.isInSparseFormat(), ret.isInSparseFormat());
+			if( mappable && mb.isInSparseFormat() && !mb.isEmptyBlock(false) )
+				Assert.assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static MatrixBlock createMatrix(double sparsity) throws Exception {
+		return DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7));
+	}
+}
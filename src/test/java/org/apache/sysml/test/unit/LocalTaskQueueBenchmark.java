@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+
+/**
+ * Micro benchmark of the parfor task queue with one producer (task
+ * partitioner) and k consumers (parfor workers) for fine-grained tasks,
+ * compared to a monitor-based queue. Run via main with optional arguments
+ * [max number of threads, number of tasks, work per task, number of repetitions].
+ */
+public class LocalTaskQueueBenchmark
+{
+	public static void main(String[] args) throws Exception {
+		int maxK = (args.length > 0) ? Integer.parseInt(args[0]) :
+			Runtime.getRuntime().availableProcessors();
+		int n = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+		int work = (args.length > 2) ? Integer.parseInt(args[2]) : 100;
+		int reps = (args.length > 3) ? Integer.parseInt(args[3]) : 3;
+		
+		System.out.println("k\tmonitor[ms]\tlock-free[ms]");
+		for( int k=1; k<=maxK; k*=2 ) {
+			double t1 = run(k, n, work, reps, false);
+			double t2 = run(k, n, work, reps, true);
+			System.out.println(k+"\t"+String.format("%.1f", t1)+"\t"+String.format("%.1f", t2));
+		}
+	}
+	
+	private static double run(int k, int n, int work, int reps, boolean lockFree) 
+		throws Exception 
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(k+1);
+		try {
+			//warmup, then average over the given repetitions
+			double time = 0;
+			for( int i=0; i<reps+1; i++ ) {
+				final Queue q = lockFree ? new LockFreeQueue() : new MonitorQueue();
+				long t0 = System.nanoTime();
+				List<Future<Long>> rt = new ArrayList<Future<Long>>();
+				for( int j=0; j<k; j++ )
+					rt.add(pool.submit(new Worker(q, work)));
+				for( int j=0; j<n; j++ )
+					q.enqueue(j);
+				q.close();
+				for( Future<Long> f : rt )
+					f.get();
+				if( i > 0 )
+					time += (System.nanoTime() - t0) / 1e6;
+			}
+			return time / reps;
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private interface Queue {
+		public void enqueue(Integer t) throws InterruptedException;
+		public Integer dequeue() throws InterruptedException;
+		public void close();
+	}
+	
+	private static class LockFreeQueue implements Queue {
+		private final LocalTaskQueue<Integer> _q = new LocalTaskQueue<Integer>();
+		@Override
+		public void enqueue(Integer t) throws InterruptedException { _q.enqueueTask(t); }
+		@Override
+		public Integer dequeue() throws InterruptedException { return _q.dequeueTask(); }
+		@Override
+		public void close() { _q.closeInput(); }
+	}
+	
+	private static class MonitorQueue implements Queue {
+		private final LinkedList<Integer> _data = new LinkedList<Integer>();
+		private boolean _closed = false;
+		@Override
+		public synchronized void enqueue(Integer t) throws InterruptedException {
+			while( _data.size() + 1 > LocalTaskQueue.MAX_SIZE )
+				wait();
+			_data.addLast(t);
+			notify();
+		}
+		@Override
+		public synchronized Integer dequeue() throws InterruptedException {
+			while( _data.isEmpty() ) {
+				if( _closed )
+					return null;
+				wait();
+			}
+			Integer t = _data.removeFirst();
+			notify();
+			return t;
+		}
+		@Override
+		public synchronized void close() {
+			_closed = true;
+			notifyAll();
+		}
+	}
+	
+	private static class Worker implements Callable<Long> {
+		private final Queue _q;
+		private final int _work;
+		protected Worker(Queue q, int work) {
+			_q = q;
+			_work = work;
+		}
+		@Override
+		public Long call() throws Exception {
+			long sum = 0;
+			Integer t = null;
+			while( (t = _q.dequeue()) != null )
+				for( int i=0; i<_work; i++ ) //simulated task body
+					sum += (t ^ i);
+			return sum;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueTest
+{
+	@Test
+	public void testFIFOAndClose() throws Exception {
+		LocalTaskQueue<Integer> q = new LocalTaskQueue<Integer>();
+		for( int i=0; i<10; i++ )
+			q.enqueueTask(i);
+		q.closeInput();
+		for( int i=0; i<10; i++ )
+			Assert.assertEquals(Integer.valueOf(i), q.dequeueTask());
+		Assert.assertTrue(q.dequeueTask() == LocalTaskQueue.NO_MORE_TASKS);
+	}
+
+	@Test
+	public void testBlockedReaderOnClose() throws Exception {
+		final LocalTaskQueue<Integer> q = new LocalTaskQueue<Integer>();
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<Integer> f1 = pool.submit(new Reader(q));
+			Future<Integer> f2 = pool.submit(new Reader(q));
+			Thread.sleep(50);
+			q.enqueueTask(7);
+			q.closeInput();
+			Assert.assertEquals(7, f1.get() + f2.get());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testBoundedSize() throws Exception {
+		final LocalTaskQueue<Integer> q = new LocalTaskQueue<Integer>();
+		final int n = LocalTaskQueue.MAX_SIZE + 1000;
+		ExecutorService pool = Executors.newFixedThreadPool(1);
+		try {
+			Future<Integer> f = pool.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					for( int i=0; i<n; i++ )
+						q.enqueueTask(1);
+					q.closeInput();
+					return 0;
+				}
+			});
+			Thread.sleep(50);
+			Assert.assertFalse(f.isDone()); //blocked on max size
+			Assert.assertEquals(Integer.valueOf(n), new Reader(q).call());
+			f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentProducersConsumers() throws Exception {
+		final LocalTaskQueue<Integer> q = new LocalTaskQueue<Integer>();
+		final int numProducers = 4, numConsumers = 8, n = 50000;
+		ExecutorService pool = Executors.newFixedThreadPool(numProducers + numConsumers);
+		try {
+			List<Future<Integer>> consumers = new ArrayList<Future<Integer>>();
+			for( int i=0; i<numConsumers; i++ )
+				consumers.add(pool.submit(new Reader(q)));
+			List<Future<Integer>> producers = new ArrayList<Future<Integer>>();
+			for( int i=0; i<numProducers; i++ )
+				producers.add(pool.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						for( int j=0; j<n; j++ )
+							q.enqueueTask(1);
+						return n;
+					}
+				}));
+			for( Future<Integer> f : producers )
+				f.get();
+			q.closeInput();
+			int count = 0;
+			for( Future<Integer> f : consumers )
+				count += f.get();
+			Assert.assertEquals(numProducers * n, count);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static class Reader implements Callable<Integer>
+	{
+		private final LocalTaskQueue<Integer> _q;
+
+		protected Reader(LocalTaskQueue<Integer> q) {
+			_q = q;
+		}
+
+		@Override
+		public Integer call() throws Exception {
+			int sum = 0;
+			Integer t = null;
+			while( (t = _q.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS )
+				sum += t;
+			return sum;
+		}
+	}
+}
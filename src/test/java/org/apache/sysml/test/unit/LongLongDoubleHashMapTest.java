@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongLongDoubleHashMapTest
+{
+	@Test
+	public void testEmptyMap() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		Assert.assertEquals(0, map.size());
+		Assert.assertFalse(map.getIterator().hasNext());
+	}
+
+	@Test
+	public void testDenseKeys() {
+		//all (row,col) pairs of a 1000 x 300 table, added twice
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		for( int rep=0; rep<2; rep++ )
+			for( long i=1; i<=1000; i++ )
+				for( long j=1; j<=300; j++ )
+					map.addValue(i, j, i*j);
+		Assert.assertEquals(300000, map.size());
+		Iterator<LLDoubleEntry> iter = map.getIterator();
+		int count = 0;
+		while( iter.hasNext() ) {
+			LLDoubleEntry e = iter.next();
+			Assert.assertEquals(2*e.key1*e.key2, e.value, 0);
+			count++;
+		}
+		Assert.assertEquals(300000, count);
+	}
+
+	@Test
+	public void testRandomKeys() {
+		//random keys incl zero and negative keys vs hashmap
+		Random rand = new Random(7);
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		HashMap<MatrixIndexes, Double> ref = new HashMap<MatrixIndexes, Double>();
+		for( int i=0; i<200000; i++ ) {
+			long k1 = rand.nextInt(2000) - 100;
+			long k2 = (i%3==0) ? Long.MAX_VALUE : rand.nextInt(500);
+			double v = rand.nextDouble();
+			map.addValue(k1, k2, v);
+			MatrixIndexes ix = new MatrixIndexes(k1, k2);
+			Double old = ref.get(ix);
+			ref.put(ix, (old!=null) ? old+v : v);
+		}
+		Assert.assertEquals(ref.size(), map.size());
+		Iterator<LLDoubleEntry> iter = map.getIterator();
+		while( iter.hasNext() ) {
+			LLDoubleEntry e = iter.next();
+			Double val = ref.remove(new MatrixIndexes(e.key1, e.key2));
+			Assert.assertNotNull(val);
+			Assert.assertEquals(val, e.value, 1e-10);
+		}
+		Assert.assertTrue(ref.isEmpty());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testExhaustedIterator() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		map.addValue(1, 1, 1);
+		Iterator<LLDoubleEntry> iter = map.getIterator();
+		iter.next();
+		iter.next();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReservedKey() {
+		new LongLongDoubleHashMap().addValue(Long.MIN_VALUE, 1, 1);
+	}
+}
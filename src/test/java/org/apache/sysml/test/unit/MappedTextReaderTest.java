@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MappedTextFile;
+import org.apache.sysml.runtime.io.MappedTextFile.LineCursor;
+import org.apache.sysml.runtime.io.MappedTextFile.MappedSplit;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.ReaderTextCellParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedTextReaderTest
+{
+	private static final int rows = 1071;
+	private static final int cols = 13;
+	
+	@Test
+	public void testParseDouble() {
+		String[] vals = new String[]{"0", "-0", "1", "+7", "-3.25", "0.1", ".5", "5.", 
+			"123456789012345", "1234567890123456789", "0.000000000000000000000000123",
+			"1e10", "1.5E-7", "-2.5e+300", "1e-400", "4.9e-324", "NaN", "Infinity", "-Infinity",
+			"3.141592653589793", "2.718281828459045e3", "0x1p3", "1d"};
+		for( String val : vals ) {
+			ByteBuffer buf = ByteBuffer.wrap(val.getBytes(StandardCharsets.UTF_8));
+			Assert.assertEquals(val, Double.doubleToLongBits(Double.parseDouble(val)), 
+				Double.doubleToLongBits(MappedTextFile.parseDouble(buf, 0, buf.limit())));
+		}
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			String val = String.valueOf(rand.nextDouble() * Math.pow(10, rand.nextInt(40)-20));
+			ByteBuffer buf = ByteBuffer.wrap(val.getBytes(StandardCharsets.UTF_8));
+			Assert.assertEquals(val, Double.parseDouble(val), MappedTextFile.parseDouble(buf, 0, buf.limit()), 0);
+		}
+	}
+	
+	@Test(expected=NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		ByteBuffer buf = ByteBuffer.wrap("1.2.3".getBytes(StandardCharsets.UTF_8));
+		MappedTextFile.parseDouble(buf, 0, buf.limit());
+	}
+	
+	@Test
+	public void testSplitsAtLineBoundaries() throws Exception {
+		File file = File.createTempFile("mapped", ".txt");
+		try {
+			StringBuilder sb = new StringBuilder("header\n");
+			for( int i=0; i<rows; i++ )
+				sb.append("line"+i+(i%3==0 ? "\r\n" : i%3==1 ? "\n" : "\r"));
+			writeFile(file, sb.toString());
+			long offset = MappedTextFile.skipHeader(file, (byte)0, 1);
+			Assert.assertEquals(7, offset);
+			for( int k : new int[]{1, 2, 7, 64, 100000} ) {
+				int i = 0;
+				for( MappedSplit split : MappedTextFile.createSplits(file, offset, k) ) {
+					LineCursor lines = split.getLines();
+					while( lines.next() )
+						Assert.assertEquals("line"+(i++), lines.getLine());
+				}
+				Assert.assertEquals(rows, i);
+			}
+		}
+		finally {
+			FileUtils.deleteQuietly(file);
+		}
+	}
+	
+	@Test
+	public void testCSVDense() throws Exception {
+		runCSVTest(0.9, false, ",", "\n");
+	}
+	
+	@Test
+	public void testCSVSparseHeader() throws Exception {
+		runCSVTest(0.05, true, ",", "\n");
+	}
+	
+	@Test
+	public void testCSVMultiCharDelimCRLF() throws Exception {
+		runCSVTest(0.7, true, "::", "\r\n");
+	}
+	
+	@Test
+	public void testTextCellDense() throws Exception {
+		runTextCellTest(0.9, false);
+	}
+	
+	@Test
+	public void testTextCellSparse() throws Exception {
+		runTextCellTest(0.05, false);
+	}
+	
+	@Test
+	public void testMatrixMarket() throws Exception {
+		runTextCellTest(0.3, true);
+	}
+	
+	@Test
+	public void testFrameCSV() throws Exception {
+		File file = File.createTempFile("mapped", ".csv");
+		try {
+			StringBuilder sb = new StringBuilder("C1,C2,C3\n");
+			sb.append(TfUtils.TXMTD_MVPREFIX + ",x,7,z\n"); //w/ non-ascii prefix
+			for( int i=0; i<rows; i++ )
+				sb.append("a"+i+","+(i*7)+",\"x, "+(i%3)+"\"\n");
+			writeFile(file, sb.toString());
+			CSVFileFormatProperties props = new CSVFileFormatProperties(true, ",", false, 0, "");
+			ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.INT, ValueType.STRING};
+			FrameBlock[] ret = new FrameBlock[2];
+			for( int i=0; i<2; i++ ) {
+				MappedTextFile.ALLOW_MAPPED_READ = (i==0);
+				ret[i] = new FrameReaderTextCSVParallel(props)
+					.readFrameFromHDFS(file.getAbsolutePath(), schema, -1, -1);
+			}
+			Assert.assertEquals(rows, ret[0].getNumRows());
+			Assert.assertArrayEquals(ret[1].getColumnNames(), ret[0].getColumnNames());
+			Assert.assertEquals("7", ret[0].getColumnMetadata(1).getMvValue());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<3; j++ )
+					Assert.assertEquals(ret[1].get(i, j), ret[0].get(i, j));
+		}
+		finally {
+			MappedTextFile.ALLOW_MAPPED_READ = true;
+			FileUtils.deleteQuietly(file);
+		}
+	}
+	
+	private static void runCSVTest(double sparsity, boolean header, String delim, String nl) throws Exception {
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7);
+		StringBuilder sb = new StringBuilder();
+		if( header ) {
+			for( int j=0; j<cols; j++ )
+				sb.append((j>0?delim:"") + "C" + j);
+			sb.append(nl);
+		}
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ )
+				sb.append((j>0?delim:"") + (A[i][j]!=0 ? String.valueOf(A[i][j]) : "0"));
+			sb.append(nl);
+		}
+		CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, false, 0, "");
+		compareReads(sb.toString(), A, new ReaderTextCSVParallel(props), new ReaderTextCSVParallel(props));
+	}
+	
+	private static void runTextCellTest(double sparsity, boolean mm) throws Exception {
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 3);
+		StringBuilder sb = new StringBuilder();
+		if( mm )
+			sb.append("%%MatrixMarket matrix coordinate real general\n% comment\n"+rows+" "+cols+" 0\n");
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( A[i][j] != 0 )
+					sb.append((i+1)+" "+(j+1)+" "+A[i][j]+"\n");
+		InputInfo iinfo = mm ? InputInfo.MatrixMarketInputInfo : InputInfo.TextCellInputInfo;
+		compareReads(sb.toString(), A, new ReaderTextCellParallel(iinfo), new ReaderTextCellParallel(iinfo));
+	}
+	
+	private static void compareReads(String content, double[][] A, 
+		org.apache.sysml.runtime.io.MatrixReader mapped, org.apache.sysml.runtime.io.MatrixReader hdfs) 
+		throws Exception 
+	{
+		File file = File.createTempFile("mapped", ".txt");
+		try {
+			writeFile(file, content);
+			Path path = new Path(file.getAbsolutePath());
+			Assert.assertNotNull(MappedTextFile.getLocalFiles(IOUtilFunctions.getFileSystem(path),
+				path, new JobConf(ConfigurationManager.getCachedJobConf())));
+			MappedTextFile.ALLOW_MAPPED_READ = true;
+			MatrixBlock mb1 = mapped.readMatrixFromHDFS(file.getAbsolutePath(), rows, cols, -1, -1, -1);
+			MappedTextFile.ALLOW_MAPPED_READ = false;
+			MatrixBlock mb2 = hdfs.readMatrixFromHDFS(file.getAbsolutePath(), rows, cols, -1, -1, -1);
+			Assert.assertEquals(mb2.getNonZeros(), mb1.getNonZeros());
+			Assert.assertEquals(mb2.isInSparseFormat(), mb1.isInSparseFormat());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb1), rows, cols, 0);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		}
+		finally {
+			MappedTextFile.ALLOW_MAPPED_READ = true;
+			FileUtils.deleteQuietly(file);
+		}
+	}
+	
+	private static void writeFile(File file, String content) throws IOException {
+		try( OutputStream os = new FileOutputStream(file) ) {
+			os.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.NormalPRNGenerator;
+import org.apache.sysml.runtime.util.PRNGenerator;
+import org.apache.sysml.runtime.util.PoissonPRNGenerator;
+import org.apache.sysml.runtime.util.UniformPRNGenerator;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PRNGeneratorTest
+{
+	private static final int len = 1000000;
+	private static final long seed = 7;
+	private static final int numThreads = 4;
+
+	@Test
+	public void testUniformMoments() {
+		double[] v = generate(new UniformPRNGenerator(seed));
+		for( double d : v )
+			Assert.assertTrue(d >= 0 && d < 1);
+		checkMoments(v, 0.5, 1d/12);
+	}
+
+	@Test
+	public void testNormalMoments() {
+		PRNGenerator prng = new NormalPRNGenerator();
+		prng.setSeed(seed);
+		checkMoments(generate(prng), 0, 1);
+	}
+
+	@Test
+	public void testPoissonMoments() {
+		PRNGenerator prng = new PoissonPRNGenerator(3);
+		prng.setSeed(seed);
+		checkMoments(generate(prng), 3, 3);
+	}
+
+	@Test
+	public void testUniformBulkGeneration() {
+		runBulkGenerationTest(new UniformPRNGenerator(), new UniformPRNGenerator());
+	}
+
+	@Test
+	public void testNormalBulkGeneration() {
+		runBulkGenerationTest(new NormalPRNGenerator(), new NormalPRNGenerator());
+	}
+
+	@Test
+	public void testPoissonBulkGeneration() {
+		runBulkGenerationTest(new PoissonPRNGenerator(3), new PoissonPRNGenerator(3));
+	}
+
+	@Test
+	public void testIndependentSeeds() {
+		//consecutive seeds (e.g., block-level seeds) yield uncorrelated streams
+		double[] v1 = generate(new UniformPRNGenerator(seed));
+		double[] v2 = generate(new UniformPRNGenerator(seed+1));
+		double cov = 0;
+		for( int i=0; i<len; i++ )
+			cov += (v1[i]-0.5) * (v2[i]-0.5);
+		Assert.assertEquals(0, cov/len*12, 0.01);
+	}
+
+	@Test
+	public void testRandUniformParallel() throws Exception {
+		runRandParallelTest("uniform", 1.0);
+	}
+
+	@Test
+	public void testRandNormalParallel() throws Exception {
+		runRandParallelTest("normal", 1.0);
+	}
+
+	@Test
+	public void testRandUniformSparseParallel() throws Exception {
+		runRandParallelTest("uniform", 0.1);
+	}
+
+	private static void runBulkGenerationTest(PRNGenerator prng1, PRNGenerator prng2) {
+		//bulk generation equivalent to cell-wise generation
+		prng1.setSeed(seed);
+		prng2.setSeed(seed);
+		double[] v1 = new double[1000];
+		double[] v2 = new double[1000];
+		for( int i=0; i<v1.length; i++ )
+			v1[i] = prng1.nextDouble();
+		prng2.nextDoubles(v2, 0, 3);
+		prng2.nextDoubles(v2, 3, v2.length-3);
+		Assert.assertArrayEquals(v1, v2, 0);
+	}
+
+	private static void runRandParallelTest(String pdf, double sparsity) throws Exception {
+		//deterministic results independent of the degree of parallelism
+		MatrixBlock mb1 = MatrixBlock.randOperations(3000, 1500, sparsity, -3, 7, pdf, seed, 1);
+		MatrixBlock mb2 = MatrixBlock.randOperations(3000, 1500, sparsity, -3, 7, pdf, seed, numThreads);
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb1),
+			DataConverter.convertToDoubleMatrix(mb2), 3000, 1500, 0);
+	}
+
+	private static double[] generate(PRNGenerator prng) {
+		double[] ret = new double[len];
+		prng.nextDoubles(ret, 0, len);
+		return ret;
+	}
+
+	private static void checkMoments(double[] v, double mean, double var) {
+		double sum = 0, sumsq = 0;
+		for( double d : v ) {
+			sum += d;
+			sumsq += d * d;
+		}
+		double mu = sum / v.length;
+		Assert.assertEquals(mean, mu, 0.01);
+		Assert.assertEquals(var, sumsq / v.length - mu * mu, 0.01 * Math.max(var, 1));
+	}
+}
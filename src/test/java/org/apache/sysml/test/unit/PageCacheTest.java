@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PageCacheTest
+{
+	private static final long budget = 1024 * 1024;
+
+	@Before
+	public void setUp() {
+		PageCache.init(budget);
+		PageCache.resetStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		PageCache.clear();
+	}
+
+	@Test
+	public void testSizeClassReuse() {
+		PageCache.putPage(new byte[8192]);
+		Assert.assertEquals(8192, PageCache.getSize());
+		byte[] page = PageCache.getPage(5000);
+		Assert.assertNotNull(page);
+		Assert.assertEquals(8192, page.length);
+		Assert.assertNull(PageCache.getPage(5000));
+		Assert.assertEquals(0, PageCache.getSize());
+		Assert.assertEquals(1, PageCache.getNumHits());
+		Assert.assertEquals(1, PageCache.getNumMisses());
+	}
+
+	@Test
+	public void testExactSizeReuse() {
+		PageCache.putPage(new byte[10000]);
+		Assert.assertNull(PageCache.getPage(12000));
+		byte[] page = PageCache.getPage(10000);
+		Assert.assertNotNull(page);
+		Assert.assertEquals(10000, page.length);
+	}
+
+	@Test
+	public void testBufferSizeOfPooledPage() {
+		//write buffer accounts for the actual page size
+		PageCache.putPage(new byte[8192]);
+		ByteBuffer bbuff = new ByteBuffer(5000, PageCache.getPage(5000));
+		Assert.assertEquals(8192, bbuff.getSize());
+		Assert.assertEquals(5000, new ByteBuffer(5000, null).getSize());
+	}
+
+	@Test
+	public void testSmallPagesNotPooled() {
+		PageCache.putPage(new byte[100]);
+		Assert.assertEquals(0, PageCache.getSize());
+	}
+
+	@Test
+	public void testBudgetEviction() {
+		for( int i=0; i<4; i++ )
+			PageCache.putPage(new byte[256*1024]);
+		Assert.assertEquals(budget, PageCache.getSize());
+		PageCache.putPage(new byte[8192]);
+		Assert.assertEquals(1, PageCache.getNumEvictions());
+		Assert.assertTrue(PageCache.getSize() <= budget);
+		PageCache.putPage(new byte[(int)budget+1]);
+		Assert.assertEquals(2, PageCache.getNumEvictions());
+	}
+
+	@Test
+	public void testDisabled() {
+		PageCache.clear();
+		PageCache.putPage(new byte[8192]);
+		Assert.assertFalse(PageCache.isEnabled());
+		Assert.assertNull(PageCache.getPage(8192));
+	}
+
+	@Test
+	public void testConcurrentGetPut() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+			for( int k=0; k<8; k++ ) {
+				final int seed = k;
+				tasks.add(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						for( int i=0; i<1000; i++ ) {
+							int size = 4096 << ((i+seed) % 6);
+							byte[] page = PageCache.getPage(size);
+							if( page == null )
+								page = new byte[size];
+							PageCache.putPage(page);
+						}
+						return 0;
+					}
+				});
+			}
+			for( Future<Integer> f : pool.invokeAll(tasks) )
+				f.get();
+		}
+		finally {
+			pool.shutdown();
+		}
+		Assert.assertTrue(PageCache.getSize() <= budget);
+		Assert.assertTrue(PageCache.getNumHits() > 0);
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParBincellTest
+{
+	private static final int rows = 1500;
+	private static final int cols = 1000;
+	private static final int rowsSp = 2000;
+	private static final int colsSp = 2000;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.3;
+	private static final double sparsity3 = 0.15;
+	private static final int numThreads = 4;
+
+	@Test
+	public void testMatrixMatrixDenseDense() throws Exception {
+		for( String opcode : new String[]{"+", "-", "*", "/", ">", "=="} )
+			runMatrixMatrixTest(opcode, false, false);
+	}
+
+	@Test
+	public void testMatrixMatrixSparseDense() throws Exception {
+		for( String opcode : new String[]{"+", "-", "*", "/", "<="} )
+			runMatrixMatrixTest(opcode, true, false);
+	}
+
+	@Test
+	public void testMatrixMatrixDenseSparse() throws Exception {
+		for( String opcode : new String[]{"+", "-", "*", "!="} )
+			runMatrixMatrixTest(opcode, false, true);
+	}
+
+	@Test
+	public void testMatrixMatrixSparseSparse() throws Exception {
+		for( String opcode : new String[]{"+", "-", "*"} )
+			runMatrixMatrixTest(opcode, true, true);
+	}
+
+	@Test
+	public void testMatrixColVectorDense() throws Exception {
+		for( String opcode : new String[]{"+", "*", ">"} )
+			runMatrixVectorTest(opcode, false, true);
+	}
+
+	@Test
+	public void testMatrixRowVectorDense() throws Exception {
+		for( String opcode : new String[]{"-", "*", "<"} )
+			runMatrixVectorTest(opcode, false, false);
+	}
+
+	@Test
+	public void testMatrixColVectorSparse() throws Exception {
+		for( String opcode : new String[]{"+", "/", ">="} )
+			runMatrixVectorTest(opcode, true, true);
+	}
+
+	@Test
+	public void testMatrixRowVectorSparse() throws Exception {
+		for( String opcode : new String[]{"-", "^", "=="} )
+			runMatrixVectorTest(opcode, true, false);
+	}
+
+	@Test
+	public void testMatrixScalarDense() throws Exception {
+		for( String opcode : new String[]{"*", "+", "^2", ">"} )
+			runMatrixScalarTest(opcode, false);
+	}
+
+	@Test
+	public void testMatrixScalarSparse() throws Exception {
+		for( String opcode : new String[]{"*", "+", "!=", "-nz"} )
+			runMatrixScalarTest(opcode, true);
+	}
+
+	private static void runMatrixMatrixTest(String opcode, boolean sparseLeft, boolean sparseRight)
+		throws Exception
+	{
+		//sparse-sparse w/ sparse outputs for sparse-safe operations
+		boolean sparse = sparseLeft || sparseRight;
+		double sp = (sparseLeft && sparseRight) ? sparsity3 : sparsity2;
+		MatrixBlock m1 = createInput(sparse, sparseLeft ? sp : sparsity1, 7);
+		MatrixBlock m2 = createInput(sparse, sparseRight ? sp : sparsity1, 3);
+		BinaryOperator op = InstructionUtils.parseBinaryOperator(opcode);
+		compareResults(
+			executeBinary(m1, m2, op, 1),
+			executeBinary(m1, m2, op, numThreads));
+	}
+
+	private static void runMatrixVectorTest(String opcode, boolean sparseLeft, boolean colVector)
+		throws Exception
+	{
+		MatrixBlock m1 = createInput(sparseLeft, sparseLeft ? sparsity2 : sparsity1, 7);
+		MatrixBlock m2 = MatrixBlock.randOperations(colVector ? m1.getNumRows() : 1,
+			colVector ? 1 : m1.getNumColumns(), 0.8, 1, 10, "uniform", 3);
+		BinaryOperator op = InstructionUtils.parseBinaryOperator(opcode);
+		compareResults(
+			executeBinary(m1, m2, op, 1),
+			executeBinary(m1, m2, op, numThreads));
+	}
+
+	private static void runMatrixScalarTest(String opcode, boolean sparse)
+		throws Exception
+	{
+		MatrixBlock m1 = createInput(sparse, sparse ? sparsity2 : sparsity1, 7);
+		double constant = opcode.equals("!=") ? 0 : 2.7;
+		compareResults(
+			executeScalar(m1, opcode, constant, 1),
+			executeScalar(m1, opcode, constant, numThreads));
+	}
+
+	private static MatrixBlock createInput(boolean large, double sparsity, long seed)
+		throws Exception
+	{
+		return MatrixBlock.randOperations(large ? rowsSp : rows, large ? colsSp : cols,
+			sparsity, -5, 5, "uniform", seed);
+	}
+
+	private static MatrixBlock executeBinary(MatrixBlock m1, MatrixBlock m2, BinaryOperator op, int k)
+		throws Exception
+	{
+		op.setNumThreads(k);
+		return (MatrixBlock) m1.binaryOperations(op, m2, new MatrixBlock());
+	}
+
+	private static MatrixBlock executeScalar(MatrixBlock m1, String opcode, double constant, int k)
+		throws Exception
+	{
+		ScalarOperator op = InstructionUtils.parseScalarBinaryOperator(opcode, false, constant);
+		op.setNumThreads(k);
+		return (MatrixBlock) m1.scalarOperations(op, new MatrixBlock());
+	}
+
+	private static void compareResults(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		Assert.assertEquals(expected.recomputeNonZeros(), actual.recomputeNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(expected);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(d1, d2, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
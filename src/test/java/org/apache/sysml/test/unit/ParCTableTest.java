@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Random;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParCTableTest
+{
+	private static final int rows = 1200000;
+	private static final int numThreads = 4;
+	private static final double eps = 1e-8;
+
+	public enum KeyType {
+		UNIFORM,
+		SKEWED, //power-law distribution of keys
+	}
+
+	@Test
+	public void testCTableUniformHash() throws Exception {
+		runCTableTest(KeyType.UNIFORM, true, true, -1);
+	}
+
+	@Test
+	public void testCTableSkewedHash() throws Exception {
+		runCTableTest(KeyType.SKEWED, true, true, -1);
+	}
+
+	@Test
+	public void testCTableUniformDense() throws Exception {
+		runCTableTest(KeyType.UNIFORM, true, true, 100);
+	}
+
+	@Test
+	public void testCTableSkewedDense() throws Exception {
+		runCTableTest(KeyType.SKEWED, true, true, 100);
+	}
+
+	@Test
+	public void testCTableSkewedDensePruned() throws Exception {
+		runCTableTest(KeyType.SKEWED, true, true, 7);
+	}
+
+	@Test
+	public void testCTableUniformLargeDims() throws Exception {
+		//dense output w/ hash partials (large output dimensions)
+		runCTableTest(KeyType.UNIFORM, true, true, 1000);
+	}
+
+	@Test
+	public void testCTableScalarWeightHash() throws Exception {
+		runCTableTest(KeyType.SKEWED, true, false, -1);
+	}
+
+	@Test
+	public void testCTableHistogramHash() throws Exception {
+		runCTableTest(KeyType.SKEWED, false, false, -1);
+	}
+
+	@Test
+	public void testCTableWeightedHistogramDense() throws Exception {
+		runCTableTest(KeyType.UNIFORM, false, true, 100);
+	}
+
+	@Test
+	public void testCTableSparseAlignedHash() throws Exception {
+		runCTableSparseAlignedTest(-1);
+	}
+
+	@Test
+	public void testCTableSparseAlignedDense() throws Exception {
+		runCTableSparseAlignedTest(100);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testCTableInvalidInput() throws Exception {
+		MatrixBlock in1 = createKeys(KeyType.UNIFORM, 100, 7);
+		in1.quickSetValue(rows/2, 0, 0);
+		LibMatrixCTable.ctable(in1, null, 1, null, 1, false, new CTableMap(), null, numThreads);
+	}
+
+	private static void runCTableTest(KeyType type, boolean matrix2, boolean weights, int dim)
+		throws Exception
+	{
+		MatrixBlock in1 = createKeys(type, 100, 7);
+		MatrixBlock in2 = matrix2 ? createKeys(type, 50, 3) : null;
+		MatrixBlock in3 = weights ? MatrixBlock.randOperations(rows, 1, 1.0, 0, 1, "uniform", 11) : null;
+		Assert.assertTrue(LibMatrixCTable.satisfiesMultiThreadingConstraints(in1, numThreads));
+
+		//single-threaded reference via matrix block ctable operations
+		CTableMap map1 = new CTableMap();
+		MatrixBlock ret1 = (dim > 0) ? new MatrixBlock(dim, dim, false) : null;
+		SimpleOperator op = new SimpleOperator(null);
+		if( matrix2 && weights )
+			in1.ternaryOperations(op, in2, in3, map1, ret1);
+		else if( matrix2 )
+			in1.ternaryOperations(op, in2, 2, false, map1, ret1);
+		else if( weights )
+			in1.ternaryOperations(op, 1, in3, map1, ret1);
+		else
+			in1.ternaryOperations(op, 1, 2, map1, ret1);
+		ret1 = (ret1 != null) ? ret1 : DataConverter.convertToMatrixBlock(map1);
+
+		//multi-threaded ctable
+		CTableMap map2 = new CTableMap();
+		MatrixBlock ret2 = (dim > 0) ? new MatrixBlock(dim, dim, false) : null;
+		LibMatrixCTable.ctable(in1, in2, 1, in3, 2, false, map2, ret2, numThreads);
+		if( ret2 == null ) {
+			Assert.assertEquals(map1.size(), map2.size());
+			Assert.assertEquals(map1.getMaxRow(), map2.getMaxRow());
+			Assert.assertEquals(map1.getMaxColumn(), map2.getMaxColumn());
+			ret2 = DataConverter.convertToMatrixBlock(map2);
+		}
+
+		//compare results
+		Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+		Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+		TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+
+	private static void runCTableSparseAlignedTest(int dim)
+		throws Exception
+	{
+		//sparse inputs with aligned zeros (1000 x 1200, sparsity 0.05)
+		Random rand = new Random(7);
+		MatrixBlock in1 = new MatrixBlock(1000, 1200, true);
+		MatrixBlock in2 = new MatrixBlock(1000, 1200, true);
+		for( int i=0; i<1000; i++ )
+			for( int j=0; j<1200; j++ )
+				if( rand.nextDouble() < 0.05 ) {
+					in1.appendValue(i, j, rand.nextInt(100) + 1);
+					in2.appendValue(i, j, rand.nextInt(50) + 1);
+				}
+		Assert.assertTrue(in1.isInSparseFormat() && in2.isInSparseFormat());
+		Assert.assertTrue(LibMatrixCTable.satisfiesMultiThreadingConstraints(in1, numThreads));
+
+		//single-threaded reference via sparse-safe matrix block ctable
+		CTableMap map1 = new CTableMap();
+		MatrixBlock ret1 = (dim > 0) ? new MatrixBlock(dim, dim, false) : null;
+		in1.ternaryOperations(new SimpleOperator(null), in2, 2, true, map1, ret1);
+		ret1 = (ret1 != null) ? ret1 : DataConverter.convertToMatrixBlock(map1);
+
+		//multi-threaded ctable
+		CTableMap map2 = new CTableMap();
+		MatrixBlock ret2 = (dim > 0) ? new MatrixBlock(dim, dim, false) : null;
+		LibMatrixCTable.ctable(in1, in2, 1, null, 2, true, map2, ret2, numThreads);
+		ret2 = (ret2 != null) ? ret2 : DataConverter.convertToMatrixBlock(map2);
+
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+
+	private static MatrixBlock createKeys(KeyType type, int maxKey, long seed) {
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, 1, false);
+		ret.allocateDenseBlock();
+		double[] a = ret.getDenseBlock();
+		for( int i=0; i<rows; i++ ) {
+			double r = rand.nextDouble();
+			a[i] = (type == KeyType.SKEWED) ?
+				Math.min(Math.floor(1/Math.pow(1-r, 1.5)), maxKey) : //most keys 1-3
+				Math.floor(r*maxKey) + 1;
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParRemoveEmptyTest
+{
+	private static final int rows = 2100;
+	private static final int cols = 1100;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.05;
+	private static final int numThreads = 4;
+
+	@Test
+	public void testRemoveEmptyRowsDense() throws Exception {
+		runRemoveEmptyTest(true, sparsity1, 0, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparse() throws Exception {
+		runRemoveEmptyTest(true, sparsity2, 0, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsDenseSelect() throws Exception {
+		runRemoveEmptyTest(true, sparsity1, 0.7, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparseSelect() throws Exception {
+		runRemoveEmptyTest(true, sparsity2, 0.7, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparseToDense() throws Exception {
+		runRemoveEmptyTest(true, sparsity2, 0.01, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsDenseToSparse() throws Exception {
+		runRemoveEmptyTest(true, sparsity2, 0, true);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDense() throws Exception {
+		runRemoveEmptyTest(false, sparsity1, 0, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparse() throws Exception {
+		runRemoveEmptyTest(false, sparsity2, 0, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDenseSelect() throws Exception {
+		runRemoveEmptyTest(false, sparsity1, 0.7, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparseSelect() throws Exception {
+		runRemoveEmptyTest(false, sparsity2, 0.7, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparseToDense() throws Exception {
+		runRemoveEmptyTest(false, sparsity2, 0.01, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDenseToSparse() throws Exception {
+		runRemoveEmptyTest(false, sparsity2, 0, true);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsNoEmptyRows() throws Exception {
+		//shallow copy of unmodified input
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, 1.0, 1, 2, "uniform", 7);
+		compareResults(in.removeEmptyOperations(new MatrixBlock(), true, null, 1),
+			in.removeEmptyOperations(new MatrixBlock(), true, null, numThreads));
+	}
+
+	/**
+	 * 
+	 * @param margin true for rows, false for columns
+	 * @param sparsity sparsity of input data
+	 * @param selSparsity sparsity of select vector, 0 for no select
+	 * @param forceDense force dense input representation
+	 * @throws Exception if test fails
+	 */
+	private static void runRemoveEmptyTest(boolean margin, double sparsity, double selSparsity, boolean forceDense)
+		throws Exception
+	{
+		//create input with 40% empty rows/columns
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		MatrixBlock mask = MatrixBlock.randOperations(margin ? rows : 1, margin ? 1 : cols, 0.6, 1, 1, "uniform", 3);
+		in = (MatrixBlock) in.binaryOperations(InstructionUtils.parseBinaryOperator("*"), mask, new MatrixBlock());
+		if( forceDense && in.isInSparseFormat() )
+			in.sparseToDense();
+
+		//create optional select vector
+		MatrixBlock sel = (selSparsity == 0) ? null : MatrixBlock.randOperations(
+			margin ? rows : 1, margin ? 1 : cols, selSparsity, 1, 1, "uniform", 5);
+
+		compareResults(in.removeEmptyOperations(new MatrixBlock(), margin, sel, 1),
+			in.removeEmptyOperations(new MatrixBlock(), margin, sel, numThreads));
+	}
+
+	private static void compareResults(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		Assert.assertEquals(expected.recomputeNonZeros(), actual.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(expected);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(d1, d2, expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortKernelTest
+{
+	//above the multi-threading threshold, with many ties
+	private static final int rows = 100003;
+	private static final int cols = 4;
+
+	@Test
+	public void testSingleKeyAsc() throws Exception {
+		runSortTest(new int[]{2}, false, -1, 0.9);
+	}
+
+	@Test
+	public void testSingleKeyDesc() throws Exception {
+		runSortTest(new int[]{2}, true, -1, 0.9);
+	}
+
+	@Test
+	public void testMultiKeyAsc() throws Exception {
+		runSortTest(new int[]{1, 3, 2}, false, -1, 0.9);
+	}
+
+	@Test
+	public void testMultiKeyDesc() throws Exception {
+		runSortTest(new int[]{3, 1}, true, -1, 0.9);
+	}
+
+	@Test
+	public void testMultiKeySparse() throws Exception {
+		runSortTest(new int[]{4, 2}, false, -1, 0.1);
+	}
+
+	@Test
+	public void testTopKHeap() throws Exception {
+		runSortTest(new int[]{2, 1}, true, 100, 0.9);
+	}
+
+	@Test
+	public void testTopKLarge() throws Exception {
+		runSortTest(new int[]{2}, false, 50000, 0.9);
+	}
+
+	@Test
+	public void testTopKSparse() throws Exception {
+		runSortTest(new int[]{1}, false, 7, 0.1);
+	}
+
+	@Test
+	public void testDenseVectorAsc() throws Exception {
+		runSortVectorTest(false);
+	}
+
+	@Test
+	public void testDenseVectorDesc() throws Exception {
+		runSortVectorTest(true);
+	}
+
+	private static void runSortVectorTest(boolean desc) throws Exception {
+		double[] a = DataConverter.convertToDoubleVector(
+			MatrixBlock.randOperations(rows, 1, 1.0, -5, 5, "uniform", 7));
+		a[3] = -0.0; a[7] = 0.0; a[rows-1] = Double.NaN;
+		MatrixBlock in = DataConverter.convertToMatrixBlock(a, true);
+		double[] ref = a.clone();
+		Arrays.sort(ref);
+		
+		MatrixBlock out = LibMatrixReorg.sort(in, new MatrixBlock(rows, 1, false), new int[]{1}, desc, false, -1, 4);
+		double[] c = DataConverter.convertToDoubleVector(out);
+		for( int i=0; i<rows; i++ )
+			Assert.assertEquals(ref[desc ? rows-1-i : i], c[i], 0);
+	}
+
+	private static void runSortTest(int[] by, boolean desc, int topk, double sparsity) throws Exception {
+		//few distinct values to create runs of equal keys
+		double[][] A = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 0, 5, sparsity, 7));
+		MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+		Integer[] ref = sortReference(A, by, desc);
+		int len = (topk > 0) ? topk : rows;
+		
+		for( int k : new int[]{1, 4} ) {
+			//index return
+			MatrixBlock ix = LibMatrixReorg.sort(in, new MatrixBlock(len, 1, false), by, desc, true, topk, k);
+			for( int i=0; i<len; i++ )
+				Assert.assertEquals(ref[i]+1, ix.quickGetValue(i, 0), 0);
+			
+			//sorted data
+			MatrixBlock out = LibMatrixReorg.sort(in, new MatrixBlock(len, cols, in.isInSparseFormat()), by, desc, false, topk, k);
+			for( int i=0; i<len; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(A[ref[i]][j], out.quickGetValue(i, j), 0);
+			Assert.assertEquals(out.recomputeNonZeros(), out.getNonZeros());
+		}
+	}
+
+	private static Integer[] sortReference(final double[][] A, final int[] by, final boolean desc) {
+		Integer[] ix = new Integer[A.length];
+		for( int i=0; i<A.length; i++ )
+			ix[i] = i;
+		//stable sort, ties in input order
+		Arrays.sort(ix, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				for( int c : by ) {
+					int ret = Double.compare(A[i1][c-1], A[i2][c-1]);
+					if( ret != 0 )
+						return desc ? -ret : ret;
+				}
+				return 0;
+			}
+		});
+		return ix;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Micro benchmark of the cache-oblivious dense and counting-sort sparse
+ * transpose versus the previous fixed blocking, for tall-skinny,
+ * wide and square shapes. Run via main with optional arguments
+ * [number of cells, number of threads, number of repetitions].
+ */
+public class TransposeBenchmark
+{
+	public static void main(String[] args) throws Exception {
+		long cells = (args.length > 0) ? Long.parseLong(args[0]) : 16L*1024*1024;
+		int k = (args.length > 1) ? Integer.parseInt(args[1]) :
+			Runtime.getRuntime().availableProcessors();
+		int reps = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+		
+		int sq = (int) Math.sqrt(cells);
+		int[][] shapes = new int[][]{
+			{(int)(cells/64), 64}, {64, (int)(cells/64)}, {sq, sq}};
+		String[] names = new String[]{"tall-skinny", "wide", "square"};
+		
+		System.out.println("shape\tsparsity\tk\tblocked[ms]\tcache-oblivious[ms]");
+		for( double sparsity : new double[]{0.9, 0.05} )
+			for( int i=0; i<shapes.length; i++ )
+				for( int par : new int[]{1, k} ) {
+					MatrixBlock in = MatrixBlock.randOperations(
+						shapes[i][0], shapes[i][1], sparsity, -1, 1, "uniform", 7);
+					double t1 = runTranspose(in, par, reps, false);
+					double t2 = runTranspose(in, par, reps, true);
+					System.out.println(names[i]+"\t"+sparsity+"\t"+par+"\t"
+						+String.format("%.1f", t1)+"\t"+String.format("%.1f", t2));
+				}
+		CommonThreadPool.shutdownShared();
+	}
+
+	private static double runTranspose(MatrixBlock in, int k, int reps, boolean cacheOblivious) 
+		throws Exception 
+	{
+		boolean flag = LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE;
+		LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE = cacheOblivious;
+		try {
+			//warmup, then average over the given repetitions
+			double time = 0;
+			for( int i=0; i<reps+1; i++ ) {
+				MatrixBlock out = new MatrixBlock(
+					in.getNumColumns(), in.getNumRows(), in.isInSparseFormat());
+				long t0 = System.nanoTime();
+				LibMatrixReorg.transpose(in, out, k);
+				if( i > 0 )
+					time += (System.nanoTime() - t0) / 1e6;
+			}
+			return time / reps;
+		}
+		finally {
+			LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE = flag;
+		}
+	}
+}
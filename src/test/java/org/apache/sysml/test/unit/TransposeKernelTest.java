@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransposeKernelTest
+{
+	//shapes above the multi-threading threshold, with partial tiles
+	private static final int tall = 40013;
+	private static final int wide = 41;
+	private static final int square = 1237;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.05;
+
+	@Test
+	public void testDenseTallSkinny() throws Exception {
+		runTransposeTest(tall, wide, sparsity1);
+	}
+
+	@Test
+	public void testDenseWide() throws Exception {
+		runTransposeTest(wide, tall, sparsity1);
+	}
+
+	@Test
+	public void testDenseSquare() throws Exception {
+		runTransposeTest(square, square, sparsity1);
+	}
+
+	@Test
+	public void testSparseTallSkinny() throws Exception {
+		runTransposeTest(tall, wide, sparsity2);
+	}
+
+	@Test
+	public void testSparseWide() throws Exception {
+		runTransposeTest(wide, tall, sparsity2);
+	}
+
+	@Test
+	public void testSparseSquare() throws Exception {
+		runTransposeTest(square, square, sparsity2);
+	}
+
+	private static void runTransposeTest(int rows, int cols, double sparsity) throws Exception {
+		MatrixBlock in = DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7));
+		Assert.assertEquals(sparsity < MatrixBlock.SPARSITY_TURN_POINT, in.isInSparseFormat());
+		MatrixBlock ref = transpose(in, 1, false);
+		for( int k : new int[]{1, 4} ) {
+			MatrixBlock out = transpose(in, k, true);
+			Assert.assertEquals(ref.getNonZeros(), out.getNonZeros());
+			if( in.isInSparseFormat() )
+				Assert.assertTrue(out.getSparseBlock() instanceof SparseBlockCSR);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ref),
+				DataConverter.convertToDoubleMatrix(out), cols, rows, 0);
+		}
+	}
+
+	private static MatrixBlock transpose(MatrixBlock in, int k, boolean cacheOblivious) throws Exception {
+		boolean flag = LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE;
+		try {
+			LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE = cacheOblivious;
+			MatrixBlock out = new MatrixBlock(in.getNumColumns(), in.getNumRows(), in.isInSparseFormat());
+			return LibMatrixReorg.transpose(in, out, k);
+		}
+		finally {
+			LibMatrixReorg.CACHE_OBLIVIOUS_TRANSPOSE = flag;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysml.runtime.controlprogram.parfor.WrittenRanges;
+import org.apache.sysml.runtime.util.IndexRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WrittenRangesTest
+{
+	@Test
+	public void testCoalesceAdjacentRows() {
+		WrittenRanges root = WrittenRanges.createRoot();
+		WrittenRanges r = root;
+		for( int i=0; i<100; i++ )
+			r = WrittenRanges.append(r, new IndexRange(i, i, 0, 9));
+		Assert.assertEquals(1, r.size());
+		Assert.assertTrue(r.getRoot() == root);
+		Assert.assertEquals(new IndexRange(0, 99, 0, 9).toString(), r.toList().get(0).toString());
+	}
+	
+	@Test
+	public void testCoalesceAdjacentColsAndContained() {
+		WrittenRanges r = WrittenRanges.createRoot();
+		r = WrittenRanges.append(r, new IndexRange(0, 9, 0, 0));
+		r = WrittenRanges.append(r, new IndexRange(0, 9, 1, 4));
+		r = WrittenRanges.append(r, new IndexRange(3, 5, 2, 3));
+		Assert.assertEquals(1, r.size());
+		r = WrittenRanges.append(r, new IndexRange(20, 20, 20, 20));
+		Assert.assertEquals(2, r.size());
+		Assert.assertEquals(20, r.toList().get(1).rowStart);
+	}
+	
+	@Test
+	public void testSharedPrefixAndUnknown() {
+		WrittenRanges root = WrittenRanges.createRoot();
+		WrittenRanges r1 = WrittenRanges.append(root, new IndexRange(0, 0, 0, 0));
+		WrittenRanges r2 = WrittenRanges.append(r1, new IndexRange(5, 5, 5, 5));
+		Assert.assertEquals(1, r1.size());
+		Assert.assertEquals(2, r2.size());
+		Assert.assertTrue(root.isRoot() && !r1.isRoot());
+		Assert.assertNull(WrittenRanges.append(null, new IndexRange(0, 0, 0, 0)));
+	}
+	
+	@Test
+	public void testMaxRanges() {
+		WrittenRanges r = WrittenRanges.createRoot();
+		for( int i=0; i<WrittenRanges.MAX_RANGES; i++ )
+			r = WrittenRanges.append(r, new IndexRange(2*i, 2*i, 0, 0));
+		Assert.assertEquals(WrittenRanges.MAX_RANGES, r.size());
+		Assert.assertNull(WrittenRanges.append(r, new IndexRange(-2, -2, 0, 0)));
+	}
+	
+	@Test
+	public void testDisjoint() {
+		//interleaved rows and cells of different workers
+		List<List<IndexRange>> ranges = new ArrayList<List<IndexRange>>();
+		ranges.add(Arrays.asList(new IndexRange(0, 0, 0, 9), new IndexRange(2, 2, 0, 9)));
+		ranges.add(Arrays.asList(new IndexRange(1, 1, 0, 9), new IndexRange(3, 7, 0, 4)));
+		ranges.add(Arrays.asList(new IndexRange(3, 7, 5, 9), new IndexRange(3, 3, 5, 5)));
+		Assert.assertTrue(WrittenRanges.isDisjoint(ranges));
+		
+		//overlap of different workers
+		ranges.add(Arrays.asList(new IndexRange(7, 8, 4, 4)));
+		Assert.assertFalse(WrittenRanges.isDisjoint(ranges));
+	}
+	
+	@Test
+	public void testDisjointLongRange() {
+		//overlap w/ a range that spans many shorter ranges
+		List<List<IndexRange>> ranges = new ArrayList<List<IndexRange>>();
+		List<IndexRange> w1 = new ArrayList<IndexRange>();
+		for( int i=0; i<100; i++ )
+			w1.add(new IndexRange(i, i, 0, 0));
+		ranges.add(w1);
+		ranges.add(Arrays.asList(new IndexRange(0, 99, 1, 1)));
+		Assert.assertTrue(WrittenRanges.isDisjoint(ranges));
+		ranges.add(Arrays.asList(new IndexRange(98, 200, 0, 0)));
+		Assert.assertFalse(WrittenRanges.isDisjoint(ranges));
+	}
+}
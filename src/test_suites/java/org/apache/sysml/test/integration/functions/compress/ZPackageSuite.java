@@ -32,13 +32,17 @@ import org.junit.runners.Suite;
 	BasicMatrixCentralMomentTest.class,
 	BasicMatrixMultChainTest.class,
 	BasicMatrixQuantileTest.class,
+	BasicMatrixRowVectorOperationsTest.class,
+	BasicMatrixSliceTest.class,
 	BasicMatrixTransposeSelfMultTest.class,
 	BasicMatrixVectorMultTest.class,
 	BasicScalarOperationsSparseUnsafeTest.class,
 	BasicScalarOperationsTest.class,
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
+	BasicUnaryOperationsTest.class,
 	BasicVectorMatrixMultTest.class,
+	CompressedBinaryReadWriteTest.class,
 	CompressedL2SVM.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
@@ -47,6 +51,7 @@ import org.junit.runners.Suite;
 	LargeParMatrixVectorMultTest.class,
 	LargeParUnaryAggregateTest.class,
 	LargeVectorMatrixMultTest.class,
+	ParCompressionPlanTest.class,
 	ParCompressionTest.class,
 	ParMatrixMultChainTest.class,
 	ParMatrixVectorMultTest.class,
@@ -33,8 +33,10 @@ import org.junit.runners.Suite;
 	FrameLeftIndexingTest.class,
 	FrameReadMetaTest.class,
 	FrameTransformTest.class,
+	JMLCClonedPreparedScriptTest.class,
 	JMLCInputOutputTest.class,
 	JMLCInputStreamReadTest.class,
+	JMLCMicroBatchScoringTest.class,
 	ReuseModelVariablesTest.class,
 	MulticlassSVMScoreTest.class
 })
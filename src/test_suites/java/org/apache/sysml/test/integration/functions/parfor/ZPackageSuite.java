@@ -36,6 +36,7 @@ import org.junit.runners.Suite;
 	ParForMultipleDataPartitioningTest.class,
 	ParForNaNResultMergeTest.class,
 	ParForParallelRemoteResultMergeTest.class,
+	ParForRangeResultMergeTest.class,
 	ParForRepeatedOptimizationTest.class,
 	ParForReplaceThreadIDRecompileTest.class,
 	ParForRowwiseDataPartitioningTest.class,